@@ -0,0 +1,178 @@
+package com.mycompany.myframework.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.apache.commons.lang3.StringUtils;
+
+import org.springframework.lang.Nullable;
+import org.springframework.web.cors.CorsConfiguration;
+
+import com.mycompany.myframework.properties.config.MyFrameworkConfig.SecurityConfig.CorsConfig;
+import com.mycompany.myframework.service.security.AllowedDomainsCorsConfigurationSourceBase;
+
+/**
+ * Benchmarks {@link AllowedDomainsCorsConfigurationSourceBase#addOriginDomainIfApplicable(String, CorsConfiguration) deciding} whether
+ * or not an origin is allowed, against increasing numbers of allowed domains.
+ * <p>
+ *   {@code pattern} is the decision as it was before the allowed domains were compiled: every request split the allowed domains
+ *   into a new {@link Set} each time it needed them &amp; compiled a {@code .*<domain>} {@link Pattern} per domain. {@code trie} is
+ *   the compiled matcher the starter uses now, and {@code trie-cache} is the same with the decision cache enabled.
+ * </p>
+ */
+@State(Scope.Benchmark)
+public class AllowedDomainsCorsBenchmark {
+	@Param({ "1000", "10000", "100000" })
+	private int allowedDomainsCount;
+
+	@Param({ "pattern", "trie", "trie-cache" })
+	private String matcher;
+
+	private CorsDecision corsDecision;
+	private CorsConfiguration corsConfiguration;
+	private String allowedOrigin;
+	private String rejectedOrigin;
+
+	@Setup
+	public void setup() {
+		CorsConfig corsConfig = new CorsConfig();
+		corsConfig.setAllowedDomains(
+			IntStream.range(0, this.allowedDomainsCount)
+				.mapToObj(i -> String.format("domain%d.example.com", i))
+				.collect(Collectors.joining(","))
+		);
+		corsConfig.getDecisionCache().setEnabled("trie-cache".equals(this.matcher));
+
+		this.corsDecision = "pattern".equals(this.matcher) ?
+			new PatternCorsDecision(corsConfig) :
+			new DecidingCorsConfigurationSource(corsConfig);
+
+		this.corsConfiguration = new CorsConfiguration().applyPermitDefaultValues();
+		this.allowedOrigin = String.format("https://www.domain%d.example.com", this.allowedDomainsCount / 2);
+		this.rejectedOrigin = String.format("https://www.domain%d.example.net", this.allowedDomainsCount / 2);
+	}
+
+	@Benchmark
+	public CorsConfiguration allowedOrigin() {
+		return this.corsDecision.decide(this.allowedOrigin, this.corsConfiguration);
+	}
+
+	@Benchmark
+	public CorsConfiguration rejectedOrigin() {
+		return this.corsDecision.decide(this.rejectedOrigin, this.corsConfiguration);
+	}
+
+	@Benchmark
+	public CorsConfiguration noOrigin() {
+		return this.corsDecision.decide(null, this.corsConfiguration);
+	}
+
+	@FunctionalInterface
+	private interface CorsDecision {
+		@Nullable
+		CorsConfiguration decide(@Nullable String origin, CorsConfiguration corsConfiguration);
+	}
+
+	/**
+	 * Exposes the decision without going through either stack's request abstraction
+	 */
+	private static final class DecidingCorsConfigurationSource extends AllowedDomainsCorsConfigurationSourceBase implements CorsDecision {
+		private DecidingCorsConfigurationSource(CorsConfig corsConfig) {
+			super(corsConfig);
+		}
+
+		@Override
+		@Nullable
+		public CorsConfiguration decide(@Nullable String origin, CorsConfiguration corsConfiguration) {
+			return addOriginDomainIfApplicable(origin, corsConfiguration);
+		}
+	}
+
+	/**
+	 * The decision {@link AllowedDomainsCorsConfigurationSourceBase} made before the allowed domains were compiled, kept as it was apart
+	 * from its per-request {@code INFO} log line, which would otherwise dominate the measurement
+	 */
+	private static final class PatternCorsDecision implements CorsDecision {
+		private static final String DOMAIN_MATCHER_PATTERN = ".*%s";
+
+		private final CorsConfig corsConfig;
+
+		private PatternCorsDecision(CorsConfig corsConfig) {
+			this.corsConfig = corsConfig;
+		}
+
+		@Override
+		@Nullable
+		public CorsConfiguration decide(@Nullable String origin, CorsConfiguration corsConfiguration) {
+			CorsConfiguration newConfig = Optional.ofNullable(origin)
+				.map(StringUtils::trimToNull)
+				.filter(theOrigin -> isConfiguredWithAllowedDomains())
+				.filter(this::originMatchesAllowedDomain)
+				.map(theOrigin -> createCombinedConfiguration(theOrigin, corsConfiguration))
+				.orElse(corsConfiguration);
+
+			removeAllOriginsIfApplicable(newConfig);
+
+			return newConfig;
+		}
+
+		private static CorsConfiguration createCombinedConfiguration(String origin, @Nullable CorsConfiguration originalConfiguration) {
+			CorsConfiguration newConfig = Optional.ofNullable(originalConfiguration)
+				.map(CorsConfiguration::new)
+				.orElseGet(CorsConfiguration::new);
+
+			newConfig.addAllowedOrigin(origin);
+
+			return newConfig;
+		}
+
+		private void removeAllOriginsIfApplicable(@Nullable CorsConfiguration corsConfiguration) {
+			Optional.ofNullable(corsConfiguration)
+				.filter(config -> isConfiguredWithAllowedDomains())
+				.ifPresent(config -> {
+					List<String> allowedOrigins = new ArrayList<>(Optional.ofNullable(config.getAllowedOrigins()).orElseGet(ArrayList::new));
+
+					if (allowedOrigins.removeIf(element -> StringUtils.equals(element, CorsConfiguration.ALL))) {
+						config.setAllowedOrigins(allowedOrigins);
+					}
+				});
+		}
+
+		private Set<String> getAllowedDomains() {
+			return Optional.ofNullable(this.corsConfig.getAllowedDomains())
+				.map(StringUtils::trimToNull)
+				.map(org.springframework.util.StringUtils::commaDelimitedListToSet)
+				.map(Set::stream)
+				.orElseGet(Stream::empty)
+				.map(StringUtils::trimToNull)
+				.filter(Objects::nonNull)
+				.collect(Collectors.toSet());
+		}
+
+		private boolean isConfiguredWithAllowedDomains() {
+			return !getAllowedDomains().isEmpty();
+		}
+
+		private boolean originMatchesAllowedDomain(String origin) {
+			return getAllowedDomains().stream()
+				.map(allowedDomain -> String.format(DOMAIN_MATCHER_PATTERN, allowedDomain))
+				.map(Pattern::compile)
+				.map(pattern -> pattern.matcher(origin))
+				.anyMatch(Matcher::matches);
+		}
+	}
+}
@@ -0,0 +1,117 @@
+package com.mycompany.myframework.benchmarks;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.CorsConfigurationSource;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+import org.springframework.web.servlet.handler.HandlerMappingIntrospector;
+
+import com.mycompany.myframework.properties.config.MyFrameworkConfig.CacheConfig;
+import com.mycompany.myframework.service.security.servlet.CachingCorsConfigurationSource;
+
+/**
+ * Benchmarks resolving the {@code @CrossOrigin} configuration of a pre-flight request on the servlet stack, as the allowed domains
+ * CORS configuration source does for every CORS request. {@code introspector} is the {@link HandlerMappingIntrospector} on its own,
+ * which is the default, and {@code handler-cache} is the opt-in {@link CachingCorsConfigurationSource} in front of it.
+ * {@code people} always requests {@code /people}, and {@code person} requests {@code /people/{personId}} with more distinct ids than
+ * the cache holds, so it shows what a route with path variables costs with the cache.
+ */
+@State(Scope.Benchmark)
+public class CorsHandlerLookupBenchmark {
+	private static final int PERSON_IDS = 100_000;
+
+	@Param({ "introspector", "handler-cache" })
+	private String source;
+
+	private AnnotationConfigWebApplicationContext context;
+	private CorsConfigurationSource corsConfigurationSource;
+	private MockHttpServletRequest peopleRequest;
+	private MockHttpServletRequest[] personRequests;
+	private int nextPersonRequest;
+
+	@Setup
+	public void setup() {
+		this.context = new AnnotationConfigWebApplicationContext();
+		this.context.setServletContext(new MockServletContext());
+		this.context.register(PeopleWebConfig.class);
+		this.context.refresh();
+
+		HandlerMappingIntrospector introspector = this.context.getBean(HandlerMappingIntrospector.class);
+		this.corsConfigurationSource = "handler-cache".equals(this.source) ?
+			new CachingCorsConfigurationSource(introspector, new CacheConfig(true, 10_000, Duration.ofHours(1))) :
+			introspector;
+
+		this.peopleRequest = createPreflightRequest("/people");
+		this.personRequests = new MockHttpServletRequest[PERSON_IDS];
+
+		for (int personId = 0; personId < PERSON_IDS; personId++) {
+			this.personRequests[personId] = createPreflightRequest("/people/" + personId);
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		this.context.close();
+	}
+
+	@Benchmark
+	public CorsConfiguration people() {
+		return this.corsConfigurationSource.getCorsConfiguration(this.peopleRequest);
+	}
+
+	@Benchmark
+	public CorsConfiguration person() {
+		MockHttpServletRequest request = this.personRequests[this.nextPersonRequest];
+		this.nextPersonRequest = (this.nextPersonRequest + 1) % PERSON_IDS;
+
+		return this.corsConfigurationSource.getCorsConfiguration(request);
+	}
+
+	private static MockHttpServletRequest createPreflightRequest(String path) {
+		MockHttpServletRequest request = new MockHttpServletRequest(HttpMethod.OPTIONS.name(), path);
+		request.addHeader(HttpHeaders.ORIGIN, "https://www.redhat.com");
+		request.addHeader(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD, HttpMethod.GET.name());
+
+		return request;
+	}
+
+	@Configuration
+	@EnableWebMvc
+	@Import(PeopleController.class)
+	static class PeopleWebConfig {}
+
+	@RestController
+	@CrossOrigin
+	static class PeopleController {
+		@GetMapping("/people")
+		public List<Person> people() {
+			return Collections.singletonList(new Person("Eric", "Deandrea", 40));
+		}
+
+		@GetMapping("/people/{personId}")
+		public Person person(@PathVariable int personId) {
+			return new Person("Eric", "Deandrea", personId);
+		}
+	}
+}
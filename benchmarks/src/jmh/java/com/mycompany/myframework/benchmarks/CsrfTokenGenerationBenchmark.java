@@ -0,0 +1,36 @@
+package com.mycompany.myframework.benchmarks;
+
+import java.util.UUID;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import com.mycompany.myframework.service.security.CsrfTokenGenerator;
+
+/**
+ * Benchmarks generating CSRF tokens from many threads at once, as a burst of first-time visitors does. {@code uuid} is the
+ * {@link UUID#randomUUID()} Spring Security's cookie repositories use, and {@code striped} is the {@link CsrfTokenGenerator} the
+ * starter uses now.
+ */
+@State(Scope.Benchmark)
+@Threads(64)
+public class CsrfTokenGenerationBenchmark {
+	@Param({ "uuid", "striped" })
+	private String generatorType;
+
+	private CsrfTokenGenerator generator;
+
+	@Setup
+	public void setup() {
+		this.generator = new CsrfTokenGenerator();
+	}
+
+	@Benchmark
+	public String generateToken() {
+		return "striped".equals(this.generatorType) ? this.generator.generateToken() : UUID.randomUUID().toString();
+	}
+}
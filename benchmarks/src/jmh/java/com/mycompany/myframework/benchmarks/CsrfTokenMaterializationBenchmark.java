@@ -0,0 +1,114 @@
+package com.mycompany.myframework.benchmarks;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ReactiveAdapterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.web.server.csrf.CsrfWebFilter;
+import org.springframework.web.reactive.HandlerResult;
+import org.springframework.web.reactive.accept.RequestedContentTypeResolverBuilder;
+
+import com.mycompany.myframework.service.security.CsrfTokenGenerator;
+import com.mycompany.myframework.service.security.server.CsrfTokenRequestMatcher;
+import com.mycompany.myframework.service.security.server.ServerCsrfTokenSubscribingResponseModifier;
+import com.mycompany.myframework.service.security.server.StripedCookieServerCsrfTokenRepository;
+
+/**
+ * Benchmarks writing the REST responses to a representative mix of first-time {@code GET /people} requests through the
+ * {@link CsrfWebFilter} &amp; {@link ServerCsrfTokenSubscribingResponseModifier}, as an application that enables CSRF in its own
+ * {@code SecurityWebFilterChain} runs them. The starter's own chains disable CSRF, so they never generate a token. Every operation is one
+ * pass through the mix of 10 requests: 7 API calls from other services, 2 calls from a single-page app (carrying an {@code Origin}
+ * header) &amp; 1 browser navigation (accepting {@code text/html}).
+ * <p>
+ *   {@code eager} subscribes to the CSRF token of every response, which is the default, and {@code lazy} only subscribes to it
+ *   for the requests a {@link CsrfTokenRequestMatcher} matches. {@code gc.alloc.rate.norm} shows the allocation saved per pass
+ *   through the mix, and the {@code setCookieBytes} &amp; {@code tokens} counters total the {@code Set-Cookie} header bytes written
+ *   &amp; the tokens generated (divide them by the number of operations for the figures per pass).
+ * </p>
+ */
+@State(Scope.Benchmark)
+public class CsrfTokenMaterializationBenchmark {
+	private static final List<String> PEOPLE = Arrays.asList("Eric Deandrea", "Jane Doe", "John Doe");
+	private static final String API_ACCEPT = "application/json";
+	private static final String BROWSER_ACCEPT = "text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8";
+	private static final String SPA_ORIGIN = "https://app.mycompany.com";
+
+	@Param({ "eager", "lazy" })
+	private String materialization;
+
+	private CsrfWebFilter csrfWebFilter;
+	private ServerCsrfTokenSubscribingResponseModifier responseModifier;
+	private HandlerResult handlerResult;
+
+	@Setup
+	public void setup() throws NoSuchMethodException {
+		this.csrfWebFilter = new CsrfWebFilter();
+		this.csrfWebFilter.setCsrfTokenRepository(StripedCookieServerCsrfTokenRepository.withHttpOnlyFalse(new CsrfTokenGenerator()));
+
+		this.responseModifier = new ServerCsrfTokenSubscribingResponseModifier(ServerCodecConfigurer.create().getWriters(), new RequestedContentTypeResolverBuilder().build(), ReactiveAdapterRegistry.getSharedInstance());
+
+		if ("lazy".equals(this.materialization)) {
+			this.responseModifier.setTokenRequestMatcher(new CsrfTokenRequestMatcher(true, true, Collections.emptyList()));
+		}
+
+		this.handlerResult = new HandlerResult(this, PEOPLE, new MethodParameter(CsrfTokenMaterializationBenchmark.class.getDeclaredMethod("getPeople"), -1));
+	}
+
+	@Benchmark
+	public void trafficMix(SetCookieCounters counters) {
+		for (int i = 0; i < 7; i++) {
+			handle(MockServerHttpRequest.get("/people").header(HttpHeaders.ACCEPT, API_ACCEPT), counters);
+		}
+
+		for (int i = 0; i < 2; i++) {
+			handle(MockServerHttpRequest.get("/people").header(HttpHeaders.ACCEPT, API_ACCEPT).header(HttpHeaders.ORIGIN, SPA_ORIGIN), counters);
+		}
+
+		handle(MockServerHttpRequest.get("/people").header(HttpHeaders.ACCEPT, BROWSER_ACCEPT), counters);
+	}
+
+	private void handle(MockServerHttpRequest.BaseBuilder<?> request, SetCookieCounters counters) {
+		MockServerWebExchange exchange = MockServerWebExchange.from(request);
+		this.csrfWebFilter.filter(exchange, filteredExchange -> this.responseModifier.handleResult(filteredExchange, this.handlerResult)).block();
+
+		List<String> setCookieHeaders = exchange.getResponse().getHeaders().get(HttpHeaders.SET_COOKIE);
+
+		if (setCookieHeaders != null) {
+			for (String setCookieHeader : setCookieHeaders) {
+				counters.setCookieBytes += HttpHeaders.SET_COOKIE.length() + 2 + setCookieHeader.length();
+				counters.tokens++;
+			}
+		}
+	}
+
+	private List<String> getPeople() {
+		return PEOPLE;
+	}
+
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class SetCookieCounters {
+		public long setCookieBytes;
+		public long tokens;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			this.setCookieBytes = 0;
+			this.tokens = 0;
+		}
+	}
+}
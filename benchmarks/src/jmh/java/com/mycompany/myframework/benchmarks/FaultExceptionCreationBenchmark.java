@@ -0,0 +1,58 @@
+package com.mycompany.myframework.benchmarks;
+
+import java.util.Collections;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import org.springframework.http.HttpStatus;
+
+import com.mycompany.myframework.service.fault.FaultStackTracePolicy;
+import com.mycompany.myframework.service.fault.FaultStackTraces;
+import com.mycompany.myframework.service.model.FaultException;
+
+/**
+ * Benchmarks creating a fault 100 frames down the stack, roughly as deep as a controller under Spring MVC &amp; a filter chain, with
+ * its {@code full} stack trace, only the top 10 frames ({@code limited}), or none at all ({@code none}).
+ */
+@State(Scope.Benchmark)
+public class FaultExceptionCreationBenchmark {
+	private static final int STACK_DEPTH = 100;
+
+	@Param({ "full", "limited", "none" })
+	private String stackTraceMode;
+
+	@Setup
+	public void setup() {
+		switch (this.stackTraceMode) {
+			case "limited":
+				FaultStackTraces.setPolicy(FaultStackTracePolicy.limited(Collections.singleton(FaultException.class), 10));
+				break;
+
+			case "none":
+				FaultStackTraces.setPolicy(FaultStackTracePolicy.stackless(Collections.singleton(FaultException.class)));
+				break;
+
+			default:
+				FaultStackTraces.setPolicy(FaultStackTracePolicy.fullStackTraces());
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		FaultStackTraces.setPolicy(FaultStackTracePolicy.fullStackTraces());
+	}
+
+	@Benchmark
+	public FaultException createFault() {
+		return createFault(STACK_DEPTH);
+	}
+
+	private static FaultException createFault(int depth) {
+		return (depth == 0) ? new FaultException(HttpStatus.NOT_FOUND, "Not Found") : createFault(depth - 1);
+	}
+}
@@ -0,0 +1,48 @@
+package com.mycompany.myframework.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import com.mycompany.myframework.service.fault.FaultIdGenerator;
+import com.mycompany.myframework.service.fault.RandomUuidFaultIdGenerator;
+import com.mycompany.myframework.service.fault.TimeOrderedFaultIdGenerator;
+import com.mycompany.myframework.service.fault.TraceIdFaultIdGenerator;
+
+/**
+ * Benchmarks generating fault ids from many threads at once, as an error storm does. {@code random-uuid} is the default
+ * {@link java.util.UUID#randomUUID()}, {@code time-ordered} is the opt-in generator which doesn't share a {@code SecureRandom}, and
+ * {@code trace-id} falls back to a time-ordered id since there is no trace here.
+ */
+@State(Scope.Benchmark)
+@Threads(64)
+public class FaultIdGenerationBenchmark {
+	@Param({ "random-uuid", "time-ordered", "trace-id" })
+	private String generatorType;
+
+	private FaultIdGenerator generator;
+
+	@Setup
+	public void setup() {
+		switch (this.generatorType) {
+			case "random-uuid":
+				this.generator = new RandomUuidFaultIdGenerator();
+				break;
+
+			case "trace-id":
+				this.generator = new TraceIdFaultIdGenerator();
+				break;
+
+			default:
+				this.generator = new TimeOrderedFaultIdGenerator();
+		}
+	}
+
+	@Benchmark
+	public String generateFaultId() {
+		return this.generator.generateFaultId();
+	}
+}
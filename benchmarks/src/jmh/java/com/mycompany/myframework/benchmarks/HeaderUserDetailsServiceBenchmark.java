@@ -0,0 +1,39 @@
+package com.mycompany.myframework.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import com.mycompany.myframework.service.security.servlet.HeaderUserDetailsService;
+
+/**
+ * Benchmarks {@link HeaderUserDetailsService#loadUserByUsername(String)} for a known &amp; an unknown user
+ */
+@State(Scope.Benchmark)
+public class HeaderUserDetailsServiceBenchmark {
+	private HeaderUserDetailsService userDetailsService;
+
+	@Setup
+	public void setup() {
+		this.userDetailsService = new HeaderUserDetailsService();
+	}
+
+	@Benchmark
+	public UserDetails knownUser() {
+		return this.userDetailsService.loadUserByUsername("user1");
+	}
+
+	@Benchmark
+	public Object unknownUser() {
+		try {
+			return this.userDetailsService.loadUserByUsername("user2");
+		}
+		catch (UsernameNotFoundException ex) {
+			return ex;
+		}
+	}
+}
@@ -0,0 +1,60 @@
+package com.mycompany.myframework.benchmarks;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+
+/**
+ * A request body used by the validation &amp; fault benchmarks
+ */
+public class Person {
+	@NotBlank
+	private String firstName;
+
+	@NotBlank
+	private String lastName;
+
+	@Min(0)
+	private int age;
+
+	public Person() {
+		super();
+	}
+
+	public Person(String firstName, String lastName, int age) {
+		this.firstName = firstName;
+		this.lastName = lastName;
+		this.age = age;
+	}
+
+	public String getFirstName() {
+		return this.firstName;
+	}
+
+	public void setFirstName(String firstName) {
+		this.firstName = firstName;
+	}
+
+	public String getLastName() {
+		return this.lastName;
+	}
+
+	public void setLastName(String lastName) {
+		this.lastName = lastName;
+	}
+
+	public int getAge() {
+		return this.age;
+	}
+
+	public void setAge(int age) {
+		this.age = age;
+	}
+
+	/**
+	 * A handler method, so there is a {@link org.springframework.core.MethodParameter} to put in an argument type mismatch
+	 * @param id The id of the person
+	 */
+	public void update(int id) {
+		this.age = id;
+	}
+}
@@ -0,0 +1,73 @@
+package com.mycompany.myframework.benchmarks;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+import org.springframework.security.web.server.authentication.AuthenticationWebFilter;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.server.RequestPredicates;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import com.mycompany.myframework.service.security.server.HeaderReactiveUserDetailsService;
+import com.mycompany.myframework.service.security.server.RequestHeaderServerAuthenticationConverter;
+import com.mycompany.myframework.service.security.server.UserDetailsRepositoryReactiveAuthenticationManager;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Benchmarks an authenticated {@code GET /people}, as served by the reactive demo, through {@link WebTestClient} with the header-based
+ * {@link AuthenticationWebFilter} the starter configures in front of it.
+ * <p>
+ *   {@code parallel} checks the (non-existent) password on {@code Schedulers.parallel()}, as every request did before, and
+ *   {@code immediate} checks it on the calling thread, which is what {@link UserDetailsRepositoryReactiveAuthenticationManager} now
+ *   picks for {@link NoOpPasswordEncoder}. The difference between the two is the cost of the thread hop.
+ * </p>
+ */
+@State(Scope.Benchmark)
+public class ReactiveAuthenticationBenchmark {
+	private static final List<String> PEOPLE = Arrays.asList("Eric Deandrea", "Jane Doe", "John Doe");
+
+	@Param({ "parallel", "immediate" })
+	private String scheduler;
+
+	private WebTestClient webTestClient;
+
+	@Setup
+	@SuppressWarnings("deprecation")
+	public void setup() {
+		UserDetailsRepositoryReactiveAuthenticationManager authenticationManager = new UserDetailsRepositoryReactiveAuthenticationManager(new HeaderReactiveUserDetailsService());
+		authenticationManager.setPasswordEncoder(NoOpPasswordEncoder.getInstance());
+
+		if ("parallel".equals(this.scheduler)) {
+			authenticationManager.setScheduler(Schedulers.parallel());
+		}
+
+		AuthenticationWebFilter authenticationWebFilter = new AuthenticationWebFilter(authenticationManager);
+		authenticationWebFilter.setServerAuthenticationConverter(new RequestHeaderServerAuthenticationConverter());
+
+		this.webTestClient = WebTestClient
+			.bindToRouterFunction(RouterFunctions.route(RequestPredicates.GET("/people"), request -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).syncBody(PEOPLE)))
+			.webFilter(authenticationWebFilter)
+			.build();
+	}
+
+	@Benchmark
+	public byte[] getPeople() {
+		return this.webTestClient.get()
+			.uri("/people")
+			.header(RequestHeaderServerAuthenticationConverter.DEFAULT_PRINCIPAL_REQUEST_HEADER, "user1")
+			.exchange()
+			.expectStatus().isOk()
+			.expectBody()
+			.returnResult()
+			.getResponseBody();
+	}
+}
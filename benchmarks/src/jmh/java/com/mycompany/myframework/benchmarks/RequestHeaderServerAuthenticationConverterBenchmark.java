@@ -0,0 +1,45 @@
+package com.mycompany.myframework.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.mycompany.myframework.service.security.server.RequestHeaderServerAuthenticationConverter;
+
+/**
+ * Benchmarks {@link RequestHeaderServerAuthenticationConverter#convert(ServerWebExchange)} for requests with &amp; without the
+ * principal header. The exchanges are created once, since only the conversion is being measured.
+ */
+@State(Scope.Benchmark)
+public class RequestHeaderServerAuthenticationConverterBenchmark {
+	private RequestHeaderServerAuthenticationConverter converter;
+	private ServerWebExchange exchangeWithPrincipal;
+	private ServerWebExchange exchangeWithoutPrincipal;
+
+	@Setup
+	public void setup() {
+		this.converter = new RequestHeaderServerAuthenticationConverter();
+		this.exchangeWithPrincipal = MockServerWebExchange.from(
+			MockServerHttpRequest.get("http://localhost/people")
+				.header(RequestHeaderServerAuthenticationConverter.DEFAULT_PRINCIPAL_REQUEST_HEADER, "user1")
+				.build()
+		);
+		this.exchangeWithoutPrincipal = MockServerWebExchange.from(MockServerHttpRequest.get("http://localhost/people").build());
+	}
+
+	@Benchmark
+	public Authentication withPrincipal() {
+		return this.converter.convert(this.exchangeWithPrincipal).block();
+	}
+
+	@Benchmark
+	public Authentication withoutPrincipal() {
+		return this.converter.convert(this.exchangeWithoutPrincipal).block();
+	}
+}
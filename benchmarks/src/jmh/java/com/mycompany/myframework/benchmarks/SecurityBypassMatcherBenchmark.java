@@ -0,0 +1,61 @@
+package com.mycompany.myframework.benchmarks;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import com.mycompany.myframework.service.security.servlet.PathPrefixRequestMatcher;
+
+/**
+ * Benchmarks deciding whether a servlet request bypasses security, against the actuator, Swagger &amp; webjars paths the starter
+ * permits. {@code ant} is the {@link AntPathRequestMatcher} per path the starter used to register, and {@code trie} is the
+ * {@link PathPrefixRequestMatcher} it registers now.
+ */
+@State(Scope.Benchmark)
+public class SecurityBypassMatcherBenchmark {
+	private static final List<String> PATH_PATTERNS = Arrays.asList("/actuator", "/v2/api-docs/**", "/swagger-ui.html", "/swagger-resources/**", "/webjars/springfox-swagger-ui/**");
+
+	@Param({ "ant", "trie" })
+	private String matcherType;
+
+	private RequestMatcher matcher;
+	private MockHttpServletRequest protectedRequest;
+	private MockHttpServletRequest bypassedRequest;
+
+	@Setup
+	public void setup() {
+		this.matcher = "trie".equals(this.matcherType) ?
+			new PathPrefixRequestMatcher(PATH_PATTERNS) :
+			new OrRequestMatcher(PATH_PATTERNS.stream().map(AntPathRequestMatcher::new).toArray(RequestMatcher[]::new));
+
+		this.protectedRequest = createRequest("/people/1");
+		this.bypassedRequest = createRequest("/webjars/springfox-swagger-ui/springfox.js");
+	}
+
+	@Benchmark
+	public boolean protectedRequest() {
+		return this.matcher.matches(this.protectedRequest);
+	}
+
+	@Benchmark
+	public boolean bypassedRequest() {
+		return this.matcher.matches(this.bypassedRequest);
+	}
+
+	private static MockHttpServletRequest createRequest(String path) {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+		request.setServletPath(path);
+
+		return request;
+	}
+}
@@ -0,0 +1,56 @@
+package com.mycompany.myframework.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.http.HttpStatus;
+import org.springframework.validation.BindException;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import com.mycompany.myframework.properties.config.MyFrameworkConfig.FaultConfig.LogDeduplicationConfig;
+import com.mycompany.myframework.service.fault.FaultLogger;
+import com.mycompany.myframework.service.fault.server.DefaultServerFaultBarrierResponseResolver;
+import com.mycompany.myframework.service.model.FaultException;
+
+/**
+ * Benchmarks {@link DefaultServerFaultBarrierResponseResolver#handleFault(Throwable)} for the common kinds of fault. The exceptions
+ * are created inside each benchmark, as they would be by a failing request, so their stack traces are part of the cost.
+ */
+@State(Scope.Benchmark)
+public class ServerFaultBarrierBenchmark {
+	private DefaultServerFaultBarrierResponseResolver responseResolver;
+	private Person person;
+
+	@Setup
+	public void setup() {
+		this.responseResolver = new DefaultServerFaultBarrierResponseResolver(new FaultLogger(new LogDeduplicationConfig()));
+		this.person = new Person();
+	}
+
+	@Benchmark
+	public ServerResponse faultException() {
+		return this.responseResolver.handleFault(new FaultException(HttpStatus.SERVICE_UNAVAILABLE, "Downstream service unavailable")).block();
+	}
+
+	@Benchmark
+	public ServerResponse unhandledException() {
+		return this.responseResolver.handleFault(new IllegalStateException("Something went wrong")).block();
+	}
+
+	@Benchmark
+	public ServerResponse bindException() {
+		BindException bindException = new BindException(this.person, "person");
+		bindException.rejectValue("firstName", "NotBlank", "must not be blank");
+		bindException.rejectValue("age", "Min", "must be greater than or equal to 0");
+
+		return this.responseResolver.handleFault(bindException).block();
+	}
+
+	@Benchmark
+	public ServerResponse typeMismatchException() {
+		return this.responseResolver.handleFault(new TypeMismatchException("abc", Integer.class)).block();
+	}
+}
@@ -0,0 +1,64 @@
+package com.mycompany.myframework.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RequestPredicates;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import com.mycompany.myframework.properties.config.MyFrameworkConfig.FaultConfig.LogDeduplicationConfig;
+import com.mycompany.myframework.service.fault.FaultLogger;
+import com.mycompany.myframework.service.fault.server.ServerFaultBarrier;
+import com.mycompany.myframework.service.model.FaultException;
+import reactor.core.publisher.Mono;
+
+/**
+ * Benchmarks a {@code GET /people/{personId}}, as served by the reactive demo, through {@link WebTestClient} with the
+ * {@link ServerFaultBarrier} as its exception handler. {@code found} returns the person, and {@code not-found} fails with a 404
+ * fault rendered by the barrier, so the two show what an error costs next to a normal response.
+ */
+@State(Scope.Benchmark)
+public class ServerFaultRenderingBenchmark {
+	private static final Person PERSON = new Person("John", "Smith", 42);
+
+	@Param({ "found", "not-found" })
+	private String outcome;
+
+	private WebTestClient webTestClient;
+	private String personId;
+
+	@Setup
+	public void setup() {
+		ServerFaultBarrier serverFaultBarrier = new ServerFaultBarrier(new FaultLogger(new LogDeduplicationConfig()), ServerCodecConfigurer.create());
+
+		this.personId = "found".equals(this.outcome) ? "0" : "42";
+		this.webTestClient = WebTestClient
+			.bindToRouterFunction(RouterFunctions.route(RequestPredicates.GET("/people/{personId}"), request ->
+				"0".equals(request.pathVariable("personId")) ?
+					ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).syncBody(PERSON) :
+					Mono.error(new FaultException(HttpStatus.NOT_FOUND, String.format("Person %s was not found", request.pathVariable("personId"))))
+			))
+			.handlerStrategies(HandlerStrategies.builder().exceptionHandler(serverFaultBarrier).build())
+			.build();
+	}
+
+	@Benchmark
+	public byte[] getPerson() {
+		return this.webTestClient.get()
+			.uri("/people/{personId}", this.personId)
+			.accept(MediaType.APPLICATION_JSON)
+			.exchange()
+			.expectBody()
+			.returnResult()
+			.getResponseBody();
+	}
+}
@@ -0,0 +1,82 @@
+package com.mycompany.myframework.benchmarks;
+
+import javax.validation.ConstraintViolationException;
+import javax.validation.Validation;
+import javax.validation.ValidatorFactory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.core.MethodParameter;
+import org.springframework.validation.BindException;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.mycompany.myframework.service.api.ValidationResponse;
+
+/**
+ * Benchmarks the {@link ValidationResponse} constructors. The exceptions are created once, since building the response from them is
+ * what is being measured.
+ */
+@State(Scope.Benchmark)
+public class ValidationResponseBenchmark {
+	private ValidatorFactory validatorFactory;
+	private BindException bindException;
+	private ConstraintViolationException constraintViolationException;
+	private TypeMismatchException typeMismatchException;
+	private MethodArgumentTypeMismatchException methodArgumentTypeMismatchException;
+	private InvalidFormatException invalidFormatException;
+
+	@Setup
+	public void setup() throws NoSuchMethodException {
+		Person person = new Person("", null, -1);
+
+		this.bindException = new BindException(person, "person");
+		this.bindException.rejectValue("firstName", "NotBlank", "must not be blank");
+		this.bindException.rejectValue("lastName", "NotBlank", "must not be blank");
+		this.bindException.rejectValue("age", "Min", "must be greater than or equal to 0");
+
+		this.validatorFactory = Validation.buildDefaultValidatorFactory();
+		this.constraintViolationException = new ConstraintViolationException(this.validatorFactory.getValidator().validate(person));
+
+		this.typeMismatchException = new TypeMismatchException("abc", Integer.class);
+		this.methodArgumentTypeMismatchException = new MethodArgumentTypeMismatchException("abc", Integer.class, "id", new MethodParameter(Person.class.getMethod("update", int.class), 0), new NumberFormatException("abc"));
+
+		this.invalidFormatException = InvalidFormatException.from(null, "Cannot deserialize value of type `int` from String \"abc\"", "abc", int.class);
+		this.invalidFormatException.prependPath(person, "age");
+	}
+
+	@TearDown
+	public void tearDown() {
+		this.validatorFactory.close();
+	}
+
+	@Benchmark
+	public ValidationResponse bindingResult() {
+		return new ValidationResponse(this.bindException);
+	}
+
+	@Benchmark
+	public ValidationResponse constraintViolations() {
+		return new ValidationResponse(this.constraintViolationException);
+	}
+
+	@Benchmark
+	public ValidationResponse typeMismatch() {
+		return new ValidationResponse(this.typeMismatchException);
+	}
+
+	@Benchmark
+	public ValidationResponse methodArgumentTypeMismatch() {
+		return new ValidationResponse(this.methodArgumentTypeMismatchException);
+	}
+
+	@Benchmark
+	public ValidationResponse invalidFormat() {
+		return new ValidationResponse(this.invalidFormatException);
+	}
+}
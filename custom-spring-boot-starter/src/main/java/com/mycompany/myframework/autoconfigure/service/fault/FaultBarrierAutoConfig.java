@@ -1,15 +1,140 @@
 package com.mycompany.myframework.autoconfigure.service.fault;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 
+import com.mycompany.myframework.properties.config.MyFrameworkConfig;
+import com.mycompany.myframework.properties.config.MyFrameworkConfig.FaultConfig.StackTraceConfig;
+import com.mycompany.myframework.service.fault.FaultIdGenerator;
+import com.mycompany.myframework.service.fault.FaultIds;
+import com.mycompany.myframework.service.fault.FaultLogger;
+import com.mycompany.myframework.service.fault.FaultStackTracePolicy;
+import com.mycompany.myframework.service.fault.FaultStackTraces;
+import com.mycompany.myframework.service.fault.RandomUuidFaultIdGenerator;
+import com.mycompany.myframework.service.fault.TimeOrderedFaultIdGenerator;
+import com.mycompany.myframework.service.fault.TraceIdFaultIdGenerator;
 import com.mycompany.myframework.service.fault.server.ServerFaultBarrier;
 import com.mycompany.myframework.service.fault.servlet.ServletFaultBarrier;
+import io.micrometer.core.instrument.MeterRegistry;
 
 @Configuration
 public class FaultBarrierAutoConfig {
+	private static final Logger LOGGER = LoggerFactory.getLogger(FaultBarrierAutoConfig.class);
+
+	@Bean
+	@ConditionalOnMissingBean
+	public FaultIdGenerator faultIdGenerator(MyFrameworkConfig frameworkConfig) {
+		switch (frameworkConfig.getFault().getIdGenerator()) {
+			case TIME_ORDERED:
+				return new TimeOrderedFaultIdGenerator();
+
+			case TRACE_ID:
+				return new TraceIdFaultIdGenerator();
+
+			default:
+				return new RandomUuidFaultIdGenerator();
+		}
+	}
+
+	@Bean
+	public FaultIdGeneratorInstaller faultIdGeneratorInstaller(FaultIdGenerator faultIdGenerator) {
+		return new FaultIdGeneratorInstaller(faultIdGenerator);
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	public FaultStackTracePolicy faultStackTracePolicy(MyFrameworkConfig frameworkConfig) {
+		StackTraceConfig stackTraceConfig = frameworkConfig.getFault().getStackTraces();
+
+		switch (stackTraceConfig.getMode()) {
+			case NONE:
+				return FaultStackTracePolicy.stackless(stackTraceConfig.getFaultTypes());
+
+			case LIMITED:
+				return FaultStackTracePolicy.limited(stackTraceConfig.getFaultTypes(), stackTraceConfig.getDepth());
+
+			default:
+				return FaultStackTracePolicy.fullStackTraces();
+		}
+	}
+
+	@Bean
+	public FaultStackTracePolicyInstaller faultStackTracePolicyInstaller(FaultStackTracePolicy faultStackTracePolicy) {
+		return new FaultStackTracePolicyInstaller(faultStackTracePolicy);
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	public FaultLogger faultLogger(MyFrameworkConfig frameworkConfig, ObjectProvider<MeterRegistry> meterRegistry) {
+		FaultLogger faultLogger = new FaultLogger(frameworkConfig.getFault().getLogDeduplication());
+		meterRegistry.ifAvailable(faultLogger::bindTo);
+
+		return faultLogger;
+	}
+
+	/**
+	 * Installs the {@link FaultIdGenerator} in {@link FaultIds} once the context is refreshed, and resets it when the context closes so
+	 * the generator doesn't outlive its context (i.e. between the contexts of a test suite)
+	 */
+	static final class FaultIdGeneratorInstaller implements SmartInitializingSingleton, DisposableBean {
+		private final FaultIdGenerator faultIdGenerator;
+
+		private FaultIdGeneratorInstaller(FaultIdGenerator faultIdGenerator) {
+			this.faultIdGenerator = faultIdGenerator;
+		}
+
+		@Override
+		public void afterSingletonsInstantiated() {
+			// Faults are created with new wherever they happen, so they get the generator from FaultIds rather than from the context
+			LOGGER.info("Generating fault ids with {}", this.faultIdGenerator.getClass().getName());
+			FaultIds.setGenerator(this.faultIdGenerator);
+		}
+
+		@Override
+		public void destroy() {
+			// Another context may have installed its own generator since
+			if (FaultIds.getGenerator() == this.faultIdGenerator) {
+				FaultIds.resetGenerator();
+			}
+		}
+	}
+
+	/**
+	 * Installs the {@link FaultStackTracePolicy} in {@link FaultStackTraces} once the context is refreshed, and resets it when the
+	 * context closes
+	 */
+	static final class FaultStackTracePolicyInstaller implements SmartInitializingSingleton, DisposableBean {
+		private final FaultStackTracePolicy faultStackTracePolicy;
+
+		private FaultStackTracePolicyInstaller(FaultStackTracePolicy faultStackTracePolicy) {
+			this.faultStackTracePolicy = faultStackTracePolicy;
+		}
+
+		@Override
+		public void afterSingletonsInstantiated() {
+			LOGGER.info("Creating faults under {}", this.faultStackTracePolicy);
+			FaultStackTraces.setPolicy(this.faultStackTracePolicy);
+		}
+
+		@Override
+		public void destroy() {
+			// Another context may have installed its own policy since
+			if (FaultStackTraces.getPolicy() == this.faultStackTracePolicy) {
+				FaultStackTraces.resetPolicy();
+			}
+		}
+	}
+
 	@Configuration
 	@ConditionalOnWebApplication(type = Type.SERVLET)
 	@ComponentScan(basePackageClasses = { ServletFaultBarrier.class })
@@ -0,0 +1,76 @@
+package com.mycompany.myframework.autoconfigure.service.security;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnEnabledEndpoint;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.ResourceLoader;
+
+import com.mycompany.myframework.properties.config.MyFrameworkConfig;
+import com.mycompany.myframework.service.security.AllowedDomainsEnvironmentChangeListener;
+import com.mycompany.myframework.service.security.AllowedDomainsLocationWatcher;
+import com.mycompany.myframework.service.security.AllowedDomainsMatcherHolder;
+import com.mycompany.myframework.service.security.CorsDecisionMetrics;
+import com.mycompany.myframework.service.security.CorsEndpoint;
+import com.mycompany.myframework.service.security.CorsRoutingTable;
+
+/**
+ * Configuration of the CORS allowed domains shared by the servlet &amp; reactive security configurations: the
+ * {@link AllowedDomainsMatcherHolder} plus the ways of reloading it while the application is running, the {@link CorsRoutingTable}
+ * choosing the allowed domains for a request's path, and the
+ * {@link CorsDecisionMetrics} both stacks record their decisions to.
+ */
+@Configuration
+@ConditionalOnSecurityEnabled
+@ConditionalOnCorsAllowedDomains
+public class AllowedDomainsCorsAutoConfig {
+	@Bean
+	@ConditionalOnMissingBean
+	public AllowedDomainsMatcherHolder allowedDomainsMatcherHolder(MyFrameworkConfig frameworkConfig) {
+		return new AllowedDomainsMatcherHolder(frameworkConfig.getSecurity().getCors());
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	public CorsRoutingTable corsRoutingTable(MyFrameworkConfig frameworkConfig, AllowedDomainsMatcherHolder allowedDomainsMatcherHolder) {
+		return new CorsRoutingTable(frameworkConfig.getSecurity().getCors(), allowedDomainsMatcherHolder);
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	@ConditionalOnProperty(prefix = MyFrameworkConfig.PREFIX + ".security.cors.decision-metrics", name = "enabled", matchIfMissing = true)
+	public CorsDecisionMetrics corsDecisionMetrics(MyFrameworkConfig frameworkConfig) {
+		return new CorsDecisionMetrics(frameworkConfig.getSecurity().getCors().getDecisionMetrics());
+	}
+
+	@Bean
+	@ConditionalOnProperty(prefix = MyFrameworkConfig.PREFIX + ".security.cors", name = "reload-interval")
+	public AllowedDomainsLocationWatcher allowedDomainsLocationWatcher(AllowedDomainsMatcherHolder allowedDomainsMatcherHolder, MyFrameworkConfig frameworkConfig) {
+		return new AllowedDomainsLocationWatcher(allowedDomainsMatcherHolder, frameworkConfig.getSecurity().getCors().getReloadInterval());
+	}
+
+	@Configuration
+	@ConditionalOnClass(name = "org.springframework.cloud.context.environment.EnvironmentChangeEvent")
+	static class EnvironmentChangeConfiguration {
+		@Bean
+		public AllowedDomainsEnvironmentChangeListener allowedDomainsEnvironmentChangeListener(AllowedDomainsMatcherHolder allowedDomainsMatcherHolder, Environment environment, ResourceLoader resourceLoader) {
+			return new AllowedDomainsEnvironmentChangeListener(allowedDomainsMatcherHolder, environment, resourceLoader);
+		}
+	}
+
+	@Configuration
+	@ConditionalOnClass(Endpoint.class)
+	static class EndpointConfiguration {
+		@Bean
+		@ConditionalOnMissingBean
+		@ConditionalOnEnabledEndpoint
+		public CorsEndpoint corsEndpoint(AllowedDomainsMatcherHolder allowedDomainsMatcherHolder, ObjectProvider<CorsDecisionMetrics> corsDecisionMetrics) {
+			return new CorsEndpoint(allowedDomainsMatcherHolder, corsDecisionMetrics.getIfAvailable());
+		}
+	}
+}
@@ -0,0 +1,66 @@
+package com.mycompany.myframework.autoconfigure.service.security;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.AnyNestedCondition;
+import org.springframework.boot.autoconfigure.condition.ConditionMessage;
+import org.springframework.boot.autoconfigure.condition.ConditionOutcome;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.SpringBootCondition;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+import com.mycompany.myframework.autoconfigure.service.security.ConditionalOnCorsAllowedDomains.OnCorsAllowedDomainsCondition;
+import com.mycompany.myframework.properties.config.MyFrameworkConfig;
+import com.mycompany.myframework.properties.config.MyFrameworkConfig.SecurityConfig.CorsConfig.CorsRouteConfig;
+
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.TYPE, ElementType.METHOD })
+@Conditional(OnCorsAllowedDomainsCondition.class)
+public @interface ConditionalOnCorsAllowedDomains {
+	class OnCorsAllowedDomainsCondition extends AnyNestedCondition {
+		OnCorsAllowedDomainsCondition() {
+			super(ConfigurationPhase.REGISTER_BEAN);
+		}
+
+		@ConditionalOnProperty(prefix = MyFrameworkConfig.PREFIX + ".security.cors", name = "allowed-domains")
+		static class AllowedDomainsClass {}
+
+		@ConditionalOnProperty(prefix = MyFrameworkConfig.PREFIX + ".security.cors", name = "allowed-domains-location")
+		static class AllowedDomainsLocationClass {}
+
+		@Conditional(OnCorsRoutesCondition.class)
+		static class RoutesClass {}
+	}
+
+	/**
+	 * Matches if any {@link CorsRouteConfig routes} are configured. The routes are bound rather than looked up by a literal property
+	 * name, so they are found however they are set (i.e. {@code MYCOMPANY_MYFRAMEWORK_CONFIG_SECURITY_CORS_ROUTES_0_PATHPATTERN} as
+	 * an environment variable).
+	 */
+	class OnCorsRoutesCondition extends SpringBootCondition {
+		private static final String ROUTES_PROPERTY = MyFrameworkConfig.PREFIX + ".security.cors.routes";
+
+		@Override
+		public ConditionOutcome getMatchOutcome(ConditionContext context, AnnotatedTypeMetadata metadata) {
+			ConditionMessage.Builder message = ConditionMessage.forCondition("CORS routes");
+			int routeCount = Binder.get(context.getEnvironment())
+				.bind(ROUTES_PROPERTY, Bindable.listOf(CorsRouteConfig.class))
+				.map(List::size)
+				.orElse(0);
+
+			return (routeCount > 0) ?
+				ConditionOutcome.match(message.found("routes").items(ROUTES_PROPERTY)) :
+				ConditionOutcome.noMatch(message.didNotFind("routes").items(ROUTES_PROPERTY));
+		}
+	}
+}
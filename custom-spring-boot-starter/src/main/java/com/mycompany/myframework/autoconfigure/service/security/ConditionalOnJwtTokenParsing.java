@@ -0,0 +1,43 @@
+package com.mycompany.myframework.autoconfigure.service.security;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.springframework.boot.autoconfigure.condition.AllNestedConditions;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Conditional;
+
+import com.mycompany.myframework.autoconfigure.service.security.ConditionalOnJwtTokenParsing.OnJwtTokenParsingCondition;
+import com.mycompany.myframework.properties.config.MyFrameworkConfig;
+
+/**
+ * Matches when JWT bearer tokens are parsed instead of the {@code SM_USER} header: the Nimbus &amp; Spring Security OAuth2 resource
+ * server libraries are on the classpath <strong>AND</strong> a JSON Web Key Set location is configured
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+@Conditional(OnJwtTokenParsingCondition.class)
+public @interface ConditionalOnJwtTokenParsing {
+	class OnJwtTokenParsingCondition extends AllNestedConditions {
+		OnJwtTokenParsingCondition() {
+			super(ConfigurationPhase.PARSE_CONFIGURATION);
+		}
+
+		@ConditionalOnClass(name = { "com.nimbusds.jwt.JWT" })
+		static class NimbusJwtOnClasspathClass {}
+
+		@ConditionalOnClass(name = { "org.springframework.security.oauth2.jwt.Jwt" })
+		static class SpringSecurityOAuth2JoseOnClasspathClass {}
+
+		@ConditionalOnClass(name = { "org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken" })
+		static class SpringSecurityOAuth2ResourceServerOnClasspathClass {}
+
+		@ConditionalOnProperty(prefix = MyFrameworkConfig.PREFIX + ".security.jwt", name = "jwk-set-location")
+		static class JwkSetLocationClass {}
+	}
+}
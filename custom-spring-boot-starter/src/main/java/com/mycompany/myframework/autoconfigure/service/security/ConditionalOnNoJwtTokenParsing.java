@@ -6,29 +6,26 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
-import org.springframework.boot.autoconfigure.condition.AnyNestedCondition;
-import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingClass;
+import org.springframework.boot.autoconfigure.condition.NoneNestedConditions;
 import org.springframework.context.annotation.Conditional;
 
-import com.mycompany.myframework.autoconfigure.service.security.ConditionalOnNoJwtTokenParsing.OnJwtClassesMissingOrSitminderHeaderCondition;
+import com.mycompany.myframework.autoconfigure.service.security.ConditionalOnNoJwtTokenParsing.OnNoJwtTokenParsingCondition;
 
+/**
+ * Matches when the {@code SM_USER} header is parsed rather than JWT bearer tokens, i.e. whenever {@link ConditionalOnJwtTokenParsing}
+ * doesn't match
+ */
 @Documented
 @Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.TYPE)
-@Conditional(OnJwtClassesMissingOrSitminderHeaderCondition.class)
+@Conditional(OnNoJwtTokenParsingCondition.class)
 public @interface ConditionalOnNoJwtTokenParsing {
-	class OnJwtClassesMissingOrSitminderHeaderCondition extends AnyNestedCondition {
-		OnJwtClassesMissingOrSitminderHeaderCondition() {
+	class OnNoJwtTokenParsingCondition extends NoneNestedConditions {
+		OnNoJwtTokenParsingCondition() {
 			super(ConfigurationPhase.PARSE_CONFIGURATION);
 		}
 
-		@ConditionalOnMissingClass({ "com.nimbusds.jwt.JWT" })
-		static class NimbusJwtOnClasspathClass {}
-
-		@ConditionalOnMissingClass({ "org.springframework.security.oauth2.jwt.Jwt" })
-		static class SpringSecurityOAuth2JoseOnClasspathClass {}
-
-		@ConditionalOnMissingClass({ "org.springframework.security.oauth2.reactive.resource.authentication.JwtAuthenticationToken" })
-		static class SpringSecurityOAuth2ResourceServerOnClasspathClass {}
+		@ConditionalOnJwtTokenParsing
+		static class JwtTokenParsingClass {}
 	}
 }
@@ -0,0 +1,44 @@
+package com.mycompany.myframework.autoconfigure.service.security;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+
+import com.mycompany.myframework.properties.config.MyFrameworkConfig;
+import com.mycompany.myframework.properties.config.MyFrameworkConfig.SecurityConfig.UserDirectoryConfig;
+import com.mycompany.myframework.service.security.MappedUserDirectory;
+import com.mycompany.myframework.service.security.MappedUserDirectoryWatcher;
+
+/**
+ * Configuration of the {@link MappedUserDirectory} shared by the servlet &amp; reactive security configurations, whose header-based
+ * user details services find their users in it when it is present
+ */
+@Configuration
+@ConditionalOnSecurityEnabled
+@ConditionalOnProperty(prefix = MyFrameworkConfig.PREFIX + ".security.user-directory", name = "location")
+public class UserDirectoryAutoConfig {
+	@Bean
+	@ConditionalOnMissingBean
+	public MappedUserDirectory mappedUserDirectory(MyFrameworkConfig frameworkConfig) {
+		Resource location = frameworkConfig.getSecurity().getUserDirectory().getLocation();
+
+		try {
+			return new MappedUserDirectory(location.getFile().toPath());
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(String.format("The user directory location %s must be a file", location), ex);
+		}
+	}
+
+	@Bean
+	@ConditionalOnProperty(prefix = MyFrameworkConfig.PREFIX + ".security.user-directory", name = "reload-interval")
+	public MappedUserDirectoryWatcher mappedUserDirectoryWatcher(MappedUserDirectory mappedUserDirectory, MyFrameworkConfig frameworkConfig) {
+		UserDirectoryConfig userDirectoryConfig = frameworkConfig.getSecurity().getUserDirectory();
+		return new MappedUserDirectoryWatcher(mappedUserDirectory, userDirectoryConfig.getReloadInterval());
+	}
+}
@@ -1,9 +1,13 @@
 package com.mycompany.myframework.autoconfigure.service.security.reactive;
 
+import java.io.Serializable;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.boot.actuate.autoconfigure.security.reactive.EndpointRequest;
 import org.springframework.boot.autoconfigure.AutoConfigureBefore;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
@@ -17,33 +21,70 @@ import org.springframework.core.ReactiveAdapterRegistry;
 import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.lang.Nullable;
+import org.springframework.security.access.PermissionEvaluator;
+import org.springframework.security.access.expression.DenyAllPermissionEvaluator;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
 import org.springframework.security.authentication.AccountStatusUserDetailsChecker;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
 import org.springframework.security.config.annotation.method.configuration.EnableReactiveMethodSecurity;
 import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
 import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
 import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
 import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtReactiveAuthenticationManager;
+import org.springframework.security.oauth2.server.resource.web.access.server.BearerTokenServerAccessDeniedHandler;
+import org.springframework.security.oauth2.server.resource.web.server.BearerTokenServerAuthenticationEntryPoint;
+import org.springframework.security.oauth2.server.resource.web.server.ServerBearerTokenAuthenticationConverter;
 import org.springframework.security.web.server.SecurityWebFilterChain;
 import org.springframework.security.web.server.authentication.AuthenticationWebFilter;
 import org.springframework.security.web.server.authentication.HttpStatusServerEntryPoint;
 import org.springframework.security.web.server.authentication.ServerAuthenticationEntryPointFailureHandler;
 import org.springframework.security.web.server.authentication.logout.HttpStatusReturningServerLogoutSuccessHandler;
 import org.springframework.security.web.server.authorization.HttpStatusServerAccessDeniedHandler;
-import org.springframework.security.web.server.csrf.CookieServerCsrfTokenRepository;
 import org.springframework.security.web.server.csrf.ServerCsrfTokenRepository;
 import org.springframework.web.cors.reactive.CorsProcessor;
 import org.springframework.web.reactive.accept.RequestedContentTypeResolver;
 import org.springframework.web.reactive.result.method.annotation.RequestMappingHandlerMapping;
 
+import com.mycompany.myframework.autoconfigure.service.security.ConditionalOnCorsAllowedDomains;
+import com.mycompany.myframework.autoconfigure.service.security.ConditionalOnJwtTokenParsing;
 import com.mycompany.myframework.autoconfigure.service.security.ConditionalOnNoJwtTokenParsing;
 import com.mycompany.myframework.properties.config.MyFrameworkConfig;
+import com.mycompany.myframework.properties.config.MyFrameworkConfig.SecurityConfig.CorsConfig;
+import com.mycompany.myframework.properties.config.MyFrameworkConfig.SecurityConfig.CsrfConfig;
+import com.mycompany.myframework.properties.config.MyFrameworkConfig.SecurityConfig.JwtConfig;
+import com.mycompany.myframework.service.security.AllowedDomainsMatcherHolder;
+import com.mycompany.myframework.service.security.AuthenticationCache;
+import com.mycompany.myframework.service.security.CachingPermissionEvaluator;
+import com.mycompany.myframework.service.security.CorsDecisionMetrics;
+import com.mycompany.myframework.service.security.CorsRoutingTable;
+import com.mycompany.myframework.service.security.CsrfTokenGenerator;
+import com.mycompany.myframework.service.security.JwkSetJwtDecoder;
+import com.mycompany.myframework.service.security.JwtAuthenticationCache;
+import com.mycompany.myframework.service.security.MappedUserDirectory;
+import com.mycompany.myframework.service.security.MethodSecurityExpressionParser;
+import com.mycompany.myframework.service.security.PermissionCache;
+import com.mycompany.myframework.service.security.PreflightResponseCache;
+import com.mycompany.myframework.service.security.VerifiedJwtCache;
+import com.mycompany.myframework.service.security.server.CachingJwtReactiveAuthenticationManager;
+import com.mycompany.myframework.service.security.server.CachingReactiveAuthenticationManager;
+import com.mycompany.myframework.service.security.server.CachingReactiveJwtDecoder;
+import com.mycompany.myframework.service.security.server.CachingReactiveUserDetailsService;
+import com.mycompany.myframework.service.security.server.CoalescingReactiveUserDetailsService;
+import com.mycompany.myframework.service.security.server.CsrfTokenRequestMatcher;
 import com.mycompany.myframework.service.security.server.HeaderReactiveUserDetailsService;
 import com.mycompany.myframework.service.security.server.RequestHeaderServerAuthenticationConverter;
 import com.mycompany.myframework.service.security.server.ServerAllowedDomainsCorsConfigurationSource;
 import com.mycompany.myframework.service.security.server.ServerAllowedDomainsCorsProcessor;
 import com.mycompany.myframework.service.security.server.ServerCsrfTokenSubscribingResponseModifier;
+import com.mycompany.myframework.service.security.server.StripedCookieServerCsrfTokenRepository;
 import com.mycompany.myframework.service.security.server.UserDetailsRepositoryReactiveAuthenticationManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
 
 @Configuration
 @ConditionalOnReactiveSecurityEnabled
@@ -53,32 +94,61 @@ public class ServiceReactiveSecurityAutoConfig {
 	@Bean
 	@ConditionalOnMissingBean
 	public ServerCsrfTokenRepository csrfTokenRepository() {
-		return CookieServerCsrfTokenRepository.withHttpOnlyFalse();
+		return StripedCookieServerCsrfTokenRepository.withHttpOnlyFalse(new CsrfTokenGenerator());
 	}
 
 	@Bean
 	@ConditionalOnBean(ServerCsrfTokenRepository.class)
-	public ServerCsrfTokenSubscribingResponseModifier serverCsrfTokenSubscribingResponseModifier(ServerCodecConfigurer serverCodecConfigurer, RequestedContentTypeResolver webFluxContentTypeResolver, ReactiveAdapterRegistry webFluxAdapterRegistry) {
-		return new ServerCsrfTokenSubscribingResponseModifier(serverCodecConfigurer.getWriters(), webFluxContentTypeResolver, webFluxAdapterRegistry);
+	public ServerCsrfTokenSubscribingResponseModifier serverCsrfTokenSubscribingResponseModifier(ServerCodecConfigurer serverCodecConfigurer, RequestedContentTypeResolver webFluxContentTypeResolver, ReactiveAdapterRegistry webFluxAdapterRegistry, MyFrameworkConfig frameworkConfig) {
+		ServerCsrfTokenSubscribingResponseModifier responseModifier = new ServerCsrfTokenSubscribingResponseModifier(serverCodecConfigurer.getWriters(), webFluxContentTypeResolver, webFluxAdapterRegistry);
+		CsrfConfig csrfConfig = frameworkConfig.getSecurity().getCsrf();
+
+		if (csrfConfig.isLazyTokens()) {
+			LOGGER.info("Only subscribing to the CSRF token of browser requests because {}.security.csrf.lazy-tokens is set", MyFrameworkConfig.PREFIX);
+			responseModifier.setTokenRequestMatcher(new CsrfTokenRequestMatcher(csrfConfig.isMatchBrowserAccept(), csrfConfig.isMatchOrigin(), csrfConfig.getPathPatterns()));
+		}
+
+		return responseModifier;
 	}
 
 	@Bean
 	@ConditionalOnMissingBean
-	public ReactiveUserDetailsService userDetailsService() {
-		return new HeaderReactiveUserDetailsService();
+	public ReactiveUserDetailsService userDetailsService(MyFrameworkConfig frameworkConfig, ObjectProvider<MappedUserDirectory> mappedUserDirectory, ObjectProvider<MeterRegistry> meterRegistry) {
+		ReactiveUserDetailsService userDetailsService = CachingReactiveUserDetailsService.decorateIfEnabled(new HeaderReactiveUserDetailsService(mappedUserDirectory.getIfAvailable()), frameworkConfig.getSecurity().getUserDetailsCache());
+
+		if (userDetailsService instanceof CachingReactiveUserDetailsService) {
+			CachingReactiveUserDetailsService cachingUserDetailsService = (CachingReactiveUserDetailsService) userDetailsService;
+			meterRegistry.ifAvailable(cachingUserDetailsService::bindTo);
+
+			// A removed user, or one whose authorities were revoked, mustn't keep its access until the cached user expires
+			mappedUserDirectory.ifAvailable(userDirectory -> userDirectory.addReloadListener(snapshot -> cachingUserDetailsService.invalidateAll()));
+		}
+
+		return userDetailsService;
 	}
 
 	@Configuration
-	@ConditionalOnProperty(prefix = MyFrameworkConfig.PREFIX + ".security.cors", name = "allowed-domains")
+	@ConditionalOnCorsAllowedDomains
 	@AutoConfigureBefore(WebFluxAutoConfiguration.class)
 	static class AllowedDomainsCorsConfiguration implements WebFluxRegistrations {
 		@Autowired
 		private CorsProcessor corsProcessor;
 
 		@Bean
-		public CorsProcessor allowedDomainsCorsProcessor(MyFrameworkConfig frameworkConfig) {
-			ServiceReactiveSecurityAutoConfig.LOGGER.info("Injecting {} because {}.security.cors.allowed-domains is present", ServerAllowedDomainsCorsProcessor.class.getName(), MyFrameworkConfig.PREFIX);
-			return new ServerAllowedDomainsCorsProcessor(new ServerAllowedDomainsCorsConfigurationSource(frameworkConfig.getSecurity().getCors()));
+		public CorsProcessor allowedDomainsCorsProcessor(MyFrameworkConfig frameworkConfig, AllowedDomainsMatcherHolder allowedDomainsMatcherHolder, CorsRoutingTable corsRoutingTable, ObjectProvider<CorsDecisionMetrics> corsDecisionMetrics) {
+			ServiceReactiveSecurityAutoConfig.LOGGER.info("Injecting {} because {}.security.cors.allowed-domains or {}.security.cors.allowed-domains-location is present", ServerAllowedDomainsCorsProcessor.class.getName(), MyFrameworkConfig.PREFIX, MyFrameworkConfig.PREFIX);
+			CorsConfig corsConfig = frameworkConfig.getSecurity().getCors();
+			PreflightResponseCache preflightResponseCache = PreflightResponseCache.createIfEnabled(corsConfig.getPreflightCache());
+
+			if (preflightResponseCache != null) {
+				// Pre-flight responses are keyed by the handler's configuration, which doesn't change when the allowed domains do
+				allowedDomainsMatcherHolder.addReloadListener(snapshot -> preflightResponseCache.invalidateAll());
+			}
+
+			ServerAllowedDomainsCorsConfigurationSource corsConfigurationSource = new ServerAllowedDomainsCorsConfigurationSource(null, corsConfig, corsRoutingTable);
+			corsConfigurationSource.setDecisionMetrics(corsDecisionMetrics.getIfAvailable());
+
+			return new ServerAllowedDomainsCorsProcessor(null, corsConfigurationSource, preflightResponseCache);
 		}
 
 		@Override
@@ -96,12 +166,12 @@ public class ServiceReactiveSecurityAutoConfig {
 	@Order(100)
 	static class NoJwtTokenWebSecurityConfiguration {
 		@Bean
-		public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http, ServerCsrfTokenRepository csrfTokenRepository, ReactiveUserDetailsService userDetailsService) {
-			UserDetailsRepositoryReactiveAuthenticationManager authenticationManager = new UserDetailsRepositoryReactiveAuthenticationManager(userDetailsService);
+		public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http, ServerCsrfTokenRepository csrfTokenRepository, ReactiveUserDetailsService userDetailsService, MyFrameworkConfig frameworkConfig, ObjectProvider<MeterRegistry> meterRegistry, ObjectProvider<MappedUserDirectory> mappedUserDirectory) {
+			UserDetailsRepositoryReactiveAuthenticationManager authenticationManager = new UserDetailsRepositoryReactiveAuthenticationManager(coalesceIfEnabled(userDetailsService, frameworkConfig, meterRegistry));
 			authenticationManager.setPostAuthenticationChecks(new AccountStatusUserDetailsChecker());
-			authenticationManager.setPasswordEncoder(NoOpPasswordEncoder.getInstance()); // There's no password here in header-based authentication
+			authenticationManager.setPasswordEncoder(NoOpPasswordEncoder.getInstance()); // There's no password here in header-based authentication, so it's checked without a thread hop
 			HttpStatusServerEntryPoint authenticationEntryPoint = new HttpStatusServerEntryPoint(HttpStatus.UNAUTHORIZED);
-			AuthenticationWebFilter authenticationWebFilter = new AuthenticationWebFilter(authenticationManager);
+			AuthenticationWebFilter authenticationWebFilter = new AuthenticationWebFilter(cacheIfEnabled(authenticationManager, frameworkConfig, meterRegistry, mappedUserDirectory));
 			authenticationWebFilter.setAuthenticationFailureHandler(new ServerAuthenticationEntryPointFailureHandler(authenticationEntryPoint));
 			authenticationWebFilter.setServerAuthenticationConverter(new RequestHeaderServerAuthenticationConverter());
 
@@ -120,11 +190,184 @@ public class ServiceReactiveSecurityAutoConfig {
 					.accessDeniedHandler(new HttpStatusServerAccessDeniedHandler(HttpStatus.FORBIDDEN)).and()
 				.build();
 		}
+
+		private static ReactiveAuthenticationManager cacheIfEnabled(ReactiveAuthenticationManager authenticationManager, MyFrameworkConfig frameworkConfig, ObjectProvider<MeterRegistry> meterRegistry, ObjectProvider<MappedUserDirectory> mappedUserDirectory) {
+			AuthenticationCache authenticationCache = AuthenticationCache.createIfEnabled(frameworkConfig.getSecurity().getAuthenticationCache());
+
+			if (authenticationCache == null) {
+				return authenticationManager;
+			}
+
+			// The filter is stateless, so without the cache every request would go through the user lookup
+			meterRegistry.ifAvailable(authenticationCache::bindTo);
+			mappedUserDirectory.ifAvailable(userDirectory -> userDirectory.addReloadListener(snapshot -> authenticationCache.invalidateAll()));
+			return new CachingReactiveAuthenticationManager(authenticationManager, authenticationCache);
+		}
+
+		private static ReactiveUserDetailsService coalesceIfEnabled(ReactiveUserDetailsService userDetailsService, MyFrameworkConfig frameworkConfig, ObjectProvider<MeterRegistry> meterRegistry) {
+			if (!frameworkConfig.getSecurity().isCoalesceUserLookups()) {
+				return userDetailsService;
+			}
+
+			// Applied here rather than to the bean so lookups are coalesced for an application's own ReactiveUserDetailsService too
+			CoalescingReactiveUserDetailsService coalescingUserDetailsService = new CoalescingReactiveUserDetailsService(userDetailsService);
+			meterRegistry.ifAvailable(coalescingUserDetailsService::bindTo);
+
+			return coalescingUserDetailsService;
+		}
+	}
+
+	@Configuration
+	@ConditionalOnJwtTokenParsing
+	@EnableWebFluxSecurity
+	@Order(100)
+	static class JwtTokenWebSecurityConfiguration {
+		@Bean
+		@ConditionalOnMissingBean
+		public ReactiveJwtDecoder reactiveJwtDecoder(MyFrameworkConfig frameworkConfig, ObjectProvider<MeterRegistry> meterRegistry) {
+			ServiceReactiveSecurityAutoConfig.LOGGER.info("Injecting {} because {}.security.jwt.jwk-set-location is present", JwkSetJwtDecoder.class.getName(), MyFrameworkConfig.PREFIX);
+			JwtConfig jwtConfig = frameworkConfig.getSecurity().getJwt();
+			JwkSetJwtDecoder jwtDecoder = JwkSetJwtDecoder.fromLocation(jwtConfig.getJwkSetLocation(), jwtConfig.getIssuer());
+
+			// The keys are local, so verifying a token is CPU-bound work that doesn't block
+			ReactiveJwtDecoder reactiveJwtDecoder = token -> Mono.fromCallable(() -> jwtDecoder.decode(token));
+			VerifiedJwtCache verifiedJwtCache = VerifiedJwtCache.createIfEnabled(jwtConfig.getVerifiedTokenCache());
+
+			if (verifiedJwtCache == null) {
+				return reactiveJwtDecoder;
+			}
+
+			meterRegistry.ifAvailable(verifiedJwtCache::bindTo);
+			return new CachingReactiveJwtDecoder(reactiveJwtDecoder, verifiedJwtCache);
+		}
+
+		@Bean
+		public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http, ReactiveJwtDecoder reactiveJwtDecoder, MyFrameworkConfig frameworkConfig, ObjectProvider<MeterRegistry> meterRegistry) {
+			ReactiveAuthenticationManager authenticationManager = cacheIfEnabled(new JwtReactiveAuthenticationManager(reactiveJwtDecoder), frameworkConfig, meterRegistry);
+			BearerTokenServerAuthenticationEntryPoint authenticationEntryPoint = new BearerTokenServerAuthenticationEntryPoint();
+			AuthenticationWebFilter authenticationWebFilter = new AuthenticationWebFilter(authenticationManager);
+			authenticationWebFilter.setAuthenticationFailureHandler(new ServerAuthenticationEntryPointFailureHandler(authenticationEntryPoint));
+			authenticationWebFilter.setServerAuthenticationConverter(new ServerBearerTokenAuthenticationConverter());
+
+			return http
+				.cors().and()
+				.headers().and()
+				.logout().logoutSuccessHandler(new HttpStatusReturningServerLogoutSuccessHandler()).and()
+				.csrf().disable()
+				.authorizeExchange()
+					.matchers(EndpointRequest.toAnyEndpoint()).permitAll()
+					.anyExchange().authenticated().and()
+				.authenticationManager(authenticationManager)
+				.addFilterAt(authenticationWebFilter, SecurityWebFiltersOrder.AUTHENTICATION)
+				.exceptionHandling()
+					.authenticationEntryPoint(authenticationEntryPoint)
+					.accessDeniedHandler(new BearerTokenServerAccessDeniedHandler()).and()
+				.build();
+		}
+
+		private static ReactiveAuthenticationManager cacheIfEnabled(ReactiveAuthenticationManager authenticationManager, MyFrameworkConfig frameworkConfig, ObjectProvider<MeterRegistry> meterRegistry) {
+			JwtAuthenticationCache authenticationCache = JwtAuthenticationCache.createIfEnabled(frameworkConfig.getSecurity().getJwt().getAuthenticationCache());
+
+			if (authenticationCache == null) {
+				return authenticationManager;
+			}
+
+			// The filter is stateless, so without the cache every request would go through the decoding & claims conversion
+			meterRegistry.ifAvailable(authenticationCache::bindTo);
+			return new CachingJwtReactiveAuthenticationManager(authenticationManager, authenticationCache);
+		}
 	}
 
 	@Configuration
 	@EnableReactiveMethodSecurity
 	static class MethodSecurityAutoConfiguration {
+		@Bean
+		@ConditionalOnBean(PermissionEvaluator.class)
+		@ConditionalOnProperty(prefix = MyFrameworkConfig.PREFIX + ".security.permission-cache", name = "enabled", matchIfMissing = true)
+		public PermissionCache permissionCache(MyFrameworkConfig frameworkConfig, ObjectProvider<MeterRegistry> meterRegistry) {
+			PermissionCache permissionCache = new PermissionCache(frameworkConfig.getSecurity().getPermissionCache());
+			meterRegistry.ifAvailable(permissionCache::bindTo);
+
+			return permissionCache;
+		}
+
+		@Bean
+		public static BeanPostProcessor methodSecurityExpressionHandlerPostProcessor(ObjectProvider<PermissionEvaluator> permissionEvaluator, ObjectProvider<PermissionCache> permissionCache, ObjectProvider<MeterRegistry> meterRegistry) {
+			return new MethodSecurityExpressionHandlerPostProcessor(permissionEvaluator, permissionCache, meterRegistry);
+		}
+
+		/**
+		 * Customizes the expression handler {@link EnableReactiveMethodSecurity} defines, which (unlike the servlet one) can't be
+		 * swapped out for one of our own &amp; doesn't pick up the application's {@link PermissionEvaluator}.
+		 * <p>
+		 *   The expression handler is created along with the method security infrastructure, before all the bean post-processors
+		 *   are registered, so nothing is looked up here. The {@link MeterRegistry}, the application's {@link PermissionEvaluator}
+		 *   &amp; the {@link PermissionCache} are only resolved once they are first used.
+		 * </p>
+		 */
+		private static final class MethodSecurityExpressionHandlerPostProcessor implements BeanPostProcessor {
+			private final ObjectProvider<PermissionEvaluator> permissionEvaluator;
+			private final ObjectProvider<PermissionCache> permissionCache;
+			private final ObjectProvider<MeterRegistry> meterRegistry;
+
+			private MethodSecurityExpressionHandlerPostProcessor(ObjectProvider<PermissionEvaluator> permissionEvaluator, ObjectProvider<PermissionCache> permissionCache, ObjectProvider<MeterRegistry> meterRegistry) {
+				this.permissionEvaluator = permissionEvaluator;
+				this.permissionCache = permissionCache;
+				this.meterRegistry = meterRegistry;
+			}
+
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				if (bean instanceof DefaultMethodSecurityExpressionHandler) {
+					DefaultMethodSecurityExpressionHandler expressionHandler = (DefaultMethodSecurityExpressionHandler) bean;
+					expressionHandler.setExpressionParser(new MethodSecurityExpressionParser(getClass().getClassLoader(), this.meterRegistry));
+					expressionHandler.setPermissionEvaluator(new DeferredPermissionEvaluator(this.permissionEvaluator, this.permissionCache));
+				}
+
+				return bean;
+			}
+		}
 
+		/**
+		 * {@link PermissionEvaluator} resolving the application's {@link PermissionEvaluator} (&amp; the {@link PermissionCache} in
+		 * front of it) when a permission is first checked. Without one, every permission is denied, as it is by default.
+		 */
+		private static final class DeferredPermissionEvaluator implements PermissionEvaluator {
+			private final ObjectProvider<PermissionEvaluator> permissionEvaluator;
+			private final ObjectProvider<PermissionCache> permissionCache;
+
+			@Nullable
+			private volatile PermissionEvaluator delegate;
+
+			private DeferredPermissionEvaluator(ObjectProvider<PermissionEvaluator> permissionEvaluator, ObjectProvider<PermissionCache> permissionCache) {
+				this.permissionEvaluator = permissionEvaluator;
+				this.permissionCache = permissionCache;
+			}
+
+			@Override
+			public boolean hasPermission(Authentication authentication, Object targetDomainObject, Object permission) {
+				return getDelegate().hasPermission(authentication, targetDomainObject, permission);
+			}
+
+			@Override
+			public boolean hasPermission(Authentication authentication, Serializable targetId, String targetType, Object permission) {
+				return getDelegate().hasPermission(authentication, targetId, targetType, permission);
+			}
+
+			private PermissionEvaluator getDelegate() {
+				PermissionEvaluator delegate = this.delegate;
+
+				if (delegate == null) {
+					// Racing threads may both resolve it, which is harmless since they resolve the same beans
+					PermissionEvaluator permissionEvaluator = this.permissionEvaluator.getIfUnique(DenyAllPermissionEvaluator::new);
+					PermissionCache permissionCache = this.permissionCache.getIfAvailable();
+
+					delegate = ((permissionCache != null) && !(permissionEvaluator instanceof DenyAllPermissionEvaluator)) ? new CachingPermissionEvaluator(permissionEvaluator, permissionCache) : permissionEvaluator;
+					this.delegate = delegate;
+				}
+
+				return delegate;
+			}
+		}
 	}
 }
@@ -1,5 +1,9 @@
 package com.mycompany.myframework.autoconfigure.service.security.servlet;
 
+import java.util.Arrays;
+
+import javax.servlet.http.HttpServletRequest;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -21,29 +25,66 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.PermissionEvaluator;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionHandler;
+import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.method.configuration.EnableGlobalMethodSecurity;
+import org.springframework.security.config.annotation.method.configuration.GlobalMethodSecurityConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.userdetails.UserDetailsByNameServiceWrapper;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationProvider;
+import org.springframework.security.oauth2.server.resource.web.BearerTokenAuthenticationEntryPoint;
+import org.springframework.security.oauth2.server.resource.web.BearerTokenAuthenticationFilter;
+import org.springframework.security.oauth2.server.resource.web.BearerTokenResolver;
+import org.springframework.security.oauth2.server.resource.web.DefaultBearerTokenResolver;
+import org.springframework.security.oauth2.server.resource.web.access.BearerTokenAccessDeniedHandler;
 import org.springframework.security.web.access.AccessDeniedHandlerImpl;
 import org.springframework.security.web.authentication.HttpStatusEntryPoint;
 import org.springframework.security.web.authentication.logout.HttpStatusReturningLogoutSuccessHandler;
 import org.springframework.security.web.authentication.preauth.AbstractPreAuthenticatedProcessingFilter;
 import org.springframework.security.web.authentication.preauth.PreAuthenticatedAuthenticationProvider;
-import org.springframework.security.web.csrf.CookieCsrfTokenRepository;
 import org.springframework.security.web.csrf.CsrfTokenRepository;
+import org.springframework.web.filter.CorsFilter;
 import org.springframework.web.servlet.handler.HandlerMappingIntrospector;
 
+import com.mycompany.myframework.autoconfigure.service.security.ConditionalOnCorsAllowedDomains;
+import com.mycompany.myframework.autoconfigure.service.security.ConditionalOnJwtTokenParsing;
 import com.mycompany.myframework.autoconfigure.service.security.ConditionalOnNoJwtTokenParsing;
 import com.mycompany.myframework.autoconfigure.service.swagger.servlet.SwaggerServletSecurityResponseModifier;
 import com.mycompany.myframework.properties.config.MyFrameworkConfig;
+import com.mycompany.myframework.properties.config.MyFrameworkConfig.SecurityConfig.JwtConfig;
+import com.mycompany.myframework.service.security.AllowedDomainsMatcherHolder;
+import com.mycompany.myframework.service.security.AuthenticationCache;
+import com.mycompany.myframework.service.security.CachingPermissionEvaluator;
+import com.mycompany.myframework.service.security.CorsDecisionMetrics;
+import com.mycompany.myframework.service.security.CorsRoutingTable;
+import com.mycompany.myframework.service.security.CsrfTokenGenerator;
+import com.mycompany.myframework.service.security.JwkSetJwtDecoder;
+import com.mycompany.myframework.service.security.JwtAuthenticationCache;
+import com.mycompany.myframework.service.security.MappedUserDirectory;
+import com.mycompany.myframework.service.security.MethodSecurityExpressionParser;
+import com.mycompany.myframework.service.security.PermissionCache;
+import com.mycompany.myframework.service.security.PreflightResponseCache;
+import com.mycompany.myframework.service.security.VerifiedJwtCache;
 import com.mycompany.myframework.service.security.servlet.AllowedDomainsCorsConfigurationSource;
+import com.mycompany.myframework.service.security.servlet.AllowedDomainsCorsProcessor;
+import com.mycompany.myframework.service.security.servlet.CachingAuthenticationManager;
+import com.mycompany.myframework.service.security.servlet.CachingCorsConfigurationSource;
+import com.mycompany.myframework.service.security.servlet.CachingJwtAuthenticationProvider;
+import com.mycompany.myframework.service.security.servlet.CachingJwtDecoder;
+import com.mycompany.myframework.service.security.servlet.CachingUserDetailsService;
 import com.mycompany.myframework.service.security.servlet.HeaderUserDetailsService;
 import com.mycompany.myframework.service.security.servlet.HeaderUserFilter;
+import com.mycompany.myframework.service.security.servlet.PathPrefixRequestMatcher;
+import com.mycompany.myframework.service.security.servlet.StripedCookieCsrfTokenRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import springfox.documentation.swagger.web.ApiKeyVehicle;
 import springfox.documentation.swagger.web.SecurityConfiguration;
 import springfox.documentation.swagger2.annotations.EnableSwagger2;
@@ -56,35 +97,180 @@ public class ServiceServletSecurityAutoConfig {
 	@Bean
 	@ConditionalOnMissingBean
 	public CsrfTokenRepository csrfTokenRepository() {
-		return CookieCsrfTokenRepository.withHttpOnlyFalse();
+		return StripedCookieCsrfTokenRepository.withHttpOnlyFalse(new CsrfTokenGenerator());
 	}
 
 	@Bean("corsConfigurationSource")
-	@ConditionalOnProperty(prefix = MyFrameworkConfig.PREFIX + ".security.cors", name = "allowed-domains")
-	public AllowedDomainsCorsConfigurationSource corsConfigurationSource(@Qualifier("mvcHandlerMappingIntrospector") HandlerMappingIntrospector mvcHandlerMappingIntrospector, MyFrameworkConfig frameworkConfig) {
-		LOGGER.info("Injecting {} because {}.security.cors.allowed-domains is present", AllowedDomainsCorsConfigurationSource.class.getName(), MyFrameworkConfig.PREFIX);
-		return new AllowedDomainsCorsConfigurationSource(mvcHandlerMappingIntrospector, frameworkConfig.getSecurity().getCors());
+	@ConditionalOnCorsAllowedDomains
+	public AllowedDomainsCorsConfigurationSource corsConfigurationSource(@Qualifier("handlerMappingCorsConfigurationSource") CachingCorsConfigurationSource handlerMappingCorsConfigurationSource, MyFrameworkConfig frameworkConfig, CorsRoutingTable corsRoutingTable, ObjectProvider<CorsDecisionMetrics> corsDecisionMetrics) {
+		LOGGER.info("Injecting {} because {}.security.cors.allowed-domains or {}.security.cors.allowed-domains-location is present", AllowedDomainsCorsConfigurationSource.class.getName(), MyFrameworkConfig.PREFIX, MyFrameworkConfig.PREFIX);
+		AllowedDomainsCorsConfigurationSource corsConfigurationSource = new AllowedDomainsCorsConfigurationSource(handlerMappingCorsConfigurationSource, frameworkConfig.getSecurity().getCors(), corsRoutingTable);
+		corsConfigurationSource.setDecisionMetrics(corsDecisionMetrics.getIfAvailable());
+
+		return corsConfigurationSource;
+	}
+
+	@Bean
+	@ConditionalOnCorsAllowedDomains
+	public CachingCorsConfigurationSource handlerMappingCorsConfigurationSource(@Qualifier("mvcHandlerMappingIntrospector") HandlerMappingIntrospector mvcHandlerMappingIntrospector, MyFrameworkConfig frameworkConfig) {
+		return new CachingCorsConfigurationSource(mvcHandlerMappingIntrospector, frameworkConfig.getSecurity().getCors().getHandlerCache());
+	}
+
+	@Bean
+	@ConditionalOnCorsAllowedDomains
+	public AllowedDomainsCorsProcessor allowedDomainsCorsProcessor(MyFrameworkConfig frameworkConfig, AllowedDomainsMatcherHolder allowedDomainsMatcherHolder) {
+		PreflightResponseCache preflightResponseCache = PreflightResponseCache.createIfEnabled(frameworkConfig.getSecurity().getCors().getPreflightCache());
+
+		if (preflightResponseCache != null) {
+			allowedDomainsMatcherHolder.addReloadListener(snapshot -> preflightResponseCache.invalidateAll());
+		}
+
+		return new AllowedDomainsCorsProcessor(preflightResponseCache);
 	}
 
 	@Bean
 	@ConditionalOnMissingBean
-	public UserDetailsService userDetailsService() {
-		return new HeaderUserDetailsService();
+	public UserDetailsService userDetailsService(MyFrameworkConfig frameworkConfig, ObjectProvider<MappedUserDirectory> mappedUserDirectory, ObjectProvider<MeterRegistry> meterRegistry) {
+		UserDetailsService userDetailsService = CachingUserDetailsService.decorateIfEnabled(new HeaderUserDetailsService(mappedUserDirectory.getIfAvailable()), frameworkConfig.getSecurity().getUserDetailsCache());
+
+		if (userDetailsService instanceof CachingUserDetailsService) {
+			CachingUserDetailsService cachingUserDetailsService = (CachingUserDetailsService) userDetailsService;
+			meterRegistry.ifAvailable(cachingUserDetailsService::bindTo);
+
+			// A removed user, or one whose authorities were revoked, mustn't keep its access until the cached user expires
+			mappedUserDirectory.ifAvailable(userDirectory -> userDirectory.addReloadListener(snapshot -> cachingUserDetailsService.invalidateAll()));
+		}
+
+		return userDetailsService;
+	}
+
+	@Bean
+	@ConditionalOnBean(PermissionEvaluator.class)
+	@ConditionalOnProperty(prefix = MyFrameworkConfig.PREFIX + ".security.permission-cache", name = "enabled", matchIfMissing = true)
+	public PermissionCache permissionCache(MyFrameworkConfig frameworkConfig, ObjectProvider<MeterRegistry> meterRegistry) {
+		PermissionCache permissionCache = new PermissionCache(frameworkConfig.getSecurity().getPermissionCache());
+		meterRegistry.ifAvailable(permissionCache::bindTo);
+
+		return permissionCache;
+	}
+
+	@Configuration
+	@ConditionalOnJwtTokenParsing
+	static class JwtDecoderConfiguration {
+		@Bean
+		@ConditionalOnMissingBean
+		public JwtDecoder jwtDecoder(MyFrameworkConfig frameworkConfig, ObjectProvider<MeterRegistry> meterRegistry) {
+			ServiceServletSecurityAutoConfig.LOGGER.info("Injecting {} because {}.security.jwt.jwk-set-location is present", JwkSetJwtDecoder.class.getName(), MyFrameworkConfig.PREFIX);
+			JwtConfig jwtConfig = frameworkConfig.getSecurity().getJwt();
+			JwtDecoder jwtDecoder = JwkSetJwtDecoder.fromLocation(jwtConfig.getJwkSetLocation(), jwtConfig.getIssuer());
+			VerifiedJwtCache verifiedJwtCache = VerifiedJwtCache.createIfEnabled(jwtConfig.getVerifiedTokenCache());
+
+			if (verifiedJwtCache == null) {
+				return jwtDecoder;
+			}
+
+			meterRegistry.ifAvailable(verifiedJwtCache::bindTo);
+			return new CachingJwtDecoder(jwtDecoder, verifiedJwtCache);
+		}
 	}
 
 	@Configuration
 	@ConditionalOnNoJwtTokenParsing
 	@EnableWebSecurity
 	@Order(100)
-	static class NoJwtTokenWebSecurityConfiguration extends WebSecurityConfigurerAdapter {
+	static class NoJwtTokenWebSecurityConfiguration extends AbstractServiceWebSecurityConfiguration {
 		@Autowired
-		private ObjectProvider<WebEndpointProperties> webEndpointProperties;
+		private UserDetailsService userDetailsService;
+
+		@Override
+		protected void configure(AuthenticationManagerBuilder auth) throws Exception {
+			ServiceServletSecurityAutoConfig.LOGGER.info("Enabling authentication provider");
+			PreAuthenticatedAuthenticationProvider provider = new PreAuthenticatedAuthenticationProvider();
+			provider.setPreAuthenticatedUserDetailsService(new UserDetailsByNameServiceWrapper<>(this.userDetailsService));
+			auth.authenticationProvider(provider);
+		}
+
+		@Override
+		protected void configureAuthentication(HttpSecurity http) throws Exception {
+			http
+				.csrf().csrfTokenRepository(this.csrfTokenRepository).and()
+				.addFilterBefore(new HeaderUserFilter(getHeaderUserAuthenticationManager(), "SM_USER"), AbstractPreAuthenticatedProcessingFilter.class)
+				.exceptionHandling()
+					.authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED))
+					.accessDeniedHandler(new AccessDeniedHandlerImpl());
+		}
+
+		private AuthenticationManager getHeaderUserAuthenticationManager() throws Exception {
+			AuthenticationCache authenticationCache = AuthenticationCache.createIfEnabled(this.frameworkConfig.getSecurity().getAuthenticationCache());
+
+			if (authenticationCache == null) {
+				return authenticationManagerBean();
+			}
+
+			// The session is stateless, so without the cache every request would go through the provider & the user lookup
+			this.meterRegistry.ifAvailable(authenticationCache::bindTo);
+			this.mappedUserDirectory.ifAvailable(userDirectory -> userDirectory.addReloadListener(snapshot -> authenticationCache.invalidateAll()));
+			return new CachingAuthenticationManager(authenticationManagerBean(), authenticationCache);
+		}
+	}
+
+	@Configuration
+	@ConditionalOnJwtTokenParsing
+	@EnableWebSecurity
+	@Order(100)
+	static class JwtTokenWebSecurityConfiguration extends AbstractServiceWebSecurityConfiguration {
+		private static final BearerTokenResolver BEARER_TOKEN_RESOLVER = new DefaultBearerTokenResolver();
 
 		@Autowired
-		private ObjectProvider<ManagementServerProperties> managementServerProperties;
+		private JwtDecoder jwtDecoder;
+
+		@Override
+		protected void configure(AuthenticationManagerBuilder auth) throws Exception {
+			ServiceServletSecurityAutoConfig.LOGGER.info("Enabling JWT authentication provider");
+			JwtAuthenticationProvider provider = new JwtAuthenticationProvider(this.jwtDecoder);
+			JwtAuthenticationCache authenticationCache = JwtAuthenticationCache.createIfEnabled(this.frameworkConfig.getSecurity().getJwt().getAuthenticationCache());
+
+			if (authenticationCache == null) {
+				auth.authenticationProvider(provider);
+				return;
+			}
+
+			// The session is stateless, so without the cache every request would go through the decoding & claims conversion
+			this.meterRegistry.ifAvailable(authenticationCache::bindTo);
+			auth.authenticationProvider(new CachingJwtAuthenticationProvider(provider, authenticationCache));
+		}
 
+		@Override
+		protected void configureAuthentication(HttpSecurity http) throws Exception {
+			http
+				// The browser doesn't send a bearer token on its own, so requests carrying one can't be forged
+				.csrf().csrfTokenRepository(this.csrfTokenRepository).ignoringRequestMatchers(JwtTokenWebSecurityConfiguration::hasBearerToken).and()
+				.addFilterBefore(new BearerTokenAuthenticationFilter(authenticationManagerBean()), AbstractPreAuthenticatedProcessingFilter.class)
+				.exceptionHandling()
+					.authenticationEntryPoint(new BearerTokenAuthenticationEntryPoint())
+					.accessDeniedHandler(new BearerTokenAccessDeniedHandler());
+		}
+
+		private static boolean hasBearerToken(HttpServletRequest request) {
+			try {
+				return BEARER_TOKEN_RESOLVER.resolve(request) != null;
+			}
+			catch (OAuth2AuthenticationException ex) {
+				// A malformed bearer token still needs to be rejected, which the authentication filter does
+				return false;
+			}
+		}
+	}
+
+	/**
+	 * What the header &amp; JWT configurations have in common: CORS, CSRF, logout, a stateless session, and the paths bypassing security
+	 */
+	abstract static class AbstractServiceWebSecurityConfiguration extends WebSecurityConfigurerAdapter {
 		@Autowired
-		private UserDetailsService userDetailsService;
+		private ObjectProvider<WebEndpointProperties> webEndpointProperties;
+
+		@Autowired
+		private ObjectProvider<ManagementServerProperties> managementServerProperties;
 
 		@Value("${springfox.documentation.swagger.v2.path:/v2/api-docs}")
 		private String swaggerApiPath;
@@ -93,44 +279,70 @@ public class ServiceServletSecurityAutoConfig {
 		private String serverContextPath;
 
 		@Autowired
-		private CsrfTokenRepository csrfTokenRepository;
+		protected CsrfTokenRepository csrfTokenRepository;
 
-		@Override
-		protected void configure(AuthenticationManagerBuilder auth) throws Exception {
-			ServiceServletSecurityAutoConfig.LOGGER.info("Enabling authentication provider");
-			PreAuthenticatedAuthenticationProvider provider = new PreAuthenticatedAuthenticationProvider();
-			provider.setPreAuthenticatedUserDetailsService(new UserDetailsByNameServiceWrapper<>(this.userDetailsService));
-			auth.authenticationProvider(provider);
-		}
+		@Autowired
+		private ObjectProvider<AllowedDomainsCorsConfigurationSource> allowedDomainsCorsConfigurationSource;
+
+		@Autowired
+		private ObjectProvider<AllowedDomainsCorsProcessor> allowedDomainsCorsProcessor;
+
+		@Autowired
+		protected MyFrameworkConfig frameworkConfig;
+
+		@Autowired
+		protected ObjectProvider<MeterRegistry> meterRegistry;
+
+		@Autowired
+		protected ObjectProvider<MappedUserDirectory> mappedUserDirectory;
 
 		@Override
 		protected void configure(HttpSecurity http) throws Exception {
+			configureCors(http);
+
 			http
-				.cors().and()
 				.headers().and()
-				.csrf().csrfTokenRepository(this.csrfTokenRepository).and()
 				.logout()
 					.deleteCookies("XSRF-TOKEN")
 					.logoutSuccessHandler(new HttpStatusReturningLogoutSuccessHandler()).permitAll();
 
-			String[] bypassSecurityUris = {
+			// Compiled into a single matcher so a request is checked against all of these in one pass along its path
+			PathPrefixRequestMatcher bypassSecurityUris = new PathPrefixRequestMatcher(Arrays.asList(
 				prependContextPath(getActuatorRoot()),
 				prependContextPath(String.format("%s/**", this.swaggerApiPath)),
 				prependContextPath("/swagger-ui.html"),
 				prependContextPath("/swagger-resources/**"),
 				prependContextPath("/webjars/springfox-swagger-ui/**")
-			};
+			));
 
 			http
 				.sessionManagement().sessionCreationPolicy(SessionCreationPolicy.STATELESS).and()
 				.authorizeRequests()
-					.requestMatchers(EndpointRequest.toAnyEndpoint()).permitAll()
-					.antMatchers(bypassSecurityUris).permitAll()
-					.anyRequest().authenticated().and()
-				.addFilterBefore(new HeaderUserFilter(authenticationManagerBean(), "SM_USER"), AbstractPreAuthenticatedProcessingFilter.class)
-				.exceptionHandling()
-					.authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED))
-					.accessDeniedHandler(new AccessDeniedHandlerImpl());
+					.requestMatchers(bypassSecurityUris, EndpointRequest.toAnyEndpoint()).permitAll()
+					.anyRequest().authenticated();
+
+			configureAuthentication(http);
+		}
+
+		/**
+		 * Configures CSRF, how requests are authenticated, and how authentication &amp; authorization failures are answered
+		 * @param http The {@link HttpSecurity}
+		 * @throws Exception If the configuration fails
+		 */
+		protected abstract void configureAuthentication(HttpSecurity http) throws Exception;
+
+		private void configureCors(HttpSecurity http) throws Exception {
+			AllowedDomainsCorsConfigurationSource corsConfigurationSource = this.allowedDomainsCorsConfigurationSource.getIfAvailable();
+
+			if (corsConfigurationSource != null) {
+				// Build the CorsFilter ourselves - the cors() configurer doesn't allow customizing the CorsProcessor
+				CorsFilter corsFilter = new CorsFilter(corsConfigurationSource);
+				this.allowedDomainsCorsProcessor.ifAvailable(corsFilter::setCorsProcessor);
+				http.addFilter(corsFilter);
+			}
+			else {
+				http.cors();
+			}
 		}
 
 		private String getActuatorRoot() {
@@ -151,8 +363,38 @@ public class ServiceServletSecurityAutoConfig {
 	@Configuration
 	@EnableGlobalMethodSecurity(prePostEnabled = true)
 	@ConditionalOnBean({ PermissionEvaluator.class })
-	static class MethodSecurityAutoConfig {
+	static class MethodSecurityAutoConfig extends GlobalMethodSecurityConfiguration {
+		@Autowired
+		private ObjectProvider<PermissionEvaluator> permissionEvaluator;
+
+		@Autowired
+		private ObjectProvider<PermissionCache> permissionCache;
+
+		@Autowired
+		private ObjectProvider<MeterRegistry> meterRegistry;
+
+		@Override
+		protected MethodSecurityExpressionHandler createExpressionHandler() {
+			DefaultMethodSecurityExpressionHandler expressionHandler = (DefaultMethodSecurityExpressionHandler) super.createExpressionHandler();
 
+			// Called while the method interceptor is being created, so the registry is only resolved once an expression is evaluated
+			expressionHandler.setExpressionParser(new MethodSecurityExpressionParser(getClass().getClassLoader(), this.meterRegistry));
+
+			return expressionHandler;
+		}
+
+		@Override
+		public void afterSingletonsInstantiated() {
+			super.afterSingletonsInstantiated();
+
+			// The superclass has just handed the application's PermissionEvaluator to the expression handler, so wrap it afterwards
+			PermissionEvaluator permissionEvaluator = this.permissionEvaluator.getIfUnique();
+			PermissionCache permissionCache = this.permissionCache.getIfAvailable();
+
+			if ((permissionEvaluator != null) && (permissionCache != null) && (getExpressionHandler() instanceof DefaultMethodSecurityExpressionHandler)) {
+				((DefaultMethodSecurityExpressionHandler) getExpressionHandler()).setPermissionEvaluator(new CachingPermissionEvaluator(permissionEvaluator, permissionCache));
+			}
+		}
 	}
 
 	@Configuration
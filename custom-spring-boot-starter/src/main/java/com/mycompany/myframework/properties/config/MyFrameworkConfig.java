@@ -1,11 +1,19 @@
 package com.mycompany.myframework.properties.config;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
 import javax.validation.Valid;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
 
 import org.apache.commons.lang3.builder.ToStringBuilder;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.NestedConfigurationProperty;
+import org.springframework.core.io.Resource;
 import org.springframework.lang.Nullable;
 import org.springframework.validation.annotation.Validated;
 
@@ -18,12 +26,27 @@ public class MyFrameworkConfig {
 	@NestedConfigurationProperty
 	private final SecurityConfig security = new SecurityConfig();
 
+	/**
+	 * Fault barrier sub-configuration
+	 */
+	@Valid
+	@NestedConfigurationProperty
+	private final FaultConfig fault = new FaultConfig();
+
 	private boolean enableActuators = false;
 
 	public SecurityConfig getSecurity() {
 		return this.security;
 	}
 
+	/**
+	 * Gets the fault barrier sub-configuration
+	 * @return The fault barrier sub-configuration
+	 */
+	public FaultConfig getFault() {
+		return this.fault;
+	}
+
 	public boolean isEnableActuators() {
 		return this.enableActuators;
 	}
@@ -37,6 +60,302 @@ public class MyFrameworkConfig {
 		return ToStringBuilder.reflectionToString(this);
 	}
 
+	/**
+	 * Configuration of the fault barriers
+	 */
+	public static class FaultConfig {
+		/**
+		 * How the ids of faults (returned in the {@code X-FAULT-ID} header) are generated. Ignored if the application declares its own {@link com.mycompany.myframework.service.fault.FaultIdGenerator} bean.
+		 */
+		@NotNull
+		private FaultIdGeneratorType idGenerator = FaultIdGeneratorType.RANDOM_UUID;
+
+		/**
+		 * How much of their stack trace the designated types of fault capture when they are created
+		 */
+		@NestedConfigurationProperty
+		@Valid
+		private final StackTraceConfig stackTraces = new StackTraceConfig();
+
+		/**
+		 * How repeats of the same fault are collapsed in the logs during an error storm
+		 */
+		@NestedConfigurationProperty
+		@Valid
+		private final LogDeduplicationConfig logDeduplication = new LogDeduplicationConfig();
+
+		/**
+		 * Gets how the ids of faults are generated
+		 * @return How the ids of faults are generated
+		 */
+		public FaultIdGeneratorType getIdGenerator() {
+			return this.idGenerator;
+		}
+
+		/**
+		 * Sets how the ids of faults are generated
+		 * @param idGenerator How the ids of faults are generated
+		 */
+		public void setIdGenerator(FaultIdGeneratorType idGenerator) {
+			this.idGenerator = idGenerator;
+		}
+
+		/**
+		 * Gets the configuration of the stack traces of faults
+		 * @return The configuration of the stack traces of faults
+		 */
+		public StackTraceConfig getStackTraces() {
+			return this.stackTraces;
+		}
+
+		/**
+		 * Gets the configuration of the deduplication of fault logs
+		 * @return The configuration of the deduplication of fault logs
+		 */
+		public LogDeduplicationConfig getLogDeduplication() {
+			return this.logDeduplication;
+		}
+
+		@Override
+		public String toString() {
+			return ToStringBuilder.reflectionToString(this);
+		}
+
+		/**
+		 * Configuration of the stack traces of faults
+		 */
+		public static class StackTraceConfig {
+			/**
+			 * How much of their stack trace faults of {@link #faultTypes} capture. Every other fault captures its full stack trace.
+			 */
+			@NotNull
+			private StackTraceMode mode = StackTraceMode.FULL;
+
+			/**
+			 * How many frames faults of {@link #faultTypes} keep if {@link #mode} is {@link StackTraceMode#LIMITED}
+			 */
+			@Min(1)
+			private int depth = 10;
+
+			/**
+			 * The types of fault (subclasses of {@link com.mycompany.myframework.service.model.HttpStatusException}) that are expected, i.e. business faults like a 404, so don't need their full stack trace. Their subclasses are covered too.
+			 */
+			private List<Class<?>> faultTypes = new ArrayList<>();
+
+			/**
+			 * Gets how much of their stack trace the designated faults capture
+			 * @return How much of their stack trace the designated faults capture
+			 */
+			public StackTraceMode getMode() {
+				return this.mode;
+			}
+
+			/**
+			 * Sets how much of their stack trace the designated faults capture
+			 * @param mode How much of their stack trace the designated faults capture
+			 */
+			public void setMode(StackTraceMode mode) {
+				this.mode = mode;
+			}
+
+			/**
+			 * Gets how many frames the designated faults keep in {@link StackTraceMode#LIMITED} mode
+			 * @return How many frames the designated faults keep
+			 */
+			public int getDepth() {
+				return this.depth;
+			}
+
+			/**
+			 * Sets how many frames the designated faults keep in {@link StackTraceMode#LIMITED} mode
+			 * @param depth How many frames the designated faults keep
+			 */
+			public void setDepth(int depth) {
+				this.depth = depth;
+			}
+
+			/**
+			 * Gets the designated fault types
+			 * @return The designated fault types
+			 */
+			public List<Class<?>> getFaultTypes() {
+				return this.faultTypes;
+			}
+
+			/**
+			 * Sets the designated fault types
+			 * @param faultTypes The designated fault types
+			 */
+			public void setFaultTypes(List<Class<?>> faultTypes) {
+				this.faultTypes = faultTypes;
+			}
+
+			@Override
+			public String toString() {
+				return ToStringBuilder.reflectionToString(this);
+			}
+
+			/**
+			 * How much of their stack trace the designated faults capture
+			 */
+			public enum StackTraceMode {
+				/**
+				 * The full stack trace
+				 */
+				FULL,
+
+				/**
+				 * Only the top {@link StackTraceConfig#depth} frames
+				 */
+				LIMITED,
+
+				/**
+				 * No stack trace at all
+				 */
+				NONE
+			}
+		}
+
+		/**
+		 * Configuration of the deduplication of fault logs
+		 */
+		public static class LogDeduplicationConfig {
+			/**
+			 * Whether or not repeats of a fault are collapsed into summary lines. If {@code false} every fault is logged in full.
+			 */
+			private boolean enabled = true;
+
+			/**
+			 * How often the repeats of each fault are summarized. The first occurrence of a fault in a window is logged in full.
+			 */
+			@NotNull
+			private Duration window = Duration.ofMinutes(1);
+
+			/**
+			 * The maximum number of distinct faults tracked in a window. Faults beyond that are logged in full.
+			 */
+			@Min(1)
+			private int maximumFingerprints = 1_000;
+
+			/**
+			 * How many of the top stack frames (of the root cause of a fault) tell faults apart
+			 */
+			@Min(0)
+			private int stackFrames = 5;
+
+			/**
+			 * How many fault ids of the repeats of a fault are sampled into its summary line
+			 */
+			@Min(0)
+			private int sampleFaultIds = 5;
+
+			/**
+			 * Whether or not repeats of a fault are collapsed into summary lines
+			 * @return Whether or not repeats of a fault are collapsed into summary lines
+			 */
+			public boolean isEnabled() {
+				return this.enabled;
+			}
+
+			/**
+			 * Sets whether or not repeats of a fault are collapsed into summary lines
+			 * @param enabled Whether or not repeats of a fault are collapsed into summary lines
+			 */
+			public void setEnabled(boolean enabled) {
+				this.enabled = enabled;
+			}
+
+			/**
+			 * Gets how often the repeats of each fault are summarized
+			 * @return How often the repeats of each fault are summarized
+			 */
+			public Duration getWindow() {
+				return this.window;
+			}
+
+			/**
+			 * Sets how often the repeats of each fault are summarized
+			 * @param window How often the repeats of each fault are summarized
+			 */
+			public void setWindow(Duration window) {
+				this.window = window;
+			}
+
+			/**
+			 * Gets the maximum number of distinct faults tracked in a window
+			 * @return The maximum number of distinct faults tracked in a window
+			 */
+			public int getMaximumFingerprints() {
+				return this.maximumFingerprints;
+			}
+
+			/**
+			 * Sets the maximum number of distinct faults tracked in a window
+			 * @param maximumFingerprints The maximum number of distinct faults tracked in a window
+			 */
+			public void setMaximumFingerprints(int maximumFingerprints) {
+				this.maximumFingerprints = maximumFingerprints;
+			}
+
+			/**
+			 * Gets how many of the top stack frames tell faults apart
+			 * @return How many of the top stack frames tell faults apart
+			 */
+			public int getStackFrames() {
+				return this.stackFrames;
+			}
+
+			/**
+			 * Sets how many of the top stack frames tell faults apart
+			 * @param stackFrames How many of the top stack frames tell faults apart
+			 */
+			public void setStackFrames(int stackFrames) {
+				this.stackFrames = stackFrames;
+			}
+
+			/**
+			 * Gets how many fault ids are sampled into a summary line
+			 * @return How many fault ids are sampled into a summary line
+			 */
+			public int getSampleFaultIds() {
+				return this.sampleFaultIds;
+			}
+
+			/**
+			 * Sets how many fault ids are sampled into a summary line
+			 * @param sampleFaultIds How many fault ids are sampled into a summary line
+			 */
+			public void setSampleFaultIds(int sampleFaultIds) {
+				this.sampleFaultIds = sampleFaultIds;
+			}
+
+			@Override
+			public String toString() {
+				return ToStringBuilder.reflectionToString(this);
+			}
+		}
+
+		/**
+		 * The built-in ways of generating fault ids
+		 */
+		public enum FaultIdGeneratorType {
+			/**
+			 * Random UUIDs from {@link java.util.UUID#randomUUID()}, which every thread draws from a single shared {@link java.security.SecureRandom} for
+			 */
+			RANDOM_UUID,
+
+			/**
+			 * Time-ordered UUIDs (in the layout of a version 7 UUID) with random bits from {@link java.util.concurrent.ThreadLocalRandom}
+			 */
+			TIME_ORDERED,
+
+			/**
+			 * The id of the current trace followed by a random suffix, or a time-ordered UUID outside a trace
+			 */
+			TRACE_ID
+		}
+	}
+
 	public static class SecurityConfig {
 		private boolean enabled = false;
 
@@ -47,6 +366,53 @@ public class MyFrameworkConfig {
 		@Valid
 		private final CorsConfig cors = new CorsConfig();
 
+		/**
+		 * Cache of the users loaded by the {@link org.springframework.security.core.userdetails.UserDetailsService} or {@link org.springframework.security.core.userdetails.ReactiveUserDetailsService}, keyed by username. Users that aren't found aren't cached.
+		 */
+		@NestedConfigurationProperty
+		@Valid
+		private final RefreshingCacheConfig userDetailsCache = new RefreshingCacheConfig(true, 10_000, Duration.ofMinutes(5), Duration.ofMinutes(1));
+
+		/**
+		 * Short-lived cache from the principal &amp; credentials of a pre-authentication request to the authenticated user, so a repeat caller skips the user lookup entirely. A cached user isn't checked again until its entry expires.
+		 */
+		@NestedConfigurationProperty
+		@Valid
+		private final CacheConfig authenticationCache = new CacheConfig(true, 10_000, Duration.ofSeconds(30));
+
+		/**
+		 * Short-lived cache of the decisions of the application's {@link org.springframework.security.access.PermissionEvaluator}, keyed by the principal, the target &amp; the permission, so the {@code hasPermission(...)} checks of method security expressions don't hit the entitlement store on every invocation. Both grants &amp; denials are cached.
+		 */
+		@NestedConfigurationProperty
+		@Valid
+		private final CacheConfig permissionCache = new CacheConfig(true, 10_000, Duration.ofSeconds(30));
+
+		/**
+		 * Directory of the users allowed to authenticate &amp; their authorities. If not configured the only user is user1.
+		 */
+		@NestedConfigurationProperty
+		@Valid
+		private final UserDirectoryConfig userDirectory = new UserDirectoryConfig();
+
+		/**
+		 * JWT bearer-token authentication, used instead of the {@code SM_USER} header when {@link JwtConfig#getJwkSetLocation()} is set
+		 */
+		@NestedConfigurationProperty
+		@Valid
+		private final JwtConfig jwt = new JwtConfig();
+
+		/**
+		 * CSRF sub-configuration
+		 */
+		@NestedConfigurationProperty
+		@Valid
+		private final CsrfConfig csrf = new CsrfConfig();
+
+		/**
+		 * Whether or not concurrent lookups of the same user share a single lookup in a reactive application, so a burst of requests from one user costs the {@link org.springframework.security.core.userdetails.ReactiveUserDetailsService} a single call
+		 */
+		private boolean coalesceUserLookups = true;
+
 		public boolean isEnabled() {
 			return this.enabled;
 		}
@@ -63,39 +429,766 @@ public class MyFrameworkConfig {
 			return this.cors;
 		}
 
+		/**
+		 * Gets the configuration of the user details cache
+		 * @return The configuration of the user details cache
+		 */
+		public RefreshingCacheConfig getUserDetailsCache() {
+			return this.userDetailsCache;
+		}
+
+		/**
+		 * Gets the configuration of the authentication cache
+		 * @return The configuration of the authentication cache
+		 */
+		public CacheConfig getAuthenticationCache() {
+			return this.authenticationCache;
+		}
+
+		/**
+		 * Gets the configuration of the permission cache
+		 * @return The configuration of the permission cache
+		 */
+		public CacheConfig getPermissionCache() {
+			return this.permissionCache;
+		}
+
+		/**
+		 * Gets the configuration of the user directory
+		 * @return The configuration of the user directory
+		 */
+		public UserDirectoryConfig getUserDirectory() {
+			return this.userDirectory;
+		}
+
+		/**
+		 * Gets the JWT sub-configuration
+		 * @return The JWT sub-configuration
+		 */
+		public JwtConfig getJwt() {
+			return this.jwt;
+		}
+
+		/**
+		 * Gets the CSRF sub-configuration
+		 * @return The CSRF sub-configuration
+		 */
+		public CsrfConfig getCsrf() {
+			return this.csrf;
+		}
+
+		/**
+		 * Whether or not concurrent lookups of the same user share a single lookup in a reactive application
+		 * @return Whether or not concurrent lookups of the same user share a single lookup
+		 */
+		public boolean isCoalesceUserLookups() {
+			return this.coalesceUserLookups;
+		}
+
+		/**
+		 * Sets whether or not concurrent lookups of the same user share a single lookup in a reactive application
+		 * @param coalesceUserLookups Whether or not concurrent lookups of the same user share a single lookup
+		 */
+		public void setCoalesceUserLookups(boolean coalesceUserLookups) {
+			this.coalesceUserLookups = coalesceUserLookups;
+		}
+
 		@Override
 		public String toString() {
 			return ToStringBuilder.reflectionToString(this);
 		}
 
-		public static class CorsConfig {
+		/**
+		 * Configuration of the CSRF token of a reactive application
+		 */
+		public static class CsrfConfig {
 			/**
-			 * A comma-separated list of allowed domains. Can be full root domains or subdomains (i.e. aig.com, subdomain.aig.net, etc)
+			 * Whether or not the CSRF token is only generated &amp; written to the {@code XSRF-TOKEN} cookie for the REST responses to requests that can use it (see {@link #matchBrowserAccept}, {@link #matchOrigin} &amp; {@link #pathPatterns}). If not set every REST response subscribes to the token. Only applies to an application that enables CSRF in its own {@code SecurityWebFilterChain}, as the framework's chains disable it.
 			 */
-			@Nullable
-			private String allowedDomains;
+			private boolean lazyTokens = false;
 
 			/**
-			 * Gets the comma-separated list of allowed domains
-			 * @return The comma-separated list of allowed domains
+			 * Whether or not a request accepting {@code text/html} (i.e. a browser navigating to a page) gets the token when {@link #lazyTokens} is set
 			 */
-			@Nullable
-			public String getAllowedDomains() {
-				return this.allowedDomains;
-			}
+			private boolean matchBrowserAccept = true;
 
 			/**
-			 * Sets a comma-separated list of allowed domains. Can be full root domains or subdomains (i.e. aig.com, subdomain.aig.net, etc)
-			 * @param allowedDomains The comma-separated list of allowed domains
+			 * Whether or not a request carrying an {@code Origin} header (i.e. a script running in a browser) gets the token when {@link #lazyTokens} is set
 			 */
-			public void setAllowedDomains(@Nullable String allowedDomains) {
-				this.allowedDomains = allowedDomains;
+			private boolean matchOrigin = true;
+
+			/**
+			 * Path patterns (i.e. /login or /app/**) of the requests that always get the token when {@link #lazyTokens} is set
+			 */
+			private List<String> pathPatterns = new ArrayList<>();
+
+			/**
+			 * Whether or not the CSRF token is only materialized for the requests that can use it
+			 * @return Whether or not the CSRF token is only materialized for the requests that can use it
+			 */
+			public boolean isLazyTokens() {
+				return this.lazyTokens;
 			}
 
-			@Override
-			public String toString() {
-				return ToStringBuilder.reflectionToString(this);
+			/**
+			 * Sets whether or not the CSRF token is only materialized for the requests that can use it
+			 * @param lazyTokens Whether or not the CSRF token is only materialized for the requests that can use it
+			 */
+			public void setLazyTokens(boolean lazyTokens) {
+				this.lazyTokens = lazyTokens;
 			}
+
+			/**
+			 * Whether or not a request accepting {@code text/html} gets the token
+			 * @return Whether or not a request accepting {@code text/html} gets the token
+			 */
+			public boolean isMatchBrowserAccept() {
+				return this.matchBrowserAccept;
+			}
+
+			/**
+			 * Sets whether or not a request accepting {@code text/html} gets the token
+			 * @param matchBrowserAccept Whether or not a request accepting {@code text/html} gets the token
+			 */
+			public void setMatchBrowserAccept(boolean matchBrowserAccept) {
+				this.matchBrowserAccept = matchBrowserAccept;
+			}
+
+			/**
+			 * Whether or not a request carrying an {@code Origin} header gets the token
+			 * @return Whether or not a request carrying an {@code Origin} header gets the token
+			 */
+			public boolean isMatchOrigin() {
+				return this.matchOrigin;
+			}
+
+			/**
+			 * Sets whether or not a request carrying an {@code Origin} header gets the token
+			 * @param matchOrigin Whether or not a request carrying an {@code Origin} header gets the token
+			 */
+			public void setMatchOrigin(boolean matchOrigin) {
+				this.matchOrigin = matchOrigin;
+			}
+
+			/**
+			 * Gets the path patterns of the requests that always get the token
+			 * @return The path patterns of the requests that always get the token
+			 */
+			public List<String> getPathPatterns() {
+				return this.pathPatterns;
+			}
+
+			/**
+			 * Sets the path patterns of the requests that always get the token
+			 * @param pathPatterns The path patterns of the requests that always get the token
+			 */
+			public void setPathPatterns(List<String> pathPatterns) {
+				this.pathPatterns = pathPatterns;
+			}
+
+			@Override
+			public String toString() {
+				return ToStringBuilder.reflectionToString(this);
+			}
+		}
+
+		public static class UserDirectoryConfig {
+			/**
+			 * Location of a user directory snapshot file (i.e. file:/etc/myapp/users.snapshot), written by {@link com.mycompany.myframework.service.security.MappedUserDirectory#writeSnapshot(java.nio.file.Path, java.util.Map)}. Must be a file, since it is memory-mapped.
+			 */
+			@Nullable
+			private Resource location;
+
+			/**
+			 * How often to check {@link #location} for a new snapshot. If a new snapshot is detected it is swapped in. If not set the file isn't checked for changes.
+			 */
+			@Nullable
+			private Duration reloadInterval;
+
+			/**
+			 * Gets the location of the user directory snapshot file
+			 * @return The location of the user directory snapshot file
+			 */
+			@Nullable
+			public Resource getLocation() {
+				return this.location;
+			}
+
+			/**
+			 * Sets the location of the user directory snapshot file
+			 * @param location The location of the user directory snapshot file
+			 */
+			public void setLocation(@Nullable Resource location) {
+				this.location = location;
+			}
+
+			/**
+			 * Gets how often to check the snapshot file for a new snapshot
+			 * @return How often to check the snapshot file for a new snapshot, or {@code null} if it isn't checked
+			 */
+			@Nullable
+			public Duration getReloadInterval() {
+				return this.reloadInterval;
+			}
+
+			/**
+			 * Sets how often to check the snapshot file for a new snapshot
+			 * @param reloadInterval How often to check the snapshot file for a new snapshot, or {@code null} to not check
+			 */
+			public void setReloadInterval(@Nullable Duration reloadInterval) {
+				this.reloadInterval = reloadInterval;
+			}
+
+			@Override
+			public String toString() {
+				return ToStringBuilder.reflectionToString(this);
+			}
+		}
+
+		public static class JwtConfig {
+			/**
+			 * Location of a local JSON Web Key Set (i.e. file:/etc/myapp/jwks.json) holding the RSA &amp; EC public keys the tokens are signed with. Turns on JWT bearer-token authentication in place of the {@code SM_USER} header.
+			 */
+			@Nullable
+			private Resource jwkSetLocation;
+
+			/**
+			 * The issuer ({@code iss} claim) the tokens must have. If not set the issuer isn't checked.
+			 */
+			@Nullable
+			private String issuer;
+
+			/**
+			 * Cache of the tokens whose signature &amp; claims have already been verified, keyed by a hash of the token. Entries never outlive the expiry of their token.
+			 */
+			@NestedConfigurationProperty
+			@Valid
+			private final CacheConfig verifiedTokenCache = new CacheConfig(true, 10_000, Duration.ofHours(1));
+
+			/**
+			 * Cache of the authentication built from the claims of a verified token, keyed by a hash of the token. Entries never outlive the expiry of their token.
+			 */
+			@NestedConfigurationProperty
+			@Valid
+			private final CacheConfig authenticationCache = new CacheConfig(true, 10_000, Duration.ofHours(1));
+
+			/**
+			 * Gets the location of the JSON Web Key Set
+			 * @return The location of the JSON Web Key Set
+			 */
+			@Nullable
+			public Resource getJwkSetLocation() {
+				return this.jwkSetLocation;
+			}
+
+			/**
+			 * Sets the location of the JSON Web Key Set
+			 * @param jwkSetLocation The location of the JSON Web Key Set
+			 */
+			public void setJwkSetLocation(@Nullable Resource jwkSetLocation) {
+				this.jwkSetLocation = jwkSetLocation;
+			}
+
+			/**
+			 * Gets the issuer the tokens must have
+			 * @return The issuer the tokens must have, or {@code null} if it isn't checked
+			 */
+			@Nullable
+			public String getIssuer() {
+				return this.issuer;
+			}
+
+			/**
+			 * Sets the issuer the tokens must have
+			 * @param issuer The issuer the tokens must have, or {@code null} to not check it
+			 */
+			public void setIssuer(@Nullable String issuer) {
+				this.issuer = issuer;
+			}
+
+			/**
+			 * Gets the configuration of the verified token cache
+			 * @return The configuration of the verified token cache
+			 */
+			public CacheConfig getVerifiedTokenCache() {
+				return this.verifiedTokenCache;
+			}
+
+			/**
+			 * Gets the configuration of the authentication cache
+			 * @return The configuration of the authentication cache
+			 */
+			public CacheConfig getAuthenticationCache() {
+				return this.authenticationCache;
+			}
+
+			@Override
+			public String toString() {
+				return ToStringBuilder.reflectionToString(this);
+			}
+		}
+
+		public static class CorsConfig {
+			/**
+			 * A comma-separated list of allowed domains. Can be full root domains or subdomains (i.e. aig.com, subdomain.aig.net, etc)
+			 */
+			@Nullable
+			private String allowedDomains;
+
+			/**
+			 * Location of a file containing allowed domains (i.e. classpath:allowed-domains.txt or file:/etc/myapp/allowed-domains.txt). One or more comma-separated domains per line. Blank lines &amp; lines starting with # are ignored. Combined with {@link #allowedDomains}.
+			 */
+			@Nullable
+			private Resource allowedDomainsLocation;
+
+			/**
+			 * How often to check {@link #allowedDomainsLocation} for changes. If a change is detected the allowed domains are reloaded. If not set the file isn't checked for changes.
+			 */
+			@Nullable
+			private Duration reloadInterval;
+
+			/**
+			 * CORS policies for particular paths, each with its own allowed domains. A request whose path matches one of the routes' path patterns uses that route's allowed domains instead of {@link #allowedDomains} &amp; {@link #allowedDomainsLocation}.
+			 */
+			@Valid
+			private List<CorsRouteConfig> routes = new ArrayList<>();
+
+			/**
+			 * Cache of the CORS decision made for an origin. Entries are keyed by the origin and the {@link org.springframework.web.cors.CorsConfiguration} the decision was made against.
+			 */
+			@NestedConfigurationProperty
+			@Valid
+			private final CacheConfig decisionCache = new CacheConfig(true, 10_000, Duration.ofMinutes(10));
+
+			/**
+			 * Cache of the complete response to a CORS pre-flight request. Entries are keyed by the origin, the requested method &amp; headers, and the {@link org.springframework.web.cors.CorsConfiguration} the request was processed against.
+			 */
+			@NestedConfigurationProperty
+			@Valid
+			private final CacheConfig preflightCache = new CacheConfig(true, 10_000, Duration.ofMinutes(10));
+
+			/**
+			 * Cache of the {@link org.springframework.web.cors.CorsConfiguration} the handler mappings declare for a request. Entries are keyed by the request URI &amp; method, so it is off by default: only enable it if the application's CORS requests go to a small, fixed set of URIs (no path variables) whose mappings don't differ by parameters, headers or media types. Servlet applications only.
+			 */
+			@NestedConfigurationProperty
+			@Valid
+			private final CacheConfig handlerCache = new CacheConfig(false, 10_000, Duration.ofHours(1));
+
+			/**
+			 * Metrics about the CORS decisions made for origins, plus the sample of recently rejected origins exposed by the cors actuator endpoint
+			 */
+			@NestedConfigurationProperty
+			@Valid
+			private final DecisionMetricsConfig decisionMetrics = new DecisionMetricsConfig();
+
+			/**
+			 * Gets the comma-separated list of allowed domains
+			 * @return The comma-separated list of allowed domains
+			 */
+			@Nullable
+			public String getAllowedDomains() {
+				return this.allowedDomains;
+			}
+
+			/**
+			 * Sets a comma-separated list of allowed domains. Can be full root domains or subdomains (i.e. aig.com, subdomain.aig.net, etc)
+			 * @param allowedDomains The comma-separated list of allowed domains
+			 */
+			public void setAllowedDomains(@Nullable String allowedDomains) {
+				this.allowedDomains = allowedDomains;
+			}
+
+			/**
+			 * Gets the location of the file containing allowed domains
+			 * @return The location of the file containing allowed domains
+			 */
+			@Nullable
+			public Resource getAllowedDomainsLocation() {
+				return this.allowedDomainsLocation;
+			}
+
+			/**
+			 * Sets the location of a file containing allowed domains. One or more comma-separated domains per line. Blank lines &amp; lines starting with # are ignored.
+			 * @param allowedDomainsLocation The location of the file containing allowed domains
+			 */
+			public void setAllowedDomainsLocation(@Nullable Resource allowedDomainsLocation) {
+				this.allowedDomainsLocation = allowedDomainsLocation;
+			}
+
+			/**
+			 * Gets how often to check the allowed domains location for changes
+			 * @return How often to check the allowed domains location for changes, or {@code null} if it isn't checked
+			 */
+			@Nullable
+			public Duration getReloadInterval() {
+				return this.reloadInterval;
+			}
+
+			/**
+			 * Sets how often to check the allowed domains location for changes
+			 * @param reloadInterval How often to check the allowed domains location for changes, or {@code null} to not check
+			 */
+			public void setReloadInterval(@Nullable Duration reloadInterval) {
+				this.reloadInterval = reloadInterval;
+			}
+
+			/**
+			 * Gets the CORS policies for particular paths
+			 * @return The CORS policies for particular paths
+			 */
+			public List<CorsRouteConfig> getRoutes() {
+				return this.routes;
+			}
+
+			/**
+			 * Sets the CORS policies for particular paths
+			 * @param routes The CORS policies for particular paths
+			 */
+			public void setRoutes(List<CorsRouteConfig> routes) {
+				this.routes = routes;
+			}
+
+			/**
+			 * Gets the configuration of the CORS decision cache
+			 * @return The configuration of the CORS decision cache
+			 */
+			public CacheConfig getDecisionCache() {
+				return this.decisionCache;
+			}
+
+			/**
+			 * Gets the configuration of the CORS pre-flight response cache
+			 * @return The configuration of the CORS pre-flight response cache
+			 */
+			public CacheConfig getPreflightCache() {
+				return this.preflightCache;
+			}
+
+			/**
+			 * Gets the configuration of the handler mapping CORS configuration cache
+			 * @return The configuration of the handler mapping CORS configuration cache
+			 */
+			public CacheConfig getHandlerCache() {
+				return this.handlerCache;
+			}
+
+			/**
+			 * Gets the configuration of the CORS decision metrics
+			 * @return The configuration of the CORS decision metrics
+			 */
+			public DecisionMetricsConfig getDecisionMetrics() {
+				return this.decisionMetrics;
+			}
+
+			@Override
+			public String toString() {
+				return ToStringBuilder.reflectionToString(this);
+			}
+
+			/**
+			 * Configuration of the CORS policy for particular paths
+			 */
+			public static class CorsRouteConfig {
+				/**
+				 * The paths the policy applies to. Either an exact path (i.e. /admin) or a path prefix (i.e. /admin/**). The most specific pattern matching a request's path wins.
+				 */
+				@NotBlank
+				private String pathPattern;
+
+				/**
+				 * A comma-separated list of the domains allowed for the paths
+				 */
+				@Nullable
+				private String allowedDomains;
+
+				/**
+				 * Location of a file containing the domains allowed for the paths. Combined with {@link #allowedDomains}.
+				 */
+				@Nullable
+				private Resource allowedDomainsLocation;
+
+				public CorsRouteConfig() {
+					super();
+				}
+
+				public CorsRouteConfig(String pathPattern, @Nullable String allowedDomains) {
+					this.pathPattern = pathPattern;
+					this.allowedDomains = allowedDomains;
+				}
+
+				/**
+				 * Gets the paths the policy applies to
+				 * @return The path pattern
+				 */
+				public String getPathPattern() {
+					return this.pathPattern;
+				}
+
+				/**
+				 * Sets the paths the policy applies to. Either an exact path (i.e. /admin) or a path prefix (i.e. /admin/**).
+				 * @param pathPattern The path pattern
+				 */
+				public void setPathPattern(String pathPattern) {
+					this.pathPattern = pathPattern;
+				}
+
+				/**
+				 * Gets the comma-separated list of the domains allowed for the paths
+				 * @return The comma-separated list of the domains allowed for the paths
+				 */
+				@Nullable
+				public String getAllowedDomains() {
+					return this.allowedDomains;
+				}
+
+				/**
+				 * Sets the comma-separated list of the domains allowed for the paths
+				 * @param allowedDomains The comma-separated list of the domains allowed for the paths
+				 */
+				public void setAllowedDomains(@Nullable String allowedDomains) {
+					this.allowedDomains = allowedDomains;
+				}
+
+				/**
+				 * Gets the location of the file containing the domains allowed for the paths
+				 * @return The location of the file containing the domains allowed for the paths
+				 */
+				@Nullable
+				public Resource getAllowedDomainsLocation() {
+					return this.allowedDomainsLocation;
+				}
+
+				/**
+				 * Sets the location of the file containing the domains allowed for the paths
+				 * @param allowedDomainsLocation The location of the file containing the domains allowed for the paths
+				 */
+				public void setAllowedDomainsLocation(@Nullable Resource allowedDomainsLocation) {
+					this.allowedDomainsLocation = allowedDomainsLocation;
+				}
+
+				@Override
+				public String toString() {
+					return ToStringBuilder.reflectionToString(this);
+				}
+			}
+
+			/**
+			 * Configuration of the CORS decision metrics
+			 */
+			public static class DecisionMetricsConfig {
+				/**
+				 * Whether or not CORS decisions are counted &amp; timed
+				 */
+				private boolean enabled = true;
+
+				/**
+				 * How many recently rejected origins are kept
+				 */
+				@Min(1)
+				private int rejectedOriginsSize = 100;
+
+				/**
+				 * Keep 1 out of every this many rejected origins. 1 keeps every rejected origin.
+				 */
+				@Min(1)
+				private int rejectedOriginsSampleRate = 10;
+
+				/**
+				 * Whether or not CORS decisions are counted &amp; timed
+				 * @return Whether or not CORS decisions are counted &amp; timed
+				 */
+				public boolean isEnabled() {
+					return this.enabled;
+				}
+
+				/**
+				 * Sets whether or not CORS decisions are counted &amp; timed
+				 * @param enabled Whether or not CORS decisions are counted &amp; timed
+				 */
+				public void setEnabled(boolean enabled) {
+					this.enabled = enabled;
+				}
+
+				/**
+				 * Gets how many recently rejected origins are kept
+				 * @return How many recently rejected origins are kept
+				 */
+				public int getRejectedOriginsSize() {
+					return this.rejectedOriginsSize;
+				}
+
+				/**
+				 * Sets how many recently rejected origins are kept
+				 * @param rejectedOriginsSize How many recently rejected origins are kept
+				 */
+				public void setRejectedOriginsSize(int rejectedOriginsSize) {
+					this.rejectedOriginsSize = rejectedOriginsSize;
+				}
+
+				/**
+				 * Gets the rate at which rejected origins are sampled
+				 * @return 1 out of every this many rejected origins is kept
+				 */
+				public int getRejectedOriginsSampleRate() {
+					return this.rejectedOriginsSampleRate;
+				}
+
+				/**
+				 * Sets the rate at which rejected origins are sampled
+				 * @param rejectedOriginsSampleRate Keep 1 out of every this many rejected origins
+				 */
+				public void setRejectedOriginsSampleRate(int rejectedOriginsSampleRate) {
+					this.rejectedOriginsSampleRate = rejectedOriginsSampleRate;
+				}
+
+				@Override
+				public String toString() {
+					return ToStringBuilder.reflectionToString(this);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Configuration of one of the framework's bounded in-memory caches
+	 */
+	public static class CacheConfig {
+		/**
+		 * Whether or not the cache is enabled
+		 */
+		private boolean enabled;
+
+		/**
+		 * The maximum number of entries in the cache
+		 */
+		@Min(1)
+		private long maximumSize;
+
+		/**
+		 * How long an entry lives in the cache after it was written
+		 */
+		@NotNull
+		private Duration timeToLive;
+
+		/**
+		 * Whether or not hit/miss/eviction counters are recorded for the cache
+		 */
+		private boolean recordStats = true;
+
+		public CacheConfig() {
+			this(true, 10_000, Duration.ofMinutes(10));
+		}
+
+		public CacheConfig(boolean enabled, long maximumSize, Duration timeToLive) {
+			this.enabled = enabled;
+			this.maximumSize = maximumSize;
+			this.timeToLive = timeToLive;
+		}
+
+		/**
+		 * Whether or not the cache is enabled
+		 * @return Whether or not the cache is enabled
+		 */
+		public boolean isEnabled() {
+			return this.enabled;
+		}
+
+		/**
+		 * Sets whether or not the cache is enabled
+		 * @param enabled Whether or not the cache is enabled
+		 */
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		/**
+		 * Gets the maximum number of entries in the cache
+		 * @return The maximum number of entries in the cache
+		 */
+		public long getMaximumSize() {
+			return this.maximumSize;
+		}
+
+		/**
+		 * Sets the maximum number of entries in the cache
+		 * @param maximumSize The maximum number of entries in the cache
+		 */
+		public void setMaximumSize(long maximumSize) {
+			this.maximumSize = maximumSize;
+		}
+
+		/**
+		 * Gets how long an entry lives in the cache after it was written
+		 * @return How long an entry lives in the cache after it was written
+		 */
+		public Duration getTimeToLive() {
+			return this.timeToLive;
+		}
+
+		/**
+		 * Sets how long an entry lives in the cache after it was written
+		 * @param timeToLive How long an entry lives in the cache after it was written
+		 */
+		public void setTimeToLive(Duration timeToLive) {
+			this.timeToLive = timeToLive;
+		}
+
+		/**
+		 * Whether or not hit/miss/eviction counters are recorded for the cache
+		 * @return Whether or not hit/miss/eviction counters are recorded for the cache
+		 */
+		public boolean isRecordStats() {
+			return this.recordStats;
+		}
+
+		/**
+		 * Sets whether or not hit/miss/eviction counters are recorded for the cache
+		 * @param recordStats Whether or not hit/miss/eviction counters are recorded for the cache
+		 */
+		public void setRecordStats(boolean recordStats) {
+			this.recordStats = recordStats;
+		}
+
+		@Override
+		public String toString() {
+			return ToStringBuilder.reflectionToString(this);
+		}
+	}
+
+	/**
+	 * Configuration of one of the framework's bounded in-memory caches whose entries are loaded on demand &amp; refreshed ahead of expiring
+	 */
+	public static class RefreshingCacheConfig extends CacheConfig {
+		/**
+		 * How long after an entry was written that it is reloaded in the background, the next time it is read. The stale entry is returned until the reload completes. If not set entries aren't refreshed, only expired.
+		 */
+		@Nullable
+		private Duration refreshAfterWrite;
+
+		public RefreshingCacheConfig() {
+			super();
+		}
+
+		public RefreshingCacheConfig(boolean enabled, long maximumSize, Duration timeToLive, @Nullable Duration refreshAfterWrite) {
+			super(enabled, maximumSize, timeToLive);
+			this.refreshAfterWrite = refreshAfterWrite;
+		}
+
+		/**
+		 * Gets how long after an entry was written that it is reloaded in the background
+		 * @return How long after an entry was written that it is reloaded in the background, or {@code null} if entries aren't refreshed
+		 */
+		@Nullable
+		public Duration getRefreshAfterWrite() {
+			return this.refreshAfterWrite;
+		}
+
+		/**
+		 * Sets how long after an entry was written that it is reloaded in the background
+		 * @param refreshAfterWrite How long after an entry was written that it is reloaded in the background, or {@code null} to not refresh entries
+		 */
+		public void setRefreshAfterWrite(@Nullable Duration refreshAfterWrite) {
+			this.refreshAfterWrite = refreshAfterWrite;
 		}
 	}
 }
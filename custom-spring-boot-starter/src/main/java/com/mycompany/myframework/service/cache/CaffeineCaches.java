@@ -0,0 +1,131 @@
+package com.mycompany.myframework.service.cache;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.mycompany.myframework.properties.config.MyFrameworkConfig.CacheConfig;
+import com.mycompany.myframework.properties.config.MyFrameworkConfig.RefreshingCacheConfig;
+
+/**
+ * Creates the framework's in-memory caches from a {@link CacheConfig}
+ */
+public final class CaffeineCaches {
+	private CaffeineCaches() {
+		super();
+	}
+
+	/**
+	 * Creates a {@link Caffeine} builder with the size, time-to-live, and statistics settings from a {@link CacheConfig}
+	 * @param cacheConfig The {@link CacheConfig}
+	 * @return The {@link Caffeine} builder
+	 */
+	public static Caffeine<Object, Object> newBuilder(CacheConfig cacheConfig) {
+		Assert.notNull(cacheConfig, "cacheConfig can not be null");
+
+		Caffeine<Object, Object> builder = Caffeine.newBuilder()
+			.maximumSize(cacheConfig.getMaximumSize())
+			.expireAfterWrite(cacheConfig.getTimeToLive().toNanos(), TimeUnit.NANOSECONDS);
+
+		if (cacheConfig.isRecordStats()) {
+			builder.recordStats();
+		}
+
+		return builder;
+	}
+
+	/**
+	 * Creates a {@link Caffeine} builder whose entries expire at an instant taken from the cached value (i.e. the expiry of a token),
+	 * or after the time-to-live of the {@link CacheConfig}, whichever comes first
+	 * @param cacheConfig The {@link CacheConfig}
+	 * @param expiresAt Gets the instant a value expires at. May return {@code null} if the value doesn't expire on its own.
+	 * @param <K> The type of the cache keys
+	 * @param <V> The type of the cache values
+	 * @return The {@link Caffeine} builder
+	 */
+	public static <K, V> Caffeine<K, V> newExpiringBuilder(CacheConfig cacheConfig, Function<? super V, Instant> expiresAt) {
+		Assert.notNull(cacheConfig, "cacheConfig can not be null");
+		Assert.notNull(expiresAt, "expiresAt can not be null");
+
+		Caffeine<K, V> builder = Caffeine.newBuilder()
+			.maximumSize(cacheConfig.getMaximumSize())
+			.expireAfter(new ExpiresAtExpiry<K, V>(cacheConfig.getTimeToLive(), expiresAt));
+
+		if (cacheConfig.isRecordStats()) {
+			builder.recordStats();
+		}
+
+		return builder;
+	}
+
+	/**
+	 * Creates a {@link Caffeine} builder for a loading cache, which on top of the settings of {@link #newBuilder(CacheConfig)} refreshes
+	 * entries ahead of expiring if {@link RefreshingCacheConfig#getRefreshAfterWrite()} is set
+	 * @param cacheConfig The {@link RefreshingCacheConfig}
+	 * @return The {@link Caffeine} builder, which must be built with a loader
+	 */
+	public static Caffeine<Object, Object> newLoadingBuilder(RefreshingCacheConfig cacheConfig) {
+		Caffeine<Object, Object> builder = newBuilder(cacheConfig);
+		Duration refreshAfterWrite = cacheConfig.getRefreshAfterWrite();
+
+		if (refreshAfterWrite != null) {
+			builder.refreshAfterWrite(refreshAfterWrite.toNanos(), TimeUnit.NANOSECONDS);
+		}
+
+		return builder;
+	}
+
+	/**
+	 * Creates a {@link Cache} from a {@link CacheConfig}
+	 * @param cacheConfig The {@link CacheConfig}
+	 * @param <K> The type of the cache keys
+	 * @param <V> The type of the cache values
+	 * @return The {@link Cache}, or {@code null} if the cache isn't {@link CacheConfig#isEnabled() enabled}
+	 */
+	@Nullable
+	public static <K, V> Cache<K, V> newCacheIfEnabled(CacheConfig cacheConfig) {
+		Assert.notNull(cacheConfig, "cacheConfig can not be null");
+		return cacheConfig.isEnabled() ? newBuilder(cacheConfig).build() : null;
+	}
+
+	private static final class ExpiresAtExpiry<K, V> implements Expiry<K, V> {
+		private final long timeToLiveNanos;
+		private final Function<? super V, Instant> expiresAt;
+
+		private ExpiresAtExpiry(Duration timeToLive, Function<? super V, Instant> expiresAt) {
+			this.timeToLiveNanos = timeToLive.toNanos();
+			this.expiresAt = expiresAt;
+		}
+
+		@Override
+		public long expireAfterCreate(K key, V value, long currentTime) {
+			Instant valueExpiresAt = this.expiresAt.apply(value);
+
+			if (valueExpiresAt == null) {
+				return this.timeToLiveNanos;
+			}
+
+			// Through milliseconds, which saturates rather than overflowing for a value that expires far in the future
+			long nanosUntilExpiry = TimeUnit.MILLISECONDS.toNanos(valueExpiresAt.toEpochMilli() - System.currentTimeMillis());
+
+			return Math.max(0, Math.min(this.timeToLiveNanos, nanosUntilExpiry));
+		}
+
+		@Override
+		public long expireAfterUpdate(K key, V value, long currentTime, long currentDuration) {
+			return expireAfterCreate(key, value, currentTime);
+		}
+
+		@Override
+		public long expireAfterRead(K key, V value, long currentTime, long currentDuration) {
+			return currentDuration;
+		}
+	}
+}
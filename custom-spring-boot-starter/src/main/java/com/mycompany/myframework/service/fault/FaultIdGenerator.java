@@ -0,0 +1,21 @@
+package com.mycompany.myframework.service.fault;
+
+/**
+ * Generates the ids of faults, returned to the caller in the {@code X-FAULT-ID} header &amp; logged alongside the fault, so a
+ * reported fault can be found in the logs.
+ * <p>
+ *   An id is generated for every fault the fault barriers handle, so generating one needs to be cheap, especially during an error
+ *   storm. The starter's generator can be selected with {@code mycompany.myframework.config.fault.id-generator}, or replaced
+ *   altogether by declaring a {@link FaultIdGenerator} bean.
+ * </p>
+ *
+ * @see FaultIds
+ */
+@FunctionalInterface
+public interface FaultIdGenerator {
+	/**
+	 * Generates a fault id
+	 * @return The fault id
+	 */
+	String generateFaultId();
+}
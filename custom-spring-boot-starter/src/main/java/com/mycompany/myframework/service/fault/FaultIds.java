@@ -0,0 +1,48 @@
+package com.mycompany.myframework.service.fault;
+
+import org.springframework.util.Assert;
+
+/**
+ * Holds the {@link FaultIdGenerator} fault ids are generated by. Faults are exceptions created wherever they happen rather than
+ * beans, so they can't be handed the generator: the fault barrier auto-configuration installs it here instead, and
+ * {@link #resetGenerator() resets} it when its context closes. Until then, fault ids are random UUIDs.
+ */
+public final class FaultIds {
+	private static volatile FaultIdGenerator generator = new RandomUuidFaultIdGenerator();
+
+	private FaultIds() {
+		super();
+	}
+
+	/**
+	 * Generates a fault id with the current {@link FaultIdGenerator}
+	 * @return The fault id
+	 */
+	public static String generate() {
+		return generator.generateFaultId();
+	}
+
+	/**
+	 * Gets the current {@link FaultIdGenerator}
+	 * @return The current {@link FaultIdGenerator}
+	 */
+	public static FaultIdGenerator getGenerator() {
+		return generator;
+	}
+
+	/**
+	 * Sets the {@link FaultIdGenerator} fault ids are generated by
+	 * @param faultIdGenerator The {@link FaultIdGenerator}
+	 */
+	public static void setGenerator(FaultIdGenerator faultIdGenerator) {
+		Assert.notNull(faultIdGenerator, "faultIdGenerator can not be null");
+		generator = faultIdGenerator;
+	}
+
+	/**
+	 * Puts back the default {@link FaultIdGenerator}, which generates random UUIDs
+	 */
+	public static void resetGenerator() {
+		generator = new RandomUuidFaultIdGenerator();
+	}
+}
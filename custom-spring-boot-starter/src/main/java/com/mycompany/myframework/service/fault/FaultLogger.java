@@ -0,0 +1,306 @@
+package com.mycompany.myframework.service.fault;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.apache.commons.lang3.exception.ExceptionUtils;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+
+import com.mycompany.myframework.properties.config.MyFrameworkConfig.FaultConfig.LogDeduplicationConfig;
+import com.mycompany.myframework.service.model.FaultException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Logs the faults handled by the fault barriers, collapsing the repeats of the same fault so an error storm (i.e. a downstream
+ * dependency failing every request) doesn't write a full stack trace per request.
+ * <p>
+ *   Faults are told apart by a fingerprint of their HTTP status, their type, the type of their root cause &amp; the top
+ *   {@link LogDeduplicationConfig#getStackFrames() frames} of the root cause's stack trace. Their messages aren't part of it, since
+ *   they often carry ids. The first occurrence of a fault in a {@link LogDeduplicationConfig#getWindow() window} is logged in full.
+ *   Its repeats are only counted, with a sample of their fault ids, and summarized in a single line at the end of the window. The
+ *   next occurrence after that is logged in full again.
+ * </p>
+ * <p>
+ *   At most {@link LogDeduplicationConfig#getMaximumFingerprints()} faults are tracked in a window, and any other fault is logged in
+ *   full. A repeat racing the end of a window may be left out of its summary. Summarizing happens on a single background daemon
+ *   thread, never on a request thread.
+ * </p>
+ * <p>
+ *   Faults are logged through the logger of the barrier that handled them, so they keep the logging category they had before they
+ *   were deduplicated. A summary line goes through the logger of the fault's first occurrence in the window.
+ * </p>
+ * <p>
+ *   Once {@link #bindTo(MeterRegistry) bound}, the faults are counted by {@link #FAULTS_METRIC}, tagged by whether they were
+ *   {@link #SUPPRESSED_TAG suppressed} from the logs.
+ * </p>
+ */
+public class FaultLogger implements InitializingBean, DisposableBean, MeterBinder {
+	/**
+	 * Name of the fault counters, tagged with {@link #SUPPRESSED_TAG}
+	 */
+	public static final String FAULTS_METRIC = "faults.logged";
+
+	public static final String SUPPRESSED_TAG = "suppressed";
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(FaultLogger.class);
+
+	private final LogDeduplicationConfig config;
+	private final ConcurrentMap<Fingerprint, Occurrences> occurrences = new ConcurrentHashMap<>();
+	private final LongAdder loggedFaults = new LongAdder();
+	private final LongAdder suppressedFaults = new LongAdder();
+
+	@Nullable
+	private ScheduledExecutorService executor;
+
+	public FaultLogger(LogDeduplicationConfig config) {
+		Assert.notNull(config, "config can not be null");
+		Assert.notNull(config.getWindow(), "config.window can not be null");
+		Assert.isTrue(!config.isEnabled() || (!config.getWindow().isNegative() && !config.getWindow().isZero()), "config.window must be positive");
+		this.config = config;
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		if (!this.config.isEnabled()) {
+			return;
+		}
+
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("fault-log-summarizer-");
+		threadFactory.setDaemon(true);
+
+		long windowMillis = this.config.getWindow().toMillis();
+		this.executor = Executors.newSingleThreadScheduledExecutor(threadFactory);
+		this.executor.scheduleAtFixedRate(this::summarize, windowMillis, windowMillis, TimeUnit.MILLISECONDS);
+	}
+
+	@Override
+	public void destroy() {
+		if (this.executor != null) {
+			this.executor.shutdownNow();
+		}
+
+		// Don't lose the repeats of the last window
+		summarize();
+	}
+
+	/**
+	 * Logs a fault under this class's logging category, in full if it is the first occurrence of its fingerprint in the current
+	 * window, otherwise only counting it
+	 * @param fault The {@link FaultException}
+	 */
+	public void log(FaultException fault) {
+		log(fault, LOGGER);
+	}
+
+	/**
+	 * Logs a fault through the given logger, in full if it is the first occurrence of its fingerprint in the current window, otherwise
+	 * only counting it
+	 * @param fault The {@link FaultException}
+	 * @param logger The {@link Logger} of the fault barrier that handled the fault
+	 */
+	public void log(FaultException fault, Logger logger) {
+		Assert.notNull(fault, "fault can not be null");
+		Assert.notNull(logger, "logger can not be null");
+		String faultId = fault.getFaultId();
+
+		if (!this.config.isEnabled()) {
+			logInFull(fault, faultId, logger);
+			return;
+		}
+
+		Fingerprint fingerprint = Fingerprint.of(fault, this.config.getStackFrames());
+		Occurrences faultOccurrences = this.occurrences.get(fingerprint);
+
+		if (faultOccurrences == null) {
+			if (this.occurrences.size() >= this.config.getMaximumFingerprints()) {
+				logInFull(fault, faultId, logger);
+				return;
+			}
+
+			Occurrences newOccurrences = new Occurrences(faultId, fault.getMessage(), logger, this.config.getSampleFaultIds());
+			faultOccurrences = this.occurrences.putIfAbsent(fingerprint, newOccurrences);
+
+			if (faultOccurrences == null) {
+				logInFull(fault, faultId, logger);
+				return;
+			}
+		}
+
+		faultOccurrences.repeat(faultId);
+		this.suppressedFaults.increment();
+		logger.debug("FaultException faultId={} repeats faultId={}: {}", faultId, faultOccurrences.firstFaultId, fault.getMessage());
+	}
+
+	/**
+	 * Ends the current window, logging a summary line for every fault that was repeated in it
+	 */
+	public void summarize() {
+		for (Map.Entry<Fingerprint, Occurrences> entry : this.occurrences.entrySet()) {
+			// Removed first, so the next occurrence of the fault starts a new window
+			if (this.occurrences.remove(entry.getKey(), entry.getValue())) {
+				Occurrences faultOccurrences = entry.getValue();
+				long repeats = faultOccurrences.repeats.sum();
+
+				if (repeats > 0) {
+					faultOccurrences.logger.error("FaultException faultId={} repeated {} more times (sample faultIds={}): {}", faultOccurrences.firstFaultId, repeats, faultOccurrences.getSampleFaultIds(), faultOccurrences.message);
+				}
+			}
+		}
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		FunctionCounter.builder(FAULTS_METRIC, this.loggedFaults, LongAdder::doubleValue)
+			.description("The number of faults handled by the fault barriers")
+			.tag(SUPPRESSED_TAG, "false")
+			.register(registry);
+
+		FunctionCounter.builder(FAULTS_METRIC, this.suppressedFaults, LongAdder::doubleValue)
+			.description("The number of faults handled by the fault barriers")
+			.tag(SUPPRESSED_TAG, "true")
+			.register(registry);
+	}
+
+	/**
+	 * Gets the number of faults logged in full
+	 * @return The number of faults logged in full
+	 */
+	public long getLoggedFaultCount() {
+		return this.loggedFaults.sum();
+	}
+
+	/**
+	 * Gets the number of faults that were only counted towards a summary line
+	 * @return The number of suppressed faults
+	 */
+	public long getSuppressedFaultCount() {
+		return this.suppressedFaults.sum();
+	}
+
+	private void logInFull(FaultException fault, @Nullable String faultId, Logger logger) {
+		this.loggedFaults.increment();
+		logger.error("FaultException faultId={}: {}", faultId, fault.getMessage(), fault);
+	}
+
+	private static final class Fingerprint {
+		@Nullable
+		private final HttpStatus httpStatus;
+
+		private final Class<?> faultClass;
+		private final Class<?> rootCauseClass;
+		private final StackTraceElement[] topFrames;
+		private final int hashCode;
+
+		private Fingerprint(@Nullable HttpStatus httpStatus, Class<?> faultClass, Class<?> rootCauseClass, StackTraceElement[] topFrames) {
+			this.httpStatus = httpStatus;
+			this.faultClass = faultClass;
+			this.rootCauseClass = rootCauseClass;
+			this.topFrames = topFrames;
+			this.hashCode = (31 * Objects.hash(httpStatus, faultClass, rootCauseClass)) + Arrays.hashCode(topFrames);
+		}
+
+		private static Fingerprint of(FaultException fault, int stackFrames) {
+			// Faults wrapping another exception are all created in the same place (i.e. by the barrier), so the root cause tells them apart
+			Throwable rootCause = ExceptionUtils.getRootCause(fault);
+			Throwable origin = (rootCause != null) ? rootCause : fault;
+			StackTraceElement[] stackTrace = origin.getStackTrace();
+
+			return new Fingerprint(fault.getHttpStatus(), fault.getClass(), origin.getClass(), Arrays.copyOf(stackTrace, Math.min(stackFrames, stackTrace.length)));
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+
+			if (!(obj instanceof Fingerprint)) {
+				return false;
+			}
+
+			Fingerprint other = (Fingerprint) obj;
+
+			return (this.hashCode == other.hashCode) &&
+				(this.httpStatus == other.httpStatus) &&
+				(this.faultClass == other.faultClass) &&
+				(this.rootCauseClass == other.rootCauseClass) &&
+				Arrays.equals(this.topFrames, other.topFrames);
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hashCode;
+		}
+	}
+
+	private static final class Occurrences {
+		@Nullable
+		private final String firstFaultId;
+
+		@Nullable
+		private final String message;
+
+		private final Logger logger;
+		private final LongAdder repeats = new LongAdder();
+		private final AtomicInteger sampledFaultIdCount = new AtomicInteger();
+		private final AtomicReferenceArray<String> sampledFaultIds;
+
+		private Occurrences(@Nullable String firstFaultId, @Nullable String message, Logger logger, int sampleFaultIds) {
+			this.firstFaultId = firstFaultId;
+			this.message = message;
+			this.logger = logger;
+			this.sampledFaultIds = new AtomicReferenceArray<>(sampleFaultIds);
+		}
+
+		private void repeat(@Nullable String faultId) {
+			this.repeats.increment();
+
+			// Checked first so a storm stops touching the counter once the sample is full
+			if (this.sampledFaultIdCount.get() < this.sampledFaultIds.length()) {
+				int slot = this.sampledFaultIdCount.getAndIncrement();
+
+				if (slot < this.sampledFaultIds.length()) {
+					this.sampledFaultIds.set(slot, faultId);
+				}
+			}
+		}
+
+		private List<String> getSampleFaultIds() {
+			int sampled = Math.min(this.sampledFaultIdCount.get(), this.sampledFaultIds.length());
+			List<String> faultIds = new ArrayList<>(sampled);
+
+			for (int slot = 0; slot < sampled; slot++) {
+				String faultId = this.sampledFaultIds.get(slot);
+
+				// A slot can be taken before its fault id is written
+				if (faultId != null) {
+					faultIds.add(faultId);
+				}
+			}
+
+			return faultIds;
+		}
+	}
+}
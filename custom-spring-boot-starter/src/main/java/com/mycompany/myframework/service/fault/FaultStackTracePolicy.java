@@ -0,0 +1,113 @@
+package com.mycompany.myframework.service.fault;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import org.springframework.util.Assert;
+
+/**
+ * Decides how much of a stack trace a fault (a {@link com.mycompany.myframework.service.model.HttpStatusException}) captures when
+ * it is created.
+ * <p>
+ *   Walking the stack is most of the cost of creating an exception, and the deeper the stack (as it is under a web framework) the
+ *   more it costs. Faults that are expected (i.e. a 404 for something that doesn't exist) don't need a stack trace to be diagnosed,
+ *   so their types can be designated to be created without one, or with only the top few frames. Every other fault keeps its full
+ *   stack trace. A designated type covers its subclasses too.
+ * </p>
+ * <p>
+ *   The decision is made once per fault class &amp; cached in a {@link ClassValue}, so creating a fault only costs a lookup.
+ * </p>
+ *
+ * @see FaultStackTraces
+ */
+public class FaultStackTracePolicy {
+	/**
+	 * The depth of a full stack trace
+	 */
+	public static final int FULL_DEPTH = -1;
+
+	private static final FaultStackTracePolicy FULL_STACK_TRACES = new FaultStackTracePolicy(Collections.emptySet(), FULL_DEPTH);
+
+	private final Set<Class<?>> faultTypes;
+	private final int depth;
+	private final ClassValue<Integer> depthsByFaultClass = new ClassValue<Integer>() {
+		@Override
+		protected Integer computeValue(Class<?> faultClass) {
+			return isDesignated(faultClass) ? FaultStackTracePolicy.this.depth : FULL_DEPTH;
+		}
+	};
+
+	private FaultStackTracePolicy(Collection<Class<?>> faultTypes, int depth) {
+		Assert.notNull(faultTypes, "faultTypes can not be null");
+		this.faultTypes = Collections.unmodifiableSet(new LinkedHashSet<>(faultTypes));
+		this.depth = depth;
+	}
+
+	/**
+	 * Gets the policy where every fault captures its full stack trace
+	 * @return The {@link FaultStackTracePolicy}
+	 */
+	public static FaultStackTracePolicy fullStackTraces() {
+		return FULL_STACK_TRACES;
+	}
+
+	/**
+	 * Creates a policy where faults of the designated types capture no stack trace at all
+	 * @param faultTypes The designated fault types
+	 * @return The {@link FaultStackTracePolicy}
+	 */
+	public static FaultStackTracePolicy stackless(Collection<Class<?>> faultTypes) {
+		return new FaultStackTracePolicy(faultTypes, 0);
+	}
+
+	/**
+	 * Creates a policy where faults of the designated types only keep the top frames of their stack trace
+	 * @param faultTypes The designated fault types
+	 * @param depth The number of frames kept
+	 * @return The {@link FaultStackTracePolicy}
+	 */
+	public static FaultStackTracePolicy limited(Collection<Class<?>> faultTypes, int depth) {
+		Assert.isTrue(depth > 0, "depth must be positive");
+		return new FaultStackTracePolicy(faultTypes, depth);
+	}
+
+	/**
+	 * Gets how deep the stack trace of a fault is
+	 * @param faultClass The class of the fault
+	 * @return The number of frames kept, {@code 0} if the fault doesn't capture a stack trace, or {@link #FULL_DEPTH} if it captures
+	 * all of it
+	 */
+	public int getStackTraceDepth(Class<?> faultClass) {
+		return this.depthsByFaultClass.get(faultClass);
+	}
+
+	/**
+	 * Gets the designated fault types
+	 * @return The designated fault types
+	 */
+	public Set<Class<?>> getFaultTypes() {
+		return this.faultTypes;
+	}
+
+	@Override
+	public String toString() {
+		return new ToStringBuilder(this)
+			.append("faultTypes", this.faultTypes)
+			.append("depth", this.depth)
+			.toString();
+	}
+
+	private boolean isDesignated(Class<?> faultClass) {
+		for (Class<?> faultType : this.faultTypes) {
+			if (faultType.isAssignableFrom(faultClass)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+}
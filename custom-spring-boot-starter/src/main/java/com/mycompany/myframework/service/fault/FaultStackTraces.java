@@ -0,0 +1,40 @@
+package com.mycompany.myframework.service.fault;
+
+import org.springframework.util.Assert;
+
+/**
+ * Holds the {@link FaultStackTracePolicy} faults are created under. Like {@link FaultIds}, faults are created with new wherever
+ * they happen, so the fault barrier auto-configuration installs the policy here, and {@link #resetPolicy() resets} it when its
+ * context closes. Until then, faults capture their full stack traces.
+ */
+public final class FaultStackTraces {
+	private static volatile FaultStackTracePolicy policy = FaultStackTracePolicy.fullStackTraces();
+
+	private FaultStackTraces() {
+		super();
+	}
+
+	/**
+	 * Gets the current {@link FaultStackTracePolicy}
+	 * @return The current {@link FaultStackTracePolicy}
+	 */
+	public static FaultStackTracePolicy getPolicy() {
+		return policy;
+	}
+
+	/**
+	 * Sets the {@link FaultStackTracePolicy} faults are created under
+	 * @param faultStackTracePolicy The {@link FaultStackTracePolicy}
+	 */
+	public static void setPolicy(FaultStackTracePolicy faultStackTracePolicy) {
+		Assert.notNull(faultStackTracePolicy, "faultStackTracePolicy can not be null");
+		policy = faultStackTracePolicy;
+	}
+
+	/**
+	 * Puts back the default {@link FaultStackTracePolicy}, under which faults capture their full stack traces
+	 */
+	public static void resetPolicy() {
+		policy = FaultStackTracePolicy.fullStackTraces();
+	}
+}
@@ -0,0 +1,14 @@
+package com.mycompany.myframework.service.fault;
+
+import java.util.UUID;
+
+/**
+ * {@link FaultIdGenerator} generating random UUIDs with {@link UUID#randomUUID()}, as the fault barriers always have. Every id
+ * draws from the JVM's single shared {@link java.security.SecureRandom}, so threads generating ids at the same time queue on it.
+ */
+public class RandomUuidFaultIdGenerator implements FaultIdGenerator {
+	@Override
+	public String generateFaultId() {
+		return UUID.randomUUID().toString();
+	}
+}
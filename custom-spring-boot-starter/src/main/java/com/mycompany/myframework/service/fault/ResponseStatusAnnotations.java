@@ -0,0 +1,38 @@
+package com.mycompany.myframework.service.fault;
+
+import java.util.Optional;
+
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.lang.Nullable;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Finds the {@link ResponseStatus} annotation of an exception type, the way the fault barriers decide whether to hand an exception
+ * back to the framework rather than treating it as a fault.
+ * <p>
+ *   {@link AnnotationUtils#findAnnotation(Class, Class)} walks the type's hierarchy reflectively, so the outcome is cached per
+ *   exception class in a {@link ClassValue}, and looking it up again costs the same as a field read.
+ * </p>
+ */
+public final class ResponseStatusAnnotations {
+	private static final ClassValue<Optional<ResponseStatus>> RESPONSE_STATUSES = new ClassValue<Optional<ResponseStatus>>() {
+		@Override
+		protected Optional<ResponseStatus> computeValue(Class<?> exceptionClass) {
+			return Optional.ofNullable(AnnotationUtils.findAnnotation(exceptionClass, ResponseStatus.class));
+		}
+	};
+
+	private ResponseStatusAnnotations() {
+		super();
+	}
+
+	/**
+	 * Finds the {@link ResponseStatus} annotation of an exception type, on the type itself or on any of its super types
+	 * @param exceptionClass The exception type
+	 * @return The {@link ResponseStatus}, or {@code null} if the type isn't annotated with one
+	 */
+	@Nullable
+	public static ResponseStatus find(Class<?> exceptionClass) {
+		return RESPONSE_STATUSES.get(exceptionClass).orElse(null);
+	}
+}
@@ -0,0 +1,30 @@
+package com.mycompany.myframework.service.fault;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * {@link FaultIdGenerator} generating time-ordered ids in the layout of a version 7 UUID: the time the fault happened (in
+ * milliseconds since the epoch) followed by random bits drawn from {@link ThreadLocalRandom}.
+ * <p>
+ *   Drawing from {@link ThreadLocalRandom} means threads never contend for the random bits, unlike
+ *   {@link UUID#randomUUID()}. Fault ids only need to be unique, not unguessable, so a non-cryptographic source is enough. The ids
+ *   still look like UUIDs, and sort by the time the faults happened.
+ * </p>
+ */
+public class TimeOrderedFaultIdGenerator implements FaultIdGenerator {
+	private static final long VERSION_7 = 0x7000L;
+	private static final long VARIANT_MASK = 0x3fffffffffffffffL;
+	private static final long VARIANT = 0x8000000000000000L;
+
+	@Override
+	public String generateFaultId() {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+
+		// 48 bits of milliseconds, 4 bits of version & 12 random bits, then 2 bits of variant & 62 random bits
+		long mostSignificantBits = (System.currentTimeMillis() << 16) | VERSION_7 | (random.nextInt() & 0x0fff);
+		long leastSignificantBits = (random.nextLong() & VARIANT_MASK) | VARIANT;
+
+		return new UUID(mostSignificantBits, leastSignificantBits).toString();
+	}
+}
@@ -0,0 +1,55 @@
+package com.mycompany.myframework.service.fault;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.slf4j.MDC;
+
+import org.apache.commons.lang3.StringUtils;
+
+import org.springframework.util.Assert;
+
+/**
+ * {@link FaultIdGenerator} deriving the fault id from the id of the trace the fault happened in, so a reported fault leads straight
+ * to its trace as well as to its log entries.
+ * <p>
+ *   The trace id is read from the SLF4J {@link MDC}, where tracers such as Spring Cloud Sleuth put it (as {@code traceId} or
+ *   {@code X-B3-TraceId}). A trace can have more than one fault, so the id is the trace id followed by a random suffix drawn from
+ *   {@link ThreadLocalRandom}. If there is no trace id, i.e. the fault happened outside a trace or on a thread the tracer hasn't
+ *   populated the {@link MDC} of, the id is generated by the fallback {@link FaultIdGenerator}.
+ * </p>
+ */
+public class TraceIdFaultIdGenerator implements FaultIdGenerator {
+	private static final String[] TRACE_ID_KEYS = { "traceId", "X-B3-TraceId" };
+
+	private final FaultIdGenerator fallbackGenerator;
+
+	/**
+	 * Constructs an instance falling back to a {@link TimeOrderedFaultIdGenerator}
+	 */
+	public TraceIdFaultIdGenerator() {
+		this(new TimeOrderedFaultIdGenerator());
+	}
+
+	/**
+	 * Constructs an instance
+	 * @param fallbackGenerator The {@link FaultIdGenerator} used when there is no trace id
+	 */
+	public TraceIdFaultIdGenerator(FaultIdGenerator fallbackGenerator) {
+		Assert.notNull(fallbackGenerator, "fallbackGenerator can not be null");
+		this.fallbackGenerator = fallbackGenerator;
+	}
+
+	@Override
+	public String generateFaultId() {
+		for (String traceIdKey : TRACE_ID_KEYS) {
+			String traceId = MDC.get(traceIdKey);
+
+			if (StringUtils.isNotBlank(traceId)) {
+				// 8 hex digits, zero-padded by setting (then dropping) a 33rd bit
+				return traceId + '-' + Long.toHexString((ThreadLocalRandom.current().nextInt() & 0xffffffffL) | 0x100000000L).substring(1);
+			}
+		}
+
+		return this.fallbackGenerator.generateFaultId();
+	}
+}
@@ -1,7 +1,9 @@
 package com.mycompany.myframework.service.fault.server;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
-import java.util.UUID;
 import java.util.function.Consumer;
 
 import javax.validation.ConstraintViolationException;
@@ -12,7 +14,6 @@ import org.slf4j.LoggerFactory;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 
 import org.springframework.beans.TypeMismatchException;
-import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -32,17 +33,52 @@ import com.fasterxml.jackson.databind.exc.InvalidFormatException;
 import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException;
 import com.mycompany.myframework.service.api.ValidationResponse;
 import com.mycompany.myframework.service.api.server.ServerValidationResponse;
+import com.mycompany.myframework.service.fault.FaultIds;
+import com.mycompany.myframework.service.fault.FaultLogger;
+import com.mycompany.myframework.service.fault.ResponseStatusAnnotations;
 import com.mycompany.myframework.service.model.FaultException;
 import com.mycompany.myframework.service.model.HttpStatusException;
 import reactor.core.publisher.Mono;
 
 public class DefaultServerFaultBarrierResponseResolver {
 	private static final Logger LOGGER = LoggerFactory.getLogger(DefaultServerFaultBarrierResponseResolver.class);
+	private final FaultLogger faultLogger;
+	private final ServerFaultHandlerRegistry faultHandlerRegistry;
+
+	public DefaultServerFaultBarrierResponseResolver(FaultLogger faultLogger) {
+		this(faultLogger, Collections.emptyList());
+	}
+
+	/**
+	 * Creates the resolver
+	 * @param faultLogger The {@link FaultLogger}
+	 * @param faultHandlers The application's own {@link ServerFaultHandler}s, in order of precedence. They take precedence over the
+	 * built-in handlers.
+	 */
+	public DefaultServerFaultBarrierResponseResolver(FaultLogger faultLogger, List<? extends ServerFaultHandler<?>> faultHandlers) {
+		Assert.notNull(faultLogger, "faultLogger can not be null");
+		Assert.notNull(faultHandlers, "faultHandlers can not be null");
+		this.faultLogger = faultLogger;
+
+		List<ServerFaultHandler<?>> allFaultHandlers = new ArrayList<>(faultHandlers);
+		allFaultHandlers.add(ServerFaultHandler.of(FaultException.class, this::handleFaultException));
+		allFaultHandlers.add(ServerFaultHandler.of(ConstraintViolationException.class, ex -> ServerResponse.badRequest().headers(createHeadersWithFaultId()).syncBody(handleConstraintViolationException(ex))));
+		allFaultHandlers.add(ServerFaultHandler.of(TypeMismatchException.class, this::handleTypeMismatch));
+		allFaultHandlers.add(ServerFaultHandler.of(BindException.class, this::handleBindException));
+		allFaultHandlers.add(ServerFaultHandler.of(MethodArgumentNotValidException.class, this::handleMethodArgumentNotValidException));
+		allFaultHandlers.add(ServerFaultHandler.of(WebExchangeBindException.class, this::handleWebExchangeBindException));
+		allFaultHandlers.add(ServerFaultHandler.of(ServerWebInputException.class, this::handleServerWebInputException));
+		allFaultHandlers.add(ServerFaultHandler.of(HttpMessageNotReadableException.class, this::handleHttpMessageNotReadable));
+		allFaultHandlers.add(ServerFaultHandler.of(ResponseStatusException.class, this::handleResponseStatusException));
+		allFaultHandlers.add(ServerFaultHandler.of(Exception.class, this::defaultErrorHandler));
+
+		this.faultHandlerRegistry = new ServerFaultHandlerRegistry(allFaultHandlers);
+	}
 
 	private Mono<ServerResponse> handleFaultException(FaultException ex) {
 		return Mono.defer(() -> {
 			String faultId = ex.getFaultId();
-			LOGGER.error("FaultException faultId={}: {}", faultId, ex.getMessage(), ex);
+			this.faultLogger.log(ex, LOGGER);
 
 			return ServerResponse
 				.status(Optional.ofNullable(ex.getHttpStatus()).orElse(HttpStatus.INTERNAL_SERVER_ERROR))
@@ -122,15 +158,14 @@ public class DefaultServerFaultBarrierResponseResolver {
 	 *
 	 * @param ex The {@link Exception}
 	 * @return The {@link ServerResponse}
-	 * @throws Exception If the exception is annotated with {@link ResponseStatus}
 	 * @see #handleFaultException(FaultException)
 	 */
-	private Mono<ServerResponse> defaultErrorHandler(Exception ex) throws Exception {
-		ResponseStatus responseStatus = AnnotationUtils.findAnnotation(ex.getClass(), ResponseStatus.class);
+	private Mono<ServerResponse> defaultErrorHandler(Exception ex) {
+		ResponseStatus responseStatus = ResponseStatusAnnotations.find(ex.getClass());
 
 		if (responseStatus != null) {
 			// If the exception is annotated with @ResponseStatus, rethrow it and let the framework handle it
-			throw ex;
+			return ExceptionUtils.rethrow(ex);
 		}
 		else {
 			return handleFaultException(
@@ -149,48 +184,14 @@ public class DefaultServerFaultBarrierResponseResolver {
 	public Mono<ServerResponse> handleFault(Throwable throwable) {
 		Assert.notNull(throwable, "Exception must not be null");
 
-		if (throwable instanceof FaultException) {
-			return handleFaultException((FaultException) throwable);
-		}
-		else if (throwable instanceof ConstraintViolationException) {
-			return ServerResponse.badRequest().headers(createHeadersWithFaultId()).syncBody(handleConstraintViolationException((ConstraintViolationException) throwable));
-		}
-		else if (throwable instanceof TypeMismatchException) {
-			return handleTypeMismatch((TypeMismatchException) throwable);
-		}
-		else if (throwable instanceof BindException) {
-			return handleBindException((BindException) throwable);
-		}
-		else if (throwable instanceof MethodArgumentNotValidException) {
-			return handleMethodArgumentNotValidException((MethodArgumentNotValidException) throwable);
-		}
-		else if (throwable instanceof WebExchangeBindException) {
-			return handleWebExchangeBindException((WebExchangeBindException) throwable);
-		}
-		else if (throwable instanceof ServerWebInputException) {
-			return handleServerWebInputException((ServerWebInputException) throwable);
-		}
-		else if (throwable instanceof HttpMessageNotReadableException) {
-			return handleHttpMessageNotReadable((HttpMessageNotReadableException) throwable);
-		}
-		else if (throwable instanceof ResponseStatusException) {
-			return handleResponseStatusException((ResponseStatusException) throwable);
-		}
-		else if (throwable instanceof Exception) {
-			try {
-				return defaultErrorHandler((Exception) throwable);
-			}
-			catch (Exception e) {
-				return ExceptionUtils.rethrow(e);
-			}
-		}
-		else {
-			return Mono.empty();
-		}
+		// Resolved once per type of exception, to the handler of the nearest class in its hierarchy
+		ServerFaultHandler<Throwable> faultHandler = this.faultHandlerRegistry.getHandler(throwable.getClass());
+
+		return (faultHandler != null) ? faultHandler.handleFault(throwable) : Mono.empty();
 	}
 
 	private static Consumer<HttpHeaders> createHeadersWithFaultId() {
-		return createHeadersWithFaultId(UUID.randomUUID().toString());
+		return createHeadersWithFaultId(FaultIds.generate());
 	}
 
 	private static Consumer<HttpHeaders> createHeadersWithFaultId(String faultId) {
@@ -1,32 +1,65 @@
 package com.mycompany.myframework.service.fault.server;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import org.apache.commons.collections4.CollectionUtils;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.Ordered;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.codec.HttpMessageWriter;
+import org.springframework.http.codec.ServerCodecConfigurer;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
-import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.util.Assert;
 import org.springframework.web.reactive.function.server.ServerResponse;
 import org.springframework.web.reactive.function.server.ServerResponse.Context;
 import org.springframework.web.reactive.handler.WebFluxResponseStatusExceptionHandler;
 import org.springframework.web.reactive.result.view.ViewResolver;
 import org.springframework.web.server.ServerWebExchange;
 
+import com.mycompany.myframework.service.fault.FaultLogger;
 import reactor.core.publisher.Mono;
 
+/**
+ * The reactive fault barrier. Faults are rendered with the message writers of the application's {@link ServerCodecConfigurer}, so
+ * they are written with the same (customized) codecs as any other response. The writers are resolved once, when the barrier is
+ * created, rather than for every fault.
+ */
 @Component
 public class ServerFaultBarrier extends WebFluxResponseStatusExceptionHandler implements Ordered {
 	private static final Logger LOGGER = LoggerFactory.getLogger(ServerFaultBarrier.class);
-	private final DefaultServerFaultBarrierResponseResolver responseResolver = new DefaultServerFaultBarrierResponseResolver();
+	private final DefaultServerFaultBarrierResponseResolver responseResolver;
+	private final Context responseContext;
+
+	public ServerFaultBarrier(FaultLogger faultLogger, ServerCodecConfigurer serverCodecConfigurer) {
+		this(faultLogger, serverCodecConfigurer, Collections.emptyList());
+	}
+
+	@Autowired
+	public ServerFaultBarrier(FaultLogger faultLogger, ServerCodecConfigurer serverCodecConfigurer, ObjectProvider<ServerFaultHandler<?>> faultHandlers) {
+		this(faultLogger, serverCodecConfigurer, faultHandlers.orderedStream().collect(Collectors.toList()));
+	}
+
+	/**
+	 * Creates the barrier
+	 * @param faultLogger The {@link FaultLogger}
+	 * @param serverCodecConfigurer The application's {@link ServerCodecConfigurer}
+	 * @param faultHandlers The application's own {@link ServerFaultHandler}s, in order of precedence
+	 */
+	public ServerFaultBarrier(FaultLogger faultLogger, ServerCodecConfigurer serverCodecConfigurer, List<? extends ServerFaultHandler<?>> faultHandlers) {
+		Assert.notNull(serverCodecConfigurer, "serverCodecConfigurer can not be null");
+		this.responseResolver = new DefaultServerFaultBarrierResponseResolver(faultLogger, faultHandlers);
+		this.responseContext = new MessageWritersResponseContext(serverCodecConfigurer.getWriters());
+	}
 
 	private Mono<ServerResponse> determineServerResponse(Throwable ex) {
 		try {
@@ -73,7 +106,7 @@ public class ServerFaultBarrier extends WebFluxResponseStatusExceptionHandler im
 
 				if (exchange.getResponse().setStatusCode(response.statusCode())) {
 					exchange.getResponse().getHeaders().setContentType(getResponseContentType(response, exchange));
-					return response.writeTo(exchange, new HandlerStrategiesResponseContext(HandlerStrategies.withDefaults()));
+					return response.writeTo(exchange, this.responseContext);
 				}
 				else {
 					return Mono.error(ex);
@@ -86,21 +119,22 @@ public class ServerFaultBarrier extends WebFluxResponseStatusExceptionHandler im
 		return Ordered.HIGHEST_PRECEDENCE;
 	}
 
-	private static final class HandlerStrategiesResponseContext implements Context {
-		private final HandlerStrategies strategies;
+	private static final class MessageWritersResponseContext implements Context {
+		private final List<HttpMessageWriter<?>> messageWriters;
 
-		private HandlerStrategiesResponseContext(HandlerStrategies strategies) {
-			this.strategies = strategies;
+		private MessageWritersResponseContext(List<HttpMessageWriter<?>> messageWriters) {
+			this.messageWriters = Collections.unmodifiableList(messageWriters);
 		}
 
 		@Override
 		public List<HttpMessageWriter<?>> messageWriters() {
-			return this.strategies.messageWriters();
+			return this.messageWriters;
 		}
 
 		@Override
 		public List<ViewResolver> viewResolvers() {
-			return this.strategies.viewResolvers();
+			// Faults are always rendered as a body, never as a view
+			return Collections.emptyList();
 		}
 	}
 }
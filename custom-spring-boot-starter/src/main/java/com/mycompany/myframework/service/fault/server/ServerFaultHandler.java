@@ -0,0 +1,58 @@
+package com.mycompany.myframework.service.fault.server;
+
+import java.util.function.Function;
+
+import org.springframework.util.Assert;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Renders one type of exception (&amp; its subclasses) caught by the {@link ServerFaultBarrier}. An application can declare its
+ * own handlers as beans: they take precedence over the handlers built into {@link DefaultServerFaultBarrierResponseResolver} for
+ * the same type, and among handlers for the same type the first in {@link org.springframework.core.annotation.Order order} wins.
+ * <p>
+ *   An exception is handled by the handler registered for its nearest super class, so a handler for a more specific type beats one
+ *   for a more general type no matter the order. Handlers are matched by class, not by interface.
+ * </p>
+ *
+ * @param <T> The type of exception handled
+ */
+public interface ServerFaultHandler<T extends Throwable> {
+	/**
+	 * Gets the type of exception handled
+	 * @return The type of exception handled
+	 */
+	Class<T> getFaultType();
+
+	/**
+	 * Renders an exception
+	 * @param fault The exception
+	 * @return The {@link ServerResponse}
+	 */
+	Mono<ServerResponse> handleFault(T fault);
+
+	/**
+	 * Creates a {@link ServerFaultHandler} from a function
+	 * @param faultType The type of exception handled
+	 * @param handler The function rendering the exception
+	 * @param <T> The type of exception handled
+	 * @return The {@link ServerFaultHandler}
+	 */
+	static <T extends Throwable> ServerFaultHandler<T> of(Class<T> faultType, Function<? super T, Mono<ServerResponse>> handler) {
+		Assert.notNull(faultType, "faultType can not be null");
+		Assert.notNull(handler, "handler can not be null");
+
+		return new ServerFaultHandler<T>() {
+			@Override
+			public Class<T> getFaultType() {
+				return faultType;
+			}
+
+			@Override
+			public Mono<ServerResponse> handleFault(T fault) {
+				return handler.apply(fault);
+			}
+		};
+	}
+}
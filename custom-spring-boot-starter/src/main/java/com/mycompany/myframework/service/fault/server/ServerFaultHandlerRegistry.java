@@ -0,0 +1,58 @@
+package com.mycompany.myframework.service.fault.server;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Resolves the {@link ServerFaultHandler} of an exception by walking up its class hierarchy to the nearest class with a handler.
+ * The resolution is cached per exception class in a {@link ClassValue}, so each type of exception is only walked the first time it
+ * is seen.
+ */
+final class ServerFaultHandlerRegistry {
+	private final Map<Class<?>, ServerFaultHandler<?>> handlersByFaultType = new HashMap<>();
+	private final ClassValue<Optional<ServerFaultHandler<Throwable>>> handlersByFaultClass = new ClassValue<Optional<ServerFaultHandler<Throwable>>>() {
+		@Override
+		protected Optional<ServerFaultHandler<Throwable>> computeValue(Class<?> faultClass) {
+			return Optional.ofNullable(findHandler(faultClass));
+		}
+	};
+
+	/**
+	 * Creates the registry
+	 * @param faultHandlers The handlers, in order of precedence. A handler is ignored if one for the same type comes before it.
+	 */
+	ServerFaultHandlerRegistry(Collection<? extends ServerFaultHandler<?>> faultHandlers) {
+		Assert.notNull(faultHandlers, "faultHandlers can not be null");
+		faultHandlers.forEach(faultHandler -> this.handlersByFaultType.putIfAbsent(faultHandler.getFaultType(), faultHandler));
+	}
+
+	/**
+	 * Gets the handler of a type of exception
+	 * @param faultClass The type of exception
+	 * @return The handler registered for the nearest class of the exception's hierarchy, or {@code null} if there isn't one
+	 */
+	@Nullable
+	ServerFaultHandler<Throwable> getHandler(Class<? extends Throwable> faultClass) {
+		return this.handlersByFaultClass.get(faultClass).orElse(null);
+	}
+
+	@Nullable
+	@SuppressWarnings("unchecked")
+	private ServerFaultHandler<Throwable> findHandler(Class<?> faultClass) {
+		for (Class<?> type = faultClass; type != null; type = type.getSuperclass()) {
+			ServerFaultHandler<?> faultHandler = this.handlersByFaultType.get(type);
+
+			if (faultHandler != null) {
+				// Safe, since the handler was registered for a super class of the exception
+				return (ServerFaultHandler<Throwable>) faultHandler;
+			}
+		}
+
+		return null;
+	}
+}
@@ -1,7 +1,6 @@
 package com.mycompany.myframework.service.fault.servlet;
 
 import java.util.Optional;
-import java.util.UUID;
 
 import javax.validation.ConstraintViolationException;
 
@@ -10,7 +9,6 @@ import org.slf4j.LoggerFactory;
 
 import org.springframework.beans.TypeMismatchException;
 import org.springframework.core.Ordered;
-import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -18,6 +16,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.http.ResponseEntity.BodyBuilder;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
 import org.springframework.validation.BindException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.MissingServletRequestParameterException;
@@ -34,6 +33,9 @@ import com.fasterxml.jackson.databind.exc.InvalidFormatException;
 import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException;
 import com.mycompany.myframework.service.api.ValidationResponse;
 import com.mycompany.myframework.service.api.servlet.ServletValidationResponse;
+import com.mycompany.myframework.service.fault.FaultIds;
+import com.mycompany.myframework.service.fault.FaultLogger;
+import com.mycompany.myframework.service.fault.ResponseStatusAnnotations;
 import com.mycompany.myframework.service.model.FaultException;
 import com.mycompany.myframework.service.model.HttpStatusException;
 
@@ -41,10 +43,16 @@ import com.mycompany.myframework.service.model.HttpStatusException;
 @RestControllerAdvice
 public class ServletFaultBarrier extends ResponseEntityExceptionHandler {
 	private static final Logger LOGGER = LoggerFactory.getLogger(ServletFaultBarrier.class);
+	private final FaultLogger faultLogger;
+
+	public ServletFaultBarrier(FaultLogger faultLogger) {
+		Assert.notNull(faultLogger, "faultLogger can not be null");
+		this.faultLogger = faultLogger;
+	}
 
 	private ResponseEntity<Object> handleFaultException(FaultException ex, @Nullable HttpHeaders headers) {
 		String faultId = ex.getFaultId();
-		LOGGER.error("FaultException faultId={}: {}", faultId, ex.getMessage(), ex);
+		this.faultLogger.log(ex, LOGGER);
 
 		ResponseEntity<Object> response = ResponseEntity.status(ex.getHttpStatus())
 			.headers(createHeadersWithFaultId(headers, faultId))
@@ -121,7 +129,7 @@ public class ServletFaultBarrier extends ResponseEntityExceptionHandler {
 
 	@ExceptionHandler(Exception.class)
 	public ResponseEntity<Object> defaultErrorHandler(Exception ex) throws Exception {
-		ResponseStatus responseStatus = AnnotationUtils.findAnnotation(ex.getClass(), ResponseStatus.class);
+		ResponseStatus responseStatus = ResponseStatusAnnotations.find(ex.getClass());
 
 		if (responseStatus != null) {
 			// If the exception is annotated with @ResponseStatus, rethrow it and let the framework handle it
@@ -142,7 +150,7 @@ public class ServletFaultBarrier extends ResponseEntityExceptionHandler {
 	}
 
 	private static HttpHeaders createHeadersWithFaultId(@Nullable HttpHeaders headers) {
-		return createHeadersWithFaultId(headers, UUID.randomUUID().toString());
+		return createHeadersWithFaultId(headers, FaultIds.generate());
 	}
 
 	private static HttpHeaders createHeadersWithFaultId(@Nullable HttpHeaders headers, String faultId) {
@@ -1,20 +1,22 @@
 package com.mycompany.myframework.service.model;
 
-import java.util.UUID;
-
 import org.apache.commons.lang3.builder.ToStringBuilder;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.lang.Nullable;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.mycompany.myframework.service.fault.FaultIds;
 import io.swagger.annotations.ApiModel;
 
 @ApiModel(description = "Some Fault that occurred")
 @JsonIgnoreProperties({ "stackTrace", "suppressedExceptions", "cause" })
 public class FaultException extends HttpStatusException implements TraceableFault {
 	@Nullable
-	private String faultId = UUID.randomUUID().toString();
+	private String faultId;
+
+	// The fault id is only generated when first asked for, so a fault whose id is set (or never read) doesn't generate one
+	private boolean faultIdAssigned;
 
 	public FaultException(HttpStatus httpStatus, String reason) {
 		super(httpStatus, reason);
@@ -34,13 +36,19 @@ public class FaultException extends HttpStatusException implements TraceableFaul
 
 	@Override
 	@Nullable
-	public String getFaultId() {
+	public synchronized String getFaultId() {
+		if (!this.faultIdAssigned) {
+			this.faultId = FaultIds.generate();
+			this.faultIdAssigned = true;
+		}
+
 		return this.faultId;
 	}
 
 	@Override
-	public void setFaultId(@Nullable String faultId) {
+	public synchronized void setFaultId(@Nullable String faultId) {
 		this.faultId = faultId;
+		this.faultIdAssigned = true;
 	}
 
 	public FaultException faultId(@Nullable String faultId) {
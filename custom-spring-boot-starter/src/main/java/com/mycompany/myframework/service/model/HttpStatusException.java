@@ -1,5 +1,6 @@
 package com.mycompany.myframework.service.model;
 
+import java.util.Arrays;
 import java.util.Optional;
 
 import org.apache.commons.lang3.StringUtils;
@@ -12,6 +13,8 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlCData;
+import com.mycompany.myframework.service.fault.FaultStackTracePolicy;
+import com.mycompany.myframework.service.fault.FaultStackTraces;
 import io.swagger.annotations.ApiModel;
 import io.swagger.annotations.ApiModelProperty;
 
@@ -82,6 +85,33 @@ public abstract class HttpStatusException extends RuntimeException {
 		return (cause != null) ? String.format("%s: %s", cause.getClass().getName(), cause.getMessage()) : null;
 	}
 
+	/**
+	 * Fills in the stack trace as deep as the current {@link FaultStackTracePolicy} allows for this type of fault
+	 * @return This exception
+	 * @see FaultStackTraces
+	 */
+	@Override
+	public synchronized Throwable fillInStackTrace() {
+		// Called from the Throwable constructor, so nothing but the class of this exception can be relied on here
+		int depth = FaultStackTraces.getPolicy().getStackTraceDepth(getClass());
+
+		if (depth == 0) {
+			return this;
+		}
+
+		super.fillInStackTrace();
+
+		if (depth != FaultStackTracePolicy.FULL_DEPTH) {
+			StackTraceElement[] stackTrace = getStackTrace();
+
+			if (stackTrace.length > depth) {
+				setStackTrace(Arrays.copyOf(stackTrace, depth));
+			}
+		}
+
+		return this;
+	}
+
 	@Override
 	public String toString() {
 		return ToStringBuilder.reflectionToString(this);
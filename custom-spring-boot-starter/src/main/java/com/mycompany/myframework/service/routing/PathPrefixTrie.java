@@ -0,0 +1,256 @@
+package com.mycompany.myframework.service.routing;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Immutable routing table from request paths to values, built from path patterns that are either an exact path (i.e.
+ * {@code /admin}) or a path prefix (i.e. {@code /admin/**}).
+ * <p>
+ *   The patterns are compiled into a trie of path segments, so {@link #find(String) finding} the value for a path is a single walk
+ *   along its segments, no matter how many patterns there are. The walk compares segments in place, so it doesn't allocate.
+ * </p>
+ * <p>
+ *   The most specific pattern wins: an exact path beats a prefix, and a longer prefix beats a shorter one. Empty segments within a
+ *   path (i.e. {@code //}) are ignored, as they are by {@link org.springframework.util.AntPathMatcher}. As with it, a trailing
+ *   {@code /} is significant for an exact path: {@code /admin} doesn't match {@code /admin/}, and {@code /admin/} only matches
+ *   {@code /admin/}. A prefix matches the path with or without a trailing {@code /}. Paths are matched case-sensitively.
+ * </p>
+ *
+ * @param <T> The type of the values
+ */
+public final class PathPrefixTrie<T> {
+	private static final String PREFIX_SUFFIX = "/**";
+	private static final char PATH_SEPARATOR = '/';
+
+	private final Node<T> root;
+	private final int size;
+
+	private PathPrefixTrie(Node<T> root, int size) {
+		this.root = root;
+		this.size = size;
+	}
+
+	/**
+	 * Creates a {@link Builder}
+	 * @param <T> The type of the values
+	 * @return A new {@link Builder}
+	 */
+	public static <T> Builder<T> builder() {
+		return new Builder<>();
+	}
+
+	/**
+	 * Finds the value of the most specific pattern matching a path
+	 * @param path The path (i.e. {@code /admin/users/1})
+	 * @return The value, or {@code null} if no pattern matches the path
+	 */
+	@Nullable
+	public T find(@Nullable String path) {
+		if (path == null) {
+			return null;
+		}
+
+		Node<T> node = this.root;
+		T match = node.prefixValue;
+		int length = path.length();
+		int segmentStart = 0;
+
+		while (true) {
+			while ((segmentStart < length) && (path.charAt(segmentStart) == PATH_SEPARATOR)) {
+				segmentStart++;
+			}
+
+			if (segmentStart == length) {
+				break;
+			}
+
+			int segmentEnd = path.indexOf(PATH_SEPARATOR, segmentStart);
+
+			if (segmentEnd < 0) {
+				segmentEnd = length;
+			}
+
+			node = node.child(path, segmentStart, segmentEnd);
+
+			if (node == null) {
+				return match;
+			}
+
+			if (node.prefixValue != null) {
+				match = node.prefixValue;
+			}
+
+			segmentStart = segmentEnd;
+		}
+
+		T exactValue = hasTrailingSeparator(path, node) ? node.exactTrailingSeparatorValue : node.exactValue;
+		return (exactValue != null) ? exactValue : match;
+	}
+
+	private boolean hasTrailingSeparator(String path, Node<T> node) {
+		return (node != this.root) && (path.charAt(path.length() - 1) == PATH_SEPARATOR);
+	}
+
+	/**
+	 * Whether or not there aren't any patterns
+	 * @return {@code true} if there aren't any patterns
+	 */
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	/**
+	 * Gets the number of patterns
+	 * @return The number of patterns
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Builds a {@link PathPrefixTrie}
+	 * @param <T> The type of the values
+	 */
+	public static final class Builder<T> {
+		private final MutableNode<T> root = new MutableNode<>(null);
+		private int size;
+
+		private Builder() {
+			super();
+		}
+
+		/**
+		 * Adds a pattern
+		 * @param pathPattern The pattern, either an exact path (i.e. {@code /admin}) or a path prefix (i.e. {@code /admin/**})
+		 * @param value The value for paths matching the pattern
+		 * @return This {@link Builder}
+		 * @throws IllegalArgumentException If the pattern isn't an exact path or a path prefix, or has already been added
+		 */
+		public Builder<T> add(String pathPattern, T value) {
+			Assert.hasText(pathPattern, "pathPattern can not be empty");
+			Assert.notNull(value, "value can not be null");
+			Assert.isTrue(pathPattern.charAt(0) == PATH_SEPARATOR, () -> String.format("Path pattern %s must start with %s", pathPattern, PATH_SEPARATOR));
+
+			boolean prefix = pathPattern.endsWith(PREFIX_SUFFIX);
+			String path = prefix ? pathPattern.substring(0, pathPattern.length() - PREFIX_SUFFIX.length()) : pathPattern;
+
+			Assert.isTrue(path.chars().noneMatch(c -> (c == '*') || (c == '?') || (c == '{')), () -> String.format("Path pattern %s must be an exact path or a path prefix ending in %s", pathPattern, PREFIX_SUFFIX));
+
+			MutableNode<T> node = this.root;
+
+			for (String segment : path.split(String.valueOf(PATH_SEPARATOR))) {
+				if (!segment.isEmpty()) {
+					node = node.child(segment);
+				}
+			}
+
+			if (prefix) {
+				Assert.isNull(node.prefixValue, () -> String.format("Duplicate path pattern %s", pathPattern));
+				node.prefixValue = value;
+			}
+			else if ((node != this.root) && (path.charAt(path.length() - 1) == PATH_SEPARATOR)) {
+				Assert.isNull(node.exactTrailingSeparatorValue, () -> String.format("Duplicate path pattern %s", pathPattern));
+				node.exactTrailingSeparatorValue = value;
+			}
+			else {
+				Assert.isNull(node.exactValue, () -> String.format("Duplicate path pattern %s", pathPattern));
+				node.exactValue = value;
+			}
+
+			this.size++;
+			return this;
+		}
+
+		/**
+		 * Builds the {@link PathPrefixTrie}
+		 * @return The {@link PathPrefixTrie}
+		 */
+		public PathPrefixTrie<T> build() {
+			return new PathPrefixTrie<>(this.root.toNode(), this.size);
+		}
+	}
+
+	private static final class Node<T> {
+		@Nullable
+		private final String segment;
+
+		@Nullable
+		private final T exactValue;
+
+		@Nullable
+		private final T exactTrailingSeparatorValue;
+
+		@Nullable
+		private final T prefixValue;
+
+		private final Node<T>[] children;
+
+		private Node(@Nullable String segment, @Nullable T exactValue, @Nullable T exactTrailingSeparatorValue, @Nullable T prefixValue, Node<T>[] children) {
+			this.segment = segment;
+			this.exactValue = exactValue;
+			this.exactTrailingSeparatorValue = exactTrailingSeparatorValue;
+			this.prefixValue = prefixValue;
+			this.children = children;
+		}
+
+		@Nullable
+		private Node<T> child(String path, int segmentStart, int segmentEnd) {
+			int segmentLength = segmentEnd - segmentStart;
+
+			for (Node<T> child : this.children) {
+				if ((child.segment.length() == segmentLength) && path.regionMatches(segmentStart, child.segment, 0, segmentLength)) {
+					return child;
+				}
+			}
+
+			return null;
+		}
+	}
+
+	private static final class MutableNode<T> {
+		@Nullable
+		private final String segment;
+		private final List<MutableNode<T>> children = new ArrayList<>();
+
+		@Nullable
+		private T exactValue;
+
+		@Nullable
+		private T exactTrailingSeparatorValue;
+
+		@Nullable
+		private T prefixValue;
+
+		private MutableNode(@Nullable String segment) {
+			this.segment = segment;
+		}
+
+		private MutableNode<T> child(String segment) {
+			for (MutableNode<T> child : this.children) {
+				if (child.segment.equals(segment)) {
+					return child;
+				}
+			}
+
+			MutableNode<T> child = new MutableNode<>(segment);
+			this.children.add(child);
+
+			return child;
+		}
+
+		@SuppressWarnings("unchecked")
+		private Node<T> toNode() {
+			Node<T>[] nodes = new Node[this.children.size()];
+
+			for (int i = 0; i < nodes.length; i++) {
+				nodes[i] = this.children.get(i).toNode();
+			}
+
+			return new Node<>(this.segment, this.exactValue, this.exactTrailingSeparatorValue, this.prefixValue, nodes);
+		}
+	}
+}
@@ -4,14 +4,6 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
-
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import org.apache.commons.lang3.StringUtils;
 
@@ -19,95 +11,231 @@ import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.web.cors.CorsConfiguration;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import com.mycompany.myframework.properties.config.MyFrameworkConfig.SecurityConfig.CorsConfig;
+import com.mycompany.myframework.service.cache.CaffeineCaches;
 
 /**
  * Base class for custom {@link org.springframework.web.cors.CorsConfigurationSource} for servlet applications and
  * {@link org.springframework.web.cors.reactive.CorsConfigurationSource} fo reactive applications.
+ * <p>
+ *   If the {@link CorsConfig#getDecisionCache() decision cache} is enabled, the {@link CorsConfiguration} built for an origin is
+ *   cached, keyed by the origin and the identity of the {@link CorsConfiguration} it was built from. Cached configurations are
+ *   {@link ImmutableCorsConfiguration immutable} so they can be shared between requests.
+ * </p>
+ * <p>
+ *   The allowed domains are read from an {@link AllowedDomainsMatcherHolder}, so they can be reloaded without a restart. The origin
+ *   is matched against the current allowed domains on every request (which doesn't allocate, see {@link OriginParser}), so only
+ *   building the resulting {@link CorsConfiguration} is cached and a reload can never leave a stale decision behind.
+ * </p>
+ * <p>
+ *   If there are {@link CorsConfig#getRoutes() routes}, the allowed domains are chosen by the request's path from a
+ *   {@link CorsRoutingTable}. The decision cache doesn't need to know which route was used: an allowed origin's configuration only
+ *   depends on the origin, and a rejected origin's doesn't depend on the origin at all.
+ * </p>
+ * <p>
+ *   Decisions for cross-origin requests are counted &amp; timed by the {@link #setDecisionMetrics(CorsDecisionMetrics) decision metrics},
+ *   if there are any, rather than logged.
+ * </p>
  *
  * @author Eric Deandrea
  */
 public abstract class AllowedDomainsCorsConfigurationSourceBase {
-	private static final Logger LOGGER = LoggerFactory.getLogger(AllowedDomainsCorsConfigurationSourceBase.class);
-	private static final String DOMAIN_MATCHER_PATTERN = ".*%s";
-	private static final String ORIGIN_CANT_BE_NULL_MESSAGE = "origin can not be null";
+	private final CorsRoutingTable corsRoutingTable;
+
+	@Nullable
+	private final Cache<DecisionKey, Decision> decisionCache;
 
-	private final CorsConfig corsConfig;
+	@Nullable
+	private CorsDecisionMetrics decisionMetrics;
 
 	protected AllowedDomainsCorsConfigurationSourceBase(CorsConfig corsConfig) {
+		this(corsConfig, new AllowedDomainsMatcherHolder(corsConfig));
+	}
+
+	protected AllowedDomainsCorsConfigurationSourceBase(CorsConfig corsConfig, AllowedDomainsMatcherHolder allowedDomainsMatcherHolder) {
+		this(corsConfig, new CorsRoutingTable(corsConfig, allowedDomainsMatcherHolder));
+	}
+
+	protected AllowedDomainsCorsConfigurationSourceBase(CorsConfig corsConfig, CorsRoutingTable corsRoutingTable) {
 		Assert.notNull(corsConfig, "corsProperties can not be null");
-		this.corsConfig = corsConfig;
+		Assert.notNull(corsRoutingTable, "corsRoutingTable can not be null");
+		this.corsRoutingTable = corsRoutingTable;
+		this.decisionCache = CaffeineCaches.newCacheIfEnabled(corsConfig.getDecisionCache());
+	}
+
+	/**
+	 * Gets the statistics of the CORS decision cache
+	 * @return The statistics of the CORS decision cache, which will be {@link CacheStats#empty() empty} if the cache isn't enabled
+	 */
+	public CacheStats getDecisionCacheStats() {
+		return Optional.ofNullable(this.decisionCache)
+			.map(Cache::stats)
+			.orElseGet(CacheStats::empty);
+	}
+
+	/**
+	 * Sets the {@link CorsDecisionMetrics} the decisions for cross-origin requests are recorded to
+	 * @param decisionMetrics The {@link CorsDecisionMetrics}, or {@code null} to not record decisions
+	 */
+	public void setDecisionMetrics(@Nullable CorsDecisionMetrics decisionMetrics) {
+		this.decisionMetrics = decisionMetrics;
+	}
+
+	/**
+	 * Gets the {@link AllowedDomainsMatcher} a request's origin is matched against
+	 * @param path The path of the request within the application, or {@code null} to use the default allowed domains
+	 * @return The {@link AllowedDomainsMatcher} of the {@link CorsRoutingTable route} matching the path
+	 */
+	public AllowedDomainsMatcher getAllowedDomainsMatcher(@Nullable String path) {
+		return this.corsRoutingTable.getMatcher(path);
+	}
+
+	/**
+	 * Whether or not any {@link CorsConfig#getRoutes() routes} were configured, so the request path is needed to choose the allowed domains
+	 * @return {@code true} if there is at least one route
+	 */
+	protected boolean hasRoutes() {
+		return this.corsRoutingTable.hasRoutes();
 	}
 
 	/**
-	 * Adds an origin domain if it comes from an origin that matches one of the allowed sub domains
+	 * Adds an origin domain if it comes from an origin that matches one of the default allowed sub domains
 	 * @param origin The origin
 	 * @param corsConfiguration The {@link CorsConfiguration}
 	 * @return A {@link CorsConfiguration} containing the CORS information for the current request
 	 */
 	@Nullable
 	protected CorsConfiguration addOriginDomainIfApplicable(@Nullable String origin, @Nullable CorsConfiguration corsConfiguration) {
-		CorsConfiguration newConfig = Optional.ofNullable(origin)
-			.map(StringUtils::trimToNull)
-			.filter(theOrigin -> isConfiguredWithAllowedDomains())
-			.filter(this::originMatchesAllowedDomain)
-			.map(theOrigin -> createCombinedConfiguration(theOrigin, corsConfiguration))
-			.orElse(corsConfiguration);
-
-		removeAllOriginsIfApplicable(newConfig);
+		return addOriginDomainIfApplicable(null, origin, corsConfiguration);
+	}
 
-		return newConfig;
+	/**
+	 * Adds an origin domain if it comes from an origin that matches one of the allowed sub domains for the request's path
+	 * @param path The path of the request within the application, or {@code null} to use the default allowed domains
+	 * @param origin The origin
+	 * @param corsConfiguration The {@link CorsConfiguration}
+	 * @return A {@link CorsConfiguration} containing the CORS information for the current request
+	 */
+	@Nullable
+	protected CorsConfiguration addOriginDomainIfApplicable(@Nullable String path, @Nullable String origin, @Nullable CorsConfiguration corsConfiguration) {
+		AllowedDomainsMatcher allowedDomainsMatcher = this.corsRoutingTable.getMatcher(path);
+
+		if (allowedDomainsMatcher.isEmpty()) {
+			return corsConfiguration;
+		}
+
+		// Requests without an origin aren't cross-origin requests, so there is no decision to record
+		CorsDecisionMetrics metrics = (origin != null) ? this.decisionMetrics : null;
+		long startNanos = (metrics != null) ? System.nanoTime() : 0L;
+
+		// Parsing and matching the origin happens in place, so deciding whether or not it is allowed doesn't allocate
+		long parsedOrigin = OriginParser.parse(origin);
+		boolean originAllowed = (parsedOrigin != OriginParser.INVALID) && allowedDomainsMatcher.matchesHost(origin, OriginParser.hostStart(parsedOrigin), OriginParser.hostEnd(parsedOrigin));
+		String allowedOrigin = originAllowed ? origin : null;
+		boolean cacheHit = false;
+		Decision decision;
+
+		if (this.decisionCache == null) {
+			decision = createDecision(allowedOrigin, corsConfiguration);
+		}
+		else {
+			// The configuration for a rejected origin doesn't depend on the origin, so all rejected origins share one entry
+			DecisionKey decisionKey = new DecisionKey(allowedOrigin, corsConfiguration);
+			decision = this.decisionCache.getIfPresent(decisionKey);
+			cacheHit = decision != null;
+
+			if (decision == null) {
+				decision = createDecision(allowedOrigin, corsConfiguration);
+				this.decisionCache.put(decisionKey, decision);
+			}
+		}
+
+		if (metrics != null) {
+			metrics.record(origin, parsedOrigin, originAllowed, decision.wildcardStripped, cacheHit, System.nanoTime() - startNanos);
+		}
+
+		return decision.corsConfiguration;
 	}
 
-	private static CorsConfiguration createCombinedConfiguration(String origin, @Nullable CorsConfiguration originalConfiguration) {
-		Assert.notNull(origin, ORIGIN_CANT_BE_NULL_MESSAGE);
+	private static Decision createDecision(@Nullable String allowedOrigin, @Nullable CorsConfiguration originalConfiguration) {
+		boolean originAllowed = allowedOrigin != null;
+
+		if (!originAllowed && (originalConfiguration == null)) {
+			return Decision.NO_CONFIGURATION;
+		}
 
 		CorsConfiguration newConfig = Optional.ofNullable(originalConfiguration)
 			.map(CorsConfiguration::new)
 			.orElseGet(CorsConfiguration::new);
 
-		newConfig.addAllowedOrigin(origin);
-
-		return newConfig;
-	}
+		// Always work on a copy of the origins - the copy constructor shares its lists with the original configuration
+		List<String> allowedOrigins = new ArrayList<>(Optional.ofNullable(newConfig.getAllowedOrigins()).orElseGet(ArrayList::new));
+		boolean allOriginsRemoved = allowedOrigins.removeIf(element -> StringUtils.equals(element, CorsConfiguration.ALL));
 
-	private void removeAllOriginsIfApplicable(@Nullable CorsConfiguration corsConfiguration) {
-		LOGGER.info("Removing all origins if applicable from {}", corsConfiguration);
+		if (originAllowed) {
+			allowedOrigins.add(allowedOrigin.trim());
+		}
 
-		Optional.ofNullable(corsConfiguration)
-			.filter(config -> isConfiguredWithAllowedDomains())
-			.ifPresent(config -> {
-				List<String> allowedOrigins = new ArrayList<>(Optional.ofNullable(config.getAllowedOrigins()).orElseGet(ArrayList::new));
+		if (allOriginsRemoved || originAllowed) {
+			newConfig.setAllowedOrigins(allowedOrigins);
+		}
 
-				if (allowedOrigins.removeIf(element -> StringUtils.equals(element, CorsConfiguration.ALL))) {
-					LOGGER.debug("Removing the {} origin from allowedOrigins", CorsConfiguration.ALL);
-					config.setAllowedOrigins(allowedOrigins);
-				}
-			});
+		return new Decision(ImmutableCorsConfiguration.copyOf(newConfig), allOriginsRemoved);
 	}
 
-	private Set<String> getAllowedDomains() {
-		return Optional.ofNullable(this.corsConfig.getAllowedDomains())
-			.map(StringUtils::trimToNull)
-			.map(org.springframework.util.StringUtils::commaDelimitedListToSet)
-			.map(Set::stream)
-			.orElseGet(Stream::empty)
-			.map(StringUtils::trimToNull)
-			.filter(Objects::nonNull)
-			.collect(Collectors.toSet());
-	}
+	/**
+	 * A CORS decision: the {@link CorsConfiguration} for the request, and whether or not {@link CorsConfiguration#ALL} had to be
+	 * removed from the allowed origins to build it
+	 */
+	private static final class Decision {
+		private static final Decision NO_CONFIGURATION = new Decision(null, false);
 
-	private boolean isConfiguredWithAllowedDomains() {
-		return !getAllowedDomains().isEmpty();
-	}
+		@Nullable
+		private final CorsConfiguration corsConfiguration;
+		private final boolean wildcardStripped;
 
-	private boolean originMatchesAllowedDomain(String origin) {
-		Assert.notNull(origin, ORIGIN_CANT_BE_NULL_MESSAGE);
+		private Decision(@Nullable CorsConfiguration corsConfiguration, boolean wildcardStripped) {
+			this.corsConfiguration = corsConfiguration;
+			this.wildcardStripped = wildcardStripped;
+		}
+	}
 
-		return getAllowedDomains().stream()
-			.map(allowedDomain -> String.format(DOMAIN_MATCHER_PATTERN, allowedDomain))
-			.map(Pattern::compile)
-			.map(pattern -> pattern.matcher(origin))
-			.anyMatch(Matcher::matches);
+	/**
+	 * Key of the CORS decision cache. The {@link CorsConfiguration} is compared by identity since it doesn't implement
+	 * {@link Object#equals(Object)}, and the delegate sources hand back the same instance for the same handler. The origin
+	 * is {@code null} for rejected origins.
+	 */
+	private static final class DecisionKey {
+		@Nullable
+		private final String origin;
+
+		@Nullable
+		private final CorsConfiguration corsConfiguration;
+
+		private DecisionKey(@Nullable String origin, @Nullable CorsConfiguration corsConfiguration) {
+			this.origin = origin;
+			this.corsConfiguration = corsConfiguration;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+
+			if (!(obj instanceof DecisionKey)) {
+				return false;
+			}
+
+			DecisionKey other = (DecisionKey) obj;
+			return (this.corsConfiguration == other.corsConfiguration) && Objects.equals(this.origin, other.origin);
+		}
+
+		@Override
+		public int hashCode() {
+			return (31 * Objects.hashCode(this.origin)) + System.identityHashCode(this.corsConfiguration);
+		}
 	}
 }
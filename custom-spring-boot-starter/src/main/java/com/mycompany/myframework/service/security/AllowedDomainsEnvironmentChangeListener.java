@@ -0,0 +1,68 @@
+package com.mycompany.myframework.service.security;
+
+import java.io.UncheckedIOException;
+import java.util.Objects;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.util.Assert;
+
+import com.mycompany.myframework.properties.config.MyFrameworkConfig;
+import com.mycompany.myframework.service.security.AllowedDomainsMatcherHolder.Snapshot;
+
+/**
+ * Reloads an {@link AllowedDomainsMatcherHolder} when the allowed domains properties change, as signalled by Spring Cloud's
+ * {@link EnvironmentChangeEvent} (i.e. after a {@code /actuator/refresh}).
+ * <p>
+ *   The allowed domains properties are bound straight from the {@link Environment} rather than read from the
+ *   {@link MyFrameworkConfig} bean, since that may or may not have been rebound yet when this listener runs. The matcher is only
+ *   rebuilt if the properties actually changed.
+ * </p>
+ */
+public class AllowedDomainsEnvironmentChangeListener implements ApplicationListener<EnvironmentChangeEvent> {
+	private static final Logger LOGGER = LoggerFactory.getLogger(AllowedDomainsEnvironmentChangeListener.class);
+	private static final String CORS_PREFIX = MyFrameworkConfig.PREFIX + ".security.cors";
+
+	private final AllowedDomainsMatcherHolder allowedDomainsMatcherHolder;
+	private final Environment environment;
+	private final ResourceLoader resourceLoader;
+
+	public AllowedDomainsEnvironmentChangeListener(AllowedDomainsMatcherHolder allowedDomainsMatcherHolder, Environment environment, ResourceLoader resourceLoader) {
+		Assert.notNull(allowedDomainsMatcherHolder, "allowedDomainsMatcherHolder can not be null");
+		Assert.notNull(environment, "environment can not be null");
+		Assert.notNull(resourceLoader, "resourceLoader can not be null");
+		this.allowedDomainsMatcherHolder = allowedDomainsMatcherHolder;
+		this.environment = environment;
+		this.resourceLoader = resourceLoader;
+	}
+
+	@Override
+	public void onApplicationEvent(EnvironmentChangeEvent event) {
+		Binder binder = Binder.get(this.environment);
+		String allowedDomains = binder.bind(CORS_PREFIX + ".allowed-domains", String.class).orElse(null);
+		Resource allowedDomainsLocation = binder.bind(CORS_PREFIX + ".allowed-domains-location", String.class)
+			.map(this.resourceLoader::getResource)
+			.orElse(null);
+
+		Snapshot current = this.allowedDomainsMatcherHolder.getSnapshot();
+
+		if (Objects.equals(allowedDomains, current.getAllowedDomains()) && Objects.equals(allowedDomainsLocation, current.getAllowedDomainsLocation())) {
+			LOGGER.debug("CORS allowed domains unchanged after environment change of {}", event.getKeys());
+			return;
+		}
+
+		try {
+			this.allowedDomainsMatcherHolder.reload(allowedDomains, allowedDomainsLocation);
+		}
+		catch (UncheckedIOException ex) {
+			LOGGER.warn(String.format("Unable to reload CORS allowed domains from %s. Keeping the current allowed domains.", allowedDomainsLocation), ex);
+		}
+	}
+}
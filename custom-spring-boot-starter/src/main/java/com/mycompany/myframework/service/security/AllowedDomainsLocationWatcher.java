@@ -0,0 +1,52 @@
+package com.mycompany.myframework.service.security;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link PollingFileWatcher} checking the {@link AllowedDomainsMatcherHolder.Snapshot#getAllowedDomainsLocation() allowed domains
+ * location} of an {@link AllowedDomainsMatcherHolder}, and {@link AllowedDomainsMatcherHolder#reload() reloading} it when the location
+ * or its last-modified time changes
+ */
+public class AllowedDomainsLocationWatcher extends PollingFileWatcher {
+	private static final Logger LOGGER = LoggerFactory.getLogger(AllowedDomainsLocationWatcher.class);
+	private static final long UNKNOWN = -1;
+
+	private final AllowedDomainsMatcherHolder allowedDomainsMatcherHolder;
+
+	public AllowedDomainsLocationWatcher(AllowedDomainsMatcherHolder allowedDomainsMatcherHolder, Duration checkInterval) {
+		super("cors-allowed-domains", checkInterval);
+		Assert.notNull(allowedDomainsMatcherHolder, "allowedDomainsMatcherHolder can not be null");
+		this.allowedDomainsMatcherHolder = allowedDomainsMatcherHolder;
+	}
+
+	@Override
+	@Nullable
+	protected Object readVersion() {
+		Resource location = this.allowedDomainsMatcherHolder.getSnapshot().getAllowedDomainsLocation();
+		return (location != null) ? Arrays.asList(location, lastModified(location)) : null;
+	}
+
+	@Override
+	protected void reload() {
+		this.allowedDomainsMatcherHolder.reload();
+	}
+
+	private static long lastModified(Resource location) {
+		try {
+			return location.lastModified();
+		}
+		catch (IOException ex) {
+			LOGGER.debug("Unable to determine when {} was last modified", location, ex);
+			return UNKNOWN;
+		}
+	}
+}
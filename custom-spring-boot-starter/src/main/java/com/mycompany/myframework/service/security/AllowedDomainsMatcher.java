@@ -0,0 +1,342 @@
+package com.mycompany.myframework.service.security;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.apache.commons.lang3.StringUtils;
+
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Immutable matcher for a set of allowed domains.
+ * <p>
+ *   The domains are parsed once into a suffix trie keyed by reversed domain labels (i.e. {@code subdomain.redhat.com} is stored as
+ *   {@code com -> redhat -> subdomain}), so matching a host is a single right-to-left walk over its labels and costs
+ *   {@code O(host length)} regardless of how many domains are allowed. Lookups do not allocate.
+ * </p>
+ * <p>
+ *   Labels are interned while the trie is built, so a label shared by many domains (i.e. {@code com}, {@code www}, {@code api}) is
+ *   only held once, and all the leaves share a single node. This keeps the footprint of very large lists (tens of thousands of
+ *   tenant domains, typically {@link #from(String, Resource) loaded from a file}) close to the size of their distinct labels.
+ * </p>
+ * <p>
+ *   A host matches if it is one of the allowed domains or a subdomain of one of them. Matching is case-insensitive and always happens
+ *   on whole labels, so {@code redhat.com} matches {@code www.redhat.com} but not {@code notredhat.com}. Only the origin's host is
+ *   matched, on any port, so an entry with a scheme or a port (i.e. {@code example.com:8443}) could never match: such entries are
+ *   logged &amp; ignored when the matcher is built.
+ * </p>
+ */
+public final class AllowedDomainsMatcher {
+	private static final Logger LOGGER = LoggerFactory.getLogger(AllowedDomainsMatcher.class);
+	private static final AllowedDomainsMatcher EMPTY = new AllowedDomainsMatcher(Node.EMPTY, 0);
+
+	private final Node root;
+	private final int size;
+
+	private AllowedDomainsMatcher(Node root, int size) {
+		this.root = root;
+		this.size = size;
+	}
+
+	/**
+	 * Gets a matcher that doesn't match anything
+	 * @return A matcher that doesn't match anything
+	 */
+	public static AllowedDomainsMatcher empty() {
+		return EMPTY;
+	}
+
+	/**
+	 * Creates a matcher from a comma-separated list of domains (i.e. {@code redhat.com, subdomain.redhat.net})
+	 * @param allowedDomains The comma-separated list of domains
+	 * @return The matcher
+	 */
+	public static AllowedDomainsMatcher fromCommaDelimitedList(@Nullable String allowedDomains) {
+		return from(allowedDomains, null);
+	}
+
+	/**
+	 * Creates a matcher from a collection of domains
+	 * @param allowedDomains The domains. Blank entries are ignored.
+	 * @return The matcher
+	 */
+	public static AllowedDomainsMatcher of(@Nullable Collection<String> allowedDomains) {
+		Builder builder = new Builder();
+		Optional.ofNullable(allowedDomains).ifPresent(domains -> domains.forEach(builder::add));
+
+		return builder.build();
+	}
+
+	/**
+	 * Creates a matcher from a comma-separated list of domains and/or a {@link Resource} containing domains
+	 * @param allowedDomains The comma-separated list of domains
+	 * @param allowedDomainsLocation The {@link Resource} containing domains. See {@link #fromResource(Resource)} for the format.
+	 * @return The matcher
+	 * @throws UncheckedIOException If the {@link Resource} can not be read
+	 */
+	public static AllowedDomainsMatcher from(@Nullable String allowedDomains, @Nullable Resource allowedDomainsLocation) {
+		Builder builder = new Builder();
+		builder.addCommaDelimitedList(allowedDomains);
+
+		if (allowedDomainsLocation != null) {
+			builder.addResource(allowedDomainsLocation);
+		}
+
+		return builder.build();
+	}
+
+	/**
+	 * Creates a matcher from a {@link Resource} containing domains. Each line of the resource contains one or more comma-separated
+	 * domains. Blank lines &amp; lines starting with {@code #} are ignored. The resource is read as UTF-8.
+	 * @param allowedDomainsLocation The {@link Resource}
+	 * @return The matcher
+	 * @throws UncheckedIOException If the {@link Resource} can not be read
+	 */
+	public static AllowedDomainsMatcher fromResource(Resource allowedDomainsLocation) {
+		Assert.notNull(allowedDomainsLocation, "allowedDomainsLocation can not be null");
+		return from(null, allowedDomainsLocation);
+	}
+
+	/**
+	 * Whether or not there are any allowed domains
+	 * @return {@code true} if there aren't any allowed domains
+	 */
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	/**
+	 * Gets the number of distinct allowed domains
+	 * @return The number of distinct allowed domains
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Whether or not an origin (i.e. {@code https://www.redhat.com}) is in one of the allowed domains
+	 * @param origin The origin
+	 * @return {@code true} if the origin is valid and in one of the allowed domains
+	 * @see OriginParser
+	 */
+	public boolean matches(@Nullable String origin) {
+		long parsedOrigin = OriginParser.parse(origin);
+
+		return (parsedOrigin != OriginParser.INVALID) && matchesHost(origin, OriginParser.hostStart(parsedOrigin), OriginParser.hostEnd(parsedOrigin));
+	}
+
+	/**
+	 * Whether or not a host, contained within a region of a {@link CharSequence}, is in one of the allowed domains
+	 * @param source The {@link CharSequence} containing the host
+	 * @param start The index of the first character of the host (inclusive)
+	 * @param end The index of the last character of the host (exclusive)
+	 * @return {@code true} if the host is in one of the allowed domains
+	 */
+	public boolean matchesHost(CharSequence source, int start, int end) {
+		Node node = this.root;
+		int labelEnd = end;
+
+		while ((node != null) && (labelEnd > start)) {
+			int labelStart = lastIndexOfDot(source, start, labelEnd) + 1;
+			node = node.child(source, labelStart, labelEnd);
+
+			if ((node != null) && node.terminal) {
+				return true;
+			}
+
+			labelEnd = labelStart - 1;
+		}
+
+		return false;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s[size=%d]", getClass().getSimpleName(), this.size);
+	}
+
+	private static int lastIndexOfDot(CharSequence source, int start, int end) {
+		for (int i = end - 1; i >= start; i--) {
+			if (source.charAt(i) == '.') {
+				return i;
+			}
+		}
+
+		return start - 1;
+	}
+
+	/**
+	 * Compares a region of a {@link CharSequence}, ignoring case, against a lower-case label using the same ordering as
+	 * {@link String#compareTo(String)}
+	 */
+	private static int compareLabel(CharSequence source, int start, int end, String label) {
+		int regionLength = end - start;
+		int length = Math.min(regionLength, label.length());
+
+		for (int i = 0; i < length; i++) {
+			char sourceChar = Character.toLowerCase(source.charAt(start + i));
+			char labelChar = label.charAt(i);
+
+			if (sourceChar != labelChar) {
+				return sourceChar - labelChar;
+			}
+		}
+
+		return regionLength - label.length();
+	}
+
+	private static final class Node {
+		private static final String[] NO_LABELS = new String[0];
+		private static final Node[] NO_CHILDREN = new Node[0];
+		private static final Node EMPTY = new Node(NO_LABELS, NO_CHILDREN, false);
+		private static final Node TERMINAL = new Node(NO_LABELS, NO_CHILDREN, true);
+
+		private final String[] labels;
+		private final Node[] children;
+		private final boolean terminal;
+
+		private Node(String[] labels, Node[] children, boolean terminal) {
+			this.labels = labels;
+			this.children = children;
+			this.terminal = terminal;
+		}
+
+		@Nullable
+		private Node child(CharSequence source, int start, int end) {
+			int low = 0;
+			int high = this.labels.length - 1;
+
+			while (low <= high) {
+				int mid = (low + high) >>> 1;
+				int comparison = compareLabel(source, start, end, this.labels[mid]);
+
+				if (comparison > 0) {
+					low = mid + 1;
+				}
+				else if (comparison < 0) {
+					high = mid - 1;
+				}
+				else {
+					return this.children[mid];
+				}
+			}
+
+			return null;
+		}
+	}
+
+	private static final class Builder {
+		private final MutableNode root = new MutableNode();
+		private final Map<String, String> internedLabels = new HashMap<>();
+		private int size;
+
+		private void addCommaDelimitedList(@Nullable String allowedDomains) {
+			for (String allowedDomain : org.springframework.util.StringUtils.commaDelimitedListToStringArray(allowedDomains)) {
+				add(allowedDomain);
+			}
+		}
+
+		private void addResource(Resource allowedDomainsLocation) {
+			try (BufferedReader reader = new BufferedReader(new InputStreamReader(allowedDomainsLocation.getInputStream(), StandardCharsets.UTF_8))) {
+				String line;
+
+				while ((line = reader.readLine()) != null) {
+					String trimmedLine = line.trim();
+
+					if (!trimmedLine.isEmpty() && (trimmedLine.charAt(0) != '#')) {
+						addCommaDelimitedList(trimmedLine);
+					}
+				}
+			}
+			catch (IOException ex) {
+				throw new UncheckedIOException(String.format("Unable to read allowed domains from %s", allowedDomainsLocation), ex);
+			}
+		}
+
+		private void add(@Nullable String allowedDomain) {
+			List<String> labels = toReversedLabels(allowedDomain);
+
+			if (!labels.isEmpty() && this.root.add(labels)) {
+				this.size++;
+			}
+		}
+
+		private AllowedDomainsMatcher build() {
+			return (this.size > 0) ? new AllowedDomainsMatcher(this.root.freeze(), this.size) : EMPTY;
+		}
+
+		private List<String> toReversedLabels(@Nullable String domain) {
+			List<String> labels = new ArrayList<>();
+
+			if (StringUtils.containsAny(domain, ':', '/')) {
+				LOGGER.warn("Ignoring allowed domain '{}': allowed domains are matched against the origin's host only, so they can't have a scheme or a port", domain.trim());
+				return labels;
+			}
+
+			String[] parts = StringUtils.split(StringUtils.lowerCase(StringUtils.trimToEmpty(domain), Locale.ROOT), '.');
+
+			for (int i = parts.length - 1; i >= 0; i--) {
+				String label = StringUtils.trimToNull(parts[i]);
+
+				if (label != null) {
+					labels.add(this.internedLabels.computeIfAbsent(label, Function.identity()));
+				}
+			}
+
+			return labels;
+		}
+	}
+
+	private static final class MutableNode {
+		private final Map<String, MutableNode> children = new TreeMap<>();
+		private boolean terminal;
+
+		private boolean add(List<String> reversedLabels) {
+			MutableNode node = this;
+
+			for (String label : reversedLabels) {
+				node = node.children.computeIfAbsent(label, key -> new MutableNode());
+			}
+
+			boolean added = !node.terminal;
+			node.terminal = true;
+
+			return added;
+		}
+
+		private Node freeze() {
+			if (this.terminal) {
+				// Everything underneath an allowed domain is allowed, so all allowed domains can share the same leaf
+				return Node.TERMINAL;
+			}
+
+			if (this.children.isEmpty()) {
+				return Node.EMPTY;
+			}
+
+			String[] labels = this.children.keySet().toArray(new String[0]);
+			Node[] frozenChildren = this.children.values().stream()
+				.map(MutableNode::freeze)
+				.toArray(Node[]::new);
+
+			return new Node(labels, frozenChildren, false);
+		}
+	}
+}
@@ -0,0 +1,195 @@
+package com.mycompany.myframework.service.security;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+import com.mycompany.myframework.properties.config.MyFrameworkConfig.SecurityConfig.CorsConfig;
+
+/**
+ * Holds the current {@link AllowedDomainsMatcher} so that it can be rebuilt while the application is running.
+ * <p>
+ *   Reloading builds a new matcher on the calling thread (i.e. an event listener or a file watcher) and then swaps it in atomically, so
+ *   request threads only ever read a volatile reference and never parse the allowed domains themselves. Each swap is published as a new
+ *   {@link Snapshot} with an increasing {@link Snapshot#getGeneration() generation}.
+ * </p>
+ */
+public class AllowedDomainsMatcherHolder {
+	private static final Logger LOGGER = LoggerFactory.getLogger(AllowedDomainsMatcherHolder.class);
+
+	private final List<Consumer<Snapshot>> reloadListeners = new CopyOnWriteArrayList<>();
+	private final Object reloadMonitor = new Object();
+	private volatile Snapshot snapshot;
+
+	/**
+	 * Constructs an instance
+	 * @param allowedDomains The comma-separated list of allowed domains
+	 * @param allowedDomainsLocation The {@link Resource} containing allowed domains
+	 */
+	public AllowedDomainsMatcherHolder(@Nullable String allowedDomains, @Nullable Resource allowedDomainsLocation) {
+		this.snapshot = Snapshot.build(1, allowedDomains, allowedDomainsLocation);
+	}
+
+	/**
+	 * Constructs an instance
+	 * @param corsConfig The {@link CorsConfig} containing the allowed domains
+	 */
+	public AllowedDomainsMatcherHolder(CorsConfig corsConfig) {
+		this(Objects.requireNonNull(corsConfig, "corsConfig can not be null").getAllowedDomains(), corsConfig.getAllowedDomainsLocation());
+	}
+
+	/**
+	 * Gets the current {@link Snapshot}
+	 * @return The current {@link Snapshot}
+	 */
+	public Snapshot getSnapshot() {
+		return this.snapshot;
+	}
+
+	/**
+	 * Gets the current {@link AllowedDomainsMatcher}
+	 * @return The current {@link AllowedDomainsMatcher}
+	 */
+	public AllowedDomainsMatcher getMatcher() {
+		return this.snapshot.getMatcher();
+	}
+
+	/**
+	 * Rebuilds the matcher from the same allowed domains &amp; location as the current one, picking up any changes to the location's contents
+	 * @return The new {@link Snapshot}
+	 * @throws java.io.UncheckedIOException If the allowed domains location can not be read. The current matcher is kept.
+	 */
+	public Snapshot reload() {
+		Snapshot current = this.snapshot;
+		return reload(current.getAllowedDomains(), current.getAllowedDomainsLocation());
+	}
+
+	/**
+	 * Rebuilds the matcher from new allowed domains and/or location
+	 * @param allowedDomains The comma-separated list of allowed domains
+	 * @param allowedDomainsLocation The {@link Resource} containing allowed domains
+	 * @return The new {@link Snapshot}
+	 * @throws java.io.UncheckedIOException If the allowed domains location can not be read. The current matcher is kept.
+	 */
+	public Snapshot reload(@Nullable String allowedDomains, @Nullable Resource allowedDomainsLocation) {
+		Snapshot newSnapshot;
+
+		synchronized (this.reloadMonitor) {
+			newSnapshot = Snapshot.build(this.snapshot.getGeneration() + 1, allowedDomains, allowedDomainsLocation);
+			this.snapshot = newSnapshot;
+		}
+
+		LOGGER.info("Reloaded CORS allowed domains: {}", newSnapshot);
+		this.reloadListeners.forEach(listener -> listener.accept(newSnapshot));
+
+		return newSnapshot;
+	}
+
+	/**
+	 * Adds a listener which is called, on the reloading thread, after a new matcher has been swapped in
+	 * @param reloadListener The listener
+	 */
+	public void addReloadListener(Consumer<Snapshot> reloadListener) {
+		Assert.notNull(reloadListener, "reloadListener can not be null");
+		this.reloadListeners.add(reloadListener);
+	}
+
+	/**
+	 * An {@link AllowedDomainsMatcher} along with where it was built from and when
+	 */
+	public static final class Snapshot {
+		private final long generation;
+		private final AllowedDomainsMatcher matcher;
+
+		@Nullable
+		private final String allowedDomains;
+
+		@Nullable
+		private final Resource allowedDomainsLocation;
+
+		private final Instant builtAt;
+		private final Duration buildDuration;
+
+		private Snapshot(long generation, AllowedDomainsMatcher matcher, @Nullable String allowedDomains, @Nullable Resource allowedDomainsLocation, Instant builtAt, Duration buildDuration) {
+			this.generation = generation;
+			this.matcher = matcher;
+			this.allowedDomains = allowedDomains;
+			this.allowedDomainsLocation = allowedDomainsLocation;
+			this.builtAt = builtAt;
+			this.buildDuration = buildDuration;
+		}
+
+		private static Snapshot build(long generation, @Nullable String allowedDomains, @Nullable Resource allowedDomainsLocation) {
+			long start = System.nanoTime();
+			AllowedDomainsMatcher matcher = AllowedDomainsMatcher.from(allowedDomains, allowedDomainsLocation);
+			Duration buildDuration = Duration.ofNanos(System.nanoTime() - start);
+
+			return new Snapshot(generation, matcher, allowedDomains, allowedDomainsLocation, Instant.now(), buildDuration);
+		}
+
+		/**
+		 * Gets the generation of the matcher. The matcher built at startup is generation 1 and every reload increments it.
+		 * @return The generation of the matcher
+		 */
+		public long getGeneration() {
+			return this.generation;
+		}
+
+		/**
+		 * Gets the matcher
+		 * @return The matcher
+		 */
+		public AllowedDomainsMatcher getMatcher() {
+			return this.matcher;
+		}
+
+		/**
+		 * Gets the comma-separated list of allowed domains the matcher was built from
+		 * @return The comma-separated list of allowed domains the matcher was built from
+		 */
+		@Nullable
+		public String getAllowedDomains() {
+			return this.allowedDomains;
+		}
+
+		/**
+		 * Gets the {@link Resource} the matcher was built from
+		 * @return The {@link Resource} the matcher was built from
+		 */
+		@Nullable
+		public Resource getAllowedDomainsLocation() {
+			return this.allowedDomainsLocation;
+		}
+
+		/**
+		 * Gets when the matcher was built
+		 * @return When the matcher was built
+		 */
+		public Instant getBuiltAt() {
+			return this.builtAt;
+		}
+
+		/**
+		 * Gets how long it took to build the matcher
+		 * @return How long it took to build the matcher
+		 */
+		public Duration getBuildDuration() {
+			return this.buildDuration;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%s[generation=%d, size=%d, builtAt=%s, buildDuration=%s]", getClass().getSimpleName(), this.generation, this.matcher.size(), this.builtAt, this.buildDuration);
+		}
+	}
+}
@@ -0,0 +1,173 @@
+package com.mycompany.myframework.service.security;
+
+import java.util.Objects;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import org.springframework.lang.Nullable;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.authentication.preauth.PreAuthenticatedAuthenticationToken;
+import org.springframework.util.Assert;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.mycompany.myframework.properties.config.MyFrameworkConfig.CacheConfig;
+import com.mycompany.myframework.service.cache.CaffeineCaches;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Short-lived cache from the principal &amp; credentials of a pre-authentication request (i.e. the values of the {@code SM_USER} header
+ * &amp; its credentials) to the fully built {@link Authentication}, so a repeat caller skips the authentication provider &amp; the user
+ * lookup entirely.
+ * <p>
+ *   Only requests whose principal &amp; credentials are both strings are cached, and only successful authentications. A cached
+ *   authentication isn't checked against the user again, so a user that has become locked, disabled or expired keeps its access until
+ *   its entry expires or the cache is {@link #invalidateAll() invalidated} (i.e. when the user directory is reloaded). Keep the
+ *   time to live short.
+ * </p>
+ * <p>
+ *   A hit returns a new token of the same kind with the details (i.e. the remote address) of the current request, rather than the
+ *   cached token itself. Tokens other than {@link PreAuthenticatedAuthenticationToken} &amp; {@link UsernamePasswordAuthenticationToken}
+ *   aren't cached, since they can't be copied.
+ * </p>
+ */
+public class AuthenticationCache implements MeterBinder {
+	/**
+	 * Name of the cache, used as the {@code cache} tag of its metrics
+	 */
+	public static final String CACHE_NAME = "authentication";
+
+	private final Cache<Key, Authentication> cache;
+
+	public AuthenticationCache(CacheConfig cacheConfig) {
+		Assert.notNull(cacheConfig, "cacheConfig can not be null");
+		this.cache = CaffeineCaches.newBuilder(cacheConfig).build();
+	}
+
+	/**
+	 * Creates an {@link AuthenticationCache} if it is enabled
+	 * @param cacheConfig The {@link CacheConfig}
+	 * @return The {@link AuthenticationCache}, or {@code null} if the cache isn't {@link CacheConfig#isEnabled() enabled}
+	 */
+	@Nullable
+	public static AuthenticationCache createIfEnabled(CacheConfig cacheConfig) {
+		Assert.notNull(cacheConfig, "cacheConfig can not be null");
+		return cacheConfig.isEnabled() ? new AuthenticationCache(cacheConfig) : null;
+	}
+
+	/**
+	 * Gets the cached {@link Authentication} for an authentication request
+	 * @param authenticationRequest The authentication request
+	 * @return A copy of the cached {@link Authentication} carrying the details of the request, or {@code null} if there isn't one
+	 */
+	@Nullable
+	public Authentication get(Authentication authenticationRequest) {
+		Key key = Key.of(authenticationRequest);
+		Authentication authentication = (key != null) ? this.cache.getIfPresent(key) : null;
+
+		return (authentication != null) ? copyOf(authentication, authenticationRequest.getDetails()) : null;
+	}
+
+	/**
+	 * Caches the {@link Authentication} an authentication request resulted in
+	 * @param authenticationRequest The authentication request
+	 * @param authentication The authenticated {@link Authentication}
+	 */
+	public void put(Authentication authenticationRequest, Authentication authentication) {
+		Assert.notNull(authentication, "authentication can not be null");
+		Key key = Key.of(authenticationRequest);
+
+		if ((key != null) && authentication.isAuthenticated() && isCopyable(authentication)) {
+			this.cache.put(key, authentication);
+		}
+	}
+
+	/**
+	 * Removes all the cached authentications
+	 */
+	public void invalidateAll() {
+		this.cache.invalidateAll();
+	}
+
+	/**
+	 * Gets the statistics of the cache
+	 * @return The {@link CacheStats}
+	 */
+	public CacheStats stats() {
+		return this.cache.stats();
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		CaffeineCacheMetrics.monitor(registry, this.cache, CACHE_NAME);
+	}
+
+	private static boolean isCopyable(Authentication authentication) {
+		return (authentication.getClass() == PreAuthenticatedAuthenticationToken.class) || (authentication.getClass() == UsernamePasswordAuthenticationToken.class);
+	}
+
+	private static Authentication copyOf(Authentication authentication, @Nullable Object details) {
+		AbstractAuthenticationToken copy = (authentication instanceof PreAuthenticatedAuthenticationToken) ?
+			new PreAuthenticatedAuthenticationToken(authentication.getPrincipal(), authentication.getCredentials(), authentication.getAuthorities()) :
+			new UsernamePasswordAuthenticationToken(authentication.getPrincipal(), authentication.getCredentials(), authentication.getAuthorities());
+
+		copy.setDetails(details);
+
+		return copy;
+	}
+
+	private static final class Key {
+		private final String principal;
+
+		@Nullable
+		private final String credentials;
+
+		private Key(String principal, @Nullable String credentials) {
+			this.principal = principal;
+			this.credentials = credentials;
+		}
+
+		@Nullable
+		private static Key of(@Nullable Authentication authenticationRequest) {
+			if ((authenticationRequest == null) || !(authenticationRequest.getPrincipal() instanceof String)) {
+				return null;
+			}
+
+			Object credentials = authenticationRequest.getCredentials();
+
+			return ((credentials == null) || (credentials instanceof String)) ? new Key((String) authenticationRequest.getPrincipal(), (String) credentials) : null;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+
+			Key other = (Key) obj;
+
+			return this.principal.equals(other.principal) && Objects.equals(this.credentials, other.credentials);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(this.principal, this.credentials);
+		}
+
+		@Override
+		public String toString() {
+			// Leave the credentials out
+			return new ToStringBuilder(this)
+				.append("principal", this.principal)
+				.toString();
+		}
+	}
+}
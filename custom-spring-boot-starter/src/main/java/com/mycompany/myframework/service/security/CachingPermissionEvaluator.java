@@ -0,0 +1,48 @@
+package com.mycompany.myframework.service.security;
+
+import java.io.Serializable;
+
+import org.springframework.security.access.PermissionEvaluator;
+import org.springframework.security.core.Authentication;
+import org.springframework.util.Assert;
+
+/**
+ * {@link PermissionEvaluator} caching the decisions of another {@link PermissionEvaluator} in a {@link PermissionCache}, so a
+ * {@code hasPermission(...)} check in a {@code @PreAuthorize} expression doesn't go back to the entitlement store on every
+ * invocation.
+ */
+public class CachingPermissionEvaluator implements PermissionEvaluator {
+	private final PermissionEvaluator delegate;
+	private final PermissionCache permissionCache;
+
+	public CachingPermissionEvaluator(PermissionEvaluator delegate, PermissionCache permissionCache) {
+		Assert.notNull(delegate, "delegate can not be null");
+		Assert.notNull(permissionCache, "permissionCache can not be null");
+		this.delegate = delegate;
+		this.permissionCache = permissionCache;
+	}
+
+	@Override
+	public boolean hasPermission(Authentication authentication, Object targetDomainObject, Object permission) {
+		Boolean granted = this.permissionCache.get(authentication, targetDomainObject, null, permission);
+
+		if (granted == null) {
+			granted = this.delegate.hasPermission(authentication, targetDomainObject, permission);
+			this.permissionCache.put(authentication, targetDomainObject, null, permission, granted);
+		}
+
+		return granted;
+	}
+
+	@Override
+	public boolean hasPermission(Authentication authentication, Serializable targetId, String targetType, Object permission) {
+		Boolean granted = this.permissionCache.get(authentication, targetId, targetType, permission);
+
+		if (granted == null) {
+			granted = this.delegate.hasPermission(authentication, targetId, targetType, permission);
+			this.permissionCache.put(authentication, targetId, targetType, permission, granted);
+		}
+
+		return granted;
+	}
+}
@@ -0,0 +1,271 @@
+package com.mycompany.myframework.service.security;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+import com.mycompany.myframework.properties.config.MyFrameworkConfig.SecurityConfig.CorsConfig.DecisionMetricsConfig;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Counts &amp; times the CORS decisions made by {@link AllowedDomainsCorsConfigurationSourceBase}, and keeps a sample of the origins
+ * that were recently rejected.
+ * <p>
+ *   Recording a decision doesn't allocate (other than for a sampled rejected origin) or lock: each {@link Decision} is counted per
+ *   {@link OriginBucket} with a {@link LongAdder}, so request threads don't contend on a single counter, and the counters are
+ *   exported to Micrometer as {@link FunctionCounter function counters} read when the registry is scraped. The time taken to make
+ *   each decision is recorded by a {@link Timer} publishing a percentile histogram once the metrics are {@link #bindTo(MeterRegistry) bound}.
+ * </p>
+ * <p>
+ *   The origin itself is never a tag, since it comes from the request. Instead origins are put into a small, fixed number of
+ *   {@link OriginBucket buckets} by their scheme.
+ * </p>
+ */
+public class CorsDecisionMetrics implements MeterBinder {
+	/**
+	 * Name of the decision counters, tagged with {@link #DECISION_TAG} &amp; {@link #ORIGIN_BUCKET_TAG}
+	 */
+	public static final String DECISIONS_METRIC = "cors.decisions";
+
+	/**
+	 * Name of the timer recording how long each decision took
+	 */
+	public static final String DECISION_DURATION_METRIC = "cors.decision.duration";
+
+	public static final String DECISION_TAG = "decision";
+	public static final String ORIGIN_BUCKET_TAG = "origin.bucket";
+
+	/**
+	 * Sampled origins longer than this are abbreviated, since the origin comes straight from the request
+	 */
+	private static final int MAX_SAMPLED_ORIGIN_LENGTH = 256;
+
+	private final LongAdder[][] counters = new LongAdder[Decision.values().length][OriginBucket.values().length];
+	private final AtomicReferenceArray<RejectedOrigin> rejectedOrigins;
+	private final AtomicLong rejectedOriginsIndex = new AtomicLong();
+	private final int rejectedOriginsSampleRate;
+
+	@Nullable
+	private volatile Timer decisionTimer;
+
+	public CorsDecisionMetrics(DecisionMetricsConfig decisionMetricsConfig) {
+		this(decisionMetricsConfig.getRejectedOriginsSize(), decisionMetricsConfig.getRejectedOriginsSampleRate());
+	}
+
+	/**
+	 * Constructs an instance
+	 * @param rejectedOriginsSize How many recently rejected origins to keep
+	 * @param rejectedOriginsSampleRate Keep 1 out of every this many rejected origins
+	 */
+	public CorsDecisionMetrics(int rejectedOriginsSize, int rejectedOriginsSampleRate) {
+		Assert.isTrue(rejectedOriginsSize > 0, "rejectedOriginsSize must be greater than 0");
+		Assert.isTrue(rejectedOriginsSampleRate > 0, "rejectedOriginsSampleRate must be greater than 0");
+		this.rejectedOrigins = new AtomicReferenceArray<>(rejectedOriginsSize);
+		this.rejectedOriginsSampleRate = rejectedOriginsSampleRate;
+
+		for (LongAdder[] bucketCounters : this.counters) {
+			for (int i = 0; i < bucketCounters.length; i++) {
+				bucketCounters[i] = new LongAdder();
+			}
+		}
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		for (Decision decision : Decision.values()) {
+			for (OriginBucket originBucket : OriginBucket.values()) {
+				FunctionCounter.builder(DECISIONS_METRIC, this.counters[decision.ordinal()][originBucket.ordinal()], LongAdder::doubleValue)
+					.description("The number of CORS decisions made for cross-origin requests")
+					.tag(DECISION_TAG, decision.getTagValue())
+					.tag(ORIGIN_BUCKET_TAG, originBucket.getTagValue())
+					.register(registry);
+			}
+		}
+
+		this.decisionTimer = Timer.builder(DECISION_DURATION_METRIC)
+			.description("How long it took to make the CORS decision for a cross-origin request")
+			.publishPercentileHistogram()
+			.register(registry);
+	}
+
+	/**
+	 * Records a CORS decision
+	 * @param origin The origin the decision was made for
+	 * @param parsedOrigin The result of {@link OriginParser#parse(CharSequence) parsing} the origin
+	 * @param allowed Whether or not the origin was allowed
+	 * @param wildcardStripped Whether or not {@link org.springframework.web.cors.CorsConfiguration#ALL} was removed from the allowed origins
+	 * @param cacheHit Whether or not the decision came from the decision cache
+	 * @param durationNanos How long it took to make the decision, in nanoseconds
+	 */
+	public void record(String origin, long parsedOrigin, boolean allowed, boolean wildcardStripped, boolean cacheHit, long durationNanos) {
+		LongAdder[] bucketCounters = this.counters[allowed ? Decision.ALLOWED.ordinal() : Decision.REJECTED.ordinal()];
+		int bucket = OriginBucket.of(origin, parsedOrigin).ordinal();
+		bucketCounters[bucket].increment();
+
+		if (wildcardStripped) {
+			this.counters[Decision.WILDCARD_STRIPPED.ordinal()][bucket].increment();
+		}
+
+		if (cacheHit) {
+			this.counters[Decision.CACHE_HIT.ordinal()][bucket].increment();
+		}
+
+		Timer timer = this.decisionTimer;
+
+		if (timer != null) {
+			timer.record(durationNanos, TimeUnit.NANOSECONDS);
+		}
+
+		if (!allowed) {
+			sampleRejectedOrigin(origin);
+		}
+	}
+
+	/**
+	 * Gets the number of decisions of a kind made for all origins
+	 * @param decision The {@link Decision}
+	 * @return The number of decisions
+	 */
+	public long getCount(Decision decision) {
+		long count = 0;
+
+		for (LongAdder counter : this.counters[decision.ordinal()]) {
+			count += counter.sum();
+		}
+
+		return count;
+	}
+
+	/**
+	 * Gets the number of decisions of a kind made for origins in a bucket
+	 * @param decision The {@link Decision}
+	 * @param originBucket The {@link OriginBucket}
+	 * @return The number of decisions
+	 */
+	public long getCount(Decision decision, OriginBucket originBucket) {
+		return this.counters[decision.ordinal()][originBucket.ordinal()].sum();
+	}
+
+	/**
+	 * Gets the sample of recently rejected origins
+	 * @return The sampled rejected origins, most recent first
+	 */
+	public List<RejectedOrigin> getRecentRejectedOrigins() {
+		List<RejectedOrigin> recentRejectedOrigins = new ArrayList<>(this.rejectedOrigins.length());
+
+		for (int i = 0; i < this.rejectedOrigins.length(); i++) {
+			RejectedOrigin rejectedOrigin = this.rejectedOrigins.get(i);
+
+			if (rejectedOrigin != null) {
+				recentRejectedOrigins.add(rejectedOrigin);
+			}
+		}
+
+		recentRejectedOrigins.sort(Comparator.comparing(RejectedOrigin::getRejectedAt).reversed());
+
+		return recentRejectedOrigins;
+	}
+
+	private void sampleRejectedOrigin(String origin) {
+		// A random sample rather than every nth rejection, so sampling doesn't need a shared counter
+		if ((this.rejectedOriginsSampleRate == 1) || (ThreadLocalRandom.current().nextInt(this.rejectedOriginsSampleRate) == 0)) {
+			int index = (int) (this.rejectedOriginsIndex.getAndIncrement() % this.rejectedOrigins.length());
+			this.rejectedOrigins.set(index, new RejectedOrigin(StringUtils.abbreviate(origin, MAX_SAMPLED_ORIGIN_LENGTH), Instant.now()));
+		}
+	}
+
+	/**
+	 * The kinds of CORS decision that are counted. An allowed or rejected decision may also have had the wildcard stripped &amp;
+	 * come from the decision cache, so those are counted separately.
+	 */
+	public enum Decision {
+		ALLOWED,
+		REJECTED,
+		WILDCARD_STRIPPED,
+		CACHE_HIT;
+
+		private final String tagValue = name().toLowerCase(Locale.ROOT).replace('_', '-');
+
+		public String getTagValue() {
+			return this.tagValue;
+		}
+	}
+
+	/**
+	 * The buckets origins are put into, by their scheme
+	 */
+	public enum OriginBucket {
+		HTTPS,
+		HTTP,
+		OTHER,
+		INVALID;
+
+		private final String tagValue = name().toLowerCase(Locale.ROOT);
+
+		public String getTagValue() {
+			return this.tagValue;
+		}
+
+		/**
+		 * Gets the bucket of an origin
+		 * @param origin The origin
+		 * @param parsedOrigin The result of {@link OriginParser#parse(CharSequence) parsing} the origin
+		 * @return The {@link OriginBucket}
+		 */
+		public static OriginBucket of(CharSequence origin, long parsedOrigin) {
+			if (parsedOrigin == OriginParser.INVALID) {
+				return INVALID;
+			}
+			else if (OriginParser.hasScheme(origin, parsedOrigin, "https")) {
+				return HTTPS;
+			}
+			else if (OriginParser.hasScheme(origin, parsedOrigin, "http")) {
+				return HTTP;
+			}
+
+			return OTHER;
+		}
+	}
+
+	/**
+	 * An origin that was rejected
+	 */
+	public static final class RejectedOrigin {
+		private final String origin;
+		private final Instant rejectedAt;
+
+		private RejectedOrigin(String origin, Instant rejectedAt) {
+			this.origin = origin;
+			this.rejectedAt = rejectedAt;
+		}
+
+		public String getOrigin() {
+			return this.origin;
+		}
+
+		public Instant getRejectedAt() {
+			return this.rejectedAt;
+		}
+
+		@Override
+		public String toString() {
+			return ToStringBuilder.reflectionToString(this);
+		}
+	}
+}
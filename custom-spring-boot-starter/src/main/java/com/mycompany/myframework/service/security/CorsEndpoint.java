@@ -0,0 +1,146 @@
+package com.mycompany.myframework.service.security;
+
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+import com.mycompany.myframework.service.security.AllowedDomainsMatcherHolder.Snapshot;
+import com.mycompany.myframework.service.security.CorsDecisionMetrics.Decision;
+import com.mycompany.myframework.service.security.CorsDecisionMetrics.RejectedOrigin;
+
+/**
+ * Actuator endpoint ({@code /actuator/cors}) exposing the state of the CORS allowed domains, plus the number of CORS decisions made
+ * &amp; a sample of the recently rejected origins if there are {@link CorsDecisionMetrics decision metrics}
+ */
+@Endpoint(id = CorsEndpoint.ENDPOINT_ID)
+public class CorsEndpoint {
+	public static final String ENDPOINT_ID = "cors";
+	private static final Logger LOGGER = LoggerFactory.getLogger(CorsEndpoint.class);
+
+	private final AllowedDomainsMatcherHolder allowedDomainsMatcherHolder;
+
+	@Nullable
+	private final CorsDecisionMetrics decisionMetrics;
+
+	public CorsEndpoint(AllowedDomainsMatcherHolder allowedDomainsMatcherHolder) {
+		this(allowedDomainsMatcherHolder, null);
+	}
+
+	public CorsEndpoint(AllowedDomainsMatcherHolder allowedDomainsMatcherHolder, @Nullable CorsDecisionMetrics decisionMetrics) {
+		Assert.notNull(allowedDomainsMatcherHolder, "allowedDomainsMatcherHolder can not be null");
+		this.allowedDomainsMatcherHolder = allowedDomainsMatcherHolder;
+		this.decisionMetrics = decisionMetrics;
+	}
+
+	/**
+	 * Describes the current allowed domains
+	 * @return The {@link AllowedDomainsDescriptor}
+	 */
+	@ReadOperation
+	public AllowedDomainsDescriptor allowedDomains() {
+		return new AllowedDomainsDescriptor(this.allowedDomainsMatcherHolder.getSnapshot(), this.decisionMetrics, null);
+	}
+
+	/**
+	 * Reloads the allowed domains from their current sources. If they can't be read the current allowed domains are kept, as they are
+	 * when the {@link AllowedDomainsLocationWatcher} fails to reload them.
+	 * @return The {@link AllowedDomainsDescriptor} of the reloaded allowed domains, or of the current ones with the
+	 * {@link AllowedDomainsDescriptor#getReloadError() reload error} if they couldn't be reloaded
+	 */
+	@WriteOperation
+	public AllowedDomainsDescriptor reload() {
+		try {
+			return new AllowedDomainsDescriptor(this.allowedDomainsMatcherHolder.reload(), this.decisionMetrics, null);
+		}
+		catch (UncheckedIOException ex) {
+			LOGGER.warn("Unable to reload CORS allowed domains. Keeping the current allowed domains.", ex);
+			return new AllowedDomainsDescriptor(this.allowedDomainsMatcherHolder.getSnapshot(), this.decisionMetrics, ex.getMessage());
+		}
+	}
+
+	/**
+	 * Description of the allowed domains
+	 */
+	public static final class AllowedDomainsDescriptor {
+		private final long generation;
+		private final int size;
+		private final Instant builtAt;
+		private final long buildTimeMillis;
+
+		@Nullable
+		private final String allowedDomainsLocation;
+
+		private final Map<String, Long> decisions;
+		private final List<RejectedOrigin> recentRejectedOrigins;
+
+		@Nullable
+		private final String reloadError;
+
+		private AllowedDomainsDescriptor(Snapshot snapshot, @Nullable CorsDecisionMetrics decisionMetrics, @Nullable String reloadError) {
+			this.generation = snapshot.getGeneration();
+			this.size = snapshot.getMatcher().size();
+			this.builtAt = snapshot.getBuiltAt();
+			this.buildTimeMillis = snapshot.getBuildDuration().toMillis();
+			this.allowedDomainsLocation = (snapshot.getAllowedDomainsLocation() != null) ? snapshot.getAllowedDomainsLocation().getDescription() : null;
+			this.decisions = new LinkedHashMap<>();
+			this.recentRejectedOrigins = (decisionMetrics != null) ? decisionMetrics.getRecentRejectedOrigins() : Collections.emptyList();
+			this.reloadError = reloadError;
+
+			if (decisionMetrics != null) {
+				for (Decision decision : Decision.values()) {
+					this.decisions.put(decision.getTagValue(), decisionMetrics.getCount(decision));
+				}
+			}
+		}
+
+		public long getGeneration() {
+			return this.generation;
+		}
+
+		public int getSize() {
+			return this.size;
+		}
+
+		public Instant getBuiltAt() {
+			return this.builtAt;
+		}
+
+		public long getBuildTimeMillis() {
+			return this.buildTimeMillis;
+		}
+
+		@Nullable
+		public String getAllowedDomainsLocation() {
+			return this.allowedDomainsLocation;
+		}
+
+		public Map<String, Long> getDecisions() {
+			return this.decisions;
+		}
+
+		public List<RejectedOrigin> getRecentRejectedOrigins() {
+			return this.recentRejectedOrigins;
+		}
+
+		/**
+		 * Why the last {@link CorsEndpoint#reload() reload} failed, in which case this describes the allowed domains that were kept
+		 * @return The error, or {@code null} if the allowed domains weren't reloaded or were reloaded successfully
+		 */
+		@Nullable
+		public String getReloadError() {
+			return this.reloadError;
+		}
+	}
+}
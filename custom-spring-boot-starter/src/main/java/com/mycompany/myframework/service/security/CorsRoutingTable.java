@@ -0,0 +1,78 @@
+package com.mycompany.myframework.service.security;
+
+import java.util.Objects;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+import com.mycompany.myframework.properties.config.MyFrameworkConfig.SecurityConfig.CorsConfig;
+import com.mycompany.myframework.properties.config.MyFrameworkConfig.SecurityConfig.CorsConfig.CorsRouteConfig;
+import com.mycompany.myframework.service.routing.PathPrefixTrie;
+
+/**
+ * Chooses the {@link AllowedDomainsMatcher} for a request from its path.
+ * <p>
+ *   The {@link CorsConfig#getRoutes() routes} are compiled once, when the table is built, into a {@link PathPrefixTrie} of
+ *   {@link AllowedDomainsMatcher matchers}, so choosing the matcher for a request is a single walk along its path. Requests that
+ *   don't match any route use the current matcher of the default {@link AllowedDomainsMatcherHolder}, so reloading the default
+ *   allowed domains still applies to them. The allowed domains of the routes themselves are only read when the table is built.
+ * </p>
+ */
+public class CorsRoutingTable {
+	private final AllowedDomainsMatcherHolder defaultAllowedDomainsMatcherHolder;
+	private final PathPrefixTrie<AllowedDomainsMatcher> routes;
+
+	/**
+	 * Constructs an instance
+	 * @param corsConfig The {@link CorsConfig} containing the {@link CorsConfig#getRoutes() routes}
+	 * @param defaultAllowedDomainsMatcherHolder The {@link AllowedDomainsMatcherHolder} for requests that don't match any route
+	 * @throws IllegalArgumentException If a route's path pattern isn't an exact path or a path prefix, is duplicated, or the route doesn't have any allowed domains
+	 */
+	public CorsRoutingTable(CorsConfig corsConfig, AllowedDomainsMatcherHolder defaultAllowedDomainsMatcherHolder) {
+		Assert.notNull(corsConfig, "corsConfig can not be null");
+		Assert.notNull(defaultAllowedDomainsMatcherHolder, "defaultAllowedDomainsMatcherHolder can not be null");
+		this.defaultAllowedDomainsMatcherHolder = defaultAllowedDomainsMatcherHolder;
+		this.routes = compile(corsConfig);
+	}
+
+	/**
+	 * Gets the {@link AllowedDomainsMatcher} for a request
+	 * @param path The path of the request within the application, or {@code null} to use the default matcher
+	 * @return The {@link AllowedDomainsMatcher} of the most specific route matching the path, or the current default matcher if none does
+	 */
+	public AllowedDomainsMatcher getMatcher(@Nullable String path) {
+		// Skip walking the path altogether when there are no routes, which is the common case
+		AllowedDomainsMatcher routeMatcher = this.routes.isEmpty() ? null : this.routes.find(path);
+
+		return (routeMatcher != null) ? routeMatcher : this.defaultAllowedDomainsMatcherHolder.getMatcher();
+	}
+
+	/**
+	 * Whether or not there are any routes
+	 * @return {@code true} if there is at least one route
+	 */
+	public boolean hasRoutes() {
+		return !this.routes.isEmpty();
+	}
+
+	/**
+	 * Gets the {@link AllowedDomainsMatcherHolder} for requests that don't match any route
+	 * @return The default {@link AllowedDomainsMatcherHolder}
+	 */
+	public AllowedDomainsMatcherHolder getDefaultAllowedDomainsMatcherHolder() {
+		return this.defaultAllowedDomainsMatcherHolder;
+	}
+
+	private static PathPrefixTrie<AllowedDomainsMatcher> compile(CorsConfig corsConfig) {
+		PathPrefixTrie.Builder<AllowedDomainsMatcher> builder = PathPrefixTrie.builder();
+
+		for (CorsRouteConfig route : Objects.requireNonNull(corsConfig.getRoutes(), "routes can not be null")) {
+			AllowedDomainsMatcher matcher = AllowedDomainsMatcher.from(route.getAllowedDomains(), route.getAllowedDomainsLocation());
+			Assert.isTrue(!matcher.isEmpty(), () -> String.format("The CORS route for %s doesn't have any allowed domains", route.getPathPattern()));
+
+			builder.add(route.getPathPattern(), matcher);
+		}
+
+		return builder.build();
+	}
+}
@@ -0,0 +1,102 @@
+package com.mycompany.myframework.service.security;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.UUID;
+
+import org.springframework.util.Assert;
+
+/**
+ * Generates CSRF tokens from a set of independent {@link SecureRandom} stripes, rather than through {@link UUID#randomUUID()}.
+ * <p>
+ *   {@link UUID#randomUUID()} draws from a single shared {@link SecureRandom}, and the default one on Linux ({@code NativePRNG})
+ *   funnels every caller through one lock, so on a many-core host generating tokens becomes a point of contention. Here each thread
+ *   draws from the stripe picked by its id, so concurrent threads rarely share a stripe. Each stripe is a {@code SHA1PRNG} seeded
+ *   from the platform's {@link SecureRandom}, so it never blocks waiting for entropy.
+ * </p>
+ * <p>
+ *   Tokens look exactly like the ones {@link UUID#randomUUID()} produces (a random version 4 UUID), so clients can't tell the
+ *   difference.
+ * </p>
+ */
+public class CsrfTokenGenerator {
+	private static final String STRIPE_ALGORITHM = "SHA1PRNG";
+	private static final int SEED_LENGTH = 32;
+
+	private final SecureRandom[] stripes;
+	private final int stripeMask;
+
+	/**
+	 * Constructs an instance with twice as many stripes as there are processors
+	 */
+	public CsrfTokenGenerator() {
+		this(Runtime.getRuntime().availableProcessors() * 2);
+	}
+
+	/**
+	 * Constructs an instance
+	 * @param stripeCount The number of stripes, rounded up to a power of 2
+	 */
+	public CsrfTokenGenerator(int stripeCount) {
+		Assert.isTrue(stripeCount > 0, "stripeCount must be positive");
+
+		int roundedStripeCount = (stripeCount == 1) ? 1 : Integer.highestOneBit(stripeCount - 1) << 1;
+		SecureRandom seedSource = new SecureRandom();
+
+		this.stripes = new SecureRandom[roundedStripeCount];
+		this.stripeMask = roundedStripeCount - 1;
+
+		for (int i = 0; i < roundedStripeCount; i++) {
+			this.stripes[i] = createStripe(seedSource);
+		}
+	}
+
+	/**
+	 * Generates a token
+	 * @return The token, in the form of a random UUID
+	 */
+	public String generateToken() {
+		byte[] bytes = new byte[16];
+		this.stripes[(int) Thread.currentThread().getId() & this.stripeMask].nextBytes(bytes);
+
+		// The version & variant bits of a random (version 4) UUID, as UUID.randomUUID() sets them
+		bytes[6] = (byte) ((bytes[6] & 0x0f) | 0x40);
+		bytes[8] = (byte) ((bytes[8] & 0x3f) | 0x80);
+
+		return new UUID(toLong(bytes, 0), toLong(bytes, 8)).toString();
+	}
+
+	/**
+	 * Gets the number of stripes
+	 * @return The number of stripes
+	 */
+	public int getStripeCount() {
+		return this.stripes.length;
+	}
+
+	private static SecureRandom createStripe(SecureRandom seedSource) {
+		byte[] seed = new byte[SEED_LENGTH];
+		seedSource.nextBytes(seed);
+
+		try {
+			// Seeded before its first use, so it doesn't seed itself from the (possibly blocking) system entropy source
+			SecureRandom stripe = SecureRandom.getInstance(STRIPE_ALGORITHM);
+			stripe.setSeed(seed);
+
+			return stripe;
+		}
+		catch (NoSuchAlgorithmException ex) {
+			return new SecureRandom(seed);
+		}
+	}
+
+	private static long toLong(byte[] bytes, int offset) {
+		long value = 0;
+
+		for (int i = offset; i < (offset + 8); i++) {
+			value = (value << 8) | (bytes[i] & 0xff);
+		}
+
+		return value;
+	}
+}
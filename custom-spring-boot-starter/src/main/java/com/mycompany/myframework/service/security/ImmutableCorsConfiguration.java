@@ -0,0 +1,179 @@
+package com.mycompany.myframework.service.security;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.web.cors.CorsConfiguration;
+
+/**
+ * A {@link CorsConfiguration} which can not be modified after it is created, so that a single instance can safely be cached and
+ * shared between requests.
+ * <p>
+ *   Unlike {@link CorsConfiguration}, two immutable configurations are equal if they have the same values, so one can be part of a
+ *   cache key even when the configuration is rebuilt for every request.
+ * </p>
+ */
+public final class ImmutableCorsConfiguration extends CorsConfiguration {
+	private static final String IMMUTABLE_MESSAGE = "This CorsConfiguration can not be modified";
+
+	@Nullable
+	private final List<String> allowedOrigins;
+
+	@Nullable
+	private final List<String> allowedMethods;
+
+	@Nullable
+	private final List<String> allowedHeaders;
+
+	@Nullable
+	private final List<String> exposedHeaders;
+
+	private final int hashCode;
+
+	private ImmutableCorsConfiguration(CorsConfiguration source) {
+		super();
+
+		super.setAllowedOrigins(source.getAllowedOrigins());
+		super.setAllowedMethods(source.getAllowedMethods());
+		super.setAllowedHeaders(source.getAllowedHeaders());
+		super.setExposedHeaders(source.getExposedHeaders());
+		super.setAllowCredentials(source.getAllowCredentials());
+		super.setMaxAge(source.getMaxAge());
+
+		this.allowedOrigins = unmodifiable(super.getAllowedOrigins());
+		this.allowedMethods = unmodifiable(super.getAllowedMethods());
+		this.allowedHeaders = unmodifiable(super.getAllowedHeaders());
+		this.exposedHeaders = unmodifiable(super.getExposedHeaders());
+		this.hashCode = Objects.hash(this.allowedOrigins, this.allowedMethods, this.allowedHeaders, this.exposedHeaders, getAllowCredentials(), getMaxAge());
+	}
+
+	/**
+	 * Creates an immutable copy of a {@link CorsConfiguration}
+	 * @param source The {@link CorsConfiguration} to copy
+	 * @return The immutable copy, or {@code source} itself if it is already immutable
+	 */
+	public static ImmutableCorsConfiguration copyOf(CorsConfiguration source) {
+		Assert.notNull(source, "source can not be null");
+
+		return (source instanceof ImmutableCorsConfiguration) ? (ImmutableCorsConfiguration) source : new ImmutableCorsConfiguration(source);
+	}
+
+	@Nullable
+	@Override
+	public List<String> getAllowedOrigins() {
+		return this.allowedOrigins;
+	}
+
+	@Nullable
+	@Override
+	public List<String> getAllowedMethods() {
+		return this.allowedMethods;
+	}
+
+	@Nullable
+	@Override
+	public List<String> getAllowedHeaders() {
+		return this.allowedHeaders;
+	}
+
+	@Nullable
+	@Override
+	public List<String> getExposedHeaders() {
+		return this.exposedHeaders;
+	}
+
+	@Override
+	public void setAllowedOrigins(@Nullable List<String> allowedOrigins) {
+		throw new UnsupportedOperationException(IMMUTABLE_MESSAGE);
+	}
+
+	@Override
+	public void addAllowedOrigin(String origin) {
+		throw new UnsupportedOperationException(IMMUTABLE_MESSAGE);
+	}
+
+	@Override
+	public void setAllowedMethods(@Nullable List<String> allowedMethods) {
+		throw new UnsupportedOperationException(IMMUTABLE_MESSAGE);
+	}
+
+	@Override
+	public void addAllowedMethod(HttpMethod method) {
+		throw new UnsupportedOperationException(IMMUTABLE_MESSAGE);
+	}
+
+	@Override
+	public void addAllowedMethod(String method) {
+		throw new UnsupportedOperationException(IMMUTABLE_MESSAGE);
+	}
+
+	@Override
+	public void setAllowedHeaders(@Nullable List<String> allowedHeaders) {
+		throw new UnsupportedOperationException(IMMUTABLE_MESSAGE);
+	}
+
+	@Override
+	public void addAllowedHeader(String allowedHeader) {
+		throw new UnsupportedOperationException(IMMUTABLE_MESSAGE);
+	}
+
+	@Override
+	public void setExposedHeaders(@Nullable List<String> exposedHeaders) {
+		throw new UnsupportedOperationException(IMMUTABLE_MESSAGE);
+	}
+
+	@Override
+	public void addExposedHeader(String exposedHeader) {
+		throw new UnsupportedOperationException(IMMUTABLE_MESSAGE);
+	}
+
+	@Override
+	public void setAllowCredentials(@Nullable Boolean allowCredentials) {
+		throw new UnsupportedOperationException(IMMUTABLE_MESSAGE);
+	}
+
+	@Override
+	public void setMaxAge(@Nullable Long maxAge) {
+		throw new UnsupportedOperationException(IMMUTABLE_MESSAGE);
+	}
+
+	@Override
+	public CorsConfiguration applyPermitDefaultValues() {
+		throw new UnsupportedOperationException(IMMUTABLE_MESSAGE);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+
+		if (!(obj instanceof ImmutableCorsConfiguration)) {
+			return false;
+		}
+
+		ImmutableCorsConfiguration other = (ImmutableCorsConfiguration) obj;
+
+		return (this.hashCode == other.hashCode) &&
+			Objects.equals(this.allowedOrigins, other.allowedOrigins) &&
+			Objects.equals(this.allowedMethods, other.allowedMethods) &&
+			Objects.equals(this.allowedHeaders, other.allowedHeaders) &&
+			Objects.equals(this.exposedHeaders, other.exposedHeaders) &&
+			Objects.equals(getAllowCredentials(), other.getAllowCredentials()) &&
+			Objects.equals(getMaxAge(), other.getMaxAge());
+	}
+
+	@Override
+	public int hashCode() {
+		return this.hashCode;
+	}
+
+	@Nullable
+	private static List<String> unmodifiable(@Nullable List<String> list) {
+		return (list != null) ? Collections.unmodifiableList(list) : null;
+	}
+}
@@ -0,0 +1,169 @@
+package com.mycompany.myframework.service.security;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.text.ParseException;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimNames;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.JwtValidationException;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.MappedJwtClaimSetConverter;
+import org.springframework.util.Assert;
+import org.springframework.util.StreamUtils;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.KeySourceException;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.BadJOSEException;
+import com.nimbusds.jose.proc.JWSKeySelector;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.JWT;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.JWTParser;
+import com.nimbusds.jwt.PlainJWT;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+
+/**
+ * {@link JwtDecoder} verifying tokens against the keys of a local JSON Web Key Set, rather than one fetched from an authorization
+ * server.
+ * <p>
+ *   Tokens must be signed with one of the RSA ({@code RS*}/{@code PS*}) or EC ({@code ES*}) algorithms by a key of the set, picked
+ *   by the {@code kid} header if the token has one. Unsigned tokens &amp; other algorithms are rejected. The claims are then checked by
+ *   the {@link JwtValidators#createDefault() default validators} (i.e. the token isn't expired), plus the issuer if one is given.
+ * </p>
+ * <p>
+ *   Every call verifies the signature. Put a {@link VerifiedJwtCache} in front of it (i.e. with
+ *   {@link com.mycompany.myframework.service.security.servlet.CachingJwtDecoder}) so a reused token is only verified once.
+ * </p>
+ */
+public class JwkSetJwtDecoder implements JwtDecoder {
+	private static final List<JWSAlgorithm> ALGORITHMS = Collections.unmodifiableList(Arrays.asList(
+		JWSAlgorithm.RS256, JWSAlgorithm.RS384, JWSAlgorithm.RS512,
+		JWSAlgorithm.PS256, JWSAlgorithm.PS384, JWSAlgorithm.PS512,
+		JWSAlgorithm.ES256, JWSAlgorithm.ES384, JWSAlgorithm.ES512
+	));
+
+	private final DefaultJWTProcessor<SecurityContext> jwtProcessor = new DefaultJWTProcessor<>();
+	private final Converter<Map<String, Object>, Map<String, Object>> claimSetConverter = MappedJwtClaimSetConverter.withDefaults(Collections.emptyMap());
+	private final OAuth2TokenValidator<Jwt> jwtValidator;
+
+	/**
+	 * Constructs an instance
+	 * @param jwkSet The {@link JWKSet} holding the public keys the tokens are signed with
+	 * @param issuer The issuer the tokens must have, or {@code null} to not check it
+	 */
+	public JwkSetJwtDecoder(JWKSet jwkSet, @Nullable String issuer) {
+		Assert.notNull(jwkSet, "jwkSet can not be null");
+		Assert.notEmpty(jwkSet.getKeys(), "jwkSet can not be empty");
+
+		this.jwtProcessor.setJWSKeySelector(new AlgorithmKeySelector(new ImmutableJWKSet<>(jwkSet)));
+
+		// The claims are checked by the Spring Security validators instead, once converted
+		this.jwtProcessor.setJWTClaimsSetVerifier((claims, context) -> {});
+		this.jwtValidator = (issuer != null) ? JwtValidators.createDefaultWithIssuer(issuer) : JwtValidators.createDefault();
+	}
+
+	/**
+	 * Creates a {@link JwkSetJwtDecoder} from a JSON Web Key Set document
+	 * @param jwkSetLocation The location of the JSON Web Key Set document
+	 * @param issuer The issuer the tokens must have, or {@code null} to not check it
+	 * @return The {@link JwkSetJwtDecoder}
+	 * @throws UncheckedIOException If the document can not be read
+	 * @throws IllegalArgumentException If the document isn't a JSON Web Key Set
+	 */
+	public static JwkSetJwtDecoder fromLocation(Resource jwkSetLocation, @Nullable String issuer) {
+		Assert.notNull(jwkSetLocation, "jwkSetLocation can not be null");
+
+		try (InputStream inputStream = jwkSetLocation.getInputStream()) {
+			return new JwkSetJwtDecoder(JWKSet.parse(StreamUtils.copyToString(inputStream, StandardCharsets.UTF_8)), issuer);
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(String.format("Unable to read the JSON Web Key Set %s", jwkSetLocation), ex);
+		}
+		catch (ParseException ex) {
+			throw new IllegalArgumentException(String.format("%s isn't a JSON Web Key Set: %s", jwkSetLocation, ex.getMessage()), ex);
+		}
+	}
+
+	@Override
+	public Jwt decode(String token) throws JwtException {
+		JWT parsedJwt = parse(token);
+
+		if (parsedJwt instanceof PlainJWT) {
+			throw new JwtException("Unsigned tokens aren't accepted");
+		}
+
+		Jwt jwt = createJwt(token, parsedJwt);
+		OAuth2TokenValidatorResult result = this.jwtValidator.validate(jwt);
+
+		if (result.hasErrors()) {
+			String description = result.getErrors().iterator().next().getDescription();
+			throw new JwtValidationException(String.format("An error occurred while attempting to decode the Jwt: %s", description), result.getErrors());
+		}
+
+		return jwt;
+	}
+
+	private static JWT parse(String token) {
+		try {
+			return JWTParser.parse(token);
+		}
+		catch (ParseException ex) {
+			throw new JwtException(String.format("An error occurred while attempting to decode the Jwt: %s", ex.getMessage()), ex);
+		}
+	}
+
+	private Jwt createJwt(String token, JWT parsedJwt) {
+		try {
+			JWTClaimsSet jwtClaimsSet = this.jwtProcessor.process(parsedJwt, null);
+			Map<String, Object> headers = new LinkedHashMap<>(parsedJwt.getHeader().toJSONObject());
+			Map<String, Object> claims = this.claimSetConverter.convert(jwtClaimsSet.getClaims());
+
+			return new Jwt(token, (Instant) claims.get(JwtClaimNames.IAT), (Instant) claims.get(JwtClaimNames.EXP), headers, claims);
+		}
+		catch (BadJOSEException | JOSEException ex) {
+			throw new JwtException(String.format("An error occurred while attempting to decode the Jwt: %s", ex.getMessage()), ex);
+		}
+	}
+
+	/**
+	 * Selects the verification keys for the algorithm a token is signed with, so a single key set can hold both RSA &amp; EC keys
+	 */
+	private static final class AlgorithmKeySelector implements JWSKeySelector<SecurityContext> {
+		private final Map<JWSAlgorithm, JWSKeySelector<SecurityContext>> keySelectors = new LinkedHashMap<>();
+
+		private AlgorithmKeySelector(JWKSource<SecurityContext> jwkSource) {
+			ALGORITHMS.forEach(algorithm -> this.keySelectors.put(algorithm, new JWSVerificationKeySelector<>(algorithm, jwkSource)));
+		}
+
+		@Override
+		public List<? extends Key> selectJWSKeys(JWSHeader header, SecurityContext context) throws KeySourceException {
+			JWSKeySelector<SecurityContext> keySelector = this.keySelectors.get(header.getAlgorithm());
+
+			// No keys makes the processor reject the token
+			return (keySelector != null) ? keySelector.selectJWSKeys(header, context) : Collections.emptyList();
+		}
+	}
+}
@@ -0,0 +1,110 @@
+package com.mycompany.myframework.service.security;
+
+import org.springframework.lang.Nullable;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.server.resource.BearerTokenAuthenticationToken;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.util.Assert;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.mycompany.myframework.properties.config.MyFrameworkConfig.CacheConfig;
+import com.mycompany.myframework.service.cache.CaffeineCaches;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Cache from a bearer token to the {@link JwtAuthenticationToken} built from its claims, so a token a client reuses across many
+ * calls skips decoding, verification &amp; the conversion of its claims into authorities.
+ * <p>
+ *   Tokens are keyed by a SHA-256 hash of the token, and an entry expires when its token does (or after the configured
+ *   time-to-live, whichever comes first). Only successful authentications are cached. A hit returns a new
+ *   {@link JwtAuthenticationToken} with the details (i.e. the remote address) of the current request, rather than the cached
+ *   token itself.
+ * </p>
+ */
+public class JwtAuthenticationCache implements MeterBinder {
+	/**
+	 * Name of the cache, used as the {@code cache} tag of its metrics
+	 */
+	public static final String CACHE_NAME = "jwtAuthentication";
+
+	private final Cache<TokenHash, JwtAuthenticationToken> cache;
+
+	public JwtAuthenticationCache(CacheConfig cacheConfig) {
+		Assert.notNull(cacheConfig, "cacheConfig can not be null");
+		this.cache = CaffeineCaches.<TokenHash, JwtAuthenticationToken>newExpiringBuilder(cacheConfig, authentication -> authentication.getToken().getExpiresAt()).build();
+	}
+
+	/**
+	 * Creates a {@link JwtAuthenticationCache} if it is enabled
+	 * @param cacheConfig The {@link CacheConfig}
+	 * @return The {@link JwtAuthenticationCache}, or {@code null} if the cache isn't {@link CacheConfig#isEnabled() enabled}
+	 */
+	@Nullable
+	public static JwtAuthenticationCache createIfEnabled(CacheConfig cacheConfig) {
+		Assert.notNull(cacheConfig, "cacheConfig can not be null");
+		return cacheConfig.isEnabled() ? new JwtAuthenticationCache(cacheConfig) : null;
+	}
+
+	/**
+	 * Gets the cached {@link Authentication} for an authentication request
+	 * @param authenticationRequest The authentication request
+	 * @return A copy of the cached {@link JwtAuthenticationToken} carrying the details of the request, or {@code null} if there isn't
+	 * one or the request isn't a {@link BearerTokenAuthenticationToken}
+	 */
+	@Nullable
+	public Authentication get(Authentication authenticationRequest) {
+		if (!(authenticationRequest instanceof BearerTokenAuthenticationToken)) {
+			return null;
+		}
+
+		String token = ((BearerTokenAuthenticationToken) authenticationRequest).getToken();
+		JwtAuthenticationToken authentication = this.cache.getIfPresent(TokenHash.of(token));
+
+		if ((authentication == null) || !authentication.getToken().getTokenValue().equals(token)) {
+			return null;
+		}
+
+		JwtAuthenticationToken copy = new JwtAuthenticationToken(authentication.getToken(), authentication.getAuthorities());
+		copy.setDetails(authenticationRequest.getDetails());
+
+		return copy;
+	}
+
+	/**
+	 * Caches the {@link Authentication} an authentication request resulted in
+	 * @param authenticationRequest The authentication request
+	 * @param authentication The authenticated {@link Authentication}
+	 */
+	public void put(Authentication authenticationRequest, Authentication authentication) {
+		Assert.notNull(authentication, "authentication can not be null");
+
+		// Exactly a JwtAuthenticationToken, since that is what a hit is copied into
+		if ((authenticationRequest instanceof BearerTokenAuthenticationToken) && authentication.isAuthenticated() && (authentication.getClass() == JwtAuthenticationToken.class)) {
+			JwtAuthenticationToken jwtAuthentication = (JwtAuthenticationToken) authentication;
+			this.cache.put(TokenHash.of(jwtAuthentication.getToken().getTokenValue()), jwtAuthentication);
+		}
+	}
+
+	/**
+	 * Removes all the cached authentications
+	 */
+	public void invalidateAll() {
+		this.cache.invalidateAll();
+	}
+
+	/**
+	 * Gets the statistics of the cache
+	 * @return The {@link CacheStats}
+	 */
+	public CacheStats stats() {
+		return this.cache.stats();
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		CaffeineCacheMetrics.monitor(registry, this.cache, CACHE_NAME);
+	}
+}
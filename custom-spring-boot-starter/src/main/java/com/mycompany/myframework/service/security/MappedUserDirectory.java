@@ -0,0 +1,455 @@
+package com.mycompany.myframework.service.security;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import org.springframework.lang.Nullable;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.util.Assert;
+
+/**
+ * Directory of users &amp; their authorities, read from a snapshot file that is memory-mapped rather than loaded onto the heap, so
+ * a directory of millions of users costs the heap only its distinct authority sets.
+ * <p>
+ *   The snapshot is a binary file written by {@link #writeSnapshot(Path, Map)}. The users are sorted by the UTF-8 bytes of their
+ *   username into a table of fixed-width entries, so {@link #findAuthorities(String) finding} a user is a binary search over the
+ *   mapped file. Each entry points at one of the snapshot's distinct authority sets, which are read once when the snapshot is
+ *   loaded and shared by every user with the same authorities.
+ * </p>
+ * <p>
+ *   {@link #reload() Reloading} maps the new snapshot on the calling thread (i.e. a file watcher) and then swaps it in atomically,
+ *   so a lookup always sees one complete snapshot. A snapshot must therefore be replaced by writing a new file &amp; moving it into
+ *   place (as {@link #writeSnapshot(Path, Map)} does), never by rewriting the mapped file in place. The
+ *   {@link #addReloadListener(Consumer) reload listeners} are called once the new snapshot is in, so the caches of users &amp;
+ *   authentications built from the previous one can be cleared.
+ * </p>
+ */
+public class MappedUserDirectory {
+	private static final Logger LOGGER = LoggerFactory.getLogger(MappedUserDirectory.class);
+
+	/**
+	 * {@code MUD1} - identifies a snapshot file
+	 */
+	private static final int MAGIC = 0x4D554431;
+	private static final int VERSION = 1;
+	private static final int HEADER_SIZE = 32;
+	private static final int ENTRY_SIZE = 12;
+
+	private final Object reloadMonitor = new Object();
+	private final List<Consumer<Snapshot>> reloadListeners = new CopyOnWriteArrayList<>();
+	private volatile Snapshot snapshot;
+
+	/**
+	 * Constructs an instance
+	 * @param location The snapshot file
+	 * @throws UncheckedIOException If the snapshot file can not be read or isn't a snapshot
+	 */
+	public MappedUserDirectory(Path location) {
+		Assert.notNull(location, "location can not be null");
+		this.snapshot = Snapshot.load(1, location);
+	}
+
+	/**
+	 * Gets the current {@link Snapshot}
+	 * @return The current {@link Snapshot}
+	 */
+	public Snapshot getSnapshot() {
+		return this.snapshot;
+	}
+
+	/**
+	 * Finds the authorities of a user in the current snapshot
+	 * @param username The username
+	 * @return The user's authorities, or {@code null} if the user isn't in the directory
+	 */
+	@Nullable
+	public List<GrantedAuthority> findAuthorities(@Nullable String username) {
+		return (username != null) ? this.snapshot.findAuthorities(username) : null;
+	}
+
+	/**
+	 * Maps the snapshot file again, picking up a new file moved into its place
+	 * @return The new {@link Snapshot}
+	 * @throws UncheckedIOException If the snapshot file can not be read or isn't a snapshot. The current snapshot is kept.
+	 */
+	public Snapshot reload() {
+		return reload(this.snapshot.getLocation());
+	}
+
+	/**
+	 * Maps a new snapshot file &amp; swaps it in
+	 * @param location The snapshot file
+	 * @return The new {@link Snapshot}
+	 * @throws UncheckedIOException If the snapshot file can not be read or isn't a snapshot. The current snapshot is kept.
+	 */
+	public Snapshot reload(Path location) {
+		Assert.notNull(location, "location can not be null");
+
+		Snapshot newSnapshot;
+
+		synchronized (this.reloadMonitor) {
+			newSnapshot = Snapshot.load(this.snapshot.getGeneration() + 1, location);
+			this.snapshot = newSnapshot;
+		}
+
+		LOGGER.info("Reloaded user directory (generation {}) with {} users from {}", newSnapshot.getGeneration(), newSnapshot.getUserCount(), location);
+		this.reloadListeners.forEach(listener -> listener.accept(newSnapshot));
+
+		return newSnapshot;
+	}
+
+	/**
+	 * Adds a listener which is called, on the reloading thread, after a new snapshot has been swapped in, i.e. to drop the users
+	 * cached from the previous snapshot
+	 * @param reloadListener The listener
+	 */
+	public void addReloadListener(Consumer<Snapshot> reloadListener) {
+		Assert.notNull(reloadListener, "reloadListener can not be null");
+		this.reloadListeners.add(reloadListener);
+	}
+
+	/**
+	 * Writes a snapshot file. The snapshot is written to a temporary file next to the location, then moved into place, so a
+	 * {@link MappedUserDirectory} reading the location never sees a partly written snapshot.
+	 * @param location The snapshot file
+	 * @param users The authorities of each user, by username
+	 * @throws IOException If the snapshot can not be written
+	 */
+	public static void writeSnapshot(Path location, Map<String, ? extends Collection<String>> users) throws IOException {
+		Assert.notNull(location, "location can not be null");
+		Assert.notNull(users, "users can not be null");
+
+		byte[][] usernames = new byte[users.size()][];
+		int[] authoritySetIndexes = new int[users.size()];
+		Map<List<String>, Integer> authoritySets = new LinkedHashMap<>();
+		List<Map.Entry<byte[], List<String>>> sortedUsers = new ArrayList<>(users.size());
+
+		users.forEach((username, authorities) -> {
+			Assert.hasText(username, "username can not be empty");
+			sortedUsers.add(new SimpleImmutableEntry<>(username.getBytes(StandardCharsets.UTF_8), new ArrayList<>(new TreeSet<>(authorities))));
+		});
+
+		sortedUsers.sort((user1, user2) -> compare(user1.getKey(), user2.getKey()));
+
+		for (int i = 0; i < usernames.length; i++) {
+			Map.Entry<byte[], List<String>> user = sortedUsers.get(i);
+			usernames[i] = user.getKey();
+			authoritySetIndexes[i] = authoritySets.computeIfAbsent(user.getValue(), authorities -> authoritySets.size());
+		}
+
+		byte[] authoritySetsSection = toAuthoritySetsSection(authoritySets.keySet());
+		long entriesOffset = HEADER_SIZE + (long) authoritySetsSection.length;
+		long namesOffset = entriesOffset + ((long) usernames.length * ENTRY_SIZE);
+		long size = namesOffset + Arrays.stream(usernames).mapToLong(username -> username.length).sum();
+		Assert.isTrue(size <= Integer.MAX_VALUE, "A user directory snapshot can not be larger than 2GB");
+
+		Path directory = location.toAbsolutePath().getParent();
+		Path temporaryLocation = Files.createTempFile(directory, location.getFileName().toString(), ".tmp");
+
+		try {
+			try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryLocation)))) {
+				output.writeInt(MAGIC);
+				output.writeInt(VERSION);
+				output.writeInt(usernames.length);
+				output.writeInt(authoritySets.size());
+				output.writeInt(HEADER_SIZE);
+				output.writeInt((int) entriesOffset);
+				output.writeInt((int) namesOffset);
+				output.writeInt(0);
+				output.write(authoritySetsSection);
+
+				int nameOffset = (int) namesOffset;
+
+				for (int i = 0; i < usernames.length; i++) {
+					output.writeInt(nameOffset);
+					output.writeInt(usernames[i].length);
+					output.writeInt(authoritySetIndexes[i]);
+					nameOffset += usernames[i].length;
+				}
+
+				for (byte[] username : usernames) {
+					output.write(username);
+				}
+			}
+
+			Files.move(temporaryLocation, location, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+		finally {
+			Files.deleteIfExists(temporaryLocation);
+		}
+	}
+
+	private static byte[] toAuthoritySetsSection(Collection<List<String>> authoritySets) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+		try (DataOutputStream output = new DataOutputStream(bytes)) {
+			for (List<String> authorities : authoritySets) {
+				output.writeInt(authorities.size());
+
+				for (String authority : authorities) {
+					writeString(output, authority);
+				}
+			}
+		}
+
+		return bytes.toByteArray();
+	}
+
+	private static void writeString(DataOutputStream output, String value) throws IOException {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		output.writeInt(bytes.length);
+		output.write(bytes);
+	}
+
+	private static int compare(byte[] left, byte[] right) {
+		int length = Math.min(left.length, right.length);
+
+		for (int i = 0; i < length; i++) {
+			int difference = (left[i] & 0xFF) - (right[i] & 0xFF);
+
+			if (difference != 0) {
+				return difference;
+			}
+		}
+
+		return left.length - right.length;
+	}
+
+	/**
+	 * One mapped snapshot file
+	 */
+	public static final class Snapshot {
+		private final long generation;
+		private final Path location;
+		private final Instant loadedAt;
+		private final int userCount;
+		private final int entriesOffset;
+
+		/**
+		 * Only ever read with absolute gets, which don't change the buffer's position, so it can be shared by every thread
+		 */
+		private final ByteBuffer buffer;
+		private final List<List<GrantedAuthority>> authoritySets;
+
+		private Snapshot(long generation, Path location, ByteBuffer buffer, int userCount, int entriesOffset, List<List<GrantedAuthority>> authoritySets) {
+			this.generation = generation;
+			this.location = location;
+			this.loadedAt = Instant.now();
+			this.buffer = buffer;
+			this.userCount = userCount;
+			this.entriesOffset = entriesOffset;
+			this.authoritySets = authoritySets;
+		}
+
+		private static Snapshot load(long generation, Path location) {
+			try (FileChannel channel = FileChannel.open(location, StandardOpenOption.READ)) {
+				long size = channel.size();
+
+				if ((size < HEADER_SIZE) || (size > Integer.MAX_VALUE)) {
+					throw new IOException(String.format("%s isn't a user directory snapshot", location));
+				}
+
+				// The mapping stays valid after the channel is closed
+				MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+
+				if ((buffer.getInt(0) != MAGIC) || (buffer.getInt(4) != VERSION)) {
+					throw new IOException(String.format("%s isn't a version %d user directory snapshot", location, VERSION));
+				}
+
+				int userCount = buffer.getInt(8);
+				int authoritySetCount = buffer.getInt(12);
+				int authoritySetsOffset = buffer.getInt(16);
+				int entriesOffset = buffer.getInt(20);
+				int namesOffset = buffer.getInt(24);
+
+				if ((userCount < 0) || (authoritySetCount < 0) || (authoritySetsOffset < HEADER_SIZE) || (entriesOffset < authoritySetsOffset) || (namesOffset != (entriesOffset + ((long) userCount * ENTRY_SIZE))) || (namesOffset > size)) {
+					throw corrupt(location);
+				}
+
+				List<List<GrantedAuthority>> authoritySets = readAuthoritySets(buffer, authoritySetsOffset, entriesOffset, authoritySetCount, location);
+				validateEntries(buffer, userCount, entriesOffset, namesOffset, authoritySetCount, location);
+
+				return new Snapshot(generation, location, buffer, userCount, entriesOffset, authoritySets);
+			}
+			catch (IOException | IndexOutOfBoundsException ex) {
+				throw new UncheckedIOException(new IOException(String.format("Unable to load user directory snapshot %s", location), ex));
+			}
+		}
+
+		private static List<List<GrantedAuthority>> readAuthoritySets(ByteBuffer buffer, int offset, int end, int authoritySetCount, Path location) throws IOException {
+			Map<String, GrantedAuthority> internedAuthorities = new HashMap<>();
+			List<List<GrantedAuthority>> authoritySets = new ArrayList<>(Math.min(authoritySetCount, (end - offset) / Integer.BYTES));
+			long position = offset;
+
+			for (int i = 0; i < authoritySetCount; i++) {
+				int authorityCount = readInt(buffer, position, end, location);
+				position += Integer.BYTES;
+
+				if ((authorityCount < 0) || (authorityCount > ((end - position) / Integer.BYTES))) {
+					throw corrupt(location);
+				}
+
+				List<GrantedAuthority> authorities = new ArrayList<>(authorityCount);
+
+				for (int j = 0; j < authorityCount; j++) {
+					int length = readInt(buffer, position, end, location);
+					position += Integer.BYTES;
+
+					if ((length < 0) || ((position + length) > end)) {
+						throw corrupt(location);
+					}
+
+					String authority = readString(buffer, (int) position, length);
+					position += length;
+
+					authorities.add(internedAuthorities.computeIfAbsent(authority, SimpleGrantedAuthority::new));
+				}
+
+				authoritySets.add(Collections.unmodifiableList(authorities));
+			}
+
+			return Collections.unmodifiableList(authoritySets);
+		}
+
+		/**
+		 * Checks every entry points at a name within the names section &amp; at one of the authority sets, so a lookup can never read
+		 * outside the file or fail on a corrupt entry. This reads the whole entry table once, on the thread loading the snapshot.
+		 */
+		private static void validateEntries(ByteBuffer buffer, int userCount, int entriesOffset, int namesOffset, int authoritySetCount, Path location) throws IOException {
+			int size = buffer.capacity();
+
+			for (int i = 0; i < userCount; i++) {
+				int entry = entriesOffset + (i * ENTRY_SIZE);
+				int nameOffset = buffer.getInt(entry);
+				int nameLength = buffer.getInt(entry + 4);
+				int authoritySetIndex = buffer.getInt(entry + 8);
+
+				if ((nameOffset < namesOffset) || (nameLength < 0) || (((long) nameOffset + nameLength) > size) || (authoritySetIndex < 0) || (authoritySetIndex >= authoritySetCount)) {
+					throw corrupt(location);
+				}
+			}
+		}
+
+		private static int readInt(ByteBuffer buffer, long position, int end, Path location) throws IOException {
+			if ((position + Integer.BYTES) > end) {
+				throw corrupt(location);
+			}
+
+			return buffer.getInt((int) position);
+		}
+
+		private static IOException corrupt(Path location) {
+			return new IOException(String.format("%s is a corrupt user directory snapshot", location));
+		}
+
+		private static String readString(ByteBuffer buffer, int offset, int length) {
+			byte[] bytes = new byte[length];
+
+			for (int i = 0; i < length; i++) {
+				bytes[i] = buffer.get(offset + i);
+			}
+
+			return new String(bytes, StandardCharsets.UTF_8);
+		}
+
+		@Nullable
+		private List<GrantedAuthority> findAuthorities(String username) {
+			byte[] key = username.getBytes(StandardCharsets.UTF_8);
+			int low = 0;
+			int high = this.userCount - 1;
+
+			while (low <= high) {
+				int middle = (low + high) >>> 1;
+				int entry = this.entriesOffset + (middle * ENTRY_SIZE);
+				int comparison = compareName(this.buffer.getInt(entry), this.buffer.getInt(entry + 4), key);
+
+				if (comparison < 0) {
+					low = middle + 1;
+				}
+				else if (comparison > 0) {
+					high = middle - 1;
+				}
+				else {
+					return this.authoritySets.get(this.buffer.getInt(entry + 8));
+				}
+			}
+
+			return null;
+		}
+
+		private int compareName(int nameOffset, int nameLength, byte[] key) {
+			int length = Math.min(nameLength, key.length);
+
+			for (int i = 0; i < length; i++) {
+				int difference = (this.buffer.get(nameOffset + i) & 0xFF) - (key[i] & 0xFF);
+
+				if (difference != 0) {
+					return difference;
+				}
+			}
+
+			return nameLength - key.length;
+		}
+
+		public long getGeneration() {
+			return this.generation;
+		}
+
+		public Path getLocation() {
+			return this.location;
+		}
+
+		public Instant getLoadedAt() {
+			return this.loadedAt;
+		}
+
+		public int getUserCount() {
+			return this.userCount;
+		}
+
+		public int getAuthoritySetCount() {
+			return this.authoritySets.size();
+		}
+
+		@Override
+		public String toString() {
+			return new ToStringBuilder(this)
+				.append("generation", this.generation)
+				.append("location", this.location)
+				.append("loadedAt", this.loadedAt)
+				.append("userCount", this.userCount)
+				.append("authoritySetCount", getAuthoritySetCount())
+				.toString();
+		}
+	}
+}
@@ -0,0 +1,53 @@
+package com.mycompany.myframework.service.security;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link PollingFileWatcher} checking the {@link MappedUserDirectory.Snapshot#getLocation() snapshot file} of a
+ * {@link MappedUserDirectory} for a new snapshot, and {@link MappedUserDirectory#reload() reloading} it when the file's last-modified
+ * time or size changes
+ */
+public class MappedUserDirectoryWatcher extends PollingFileWatcher {
+	private static final Logger LOGGER = LoggerFactory.getLogger(MappedUserDirectoryWatcher.class);
+
+	private final MappedUserDirectory userDirectory;
+
+	public MappedUserDirectoryWatcher(MappedUserDirectory userDirectory, Duration checkInterval) {
+		super("user-directory", checkInterval);
+		Assert.notNull(userDirectory, "userDirectory can not be null");
+		this.userDirectory = userDirectory;
+	}
+
+	/**
+	 * Identifies the version of the snapshot file by its last-modified time &amp; size
+	 */
+	@Override
+	@Nullable
+	protected Object readVersion() {
+		Path location = this.userDirectory.getSnapshot().getLocation();
+
+		try {
+			BasicFileAttributes attributes = Files.readAttributes(location, BasicFileAttributes.class);
+			return String.format("%s/%d", attributes.lastModifiedTime(), attributes.size());
+		}
+		catch (IOException ex) {
+			LOGGER.debug("Unable to read the attributes of {}", location, ex);
+			return null;
+		}
+	}
+
+	@Override
+	protected void reload() {
+		this.userDirectory.reload();
+	}
+}
@@ -0,0 +1,357 @@
+package com.mycompany.myframework.service.security;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.EvaluationException;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.ParseException;
+import org.springframework.expression.ParserContext;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * {@link ExpressionParser} for the expressions of the method security annotations ({@code @PreAuthorize}, {@code @PostAuthorize},
+ * etc).
+ * <p>
+ *   The expressions are parsed in {@link SpelCompilerMode#MIXED mixed} mode, so once an expression has been evaluated often enough
+ *   it is compiled to bytecode rather than interpreted on every invocation, falling back to interpreting it if a compiled
+ *   evaluation fails. If a {@link MeterRegistry} is given, every evaluation of an expression is timed by {@link #EVALUATION_METRIC},
+ *   tagged by the {@link #EXPRESSION_TAG expression} itself.
+ * </p>
+ * <p>
+ *   Expressions are parsed while the method security infrastructure is being created, so a {@link MeterRegistry} given through an
+ *   {@link ObjectProvider} is only resolved when an expression is first evaluated. Resolving it any earlier would create the
+ *   registry (&amp; whatever it depends on) before all the bean post-processors are registered.
+ * </p>
+ */
+public class MethodSecurityExpressionParser implements ExpressionParser {
+	/**
+	 * Name of the timer of the evaluations of an expression, tagged with {@link #EXPRESSION_TAG}
+	 */
+	public static final String EVALUATION_METRIC = "method.security.expression.evaluation";
+
+	public static final String EXPRESSION_TAG = "expression";
+
+	private final ExpressionParser delegate;
+
+	@Nullable
+	private final Supplier<MeterRegistry> meterRegistry;
+
+	/**
+	 * Constructs an instance
+	 * @param classLoader The {@link ClassLoader} compiled expressions are loaded by, or {@code null} for the default one
+	 * @param meterRegistry The {@link MeterRegistry} evaluations are timed in, or {@code null} if they aren't timed
+	 */
+	public MethodSecurityExpressionParser(@Nullable ClassLoader classLoader, @Nullable MeterRegistry meterRegistry) {
+		this(classLoader, (meterRegistry != null) ? (Supplier<MeterRegistry>) () -> meterRegistry : null);
+	}
+
+	/**
+	 * Constructs an instance
+	 * @param classLoader The {@link ClassLoader} compiled expressions are loaded by, or {@code null} for the default one
+	 * @param meterRegistry Provides the {@link MeterRegistry} evaluations are timed in. Only resolved when an expression is first
+	 * evaluated. Evaluations aren't timed if it isn't available then.
+	 */
+	public MethodSecurityExpressionParser(@Nullable ClassLoader classLoader, ObjectProvider<MeterRegistry> meterRegistry) {
+		this(classLoader, (Supplier<MeterRegistry>) requireProvider(meterRegistry)::getIfAvailable);
+	}
+
+	private MethodSecurityExpressionParser(@Nullable ClassLoader classLoader, @Nullable Supplier<MeterRegistry> meterRegistry) {
+		this.delegate = new SpelExpressionParser(new SpelParserConfiguration(SpelCompilerMode.MIXED, classLoader));
+		this.meterRegistry = meterRegistry;
+	}
+
+	private static ObjectProvider<MeterRegistry> requireProvider(ObjectProvider<MeterRegistry> meterRegistry) {
+		Assert.notNull(meterRegistry, "meterRegistry can not be null");
+		return meterRegistry;
+	}
+
+	@Override
+	public Expression parseExpression(String expressionString) throws ParseException {
+		return timed(this.delegate.parseExpression(expressionString));
+	}
+
+	@Override
+	public Expression parseExpression(String expressionString, ParserContext context) throws ParseException {
+		return timed(this.delegate.parseExpression(expressionString, context));
+	}
+
+	private Expression timed(Expression expression) {
+		return (this.meterRegistry != null) ? new TimedExpression(expression, this.meterRegistry) : expression;
+	}
+
+	/**
+	 * {@link Expression} timing the evaluations of another {@link Expression}. Only {@code getValue(...)} is timed, since that's all
+	 * the method security interceptors call.
+	 */
+	private static final class TimedExpression implements Expression {
+		private final Expression delegate;
+		private final Supplier<MeterRegistry> meterRegistry;
+
+		// Resolved on the first evaluation, rather than when the expression is parsed
+		@Nullable
+		private volatile Timing timing;
+
+		private TimedExpression(Expression delegate, Supplier<MeterRegistry> meterRegistry) {
+			this.delegate = delegate;
+			this.meterRegistry = meterRegistry;
+		}
+
+		@Override
+		public String getExpressionString() {
+			return this.delegate.getExpressionString();
+		}
+
+		@Override
+		@Nullable
+		public Object getValue() throws EvaluationException {
+			Timing timing = timing();
+			long start = timing.start();
+
+			try {
+				return this.delegate.getValue();
+			}
+			finally {
+				timing.record(start);
+			}
+		}
+
+		@Override
+		@Nullable
+		public <T> T getValue(@Nullable Class<T> desiredResultType) throws EvaluationException {
+			Timing timing = timing();
+			long start = timing.start();
+
+			try {
+				return this.delegate.getValue(desiredResultType);
+			}
+			finally {
+				timing.record(start);
+			}
+		}
+
+		@Override
+		@Nullable
+		public Object getValue(Object rootObject) throws EvaluationException {
+			Timing timing = timing();
+			long start = timing.start();
+
+			try {
+				return this.delegate.getValue(rootObject);
+			}
+			finally {
+				timing.record(start);
+			}
+		}
+
+		@Override
+		@Nullable
+		public <T> T getValue(Object rootObject, @Nullable Class<T> desiredResultType) throws EvaluationException {
+			Timing timing = timing();
+			long start = timing.start();
+
+			try {
+				return this.delegate.getValue(rootObject, desiredResultType);
+			}
+			finally {
+				timing.record(start);
+			}
+		}
+
+		@Override
+		@Nullable
+		public Object getValue(EvaluationContext context) throws EvaluationException {
+			Timing timing = timing();
+			long start = timing.start();
+
+			try {
+				return this.delegate.getValue(context);
+			}
+			finally {
+				timing.record(start);
+			}
+		}
+
+		@Override
+		@Nullable
+		public Object getValue(EvaluationContext context, Object rootObject) throws EvaluationException {
+			Timing timing = timing();
+			long start = timing.start();
+
+			try {
+				return this.delegate.getValue(context, rootObject);
+			}
+			finally {
+				timing.record(start);
+			}
+		}
+
+		@Override
+		@Nullable
+		public <T> T getValue(EvaluationContext context, @Nullable Class<T> desiredResultType) throws EvaluationException {
+			Timing timing = timing();
+			long start = timing.start();
+
+			try {
+				return this.delegate.getValue(context, desiredResultType);
+			}
+			finally {
+				timing.record(start);
+			}
+		}
+
+		@Override
+		@Nullable
+		public <T> T getValue(EvaluationContext context, Object rootObject, @Nullable Class<T> desiredResultType) throws EvaluationException {
+			Timing timing = timing();
+			long start = timing.start();
+
+			try {
+				return this.delegate.getValue(context, rootObject, desiredResultType);
+			}
+			finally {
+				timing.record(start);
+			}
+		}
+
+		@Override
+		@Nullable
+		public Class<?> getValueType() throws EvaluationException {
+			return this.delegate.getValueType();
+		}
+
+		@Override
+		@Nullable
+		public Class<?> getValueType(Object rootObject) throws EvaluationException {
+			return this.delegate.getValueType(rootObject);
+		}
+
+		@Override
+		@Nullable
+		public Class<?> getValueType(EvaluationContext context) throws EvaluationException {
+			return this.delegate.getValueType(context);
+		}
+
+		@Override
+		@Nullable
+		public Class<?> getValueType(EvaluationContext context, Object rootObject) throws EvaluationException {
+			return this.delegate.getValueType(context, rootObject);
+		}
+
+		@Override
+		@Nullable
+		public TypeDescriptor getValueTypeDescriptor() throws EvaluationException {
+			return this.delegate.getValueTypeDescriptor();
+		}
+
+		@Override
+		@Nullable
+		public TypeDescriptor getValueTypeDescriptor(Object rootObject) throws EvaluationException {
+			return this.delegate.getValueTypeDescriptor(rootObject);
+		}
+
+		@Override
+		@Nullable
+		public TypeDescriptor getValueTypeDescriptor(EvaluationContext context) throws EvaluationException {
+			return this.delegate.getValueTypeDescriptor(context);
+		}
+
+		@Override
+		@Nullable
+		public TypeDescriptor getValueTypeDescriptor(EvaluationContext context, Object rootObject) throws EvaluationException {
+			return this.delegate.getValueTypeDescriptor(context, rootObject);
+		}
+
+		@Override
+		public boolean isWritable(Object rootObject) throws EvaluationException {
+			return this.delegate.isWritable(rootObject);
+		}
+
+		@Override
+		public boolean isWritable(EvaluationContext context) throws EvaluationException {
+			return this.delegate.isWritable(context);
+		}
+
+		@Override
+		public boolean isWritable(EvaluationContext context, Object rootObject) throws EvaluationException {
+			return this.delegate.isWritable(context, rootObject);
+		}
+
+		@Override
+		public void setValue(Object rootObject, @Nullable Object value) throws EvaluationException {
+			this.delegate.setValue(rootObject, value);
+		}
+
+		@Override
+		public void setValue(EvaluationContext context, @Nullable Object value) throws EvaluationException {
+			this.delegate.setValue(context, value);
+		}
+
+		@Override
+		public void setValue(EvaluationContext context, Object rootObject, @Nullable Object value) throws EvaluationException {
+			this.delegate.setValue(context, rootObject, value);
+		}
+
+		@Override
+		public String toString() {
+			return this.delegate.toString();
+		}
+
+		private Timing timing() {
+			Timing timing = this.timing;
+
+			if (timing == null) {
+				// Racing threads may both resolve it, which registers the same timer twice & is harmless
+				MeterRegistry meterRegistry = this.meterRegistry.get();
+				timing = (meterRegistry != null) ? new Timing(timer(meterRegistry), meterRegistry.config().clock()) : Timing.NONE;
+				this.timing = timing;
+			}
+
+			return timing;
+		}
+
+		private Timer timer(MeterRegistry meterRegistry) {
+			return Timer.builder(EVALUATION_METRIC)
+				.description("The time taken to evaluate a method security expression")
+				.tag(EXPRESSION_TAG, this.delegate.getExpressionString())
+				.register(meterRegistry);
+		}
+	}
+
+	private static final class Timing {
+		private static final Timing NONE = new Timing(null, null);
+
+		@Nullable
+		private final Timer timer;
+
+		@Nullable
+		private final Clock clock;
+
+		private Timing(@Nullable Timer timer, @Nullable Clock clock) {
+			this.timer = timer;
+			this.clock = clock;
+		}
+
+		private long start() {
+			return (this.clock != null) ? this.clock.monotonicTime() : 0;
+		}
+
+		private void record(long start) {
+			if ((this.timer != null) && (this.clock != null)) {
+				this.timer.record(this.clock.monotonicTime() - start, TimeUnit.NANOSECONDS);
+			}
+		}
+	}
+}
@@ -0,0 +1,262 @@
+package com.mycompany.myframework.service.security;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Parses the value of an {@code Origin} header (i.e. {@code https://www.redhat.com:8443}) into its scheme, host &amp; port without
+ * allocating.
+ * <p>
+ *   Rather than returning an object, {@link #parse(CharSequence)} returns the location of the host within the origin packed into a
+ *   {@code long}, which is then unpacked with {@link #hostStart(long)} &amp; {@link #hostEnd(long)} and can be passed straight to
+ *   {@link AllowedDomainsMatcher#matchesHost(CharSequence, int, int)}. Nothing is lower-cased or copied - host matching is
+ *   case-insensitive instead.
+ * </p>
+ * <p>
+ *   Leading &amp; trailing whitespace is ignored, the scheme is optional, and a trailing dot on the host (a fully-qualified name) is
+ *   dropped. An origin with user info, a path, a non-numeric port, or an empty host (i.e. the opaque origin {@code null}) is
+ *   {@link #INVALID invalid}.
+ * </p>
+ */
+public final class OriginParser {
+	/**
+	 * The result of parsing an invalid origin
+	 */
+	public static final long INVALID = -1L;
+
+	private static final String SCHEME_SEPARATOR = "://";
+	private static final String OPAQUE_ORIGIN = "null";
+	private static final int MAX_PORT_DIGITS = 5;
+
+	private OriginParser() {
+		super();
+	}
+
+	/**
+	 * Parses an origin
+	 * @param origin The origin
+	 * @return The location of the host within the origin, or {@link #INVALID} if the origin isn't valid
+	 */
+	public static long parse(@Nullable CharSequence origin) {
+		if (origin == null) {
+			return INVALID;
+		}
+
+		int start = trimmedStart(origin);
+		int end = trimmedEnd(origin, start);
+		int hostStart = hostStart(origin, start, end);
+		int hostEnd = hostStart;
+
+		if ((hostStart == start) && regionEqualsIgnoreCase(origin, start, end, OPAQUE_ORIGIN)) {
+			return INVALID;
+		}
+
+		if ((hostStart < end) && (origin.charAt(hostStart) == '[')) {
+			// IPv6 literal
+			while ((hostEnd < end) && (origin.charAt(hostEnd) != ']')) {
+				hostEnd++;
+			}
+
+			if (hostEnd == end) {
+				return INVALID;
+			}
+
+			hostEnd++;
+		}
+		else {
+			while ((hostEnd < end) && isHostChar(origin.charAt(hostEnd))) {
+				hostEnd++;
+			}
+		}
+
+		if (!isValidPort(origin, hostEnd, end)) {
+			return INVALID;
+		}
+
+		if ((hostEnd > hostStart) && (origin.charAt(hostEnd - 1) == '.')) {
+			hostEnd--;
+		}
+
+		return (hostEnd > hostStart) ? pack(hostStart, hostEnd) : INVALID;
+	}
+
+	/**
+	 * Gets the index of the first character of the host (inclusive)
+	 * @param parsed The result of {@link #parse(CharSequence)}
+	 * @return The index of the first character of the host
+	 */
+	public static int hostStart(long parsed) {
+		return (int) (parsed >>> 32);
+	}
+
+	/**
+	 * Gets the index of the last character of the host (exclusive)
+	 * @param parsed The result of {@link #parse(CharSequence)}
+	 * @return The index of the last character of the host
+	 */
+	public static int hostEnd(long parsed) {
+		return (int) parsed;
+	}
+
+	/**
+	 * Gets the port of an origin, which is either its explicit port or the default port of its scheme
+	 * @param origin The origin
+	 * @param parsed The result of {@link #parse(CharSequence) parsing} the origin
+	 * @return The port, or {@code -1} if the origin is invalid or has neither an explicit port nor a scheme with a known default port
+	 */
+	public static int port(CharSequence origin, long parsed) {
+		if (parsed == INVALID) {
+			return -1;
+		}
+
+		int start = trimmedStart(origin);
+		int end = trimmedEnd(origin, start);
+		int portStart = hostEnd(parsed);
+
+		// Skip the trailing dot dropped from the host
+		if ((portStart < end) && (origin.charAt(portStart) == '.')) {
+			portStart++;
+		}
+
+		if ((portStart < end) && (origin.charAt(portStart) == ':')) {
+			int port = 0;
+
+			for (int i = portStart + 1; i < end; i++) {
+				port = (port * 10) + (origin.charAt(i) - '0');
+			}
+
+			return port;
+		}
+
+		if (hasScheme(origin, parsed, "https")) {
+			return 443;
+		}
+		else if (hasScheme(origin, parsed, "http")) {
+			return 80;
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Whether or not an origin has a particular scheme
+	 * @param origin The origin
+	 * @param parsed The result of {@link #parse(CharSequence) parsing} the origin
+	 * @param scheme The scheme, in lower case (i.e. {@code https})
+	 * @return Whether or not the origin is valid and has the scheme, compared case-insensitively
+	 */
+	public static boolean hasScheme(CharSequence origin, long parsed, String scheme) {
+		if (parsed == INVALID) {
+			return false;
+		}
+
+		int start = trimmedStart(origin);
+		int schemeEnd = hostStart(parsed) - SCHEME_SEPARATOR.length();
+
+		return (schemeEnd > start) && regionEqualsIgnoreCase(origin, start, schemeEnd, scheme);
+	}
+
+	private static long pack(int hostStart, int hostEnd) {
+		return (((long) hostStart) << 32) | (hostEnd & 0xFFFFFFFFL);
+	}
+
+	private static int trimmedStart(CharSequence origin) {
+		int start = 0;
+
+		while ((start < origin.length()) && (origin.charAt(start) <= ' ')) {
+			start++;
+		}
+
+		return start;
+	}
+
+	private static int trimmedEnd(CharSequence origin, int start) {
+		int end = origin.length();
+
+		while ((end > start) && (origin.charAt(end - 1) <= ' ')) {
+			end--;
+		}
+
+		return end;
+	}
+
+	/**
+	 * Finds the start of the host, which is just after the {@code ://} following the scheme, or the start of the origin if there
+	 * isn't a scheme
+	 */
+	private static int hostStart(CharSequence origin, int start, int end) {
+		int i = start;
+
+		if ((i < end) && isAsciiLetter(origin.charAt(i))) {
+			i++;
+
+			while ((i < end) && isSchemeChar(origin.charAt(i))) {
+				i++;
+			}
+
+			if (((i + SCHEME_SEPARATOR.length()) <= end) &&
+				(origin.charAt(i) == ':') &&
+				(origin.charAt(i + 1) == '/') &&
+				(origin.charAt(i + 2) == '/')) {
+
+				return i + SCHEME_SEPARATOR.length();
+			}
+		}
+
+		return start;
+	}
+
+	/**
+	 * Whether or not whatever follows the host is either nothing or a valid {@code :port}
+	 */
+	private static boolean isValidPort(CharSequence origin, int hostEnd, int end) {
+		if (hostEnd == end) {
+			return true;
+		}
+
+		if (origin.charAt(hostEnd) != ':') {
+			return false;
+		}
+
+		int digits = end - hostEnd - 1;
+
+		if ((digits < 1) || (digits > MAX_PORT_DIGITS)) {
+			return false;
+		}
+
+		for (int i = hostEnd + 1; i < end; i++) {
+			char c = origin.charAt(i);
+
+			if ((c < '0') || (c > '9')) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	private static boolean regionEqualsIgnoreCase(CharSequence source, int start, int end, String value) {
+		if ((end - start) != value.length()) {
+			return false;
+		}
+
+		for (int i = 0; i < value.length(); i++) {
+			if (Character.toLowerCase(source.charAt(start + i)) != value.charAt(i)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	private static boolean isAsciiLetter(char c) {
+		return ((c >= 'a') && (c <= 'z')) || ((c >= 'A') && (c <= 'Z'));
+	}
+
+	private static boolean isSchemeChar(char c) {
+		return isAsciiLetter(c) || ((c >= '0') && (c <= '9')) || (c == '+') || (c == '-') || (c == '.');
+	}
+
+	private static boolean isHostChar(char c) {
+		return isAsciiLetter(c) || ((c >= '0') && (c <= '9')) || (c == '-') || (c == '.') || (c == '_');
+	}
+}
@@ -0,0 +1,192 @@
+package com.mycompany.myframework.service.security;
+
+import java.util.Objects;
+import java.util.UUID;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import org.springframework.lang.Nullable;
+import org.springframework.security.core.Authentication;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.mycompany.myframework.properties.config.MyFrameworkConfig.CacheConfig;
+import com.mycompany.myframework.service.cache.CaffeineCaches;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Short-lived cache of the decisions of a {@link org.springframework.security.access.PermissionEvaluator}, keyed by the name of the
+ * principal, the target (its id &amp; type, or the domain object itself) and the permission, so a {@code hasPermission(...)} check
+ * repeated by a caller doesn't go back to the entitlement store every time (see {@link CachingPermissionEvaluator}).
+ * <p>
+ *   Both grants &amp; denials are cached. Only targets &amp; permissions that are plain values (strings, primitive wrappers, enums
+ *   &amp; UUIDs) are cached, since those can safely be used as keys: a check against any other domain object always goes to the
+ *   evaluator. When the entitlements of a principal or a target change, the cached decisions can be dropped with
+ *   {@link #invalidatePrincipal(String)} &amp; {@link #invalidateTarget(Object, String)} rather than waiting for them to expire.
+ * </p>
+ */
+public class PermissionCache implements MeterBinder {
+	/**
+	 * Name of the cache, used as the {@code cache} tag of its metrics
+	 */
+	public static final String CACHE_NAME = "permissions";
+
+	private final Cache<Key, Boolean> cache;
+
+	public PermissionCache(CacheConfig cacheConfig) {
+		Assert.notNull(cacheConfig, "cacheConfig can not be null");
+		this.cache = CaffeineCaches.newBuilder(cacheConfig).build();
+	}
+
+	/**
+	 * Creates a {@link PermissionCache} if it is enabled
+	 * @param cacheConfig The {@link CacheConfig}
+	 * @return The {@link PermissionCache}, or {@code null} if the cache isn't {@link CacheConfig#isEnabled() enabled}
+	 */
+	@Nullable
+	public static PermissionCache createIfEnabled(CacheConfig cacheConfig) {
+		Assert.notNull(cacheConfig, "cacheConfig can not be null");
+		return cacheConfig.isEnabled() ? new PermissionCache(cacheConfig) : null;
+	}
+
+	/**
+	 * Gets a cached decision
+	 * @param authentication The {@link Authentication} whose permission is checked
+	 * @param target The id of the target, or the target domain object itself if {@code targetType} is {@code null}
+	 * @param targetType The type of the target, or {@code null} if {@code target} is the domain object
+	 * @param permission The permission
+	 * @return Whether or not the permission was granted, or {@code null} if there isn't a cached decision
+	 */
+	@Nullable
+	public Boolean get(@Nullable Authentication authentication, @Nullable Object target, @Nullable String targetType, @Nullable Object permission) {
+		Key key = Key.of(authentication, target, targetType, permission);
+		return (key != null) ? this.cache.getIfPresent(key) : null;
+	}
+
+	/**
+	 * Caches a decision, if its target &amp; permission can be cached
+	 * @param authentication The {@link Authentication} whose permission was checked
+	 * @param target The id of the target, or the target domain object itself if {@code targetType} is {@code null}
+	 * @param targetType The type of the target, or {@code null} if {@code target} is the domain object
+	 * @param permission The permission
+	 * @param granted Whether or not the permission was granted
+	 */
+	public void put(@Nullable Authentication authentication, @Nullable Object target, @Nullable String targetType, @Nullable Object permission, boolean granted) {
+		Key key = Key.of(authentication, target, targetType, permission);
+
+		if (key != null) {
+			this.cache.put(key, granted);
+		}
+	}
+
+	/**
+	 * Removes the cached decisions of a principal, i.e. after its entitlements have changed
+	 * @param principal The name of the principal
+	 */
+	public void invalidatePrincipal(String principal) {
+		Assert.notNull(principal, "principal can not be null");
+		this.cache.asMap().keySet().removeIf(key -> key.principal.equals(principal));
+	}
+
+	/**
+	 * Removes the cached decisions about a target, i.e. after the entitlements to it have changed
+	 * @param target The id of the target, or the target domain object itself if {@code targetType} is {@code null}
+	 * @param targetType The type of the target, or {@code null} if {@code target} is the domain object
+	 */
+	public void invalidateTarget(@Nullable Object target, @Nullable String targetType) {
+		this.cache.asMap().keySet().removeIf(key -> Objects.equals(key.target, target) && Objects.equals(key.targetType, targetType));
+	}
+
+	/**
+	 * Removes all the cached decisions
+	 */
+	public void invalidateAll() {
+		this.cache.invalidateAll();
+	}
+
+	/**
+	 * Gets the statistics of the cache
+	 * @return The {@link CacheStats}
+	 */
+	public CacheStats stats() {
+		return this.cache.stats();
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		CaffeineCacheMetrics.monitor(registry, this.cache, CACHE_NAME);
+	}
+
+	private static boolean isValue(@Nullable Object value) {
+		return (value == null) ||
+			(value instanceof String) ||
+			(value instanceof Enum) ||
+			(value instanceof UUID) ||
+			ClassUtils.isPrimitiveWrapper(value.getClass());
+	}
+
+	private static final class Key {
+		private final String principal;
+
+		@Nullable
+		private final Object target;
+
+		@Nullable
+		private final String targetType;
+
+		private final Object permission;
+
+		private Key(String principal, @Nullable Object target, @Nullable String targetType, Object permission) {
+			this.principal = principal;
+			this.target = target;
+			this.targetType = targetType;
+			this.permission = permission;
+		}
+
+		@Nullable
+		private static Key of(@Nullable Authentication authentication, @Nullable Object target, @Nullable String targetType, @Nullable Object permission) {
+			if ((authentication == null) || (authentication.getName() == null) || (permission == null) || !isValue(target) || !isValue(permission)) {
+				return null;
+			}
+
+			return new Key(authentication.getName(), target, targetType, permission);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+
+			Key other = (Key) obj;
+
+			return this.principal.equals(other.principal) &&
+				Objects.equals(this.target, other.target) &&
+				Objects.equals(this.targetType, other.targetType) &&
+				this.permission.equals(other.permission);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(this.principal, this.target, this.targetType, this.permission);
+		}
+
+		@Override
+		public String toString() {
+			return new ToStringBuilder(this)
+				.append("principal", this.principal)
+				.append("target", this.target)
+				.append("targetType", this.targetType)
+				.append("permission", this.permission)
+				.toString();
+		}
+	}
+}
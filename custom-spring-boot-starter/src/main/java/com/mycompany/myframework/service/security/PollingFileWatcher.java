@@ -0,0 +1,106 @@
+package com.mycompany.myframework.service.security;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+
+/**
+ * Base class for watching a file by polling it: every check interval it {@link #readVersion() reads the file's version}, and
+ * {@link #reload() reloads} the file when the version differs from the one last loaded.
+ * <p>
+ *   Checking &amp; reloading happen on a single background daemon thread, never on a request thread. A reload failing with an
+ *   {@link UncheckedIOException} keeps whatever is currently loaded, and the next check tries again.
+ * </p>
+ */
+public abstract class PollingFileWatcher implements InitializingBean, DisposableBean {
+	private final Logger logger = LoggerFactory.getLogger(getClass());
+	private final String name;
+	private final Duration checkInterval;
+
+	@Nullable
+	private ScheduledExecutorService executor;
+
+	@Nullable
+	private volatile Object lastVersion;
+
+	/**
+	 * Constructs an instance
+	 * @param name What is watched, i.e. {@code user-directory}, naming the background thread &amp; the log messages
+	 * @param checkInterval How often the file is checked for changes
+	 */
+	protected PollingFileWatcher(String name, Duration checkInterval) {
+		Assert.hasText(name, "name can not be empty");
+		Assert.notNull(checkInterval, "checkInterval can not be null");
+		Assert.isTrue(!checkInterval.isNegative() && !checkInterval.isZero(), "checkInterval must be positive");
+		this.name = name;
+		this.checkInterval = checkInterval;
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		this.lastVersion = readVersion();
+
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(String.format("%s-watcher-", this.name));
+		threadFactory.setDaemon(true);
+
+		long intervalMillis = this.checkInterval.toMillis();
+		this.executor = Executors.newSingleThreadScheduledExecutor(threadFactory);
+		this.executor.scheduleWithFixedDelay(this::checkForChanges, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+	}
+
+	@Override
+	public void destroy() {
+		if (this.executor != null) {
+			this.executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Checks the file for changes, reloading it if it has changed
+	 * @return {@code true} if the file was reloaded
+	 */
+	public boolean checkForChanges() {
+		Object version = readVersion();
+
+		if ((version == null) || Objects.equals(version, this.lastVersion)) {
+			return false;
+		}
+
+		try {
+			reload();
+			this.lastVersion = version;
+
+			return true;
+		}
+		catch (UncheckedIOException ex) {
+			this.logger.warn(String.format("Unable to reload the %s (version %s), keeping the current one", this.name, version), ex);
+			return false;
+		}
+	}
+
+	/**
+	 * Reads the current version of the watched file, i.e. its location &amp; last-modified time
+	 * @return The version, which only needs to be comparable with {@link Object#equals(Object)}, or {@code null} if there is nothing to
+	 * watch or the version can't be determined right now
+	 */
+	@Nullable
+	protected abstract Object readVersion();
+
+	/**
+	 * Reloads the watched file
+	 * @throws UncheckedIOException If the file can't be loaded, in which case what is currently loaded must be kept
+	 */
+	protected abstract void reload();
+}
@@ -0,0 +1,256 @@
+package com.mycompany.myframework.service.security;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.web.cors.CorsConfiguration;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.mycompany.myframework.properties.config.MyFrameworkConfig.CacheConfig;
+import com.mycompany.myframework.service.cache.CaffeineCaches;
+
+/**
+ * Cache of the complete outcome of a CORS pre-flight request, so that a repeated pre-flight can be answered without running
+ * the {@link org.springframework.web.cors.CorsProcessor CORS processor} again.
+ * <p>
+ *   Entries are keyed by the origin, the requested method &amp; headers, the scheme/host/port the request was sent to (which
+ *   determines whether or not the request is same-origin), and the values of the {@link CorsConfiguration} the request was
+ *   processed against, so a configuration rebuilt for every request (i.e. when the decision cache is disabled) still hits the
+ *   cache. The cached value is the set of CORS response headers the processor wrote.
+ * </p>
+ */
+public class PreflightResponseCache {
+	/**
+	 * The CORS response headers captured &amp; replayed by the cache
+	 */
+	public static final List<String> CORS_RESPONSE_HEADERS = Collections.unmodifiableList(Arrays.asList(
+		HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN,
+		HttpHeaders.ACCESS_CONTROL_ALLOW_METHODS,
+		HttpHeaders.ACCESS_CONTROL_ALLOW_HEADERS,
+		HttpHeaders.ACCESS_CONTROL_ALLOW_CREDENTIALS,
+		HttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS,
+		HttpHeaders.ACCESS_CONTROL_MAX_AGE
+	));
+
+	private final Cache<PreflightKey, PreflightResponse> cache;
+
+	public PreflightResponseCache(CacheConfig cacheConfig) {
+		Assert.notNull(cacheConfig, "cacheConfig can not be null");
+		this.cache = CaffeineCaches.newBuilder(cacheConfig).build();
+	}
+
+	/**
+	 * Creates a {@link PreflightResponseCache} if it is enabled
+	 * @param cacheConfig The {@link CacheConfig}
+	 * @return The {@link PreflightResponseCache}, or {@code null} if the cache isn't {@link CacheConfig#isEnabled() enabled}
+	 */
+	@Nullable
+	public static PreflightResponseCache createIfEnabled(CacheConfig cacheConfig) {
+		Assert.notNull(cacheConfig, "cacheConfig can not be null");
+		return cacheConfig.isEnabled() ? new PreflightResponseCache(cacheConfig) : null;
+	}
+
+	/**
+	 * Gets a cached pre-flight response
+	 * @param key The {@link PreflightKey}
+	 * @return The cached {@link PreflightResponse}, or {@code null} if there isn't one
+	 */
+	@Nullable
+	public PreflightResponse get(PreflightKey key) {
+		return this.cache.getIfPresent(key);
+	}
+
+	/**
+	 * Caches a pre-flight response
+	 * @param key The {@link PreflightKey}
+	 * @param response The {@link PreflightResponse}
+	 */
+	public void put(PreflightKey key, PreflightResponse response) {
+		this.cache.put(key, response);
+	}
+
+	/**
+	 * Removes all the cached pre-flight responses
+	 */
+	public void invalidateAll() {
+		this.cache.invalidateAll();
+	}
+
+	/**
+	 * Gets the statistics of the cache
+	 * @return The {@link CacheStats}
+	 */
+	public CacheStats stats() {
+		return this.cache.stats();
+	}
+
+	/**
+	 * Key of a cached pre-flight response
+	 */
+	public static final class PreflightKey {
+		private final String origin;
+
+		@Nullable
+		private final String requestMethod;
+
+		private final List<String> requestHeaders;
+		private final String scheme;
+		private final String host;
+		private final int port;
+
+		@Nullable
+		private final Object policy;
+
+		@Nullable
+		private final ImmutableCorsConfiguration corsConfiguration;
+
+		/**
+		 * Constructs a key
+		 * @param origin The value of the {@code Origin} request header
+		 * @param requestMethod The value of the {@code Access-Control-Request-Method} request header
+		 * @param requestHeaders The values of the {@code Access-Control-Request-Headers} request header
+		 * @param scheme The scheme the request was sent to
+		 * @param host The host the request was sent to
+		 * @param port The port the request was sent to
+		 * @param corsConfiguration The {@link CorsConfiguration} the request is processed against. Compared by its values.
+		 */
+		public PreflightKey(String origin, @Nullable String requestMethod, @Nullable List<String> requestHeaders, @Nullable String scheme, @Nullable String host, int port, @Nullable CorsConfiguration corsConfiguration) {
+			this(origin, requestMethod, requestHeaders, scheme, host, port, null, corsConfiguration);
+		}
+
+		/**
+		 * Constructs a key
+		 * @param origin The value of the {@code Origin} request header
+		 * @param requestMethod The value of the {@code Access-Control-Request-Method} request header
+		 * @param requestHeaders The values of the {@code Access-Control-Request-Headers} request header
+		 * @param scheme The scheme the request was sent to
+		 * @param host The host the request was sent to
+		 * @param port The port the request was sent to
+		 * @param policy Anything else, besides the {@link CorsConfiguration}, that determines the outcome. Compared by identity.
+		 * @param corsConfiguration The {@link CorsConfiguration} the request is processed against. Compared by its values.
+		 */
+		public PreflightKey(String origin, @Nullable String requestMethod, @Nullable List<String> requestHeaders, @Nullable String scheme, @Nullable String host, int port, @Nullable Object policy, @Nullable CorsConfiguration corsConfiguration) {
+			Assert.notNull(origin, "origin can not be null");
+			this.origin = origin;
+			this.requestMethod = requestMethod;
+			this.requestHeaders = (requestHeaders != null) ? requestHeaders : Collections.emptyList();
+			this.scheme = Objects.toString(scheme, "");
+			this.host = Objects.toString(host, "");
+			this.port = port;
+			this.policy = policy;
+
+			// The configurations built by the allowed domains sources are already immutable, so this only copies a delegate's own
+			this.corsConfiguration = (corsConfiguration != null) ? ImmutableCorsConfiguration.copyOf(corsConfiguration) : null;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+
+			if (!(obj instanceof PreflightKey)) {
+				return false;
+			}
+
+			PreflightKey other = (PreflightKey) obj;
+
+			return (this.policy == other.policy) &&
+				(this.port == other.port) &&
+				this.origin.equals(other.origin) &&
+				Objects.equals(this.requestMethod, other.requestMethod) &&
+				this.requestHeaders.equals(other.requestHeaders) &&
+				this.host.equals(other.host) &&
+				this.scheme.equals(other.scheme) &&
+				Objects.equals(this.corsConfiguration, other.corsConfiguration);
+		}
+
+		@Override
+		public int hashCode() {
+			int result = this.origin.hashCode();
+			result = (31 * result) + Objects.hashCode(this.requestMethod);
+			result = (31 * result) + this.requestHeaders.hashCode();
+			result = (31 * result) + this.scheme.hashCode();
+			result = (31 * result) + this.host.hashCode();
+			result = (31 * result) + this.port;
+			result = (31 * result) + System.identityHashCode(this.policy);
+			result = (31 * result) + Objects.hashCode(this.corsConfiguration);
+
+			return result;
+		}
+	}
+
+	/**
+	 * The cached outcome of a pre-flight request
+	 */
+	public static final class PreflightResponse {
+		private final boolean accepted;
+		private final List<String> varyHeaders;
+		private final Map<String, List<String>> corsHeaders;
+
+		private PreflightResponse(boolean accepted, List<String> varyHeaders, Map<String, List<String>> corsHeaders) {
+			this.accepted = accepted;
+			this.varyHeaders = varyHeaders;
+			this.corsHeaders = corsHeaders;
+		}
+
+		/**
+		 * Captures the outcome of a pre-flight request from the response headers the CORS processor wrote
+		 * @param accepted Whether or not the request was accepted
+		 * @param varyHeadersBefore The values of the {@code Vary} response header before the request was processed
+		 * @param headerValues Returns all the values of a response header
+		 * @return The {@link PreflightResponse}
+		 */
+		public static PreflightResponse capture(boolean accepted, Collection<String> varyHeadersBefore, Function<String, Collection<String>> headerValues) {
+			List<String> varyHeaders = new ArrayList<>(Objects.requireNonNull(headerValues.apply(HttpHeaders.VARY)));
+			varyHeaders.removeAll(varyHeadersBefore);
+
+			Map<String, List<String>> corsHeaders = new LinkedHashMap<>();
+
+			CORS_RESPONSE_HEADERS.forEach(headerName -> {
+				Collection<String> values = headerValues.apply(headerName);
+
+				if ((values != null) && !values.isEmpty()) {
+					corsHeaders.put(headerName, Collections.unmodifiableList(new ArrayList<>(values)));
+				}
+			});
+
+			return new PreflightResponse(accepted, Collections.unmodifiableList(varyHeaders), Collections.unmodifiableMap(corsHeaders));
+		}
+
+		/**
+		 * Whether or not the pre-flight request was accepted
+		 * @return Whether or not the pre-flight request was accepted
+		 */
+		public boolean isAccepted() {
+			return this.accepted;
+		}
+
+		/**
+		 * Replays the captured response headers
+		 * @param existingVaryHeaders The values of the {@code Vary} response header already on the response
+		 * @param headerAdder Adds a value to a response header
+		 */
+		public void replay(Collection<String> existingVaryHeaders, BiConsumer<String, String> headerAdder) {
+			for (String varyHeader : this.varyHeaders) {
+				if (!existingVaryHeaders.contains(varyHeader)) {
+					headerAdder.accept(HttpHeaders.VARY, varyHeader);
+				}
+			}
+
+			this.corsHeaders.forEach((headerName, values) -> values.forEach(value -> headerAdder.accept(headerName, value)));
+		}
+	}
+}
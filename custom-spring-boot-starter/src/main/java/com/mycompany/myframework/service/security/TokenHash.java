@@ -0,0 +1,39 @@
+package com.mycompany.myframework.service.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+/**
+ * SHA-256 hash of a bearer token, used to key the token caches so they don't hold the token itself as a key
+ */
+final class TokenHash {
+	private final byte[] hash;
+	private final int hashCode;
+
+	private TokenHash(byte[] hash) {
+		this.hash = hash;
+		this.hashCode = Arrays.hashCode(hash);
+	}
+
+	static TokenHash of(String token) {
+		try {
+			return new TokenHash(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+		}
+		catch (NoSuchAlgorithmException ex) {
+			// Every JVM is required to support SHA-256
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		return (this == obj) || ((obj instanceof TokenHash) && Arrays.equals(this.hash, ((TokenHash) obj).hash));
+	}
+
+	@Override
+	public int hashCode() {
+		return this.hashCode;
+	}
+}
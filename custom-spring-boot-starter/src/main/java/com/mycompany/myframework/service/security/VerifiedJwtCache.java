@@ -0,0 +1,89 @@
+package com.mycompany.myframework.service.security;
+
+import org.springframework.lang.Nullable;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.util.Assert;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.mycompany.myframework.properties.config.MyFrameworkConfig.CacheConfig;
+import com.mycompany.myframework.service.cache.CaffeineCaches;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Cache of the {@link Jwt}s whose signature &amp; claims have already been verified, so a token a client reuses across many calls
+ * only goes through RSA/EC signature verification once.
+ * <p>
+ *   Tokens are keyed by a SHA-256 hash of the token, and an entry expires when its token does (or after the configured
+ *   time-to-live, whichever comes first), so an expired token is never answered from the cache. Only tokens that passed
+ *   verification are ever {@link #put(Jwt) put} in the cache.
+ * </p>
+ */
+public class VerifiedJwtCache implements MeterBinder {
+	/**
+	 * Name of the cache, used as the {@code cache} tag of its metrics
+	 */
+	public static final String CACHE_NAME = "verifiedJwts";
+
+	private final Cache<TokenHash, Jwt> cache;
+
+	public VerifiedJwtCache(CacheConfig cacheConfig) {
+		Assert.notNull(cacheConfig, "cacheConfig can not be null");
+		this.cache = CaffeineCaches.<TokenHash, Jwt>newExpiringBuilder(cacheConfig, Jwt::getExpiresAt).build();
+	}
+
+	/**
+	 * Creates a {@link VerifiedJwtCache} if it is enabled
+	 * @param cacheConfig The {@link CacheConfig}
+	 * @return The {@link VerifiedJwtCache}, or {@code null} if the cache isn't {@link CacheConfig#isEnabled() enabled}
+	 */
+	@Nullable
+	public static VerifiedJwtCache createIfEnabled(CacheConfig cacheConfig) {
+		Assert.notNull(cacheConfig, "cacheConfig can not be null");
+		return cacheConfig.isEnabled() ? new VerifiedJwtCache(cacheConfig) : null;
+	}
+
+	/**
+	 * Gets the verified {@link Jwt} of a token
+	 * @param token The encoded token
+	 * @return The verified {@link Jwt}, or {@code null} if the token hasn't been verified or has expired
+	 */
+	@Nullable
+	public Jwt get(String token) {
+		Assert.notNull(token, "token can not be null");
+		Jwt jwt = this.cache.getIfPresent(TokenHash.of(token));
+
+		return ((jwt != null) && jwt.getTokenValue().equals(token)) ? jwt : null;
+	}
+
+	/**
+	 * Caches a verified {@link Jwt}
+	 * @param jwt The {@link Jwt}, which must have passed signature &amp; claims verification
+	 */
+	public void put(Jwt jwt) {
+		Assert.notNull(jwt, "jwt can not be null");
+		this.cache.put(TokenHash.of(jwt.getTokenValue()), jwt);
+	}
+
+	/**
+	 * Removes all the cached tokens
+	 */
+	public void invalidateAll() {
+		this.cache.invalidateAll();
+	}
+
+	/**
+	 * Gets the statistics of the cache
+	 * @return The {@link CacheStats}
+	 */
+	public CacheStats stats() {
+		return this.cache.stats();
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		CaffeineCacheMetrics.monitor(registry, this.cache, CACHE_NAME);
+	}
+}
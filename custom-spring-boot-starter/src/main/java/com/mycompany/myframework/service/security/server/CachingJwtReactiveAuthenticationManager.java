@@ -0,0 +1,37 @@
+package com.mycompany.myframework.service.security.server;
+
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.util.Assert;
+
+import com.mycompany.myframework.service.security.JwtAuthenticationCache;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link ReactiveAuthenticationManager} answering repeat bearer tokens from a {@link JwtAuthenticationCache}, so a token a client
+ * reuses doesn't go through the {@link org.springframework.security.oauth2.server.resource.authentication.JwtReactiveAuthenticationManager}
+ * (and its decoding &amp; claims conversion) on every request. Tokens that miss the cache are authenticated by the delegate, and the
+ * successful ones cached.
+ */
+public class CachingJwtReactiveAuthenticationManager implements ReactiveAuthenticationManager {
+	private final ReactiveAuthenticationManager delegate;
+	private final JwtAuthenticationCache authenticationCache;
+
+	public CachingJwtReactiveAuthenticationManager(ReactiveAuthenticationManager delegate, JwtAuthenticationCache authenticationCache) {
+		Assert.notNull(delegate, "delegate can not be null");
+		Assert.notNull(authenticationCache, "authenticationCache can not be null");
+		this.delegate = delegate;
+		this.authenticationCache = authenticationCache;
+	}
+
+	@Override
+	public Mono<Authentication> authenticate(Authentication authentication) {
+		return Mono.defer(() -> {
+			Authentication cachedAuthentication = this.authenticationCache.get(authentication);
+
+			return (cachedAuthentication != null) ?
+				Mono.just(cachedAuthentication) :
+				this.delegate.authenticate(authentication).doOnNext(result -> this.authenticationCache.put(authentication, result));
+		});
+	}
+}
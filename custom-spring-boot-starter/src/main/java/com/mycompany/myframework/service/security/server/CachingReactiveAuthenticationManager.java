@@ -0,0 +1,37 @@
+package com.mycompany.myframework.service.security.server;
+
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.util.Assert;
+
+import com.mycompany.myframework.service.security.AuthenticationCache;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link ReactiveAuthenticationManager} answering repeat authentication requests from an {@link AuthenticationCache}, so a repeat
+ * caller of the stateless {@link org.springframework.security.web.server.authentication.AuthenticationWebFilter} doesn't go through
+ * the {@link org.springframework.security.core.userdetails.ReactiveUserDetailsService} on every request. Requests that miss the cache
+ * are authenticated by the delegate, and the successful ones cached.
+ */
+public class CachingReactiveAuthenticationManager implements ReactiveAuthenticationManager {
+	private final ReactiveAuthenticationManager delegate;
+	private final AuthenticationCache authenticationCache;
+
+	public CachingReactiveAuthenticationManager(ReactiveAuthenticationManager delegate, AuthenticationCache authenticationCache) {
+		Assert.notNull(delegate, "delegate can not be null");
+		Assert.notNull(authenticationCache, "authenticationCache can not be null");
+		this.delegate = delegate;
+		this.authenticationCache = authenticationCache;
+	}
+
+	@Override
+	public Mono<Authentication> authenticate(Authentication authentication) {
+		return Mono.defer(() -> {
+			Authentication cachedAuthentication = this.authenticationCache.get(authentication);
+
+			return (cachedAuthentication != null) ?
+				Mono.just(cachedAuthentication) :
+				this.delegate.authenticate(authentication).doOnNext(result -> this.authenticationCache.put(authentication, result));
+		});
+	}
+}
@@ -0,0 +1,35 @@
+package com.mycompany.myframework.service.security.server;
+
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import org.springframework.util.Assert;
+
+import com.mycompany.myframework.service.security.VerifiedJwtCache;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link ReactiveJwtDecoder} answering tokens that have already been verified from a {@link VerifiedJwtCache}, so the delegate only
+ * verifies the signature of a token the first time it is seen. Tokens that fail verification aren't cached, so they fail every time.
+ */
+public class CachingReactiveJwtDecoder implements ReactiveJwtDecoder {
+	private final ReactiveJwtDecoder delegate;
+	private final VerifiedJwtCache verifiedJwtCache;
+
+	public CachingReactiveJwtDecoder(ReactiveJwtDecoder delegate, VerifiedJwtCache verifiedJwtCache) {
+		Assert.notNull(delegate, "delegate can not be null");
+		Assert.notNull(verifiedJwtCache, "verifiedJwtCache can not be null");
+		this.delegate = delegate;
+		this.verifiedJwtCache = verifiedJwtCache;
+	}
+
+	@Override
+	public Mono<Jwt> decode(String token) {
+		return Mono.defer(() -> {
+			Jwt cachedJwt = this.verifiedJwtCache.get(token);
+
+			return (cachedJwt != null) ?
+				Mono.just(cachedJwt) :
+				this.delegate.decode(token).doOnNext(this.verifiedJwtCache::put);
+		});
+	}
+}
@@ -0,0 +1,122 @@
+package com.mycompany.myframework.service.security.server;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.util.Assert;
+
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.mycompany.myframework.properties.config.MyFrameworkConfig.RefreshingCacheConfig;
+import com.mycompany.myframework.service.cache.CaffeineCaches;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link ReactiveUserDetailsService} caching the users found by another {@link ReactiveUserDetailsService}, so a user isn't looked
+ * up on every request.
+ * <p>
+ *   The cache holds the pending lookup rather than the user, so concurrent requests for a user that isn't cached yet share a single
+ *   lookup instead of each subscribing to the delegate. Users are kept for the configured time-to-live, and if
+ *   {@link RefreshingCacheConfig#getRefreshAfterWrite()} is set are looked up again in the background once they are older than that,
+ *   while the cached user keeps being returned. A user that is no longer found when refreshed is removed. Users that aren't found
+ *   (either an empty {@link Mono} or an error) aren't cached.
+ * </p>
+ * <p>
+ *   Each subscriber gets its own copy of a cached {@link User}, so erasing the credentials of an authenticated user doesn't erase
+ *   them from the cache.
+ * </p>
+ */
+public class CachingReactiveUserDetailsService implements ReactiveUserDetailsService, MeterBinder {
+	/**
+	 * Name of the cache, used as the {@code cache} tag of its metrics
+	 */
+	public static final String CACHE_NAME = "reactiveUserDetails";
+
+	private final ReactiveUserDetailsService delegate;
+	private final AsyncLoadingCache<String, UserDetails> cache;
+
+	public CachingReactiveUserDetailsService(ReactiveUserDetailsService delegate, RefreshingCacheConfig cacheConfig) {
+		Assert.notNull(delegate, "delegate can not be null");
+		Assert.notNull(cacheConfig, "cacheConfig can not be null");
+		this.delegate = delegate;
+		this.cache = CaffeineCaches.newLoadingBuilder(cacheConfig).buildAsync(new UserDetailsLoader(delegate));
+	}
+
+	/**
+	 * Decorates a {@link ReactiveUserDetailsService} with a cache if it is enabled
+	 * @param delegate The {@link ReactiveUserDetailsService} finding the users
+	 * @param cacheConfig The {@link RefreshingCacheConfig}
+	 * @return The {@link CachingReactiveUserDetailsService}, or the delegate if the cache isn't {@link RefreshingCacheConfig#isEnabled() enabled}
+	 */
+	public static ReactiveUserDetailsService decorateIfEnabled(ReactiveUserDetailsService delegate, RefreshingCacheConfig cacheConfig) {
+		Assert.notNull(cacheConfig, "cacheConfig can not be null");
+		return cacheConfig.isEnabled() ? new CachingReactiveUserDetailsService(delegate, cacheConfig) : delegate;
+	}
+
+	@Override
+	public Mono<UserDetails> findByUsername(String username) {
+		if (username == null) {
+			// Caffeine doesn't allow null keys, and there's nothing worth caching
+			return this.delegate.findByUsername(username);
+		}
+
+		// Deferred so the cache is only consulted when subscribed to, like the delegate would be
+		return Mono.defer(() -> Mono.fromFuture(this.cache.get(username)))
+			.map(CachingReactiveUserDetailsService::copyOf);
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		CaffeineCacheMetrics.monitor(registry, this.cache.synchronous(), CACHE_NAME);
+	}
+
+	/**
+	 * Removes all the cached users
+	 */
+	public void invalidateAll() {
+		this.cache.synchronous().invalidateAll();
+	}
+
+	/**
+	 * Gets the statistics of the cache
+	 * @return The {@link CacheStats}
+	 */
+	public CacheStats stats() {
+		return this.cache.synchronous().stats();
+	}
+
+	private static UserDetails copyOf(UserDetails userDetails) {
+		return ((userDetails instanceof CredentialsContainer) && (userDetails.getPassword() != null)) ? User.withUserDetails(userDetails).build() : userDetails;
+	}
+
+	private static final class UserDetailsLoader implements AsyncCacheLoader<String, UserDetails> {
+		private final ReactiveUserDetailsService delegate;
+
+		private UserDetailsLoader(ReactiveUserDetailsService delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public CompletableFuture<UserDetails> asyncLoad(String username, Executor executor) {
+			// An empty Mono completes the future with null, which Caffeine doesn't cache
+			return this.delegate.findByUsername(username).toFuture();
+		}
+
+		@Override
+		public CompletableFuture<UserDetails> asyncReload(String username, UserDetails oldUserDetails, Executor executor) {
+			// Completing with null removes the entry, rather than keeping a user that no longer exists
+			return this.delegate.findByUsername(username)
+				.onErrorResume(UsernameNotFoundException.class, ex -> Mono.empty())
+				.toFuture();
+		}
+	}
+}
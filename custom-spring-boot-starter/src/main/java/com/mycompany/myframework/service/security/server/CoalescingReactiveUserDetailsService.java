@@ -0,0 +1,133 @@
+package com.mycompany.myframework.service.security.server;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.util.Assert;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link ReactiveUserDetailsService} giving single-flight semantics to another {@link ReactiveUserDetailsService}: concurrent
+ * lookups of the same username share one in-flight lookup, so a burst of requests from one user costs the delegate a single call.
+ * <p>
+ *   The in-flight lookup is shared until it completes, then forgotten, so nothing is cached beyond the lifetime of the lookup itself
+ *   (use {@link CachingReactiveUserDetailsService} for that). Every subscriber that joined the lookup gets the same outcome: the same
+ *   user, the same empty result, or the same error. A subscriber cancelling doesn't cancel the lookup for the others.
+ * </p>
+ * <p>
+ *   Once {@link #bindTo(MeterRegistry) bound}, the lookups are counted by {@link #LOOKUPS_METRIC}, tagged by whether they were
+ *   {@link #COALESCED_TAG coalesced} into one already in flight, and the share of coalesced lookups is published as
+ *   {@link #COALESCING_RATIO_METRIC}.
+ * </p>
+ */
+public class CoalescingReactiveUserDetailsService implements ReactiveUserDetailsService, MeterBinder {
+	/**
+	 * Name of the lookup counters, tagged with {@link #COALESCED_TAG}
+	 */
+	public static final String LOOKUPS_METRIC = "user.details.lookups";
+
+	/**
+	 * Name of the gauge of the share of lookups that were coalesced into one already in flight, between {@code 0} &amp; {@code 1}
+	 */
+	public static final String COALESCING_RATIO_METRIC = "user.details.lookups.coalescing.ratio";
+
+	public static final String COALESCED_TAG = "coalesced";
+
+	private final ReactiveUserDetailsService delegate;
+	private final ConcurrentMap<String, InFlightLookup> inFlightLookups = new ConcurrentHashMap<>();
+	private final LongAdder startedLookups = new LongAdder();
+	private final LongAdder coalescedLookups = new LongAdder();
+
+	public CoalescingReactiveUserDetailsService(ReactiveUserDetailsService delegate) {
+		Assert.notNull(delegate, "delegate can not be null");
+		this.delegate = delegate;
+	}
+
+	@Override
+	public Mono<UserDetails> findByUsername(String username) {
+		if (username == null) {
+			return this.delegate.findByUsername(username);
+		}
+
+		// Deferred so the lookup is joined (or started) when subscribed to, not when assembled
+		return Mono.defer(() -> {
+			InFlightLookup inFlightLookup = this.inFlightLookups.get(username);
+
+			if (inFlightLookup == null) {
+				InFlightLookup newLookup = new InFlightLookup(username);
+				inFlightLookup = this.inFlightLookups.putIfAbsent(username, newLookup);
+
+				if (inFlightLookup == null) {
+					this.startedLookups.increment();
+					return newLookup.result;
+				}
+			}
+
+			this.coalescedLookups.increment();
+			return inFlightLookup.result;
+		});
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		FunctionCounter.builder(LOOKUPS_METRIC, this.startedLookups, LongAdder::doubleValue)
+			.description("The number of user lookups")
+			.tag(COALESCED_TAG, "false")
+			.register(registry);
+
+		FunctionCounter.builder(LOOKUPS_METRIC, this.coalescedLookups, LongAdder::doubleValue)
+			.description("The number of user lookups")
+			.tag(COALESCED_TAG, "true")
+			.register(registry);
+
+		Gauge.builder(COALESCING_RATIO_METRIC, this, CoalescingReactiveUserDetailsService::getCoalescingRatio)
+			.description("The share of user lookups that were coalesced into a lookup of the same user already in flight")
+			.register(registry);
+	}
+
+	/**
+	 * Gets the number of lookups
+	 * @return The number of lookups, including the coalesced ones
+	 */
+	public long getLookupCount() {
+		return this.startedLookups.sum() + this.coalescedLookups.sum();
+	}
+
+	/**
+	 * Gets the number of lookups that were coalesced into one already in flight
+	 * @return The number of coalesced lookups
+	 */
+	public long getCoalescedLookupCount() {
+		return this.coalescedLookups.sum();
+	}
+
+	/**
+	 * Gets the share of lookups that were coalesced into one already in flight
+	 * @return The coalescing ratio, between {@code 0} &amp; {@code 1}
+	 */
+	public double getCoalescingRatio() {
+		long coalescedLookupCount = this.coalescedLookups.sum();
+		long lookupCount = this.startedLookups.sum() + coalescedLookupCount;
+
+		return (lookupCount == 0) ? 0 : ((double) coalescedLookupCount / lookupCount);
+	}
+
+	private final class InFlightLookup {
+		private final Mono<UserDetails> result;
+
+		private InFlightLookup(String username) {
+			// Forgotten once the delegate terminates, after the outcome has been cached for everyone that joined
+			this.result = CoalescingReactiveUserDetailsService.this.delegate.findByUsername(username)
+				.doFinally(signalType -> CoalescingReactiveUserDetailsService.this.inFlightLookups.remove(username, this))
+				.cache();
+		}
+	}
+}
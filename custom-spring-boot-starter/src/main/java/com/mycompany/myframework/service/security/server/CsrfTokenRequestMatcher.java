@@ -0,0 +1,105 @@
+package com.mycompany.myframework.service.security.server;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.util.Assert;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+/**
+ * Decides whether a request can use a CSRF token, so {@link ServerCsrfTokenSubscribingResponseModifier} only generates &amp; writes
+ * the {@code XSRF-TOKEN} cookie for the requests that can, rather than for every API call.
+ * <p>
+ *   A request matches if it accepts {@code text/html} (a browser navigating to a page), if it carries an {@code Origin} header (a
+ *   script running in a browser), or if its path matches one of the configured path patterns. Each of the first two checks can be
+ *   switched off. The checks only look at the raw headers, so deciding allocates nothing.
+ * </p>
+ * <p>
+ *   The framework's own {@code SecurityWebFilterChain}s disable CSRF, so there is no token to defer unless the application enables
+ *   CSRF in its own chain.
+ * </p>
+ */
+public class CsrfTokenRequestMatcher implements Predicate<ServerWebExchange> {
+	private static final String HTML_MEDIA_TYPE = "text/html";
+
+	private final boolean matchBrowserAccept;
+	private final boolean matchOrigin;
+	private final List<PathPattern> pathPatterns;
+
+	/**
+	 * Constructs an instance
+	 * @param matchBrowserAccept Whether or not a request accepting {@code text/html} matches
+	 * @param matchOrigin Whether or not a request carrying an {@code Origin} header matches
+	 * @param pathPatterns The path patterns of the requests that always match
+	 */
+	public CsrfTokenRequestMatcher(boolean matchBrowserAccept, boolean matchOrigin, Collection<String> pathPatterns) {
+		Assert.notNull(pathPatterns, "pathPatterns can not be null");
+		this.matchBrowserAccept = matchBrowserAccept;
+		this.matchOrigin = matchOrigin;
+
+		PathPatternParser pathPatternParser = new PathPatternParser();
+		this.pathPatterns = pathPatterns.stream()
+			.map(pathPatternParser::parse)
+			.collect(Collectors.toList());
+	}
+
+	@Override
+	public boolean test(ServerWebExchange exchange) {
+		ServerHttpRequest request = exchange.getRequest();
+		HttpHeaders headers = request.getHeaders();
+
+		return (this.matchOrigin && headers.containsKey(HttpHeaders.ORIGIN)) ||
+			(this.matchBrowserAccept && acceptsHtml(headers)) ||
+			matchesPath(request);
+	}
+
+	private boolean matchesPath(ServerHttpRequest request) {
+		if (this.pathPatterns.isEmpty()) {
+			return false;
+		}
+
+		PathContainer path = request.getPath().pathWithinApplication();
+
+		for (PathPattern pathPattern : this.pathPatterns) {
+			if (pathPattern.matches(path)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	private static boolean acceptsHtml(HttpHeaders headers) {
+		List<String> acceptHeaders = headers.get(HttpHeaders.ACCEPT);
+
+		if (acceptHeaders != null) {
+			for (String acceptHeader : acceptHeaders) {
+				// Scanned rather than parsed into MediaTypes, which would allocate on every request
+				if (containsIgnoreCase(acceptHeader, HTML_MEDIA_TYPE)) {
+					return true;
+				}
+			}
+		}
+
+		return false;
+	}
+
+	private static boolean containsIgnoreCase(String value, String searched) {
+		int lastStart = value.length() - searched.length();
+
+		for (int i = 0; i <= lastStart; i++) {
+			if (value.regionMatches(true, i, searched, 0, searched.length())) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+}
@@ -1,32 +1,69 @@
 package com.mycompany.myframework.service.security.server;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.apache.commons.lang3.StringUtils;
 
+import org.springframework.lang.Nullable;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
+import com.mycompany.myframework.service.security.MappedUserDirectory;
 import reactor.core.publisher.Mono;
 
+/**
+ * {@link ReactiveUserDetailsService} for users pre-authenticated by a request header. Without a {@link MappedUserDirectory} the only
+ * user is {@code user1}, with {@code ROLE_USER}. With one, the users &amp; their authorities come from the directory. The directory is
+ * memory-mapped, so finding a user doesn't block.
+ */
 public class HeaderReactiveUserDetailsService implements ReactiveUserDetailsService {
+	@Nullable
+	private final MappedUserDirectory userDirectory;
+
+	public HeaderReactiveUserDetailsService() {
+		this(null);
+	}
+
+	/**
+	 * Constructs an instance
+	 * @param userDirectory The {@link MappedUserDirectory} to find users in, or {@code null} to only allow {@code user1}
+	 */
+	public HeaderReactiveUserDetailsService(@Nullable MappedUserDirectory userDirectory) {
+		this.userDirectory = userDirectory;
+	}
+
 	@Override
 	public Mono<UserDetails> findByUsername(String username) {
 		return Mono.justOrEmpty(username)
 			.map(StringUtils::trimToNull)
-			.filter(user -> StringUtils.equals(user, "user1"))
-			.map(this::createUserDetails)
+			.flatMap(user -> Mono.justOrEmpty(createUserDetails(user)))
 			.switchIfEmpty(Mono.defer(() -> Mono.error(new UsernameNotFoundException(String.format("User %s is not a valid user", username)))));
 	}
 
+	@Nullable
 	private UserDetails createUserDetails(String username) {
+		if (this.userDirectory == null) {
+			return StringUtils.equals(username, "user1") ? createUserDetails(username, AuthorityUtils.createAuthorityList("ROLE_USER")) : null;
+		}
+
+		List<GrantedAuthority> authorities = this.userDirectory.findAuthorities(username);
+
+		return (authorities != null) ? createUserDetails(username, authorities) : null;
+	}
+
+	private static UserDetails createUserDetails(String username, Collection<? extends GrantedAuthority> authorities) {
 		return User.withUsername(username)
 			.accountExpired(false)
 			.accountLocked(false)
 			.credentialsExpired(false)
 			.disabled(false)
 			.password("N/A")
-			.authorities("ROLE_USER")
+			.authorities(authorities)
 			.build();
 	}
 }
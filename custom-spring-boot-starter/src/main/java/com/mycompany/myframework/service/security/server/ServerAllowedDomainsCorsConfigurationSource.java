@@ -1,7 +1,5 @@
 package com.mycompany.myframework.service.security.server;
 
-import java.util.Optional;
-
 import org.springframework.lang.Nullable;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.reactive.CorsConfigurationSource;
@@ -9,6 +7,9 @@ import org.springframework.web.server.ServerWebExchange;
 
 import com.mycompany.myframework.properties.config.MyFrameworkConfig.SecurityConfig.CorsConfig;
 import com.mycompany.myframework.service.security.AllowedDomainsCorsConfigurationSourceBase;
+import com.mycompany.myframework.service.security.AllowedDomainsMatcher;
+import com.mycompany.myframework.service.security.AllowedDomainsMatcherHolder;
+import com.mycompany.myframework.service.security.CorsRoutingTable;
 
 /**
  * {@link CorsConfigurationSource} which will allow specification of domains and/or subdomains in {@link CorsConfiguration#getAllowedOrigins()}.
@@ -32,6 +33,28 @@ public class ServerAllowedDomainsCorsConfigurationSource extends AllowedDomainsC
 		this.delegate = delegate;
 	}
 
+	/**
+	 * Constructs an instance
+	 * @param delegate A delegate {@link CorsConfigurationSource}
+	 * @param corsConfig The {@link CorsConfig}
+	 * @param allowedDomainsMatcherHolder The {@link AllowedDomainsMatcherHolder} holding the current allowed domains
+	 */
+	public ServerAllowedDomainsCorsConfigurationSource(@Nullable CorsConfigurationSource delegate, CorsConfig corsConfig, AllowedDomainsMatcherHolder allowedDomainsMatcherHolder) {
+		super(corsConfig, allowedDomainsMatcherHolder);
+		this.delegate = delegate;
+	}
+
+	/**
+	 * Constructs an instance
+	 * @param delegate A delegate {@link CorsConfigurationSource}
+	 * @param corsConfig The {@link CorsConfig}
+	 * @param corsRoutingTable The {@link CorsRoutingTable} choosing the allowed domains for a request's path
+	 */
+	public ServerAllowedDomainsCorsConfigurationSource(@Nullable CorsConfigurationSource delegate, CorsConfig corsConfig, CorsRoutingTable corsRoutingTable) {
+		super(corsConfig, corsRoutingTable);
+		this.delegate = delegate;
+	}
+
 	/**
 	 * Constructs an instance
 	 * @param corsConfig The {@link CorsConfig}
@@ -55,11 +78,24 @@ public class ServerAllowedDomainsCorsConfigurationSource extends AllowedDomainsC
 	 */
 	@Nullable
 	public CorsConfiguration getCorsConfiguration(ServerWebExchange exchange, @Nullable CorsConfiguration corsConfiguration) {
-		return addOriginDomainIfApplicable(
-			exchange.getRequest().getHeaders().getOrigin(),
-			Optional.ofNullable(this.delegate)
-				.map(theDelegate -> theDelegate.getCorsConfiguration(exchange))
-				.orElse(corsConfiguration)
-		);
+		// Plain null check rather than an Optional - this is called for every request
+		CorsConfiguration resolvedCorsConfiguration = (this.delegate != null) ? this.delegate.getCorsConfiguration(exchange) : corsConfiguration;
+
+		return addOriginDomainIfApplicable(getPath(exchange), exchange.getRequest().getHeaders().getOrigin(), resolvedCorsConfiguration);
+	}
+
+	/**
+	 * Gets the {@link AllowedDomainsMatcher} the origin of a request is matched against
+	 * @param exchange The {@link ServerWebExchange}
+	 * @return The {@link AllowedDomainsMatcher} of the route matching the request's path
+	 */
+	public AllowedDomainsMatcher getAllowedDomainsMatcher(ServerWebExchange exchange) {
+		return getAllowedDomainsMatcher(getPath(exchange));
+	}
+
+	@Nullable
+	private String getPath(ServerWebExchange exchange) {
+		// The path is only needed to choose a route
+		return hasRoutes() ? exchange.getRequest().getPath().pathWithinApplication().value() : null;
 	}
 }
@@ -1,16 +1,33 @@
 package com.mycompany.myframework.service.security.server;
 
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.reactive.CorsProcessor;
+import org.springframework.web.cors.reactive.CorsUtils;
 import org.springframework.web.cors.reactive.DefaultCorsProcessor;
 import org.springframework.web.server.ServerWebExchange;
 
+import com.mycompany.myframework.service.security.AllowedDomainsMatcher;
+import com.mycompany.myframework.service.security.PreflightResponseCache;
+import com.mycompany.myframework.service.security.PreflightResponseCache.PreflightKey;
+import com.mycompany.myframework.service.security.PreflightResponseCache.PreflightResponse;
+
 /**
  * {@link CorsProcessor} for handling {@link ServerAllowedDomainsCorsConfigurationSource allowed domains CORS configuration}
+ * <p>
+ *   If a {@link PreflightResponseCache} is supplied, repeated pre-flight requests are answered from the cache without resolving the
+ *   {@link CorsConfiguration} or running the underlying {@link CorsProcessor}.
+ * </p>
  *
  * @author Eric Deandrea
  */
@@ -18,18 +35,76 @@ public class ServerAllowedDomainsCorsProcessor implements CorsProcessor {
 	private final CorsProcessor underlyingProcessor;
 	private final ServerAllowedDomainsCorsConfigurationSource corsConfigurationSource;
 
+	@Nullable
+	private final PreflightResponseCache preflightResponseCache;
+
 	public ServerAllowedDomainsCorsProcessor(ServerAllowedDomainsCorsConfigurationSource corsConfigurationSource) {
 		this(null, corsConfigurationSource);
 	}
 
 	public ServerAllowedDomainsCorsProcessor(@Nullable CorsProcessor underlyingProcessor, ServerAllowedDomainsCorsConfigurationSource corsConfigurationSource) {
+		this(underlyingProcessor, corsConfigurationSource, null);
+	}
+
+	public ServerAllowedDomainsCorsProcessor(@Nullable CorsProcessor underlyingProcessor, ServerAllowedDomainsCorsConfigurationSource corsConfigurationSource, @Nullable PreflightResponseCache preflightResponseCache) {
 		Assert.notNull(corsConfigurationSource, "corsConfigurationSource can not be null");
 		this.underlyingProcessor = Optional.ofNullable(underlyingProcessor).orElseGet(DefaultCorsProcessor::new);
 		this.corsConfigurationSource = corsConfigurationSource;
+		this.preflightResponseCache = preflightResponseCache;
 	}
 
 	@Override
 	public boolean process(@Nullable CorsConfiguration config, ServerWebExchange exchange) {
+		ServerHttpRequest request = exchange.getRequest();
+		HttpHeaders responseHeaders = exchange.getResponse().getHeaders();
+
+		if ((this.preflightResponseCache == null) || !CorsUtils.isPreFlightRequest(request) || (responseHeaders.getAccessControlAllowOrigin() != null)) {
+			return processWithUnderlyingProcessor(config, exchange);
+		}
+
+		// The decision is only made after the cached response is looked up, so the key includes the allowed domains of the request's route
+		PreflightKey preflightKey = createPreflightKey(request, this.corsConfigurationSource.getAllowedDomainsMatcher(exchange), config);
+		PreflightResponse preflightResponse = this.preflightResponseCache.get(preflightKey);
+
+		if (preflightResponse != null) {
+			return replay(preflightResponse, exchange.getResponse());
+		}
+
+		List<String> varyHeadersBefore = new ArrayList<>(responseHeaders.getOrEmpty(HttpHeaders.VARY));
+		boolean accepted = processWithUnderlyingProcessor(config, exchange);
+		this.preflightResponseCache.put(preflightKey, PreflightResponse.capture(accepted, varyHeadersBefore, responseHeaders::getOrEmpty));
+
+		return accepted;
+	}
+
+	private boolean processWithUnderlyingProcessor(@Nullable CorsConfiguration config, ServerWebExchange exchange) {
 		return this.underlyingProcessor.process(this.corsConfigurationSource.getCorsConfiguration(exchange, config), exchange);
 	}
+
+	private static boolean replay(PreflightResponse preflightResponse, ServerHttpResponse response) {
+		HttpHeaders responseHeaders = response.getHeaders();
+		preflightResponse.replay(responseHeaders.getOrEmpty(HttpHeaders.VARY), responseHeaders::add);
+
+		if (!preflightResponse.isAccepted()) {
+			response.setStatusCode(HttpStatus.FORBIDDEN);
+		}
+
+		return preflightResponse.isAccepted();
+	}
+
+	private static PreflightKey createPreflightKey(ServerHttpRequest request, AllowedDomainsMatcher allowedDomainsMatcher, @Nullable CorsConfiguration config) {
+		HttpHeaders requestHeaders = request.getHeaders();
+		URI uri = request.getURI();
+
+		return new PreflightKey(
+			requestHeaders.getOrigin(),
+			requestHeaders.getFirst(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD),
+			requestHeaders.get(HttpHeaders.ACCESS_CONTROL_REQUEST_HEADERS),
+			uri.getScheme(),
+			uri.getHost(),
+			uri.getPort(),
+			allowedDomainsMatcher,
+			config
+		);
+	}
 }
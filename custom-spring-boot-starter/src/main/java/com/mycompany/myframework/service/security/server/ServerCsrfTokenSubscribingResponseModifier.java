@@ -2,9 +2,11 @@ package com.mycompany.myframework.service.security.server;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Predicate;
 
 import org.springframework.core.ReactiveAdapterRegistry;
 import org.springframework.http.codec.HttpMessageWriter;
+import org.springframework.lang.Nullable;
 import org.springframework.security.web.server.csrf.CsrfToken;
 import org.springframework.web.reactive.HandlerResult;
 import org.springframework.web.reactive.accept.RequestedContentTypeResolver;
@@ -15,17 +17,41 @@ import reactor.core.publisher.Mono;
 
 /**
  * {@link ResponseBodyResultHandler} for subscribing to the csrf token within a REST API
+ * <p>
+ *   If a {@link #setTokenRequestMatcher(Predicate) token request matcher} is set, the token is only subscribed to (and so only
+ *   generated &amp; written to the cookie) for the requests it matches, i.e. the ones coming from a browser (see
+ *   {@link CsrfTokenRequestMatcher}). Other requests get their response without a token.
+ * </p>
+ * <p>
+ *   There is only a token to subscribe to if the {@link org.springframework.security.web.server.csrf.CsrfWebFilter} ran, i.e. if
+ *   the application enables CSRF in its own {@code SecurityWebFilterChain}. The framework's own chains disable it.
+ * </p>
  *
  * @author Eric Deandrea
  */
 public class ServerCsrfTokenSubscribingResponseModifier extends ResponseBodyResultHandler {
+	@Nullable
+	private Predicate<ServerWebExchange> tokenRequestMatcher;
+
 	public ServerCsrfTokenSubscribingResponseModifier(List<HttpMessageWriter<?>> writers, RequestedContentTypeResolver resolver, ReactiveAdapterRegistry registry) {
 		super(writers, resolver, registry);
 		setOrder(99);
 	}
 
+	/**
+	 * Sets the matcher of the requests whose csrf token is subscribed to
+	 * @param tokenRequestMatcher The matcher, or {@code null} to subscribe to the token of every request
+	 */
+	public void setTokenRequestMatcher(@Nullable Predicate<ServerWebExchange> tokenRequestMatcher) {
+		this.tokenRequestMatcher = tokenRequestMatcher;
+	}
+
 	@Override
 	public Mono<Void> handleResult(ServerWebExchange exchange, HandlerResult result) {
+		if ((this.tokenRequestMatcher != null) && !this.tokenRequestMatcher.test(exchange)) {
+			return super.handleResult(exchange, result);
+		}
+
 		return Optional.ofNullable(exchange.getAttribute(CsrfToken.class.getName()))
 			.filter(Mono.class::isInstance)
 			.map(Mono.class::cast)
@@ -0,0 +1,64 @@
+package com.mycompany.myframework.service.security.server;
+
+import org.springframework.security.web.server.csrf.CookieServerCsrfTokenRepository;
+import org.springframework.security.web.server.csrf.CsrfToken;
+import org.springframework.security.web.server.csrf.DefaultCsrfToken;
+import org.springframework.security.web.server.csrf.ServerCsrfTokenRepository;
+import org.springframework.util.Assert;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.mycompany.myframework.service.security.CsrfTokenGenerator;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link ServerCsrfTokenRepository} keeping the token in the {@code XSRF-TOKEN} cookie exactly like
+ * {@link CookieServerCsrfTokenRepository}, but generating new tokens with a {@link CsrfTokenGenerator} instead of
+ * {@link java.util.UUID#randomUUID()}, so the event loops don't contend on a single {@link java.security.SecureRandom}.
+ * <p>
+ *   A token is only generated when the {@link Mono} returned by {@link #generateToken(ServerWebExchange)} is subscribed to, which
+ *   the {@link org.springframework.security.web.server.csrf.CsrfWebFilter} only does when something reads the token and the
+ *   request didn't bring one in its cookie.
+ * </p>
+ * <p>
+ *   The framework's own {@code SecurityWebFilterChain}s disable CSRF, so this repository is only consulted by an application that
+ *   enables CSRF in its own chain with {@code .csrf().csrfTokenRepository(csrfTokenRepository)}.
+ * </p>
+ */
+public class StripedCookieServerCsrfTokenRepository implements ServerCsrfTokenRepository {
+	// The defaults of CookieServerCsrfTokenRepository, which doesn't expose them
+	private static final String CSRF_HEADER_NAME = "X-XSRF-TOKEN";
+	private static final String CSRF_PARAMETER_NAME = "_csrf";
+
+	private final CookieServerCsrfTokenRepository delegate;
+	private final CsrfTokenGenerator tokenGenerator;
+
+	private StripedCookieServerCsrfTokenRepository(CookieServerCsrfTokenRepository delegate, CsrfTokenGenerator tokenGenerator) {
+		Assert.notNull(tokenGenerator, "tokenGenerator can not be null");
+		this.delegate = delegate;
+		this.tokenGenerator = tokenGenerator;
+	}
+
+	/**
+	 * Creates a repository whose cookie can be read by JavaScript, like {@link CookieServerCsrfTokenRepository#withHttpOnlyFalse()}
+	 * @param tokenGenerator The {@link CsrfTokenGenerator}
+	 * @return The {@link StripedCookieServerCsrfTokenRepository}
+	 */
+	public static StripedCookieServerCsrfTokenRepository withHttpOnlyFalse(CsrfTokenGenerator tokenGenerator) {
+		return new StripedCookieServerCsrfTokenRepository(CookieServerCsrfTokenRepository.withHttpOnlyFalse(), tokenGenerator);
+	}
+
+	@Override
+	public Mono<CsrfToken> generateToken(ServerWebExchange exchange) {
+		return Mono.fromCallable(() -> new DefaultCsrfToken(CSRF_HEADER_NAME, CSRF_PARAMETER_NAME, this.tokenGenerator.generateToken()));
+	}
+
+	@Override
+	public Mono<Void> saveToken(ServerWebExchange exchange, CsrfToken token) {
+		return this.delegate.saveToken(exchange, token);
+	}
+
+	@Override
+	public Mono<CsrfToken> loadToken(ServerWebExchange exchange) {
+		return this.delegate.loadToken(exchange);
+	}
+}
@@ -6,8 +6,10 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.ReactiveUserDetailsPasswordService;
 import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsChecker;
 import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.util.Assert;
 
@@ -21,6 +23,9 @@ import reactor.core.scheduler.Schedulers;
  *
  * There is stuff in here that comes out in Spring Security 5.2 that we need (i.e. {@link #setPostAuthenticationChecks(UserDetailsChecker)}.
  *
+ * Unlike Spring Security's version, the user isn't moved to another thread to check the password unless the {@link PasswordEncoder}
+ * is CPU intensive (see {@link #isCpuIntensive(PasswordEncoder)}) or a {@link Scheduler} has been {@link #setScheduler(Scheduler) set}.
+ *
  * @author Rob Winch
  * @since 5.0
  */
@@ -29,6 +34,7 @@ public class UserDetailsRepositoryReactiveAuthenticationManager implements React
 	private PasswordEncoder passwordEncoder = PasswordEncoderFactories.createDelegatingPasswordEncoder();
 	private ReactiveUserDetailsPasswordService userDetailsPasswordService;
 	private Scheduler scheduler = Schedulers.parallel();
+	private boolean schedulerSet;
 	private UserDetailsChecker postAuthenticationChecks = userDetails -> {};
 
 	public UserDetailsRepositoryReactiveAuthenticationManager(ReactiveUserDetailsService userDetailsService) {
@@ -40,8 +46,13 @@ public class UserDetailsRepositoryReactiveAuthenticationManager implements React
 	public Mono<Authentication> authenticate(Authentication authentication) {
 		String username = authentication.getName();
 		String presentedPassword = (String) authentication.getCredentials();
-		return this.userDetailsService.findByUsername(username)
-			.publishOn(this.scheduler)
+		Mono<UserDetails> userDetails = this.userDetailsService.findByUsername(username);
+
+		if (this.scheduler != Schedulers.immediate()) {
+			userDetails = userDetails.publishOn(this.scheduler);
+		}
+
+		return userDetails
 			.filter(u -> this.passwordEncoder.matches(presentedPassword, u.getPassword()))
 			.switchIfEmpty(Mono.defer(() -> Mono.error(new BadCredentialsException("Invalid Credentials"))))
 			.flatMap(u -> {
@@ -57,9 +68,38 @@ public class UserDetailsRepositoryReactiveAuthenticationManager implements React
 			.map(u -> new UsernamePasswordAuthenticationToken(u, u.getPassword(), u.getAuthorities()) );
 	}
 
+	/**
+	 * Sets the {@link PasswordEncoder}. Unless a {@link Scheduler} has been {@link #setScheduler(Scheduler) set}, the password is checked
+	 * on {@code Schedulers.parallel()} if the encoder is {@link #isCpuIntensive(PasswordEncoder) CPU intensive}, otherwise on the thread
+	 * the user was found on.
+	 * @param passwordEncoder The {@link PasswordEncoder}. Cannot be null.
+	 */
 	public void setPasswordEncoder(PasswordEncoder passwordEncoder) {
 		Assert.notNull(passwordEncoder, "passwordEncoder cannot be null");
 		this.passwordEncoder = passwordEncoder;
+
+		if (!this.schedulerSet) {
+			this.scheduler = isCpuIntensive(passwordEncoder) ? Schedulers.parallel() : Schedulers.immediate();
+		}
+	}
+
+	/**
+	 * Whether or not checking a password with a {@link PasswordEncoder} is CPU intensive, and so worth moving off the calling thread.
+	 * Only {@link NoOpPasswordEncoder}, which compares the raw passwords, isn't.
+	 * @param passwordEncoder The {@link PasswordEncoder}
+	 * @return Whether or not checking a password is CPU intensive
+	 */
+	@SuppressWarnings("deprecation")
+	public static boolean isCpuIntensive(PasswordEncoder passwordEncoder) {
+		return !(passwordEncoder instanceof NoOpPasswordEncoder);
+	}
+
+	/**
+	 * Gets the {@link Scheduler} the password is checked on
+	 * @return The {@link Scheduler}, which is {@code Schedulers.immediate()} if the password is checked on the thread the user was found on
+	 */
+	public Scheduler getScheduler() {
+		return this.scheduler;
 	}
 
 	/**
@@ -76,6 +116,7 @@ public class UserDetailsRepositoryReactiveAuthenticationManager implements React
 	public void setScheduler(Scheduler scheduler) {
 		Assert.notNull(scheduler, "scheduler cannot be null");
 		this.scheduler = scheduler;
+		this.schedulerSet = true;
 	}
 
 	/**
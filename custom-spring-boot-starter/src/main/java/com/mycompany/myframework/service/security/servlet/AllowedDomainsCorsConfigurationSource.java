@@ -1,16 +1,17 @@
 package com.mycompany.myframework.service.security.servlet;
 
-import java.util.Optional;
-
 import javax.servlet.http.HttpServletRequest;
 
 import org.springframework.http.HttpHeaders;
 import org.springframework.lang.Nullable;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
+import org.springframework.web.util.UrlPathHelper;
 
 import com.mycompany.myframework.properties.config.MyFrameworkConfig.SecurityConfig.CorsConfig;
 import com.mycompany.myframework.service.security.AllowedDomainsCorsConfigurationSourceBase;
+import com.mycompany.myframework.service.security.AllowedDomainsMatcherHolder;
+import com.mycompany.myframework.service.security.CorsRoutingTable;
 
 /**
  * {@link CorsConfigurationSource} which will allow specification of domains and/or subdomains in {@link CorsConfiguration#getAllowedOrigins()}.
@@ -18,6 +19,8 @@ import com.mycompany.myframework.service.security.AllowedDomainsCorsConfiguratio
  * @author Eric Deandrea
  */
 public class AllowedDomainsCorsConfigurationSource extends AllowedDomainsCorsConfigurationSourceBase implements CorsConfigurationSource {
+	private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+
 	@Nullable
 	private final CorsConfigurationSource delegate;
 
@@ -26,14 +29,25 @@ public class AllowedDomainsCorsConfigurationSource extends AllowedDomainsCorsCon
 		this.delegate = delegate;
 	}
 
+	public AllowedDomainsCorsConfigurationSource(@Nullable CorsConfigurationSource delegate, CorsConfig corsConfig, AllowedDomainsMatcherHolder allowedDomainsMatcherHolder) {
+		super(corsConfig, allowedDomainsMatcherHolder);
+		this.delegate = delegate;
+	}
+
+	public AllowedDomainsCorsConfigurationSource(@Nullable CorsConfigurationSource delegate, CorsConfig corsConfig, CorsRoutingTable corsRoutingTable) {
+		super(corsConfig, corsRoutingTable);
+		this.delegate = delegate;
+	}
+
 	@Nullable
 	@Override
 	public CorsConfiguration getCorsConfiguration(HttpServletRequest request) {
-		return addOriginDomainIfApplicable(
-			request.getHeader(HttpHeaders.ORIGIN),
-			Optional.ofNullable(this.delegate)
-				.map(theDelegate -> theDelegate.getCorsConfiguration(request))
-				.orElse(null)
-		);
+		// Plain null check rather than an Optional - this is called for every request
+		CorsConfiguration corsConfiguration = (this.delegate != null) ? this.delegate.getCorsConfiguration(request) : null;
+
+		// The path is only needed to choose a route
+		String path = hasRoutes() ? this.urlPathHelper.getPathWithinApplication(request) : null;
+
+		return addOriginDomainIfApplicable(path, request.getHeader(HttpHeaders.ORIGIN), corsConfiguration);
 	}
 }
@@ -0,0 +1,91 @@
+package com.mycompany.myframework.service.security.servlet;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Optional;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.Nullable;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.CorsProcessor;
+import org.springframework.web.cors.CorsUtils;
+import org.springframework.web.cors.DefaultCorsProcessor;
+
+import com.mycompany.myframework.service.security.PreflightResponseCache;
+import com.mycompany.myframework.service.security.PreflightResponseCache.PreflightKey;
+import com.mycompany.myframework.service.security.PreflightResponseCache.PreflightResponse;
+
+/**
+ * {@link CorsProcessor} used alongside an {@link AllowedDomainsCorsConfigurationSource}.
+ * <p>
+ *   If a {@link PreflightResponseCache} is supplied, repeated accepted pre-flight requests are answered from the cache without running
+ *   the underlying {@link CorsProcessor}. Rejected pre-flight requests are not cached because the underlying processor also writes a
+ *   response body for them.
+ * </p>
+ * <p>
+ *   This is the servlet version of {@link com.mycompany.myframework.service.security.server.ServerAllowedDomainsCorsProcessor}.
+ * </p>
+ */
+public class AllowedDomainsCorsProcessor implements CorsProcessor {
+	private final CorsProcessor underlyingProcessor;
+
+	@Nullable
+	private final PreflightResponseCache preflightResponseCache;
+
+	public AllowedDomainsCorsProcessor(@Nullable PreflightResponseCache preflightResponseCache) {
+		this(null, preflightResponseCache);
+	}
+
+	public AllowedDomainsCorsProcessor(@Nullable CorsProcessor underlyingProcessor, @Nullable PreflightResponseCache preflightResponseCache) {
+		this.underlyingProcessor = Optional.ofNullable(underlyingProcessor).orElseGet(DefaultCorsProcessor::new);
+		this.preflightResponseCache = preflightResponseCache;
+	}
+
+	@Override
+	public boolean processRequest(@Nullable CorsConfiguration configuration, HttpServletRequest request, HttpServletResponse response) throws IOException {
+		if ((this.preflightResponseCache == null) || !CorsUtils.isPreFlightRequest(request) || (response.getHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN) != null)) {
+			return this.underlyingProcessor.processRequest(configuration, request, response);
+		}
+
+		PreflightKey preflightKey = createPreflightKey(request, configuration);
+		PreflightResponse preflightResponse = this.preflightResponseCache.get(preflightKey);
+
+		if (preflightResponse != null) {
+			preflightResponse.replay(response.getHeaders(HttpHeaders.VARY), response::addHeader);
+			return true;
+		}
+
+		List<String> varyHeadersBefore = new ArrayList<>(response.getHeaders(HttpHeaders.VARY));
+		boolean accepted = this.underlyingProcessor.processRequest(configuration, request, response);
+
+		if (accepted) {
+			this.preflightResponseCache.put(preflightKey, PreflightResponse.capture(true, varyHeadersBefore, response::getHeaders));
+		}
+
+		return accepted;
+	}
+
+	private static PreflightKey createPreflightKey(HttpServletRequest request, @Nullable CorsConfiguration configuration) {
+		List<String> requestHeaders = new ArrayList<>();
+		Enumeration<String> requestHeaderValues = request.getHeaders(HttpHeaders.ACCESS_CONTROL_REQUEST_HEADERS);
+
+		while ((requestHeaderValues != null) && requestHeaderValues.hasMoreElements()) {
+			requestHeaders.add(requestHeaderValues.nextElement());
+		}
+
+		return new PreflightKey(
+			request.getHeader(HttpHeaders.ORIGIN),
+			request.getHeader(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD),
+			requestHeaders,
+			request.getScheme(),
+			request.getServerName(),
+			request.getServerPort(),
+			configuration
+		);
+	}
+}
@@ -0,0 +1,43 @@
+package com.mycompany.myframework.service.security.servlet;
+
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.util.Assert;
+
+import com.mycompany.myframework.service.security.AuthenticationCache;
+
+/**
+ * {@link AuthenticationManager} answering repeat authentication requests from an {@link AuthenticationCache}, so with a stateless
+ * session a repeat caller doesn't go through the {@link org.springframework.security.web.authentication.preauth.PreAuthenticatedAuthenticationProvider}
+ * &amp; the {@link org.springframework.security.core.userdetails.UserDetailsService} on every request. Requests that miss the cache
+ * are authenticated by the delegate, and the successful ones cached.
+ */
+public class CachingAuthenticationManager implements AuthenticationManager {
+	private final AuthenticationManager delegate;
+	private final AuthenticationCache authenticationCache;
+
+	public CachingAuthenticationManager(AuthenticationManager delegate, AuthenticationCache authenticationCache) {
+		Assert.notNull(delegate, "delegate can not be null");
+		Assert.notNull(authenticationCache, "authenticationCache can not be null");
+		this.delegate = delegate;
+		this.authenticationCache = authenticationCache;
+	}
+
+	@Override
+	public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+		Authentication cachedAuthentication = this.authenticationCache.get(authentication);
+
+		if (cachedAuthentication != null) {
+			return cachedAuthentication;
+		}
+
+		Authentication result = this.delegate.authenticate(authentication);
+
+		if (result != null) {
+			this.authenticationCache.put(authentication, result);
+		}
+
+		return result;
+	}
+}
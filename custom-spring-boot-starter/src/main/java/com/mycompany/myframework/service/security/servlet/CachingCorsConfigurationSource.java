@@ -0,0 +1,143 @@
+package com.mycompany.myframework.service.security.servlet;
+
+import java.util.Objects;
+import java.util.Optional;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.CorsConfigurationSource;
+import org.springframework.web.cors.CorsUtils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.mycompany.myframework.properties.config.MyFrameworkConfig.CacheConfig;
+import com.mycompany.myframework.service.cache.CaffeineCaches;
+
+/**
+ * {@link CorsConfigurationSource} which caches the {@link CorsConfiguration} resolved by a delegate, typically the
+ * {@link org.springframework.web.servlet.handler.HandlerMappingIntrospector HandlerMappingIntrospector}, which otherwise runs the
+ * full handler lookup for every CORS request.
+ * <p>
+ *   Entries are keyed by the request URI and the HTTP method the handler is matched against (the value of the
+ *   {@code Access-Control-Request-Method} header for pre-flight requests). The handler lookup is the cost being saved, so the key
+ *   can't be the matched handler or path pattern, which only that lookup finds. The cache is cleared whenever the application
+ *   context is refreshed, since that is when handler mappings are (re)registered.
+ * </p>
+ * <p>
+ *   Keying by URI means that:
+ * </p>
+ * <ul>
+ *   <li>Every distinct URI of a route with path variables (i.e. {@code /people/1}, {@code /people/2}) is a separate entry, so such
+ *   routes mostly miss</li>
+ *   <li>Any client can fill the cache with unique URIs, evicting the entries of the real routes</li>
+ *   <li>Handler mappings which are also conditioned on request parameters, headers, or content types and which declare different
+ *   CORS configurations for the same path &amp; method aren't distinguished</li>
+ * </ul>
+ * <p>
+ *   The cache is therefore {@link com.mycompany.myframework.properties.config.MyFrameworkConfig.SecurityConfig.CorsConfig#getHandlerCache()
+ *   off by default}, in which case every call goes straight to the delegate. Only enable it for applications whose CORS requests go
+ *   to a small, fixed set of URIs.
+ * </p>
+ */
+public class CachingCorsConfigurationSource implements CorsConfigurationSource, ApplicationListener<ContextRefreshedEvent> {
+	private static final Logger LOGGER = LoggerFactory.getLogger(CachingCorsConfigurationSource.class);
+
+	/**
+	 * Stands in for a {@code null} {@link CorsConfiguration}, which can't be stored in the cache
+	 */
+	private static final CorsConfiguration NO_CORS_CONFIGURATION = new CorsConfiguration();
+
+	private final CorsConfigurationSource delegate;
+
+	@Nullable
+	private final Cache<LookupKey, CorsConfiguration> cache;
+
+	public CachingCorsConfigurationSource(CorsConfigurationSource delegate, CacheConfig cacheConfig) {
+		Assert.notNull(delegate, "delegate can not be null");
+		Assert.notNull(cacheConfig, "cacheConfig can not be null");
+		this.delegate = delegate;
+		this.cache = CaffeineCaches.newCacheIfEnabled(cacheConfig);
+	}
+
+	@Nullable
+	@Override
+	public CorsConfiguration getCorsConfiguration(HttpServletRequest request) {
+		if (this.cache == null) {
+			return this.delegate.getCorsConfiguration(request);
+		}
+
+		boolean preFlightRequest = CorsUtils.isPreFlightRequest(request);
+		String method = preFlightRequest ? request.getHeader(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD) : request.getMethod();
+
+		CorsConfiguration corsConfiguration = this.cache.get(
+			new LookupKey(request.getRequestURI(), method, preFlightRequest),
+			key -> Optional.ofNullable(this.delegate.getCorsConfiguration(request)).orElse(NO_CORS_CONFIGURATION)
+		);
+
+		return (corsConfiguration != NO_CORS_CONFIGURATION) ? corsConfiguration : null;
+	}
+
+	@Override
+	public void onApplicationEvent(ContextRefreshedEvent event) {
+		if (this.cache != null) {
+			LOGGER.debug("Clearing cached CORS configurations because the application context was refreshed");
+			this.cache.invalidateAll();
+		}
+	}
+
+	/**
+	 * Gets the statistics of the cache
+	 * @return The statistics of the cache, which will be {@link CacheStats#empty() empty} if the cache isn't enabled
+	 */
+	public CacheStats stats() {
+		return Optional.ofNullable(this.cache)
+			.map(Cache::stats)
+			.orElseGet(CacheStats::empty);
+	}
+
+	private static final class LookupKey {
+		private final String requestUri;
+
+		@Nullable
+		private final String method;
+
+		private final boolean preFlightRequest;
+
+		private LookupKey(String requestUri, @Nullable String method, boolean preFlightRequest) {
+			this.requestUri = requestUri;
+			this.method = method;
+			this.preFlightRequest = preFlightRequest;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+
+			if (!(obj instanceof LookupKey)) {
+				return false;
+			}
+
+			LookupKey other = (LookupKey) obj;
+
+			return (this.preFlightRequest == other.preFlightRequest) &&
+				this.requestUri.equals(other.requestUri) &&
+				Objects.equals(this.method, other.method);
+		}
+
+		@Override
+		public int hashCode() {
+			return (31 * ((31 * this.requestUri.hashCode()) + Objects.hashCode(this.method))) + Boolean.hashCode(this.preFlightRequest);
+		}
+	}
+}
@@ -0,0 +1,48 @@
+package com.mycompany.myframework.service.security.servlet;
+
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.util.Assert;
+
+import com.mycompany.myframework.service.security.JwtAuthenticationCache;
+
+/**
+ * {@link AuthenticationProvider} answering repeat bearer tokens from a {@link JwtAuthenticationCache}, so a token a client reuses
+ * doesn't go through the {@link org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationProvider} (and
+ * its decoding &amp; claims conversion) on every request. Tokens that miss the cache are authenticated by the delegate, and the
+ * successful ones cached.
+ */
+public class CachingJwtAuthenticationProvider implements AuthenticationProvider {
+	private final AuthenticationProvider delegate;
+	private final JwtAuthenticationCache authenticationCache;
+
+	public CachingJwtAuthenticationProvider(AuthenticationProvider delegate, JwtAuthenticationCache authenticationCache) {
+		Assert.notNull(delegate, "delegate can not be null");
+		Assert.notNull(authenticationCache, "authenticationCache can not be null");
+		this.delegate = delegate;
+		this.authenticationCache = authenticationCache;
+	}
+
+	@Override
+	public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+		Authentication cachedAuthentication = this.authenticationCache.get(authentication);
+
+		if (cachedAuthentication != null) {
+			return cachedAuthentication;
+		}
+
+		Authentication result = this.delegate.authenticate(authentication);
+
+		if (result != null) {
+			this.authenticationCache.put(authentication, result);
+		}
+
+		return result;
+	}
+
+	@Override
+	public boolean supports(Class<?> authentication) {
+		return this.delegate.supports(authentication);
+	}
+}
@@ -0,0 +1,38 @@
+package com.mycompany.myframework.service.security.servlet;
+
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.util.Assert;
+
+import com.mycompany.myframework.service.security.VerifiedJwtCache;
+
+/**
+ * {@link JwtDecoder} answering tokens that have already been verified from a {@link VerifiedJwtCache}, so the delegate only
+ * verifies the signature of a token the first time it is seen. Tokens that fail verification aren't cached, so they fail every time.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+	private final JwtDecoder delegate;
+	private final VerifiedJwtCache verifiedJwtCache;
+
+	public CachingJwtDecoder(JwtDecoder delegate, VerifiedJwtCache verifiedJwtCache) {
+		Assert.notNull(delegate, "delegate can not be null");
+		Assert.notNull(verifiedJwtCache, "verifiedJwtCache can not be null");
+		this.delegate = delegate;
+		this.verifiedJwtCache = verifiedJwtCache;
+	}
+
+	@Override
+	public Jwt decode(String token) throws JwtException {
+		Jwt cachedJwt = this.verifiedJwtCache.get(token);
+
+		if (cachedJwt != null) {
+			return cachedJwt;
+		}
+
+		Jwt jwt = this.delegate.decode(token);
+		this.verifiedJwtCache.put(jwt);
+
+		return jwt;
+	}
+}
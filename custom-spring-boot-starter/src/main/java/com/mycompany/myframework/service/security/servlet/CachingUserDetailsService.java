@@ -0,0 +1,119 @@
+package com.mycompany.myframework.service.security.servlet;
+
+import org.springframework.lang.Nullable;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.util.Assert;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.mycompany.myframework.properties.config.MyFrameworkConfig.RefreshingCacheConfig;
+import com.mycompany.myframework.service.cache.CaffeineCaches;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * {@link UserDetailsService} caching the users loaded by another {@link UserDetailsService}, so a user isn't looked up on every
+ * request.
+ * <p>
+ *   Users are kept for the configured time-to-live, and if {@link RefreshingCacheConfig#getRefreshAfterWrite()} is set are reloaded
+ *   in the background once they are older than that, while the cached user keeps being returned. A user that is no longer found when
+ *   reloaded is removed. Users that aren't found aren't cached, so the {@link UsernameNotFoundException} is thrown every time.
+ * </p>
+ * <p>
+ *   Unlike {@link org.springframework.security.core.userdetails.cache.SpringCacheBasedUserCache}, each caller gets its own copy of a
+ *   cached {@link User}, since {@link org.springframework.security.authentication.ProviderManager} erases the credentials of the
+ *   authenticated user.
+ * </p>
+ */
+public class CachingUserDetailsService implements UserDetailsService, MeterBinder {
+	/**
+	 * Name of the cache, used as the {@code cache} tag of its metrics
+	 */
+	public static final String CACHE_NAME = "userDetails";
+
+	private final UserDetailsService delegate;
+	private final LoadingCache<String, UserDetails> cache;
+
+	public CachingUserDetailsService(UserDetailsService delegate, RefreshingCacheConfig cacheConfig) {
+		Assert.notNull(delegate, "delegate can not be null");
+		Assert.notNull(cacheConfig, "cacheConfig can not be null");
+		this.delegate = delegate;
+		this.cache = CaffeineCaches.newLoadingBuilder(cacheConfig).build(new UserDetailsLoader(delegate));
+	}
+
+	/**
+	 * Decorates a {@link UserDetailsService} with a cache if it is enabled
+	 * @param delegate The {@link UserDetailsService} loading the users
+	 * @param cacheConfig The {@link RefreshingCacheConfig}
+	 * @return The {@link CachingUserDetailsService}, or the delegate if the cache isn't {@link RefreshingCacheConfig#isEnabled() enabled}
+	 */
+	public static UserDetailsService decorateIfEnabled(UserDetailsService delegate, RefreshingCacheConfig cacheConfig) {
+		Assert.notNull(cacheConfig, "cacheConfig can not be null");
+		return cacheConfig.isEnabled() ? new CachingUserDetailsService(delegate, cacheConfig) : delegate;
+	}
+
+	@Override
+	public UserDetails loadUserByUsername(@Nullable String username) throws UsernameNotFoundException {
+		if (username == null) {
+			// Caffeine doesn't allow null keys, and there's nothing worth caching
+			return this.delegate.loadUserByUsername(username);
+		}
+
+		return copyOf(this.cache.get(username));
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		CaffeineCacheMetrics.monitor(registry, this.cache, CACHE_NAME);
+	}
+
+	/**
+	 * Removes all the cached users
+	 */
+	public void invalidateAll() {
+		this.cache.invalidateAll();
+	}
+
+	/**
+	 * Gets the statistics of the cache
+	 * @return The {@link CacheStats}
+	 */
+	public CacheStats stats() {
+		return this.cache.stats();
+	}
+
+	private static UserDetails copyOf(UserDetails userDetails) {
+		return ((userDetails instanceof CredentialsContainer) && (userDetails.getPassword() != null)) ? User.withUserDetails(userDetails).build() : userDetails;
+	}
+
+	private static final class UserDetailsLoader implements CacheLoader<String, UserDetails> {
+		private final UserDetailsService delegate;
+
+		private UserDetailsLoader(UserDetailsService delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public UserDetails load(String username) {
+			return this.delegate.loadUserByUsername(username);
+		}
+
+		@Override
+		@Nullable
+		public UserDetails reload(String username, UserDetails oldUserDetails) {
+			try {
+				return load(username);
+			}
+			catch (UsernameNotFoundException ex) {
+				// Returning null removes the entry, rather than keeping a user that no longer exists
+				return null;
+			}
+		}
+	}
+}
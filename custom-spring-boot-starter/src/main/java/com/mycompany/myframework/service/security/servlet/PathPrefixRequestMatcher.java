@@ -0,0 +1,61 @@
+package com.mycompany.myframework.service.security.servlet;
+
+import java.util.Collection;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.util.Assert;
+
+import com.mycompany.myframework.service.routing.PathPrefixTrie;
+
+/**
+ * {@link RequestMatcher} matching requests against a set of exact paths (i.e. {@code /swagger-ui.html}) &amp; path prefixes (i.e.
+ * {@code /webjars/**}) in a single pass.
+ * <p>
+ *   The patterns are compiled once into a {@link PathPrefixTrie}, so matching a request is one walk along its path no matter how
+ *   many patterns there are, rather than one {@link org.springframework.security.web.util.matcher.AntPathRequestMatcher} after
+ *   another. Like {@link org.springframework.security.web.util.matcher.AntPathRequestMatcher}, the path matched is the servlet path
+ *   plus the path info, case-sensitively, a prefix also matches the path itself (so {@code /webjars/**} matches {@code /webjars}), and
+ *   a trailing {@code /} is significant for an exact path (so {@code /swagger-ui.html} doesn't match {@code /swagger-ui.html/}).
+ * </p>
+ */
+public class PathPrefixRequestMatcher implements RequestMatcher {
+	private final Collection<String> pathPatterns;
+	private final PathPrefixTrie<Boolean> paths;
+
+	/**
+	 * Constructs an instance
+	 * @param pathPatterns The path patterns, each either an exact path or a path prefix ending in {@code /**}
+	 * @throws IllegalArgumentException If a pattern isn't an exact path or a path prefix, or is duplicated
+	 */
+	public PathPrefixRequestMatcher(Collection<String> pathPatterns) {
+		Assert.notNull(pathPatterns, "pathPatterns can not be null");
+		PathPrefixTrie.Builder<Boolean> builder = PathPrefixTrie.builder();
+		pathPatterns.forEach(pathPattern -> builder.add(pathPattern, Boolean.TRUE));
+
+		this.pathPatterns = pathPatterns;
+		this.paths = builder.build();
+	}
+
+	@Override
+	public boolean matches(HttpServletRequest request) {
+		return this.paths.find(getRequestPath(request)) != null;
+	}
+
+	private static String getRequestPath(HttpServletRequest request) {
+		String servletPath = request.getServletPath();
+		String pathInfo = request.getPathInfo();
+
+		return (pathInfo != null) ? (servletPath + pathInfo) : servletPath;
+	}
+
+	@Override
+	public String toString() {
+		return new ToStringBuilder(this)
+			.append("pathPatterns", this.pathPatterns)
+			.toString();
+	}
+}
@@ -0,0 +1,60 @@
+package com.mycompany.myframework.service.security.servlet;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.security.web.csrf.CookieCsrfTokenRepository;
+import org.springframework.security.web.csrf.CsrfToken;
+import org.springframework.security.web.csrf.CsrfTokenRepository;
+import org.springframework.security.web.csrf.DefaultCsrfToken;
+import org.springframework.util.Assert;
+
+import com.mycompany.myframework.service.security.CsrfTokenGenerator;
+
+/**
+ * {@link CsrfTokenRepository} keeping the token in the {@code XSRF-TOKEN} cookie exactly like {@link CookieCsrfTokenRepository},
+ * but generating new tokens with a {@link CsrfTokenGenerator} instead of {@link java.util.UUID#randomUUID()}, so concurrent requests
+ * don't contend on a single {@link java.security.SecureRandom}.
+ * <p>
+ *   A token is only generated when the request didn't bring one in its cookie, which the
+ *   {@link org.springframework.security.web.csrf.CsrfFilter} saves straight away so the browser gets its cookie.
+ * </p>
+ */
+public class StripedCookieCsrfTokenRepository implements CsrfTokenRepository {
+	// The defaults of CookieCsrfTokenRepository, which doesn't expose them
+	private static final String CSRF_HEADER_NAME = "X-XSRF-TOKEN";
+	private static final String CSRF_PARAMETER_NAME = "_csrf";
+
+	private final CookieCsrfTokenRepository delegate;
+	private final CsrfTokenGenerator tokenGenerator;
+
+	private StripedCookieCsrfTokenRepository(CookieCsrfTokenRepository delegate, CsrfTokenGenerator tokenGenerator) {
+		Assert.notNull(tokenGenerator, "tokenGenerator can not be null");
+		this.delegate = delegate;
+		this.tokenGenerator = tokenGenerator;
+	}
+
+	/**
+	 * Creates a repository whose cookie can be read by JavaScript, like {@link CookieCsrfTokenRepository#withHttpOnlyFalse()}
+	 * @param tokenGenerator The {@link CsrfTokenGenerator}
+	 * @return The {@link StripedCookieCsrfTokenRepository}
+	 */
+	public static StripedCookieCsrfTokenRepository withHttpOnlyFalse(CsrfTokenGenerator tokenGenerator) {
+		return new StripedCookieCsrfTokenRepository(CookieCsrfTokenRepository.withHttpOnlyFalse(), tokenGenerator);
+	}
+
+	@Override
+	public CsrfToken generateToken(HttpServletRequest request) {
+		return new DefaultCsrfToken(CSRF_HEADER_NAME, CSRF_PARAMETER_NAME, this.tokenGenerator.generateToken());
+	}
+
+	@Override
+	public void saveToken(CsrfToken token, HttpServletRequest request, HttpServletResponse response) {
+		this.delegate.saveToken(token, request, response);
+	}
+
+	@Override
+	public CsrfToken loadToken(HttpServletRequest request) {
+		return this.delegate.loadToken(request);
+	}
+}
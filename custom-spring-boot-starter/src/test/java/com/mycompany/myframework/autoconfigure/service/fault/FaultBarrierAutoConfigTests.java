@@ -0,0 +1,65 @@
+package com.mycompany.myframework.autoconfigure.service.fault;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import com.mycompany.myframework.autoconfigure.properties.PropertiesAutoConfiguration;
+import com.mycompany.myframework.properties.config.MyFrameworkConfig;
+import com.mycompany.myframework.service.fault.FaultIdGenerator;
+import com.mycompany.myframework.service.fault.FaultIds;
+import com.mycompany.myframework.service.fault.FaultStackTracePolicy;
+import com.mycompany.myframework.service.fault.FaultStackTraces;
+import com.mycompany.myframework.service.fault.RandomUuidFaultIdGenerator;
+import com.mycompany.myframework.service.fault.TimeOrderedFaultIdGenerator;
+import com.mycompany.myframework.service.model.FaultException;
+
+public class FaultBarrierAutoConfigTests {
+	private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+		.withConfiguration(AutoConfigurations.of(PropertiesAutoConfiguration.class, FaultBarrierAutoConfig.class));
+
+	@AfterEach
+	public void restoreDefaults() {
+		FaultIds.resetGenerator();
+		FaultStackTraces.resetPolicy();
+	}
+
+	@Test
+	public void defaultsAreInstalled() {
+		this.contextRunner.run(context -> {
+			assertThat(FaultIds.getGenerator())
+				.isExactlyInstanceOf(RandomUuidFaultIdGenerator.class)
+				.isSameAs(context.getBean(FaultIdGenerator.class));
+
+			assertThat(FaultStackTraces.getPolicy())
+				.isSameAs(context.getBean(FaultStackTracePolicy.class));
+		});
+	}
+
+	@Test
+	public void configuredFaultsAreResetWhenContextCloses() {
+		this.contextRunner
+			.withPropertyValues(
+				String.format("%s.fault.id-generator=time-ordered", MyFrameworkConfig.PREFIX),
+				String.format("%s.fault.stack-traces.mode=none", MyFrameworkConfig.PREFIX),
+				String.format("%s.fault.stack-traces.fault-types=%s", MyFrameworkConfig.PREFIX, FaultException.class.getName())
+			)
+			.run(context -> {
+				assertThat(FaultIds.getGenerator())
+					.isExactlyInstanceOf(TimeOrderedFaultIdGenerator.class);
+
+				assertThat(FaultStackTraces.getPolicy().getStackTraceDepth(FaultException.class))
+					.isZero();
+			});
+
+		assertThat(FaultIds.getGenerator())
+			.isExactlyInstanceOf(RandomUuidFaultIdGenerator.class);
+
+		assertThat(FaultStackTraces.getPolicy().getStackTraceDepth(FaultException.class))
+			.isEqualTo(FaultStackTracePolicy.FULL_DEPTH);
+	}
+}
@@ -2,6 +2,7 @@ package com.mycompany.myframework.autoconfigure.service.security.reactive;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -28,6 +29,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
 import org.springframework.security.core.userdetails.User;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
 import org.springframework.security.web.server.MatcherSecurityWebFilterChain;
 import org.springframework.security.web.server.SecurityWebFilterChain;
 import org.springframework.security.web.server.authentication.AuthenticationWebFilter;
@@ -38,9 +40,16 @@ import org.springframework.web.cors.reactive.CorsProcessor;
 import org.springframework.web.server.WebFilter;
 
 import com.mycompany.myframework.autoconfigure.properties.PropertiesAutoConfiguration;
+import com.mycompany.myframework.autoconfigure.service.security.AllowedDomainsCorsAutoConfig;
 import com.mycompany.myframework.autoconfigure.service.security.reactive.ServiceReactiveSecurityAutoConfig.AllowedDomainsCorsConfiguration;
+import com.mycompany.myframework.autoconfigure.service.security.reactive.ServiceReactiveSecurityAutoConfig.JwtTokenWebSecurityConfiguration;
 import com.mycompany.myframework.autoconfigure.service.security.reactive.ServiceReactiveSecurityAutoConfig.MethodSecurityAutoConfiguration;
+import com.mycompany.myframework.autoconfigure.service.security.reactive.ServiceReactiveSecurityAutoConfig.NoJwtTokenWebSecurityConfiguration;
 import com.mycompany.myframework.properties.config.MyFrameworkConfig;
+import com.mycompany.myframework.service.security.JwtTestTokens;
+import com.mycompany.myframework.service.security.server.CachingReactiveJwtDecoder;
+import com.mycompany.myframework.service.security.server.CachingReactiveUserDetailsService;
+import com.mycompany.myframework.service.security.server.HeaderReactiveUserDetailsService;
 import com.mycompany.myframework.service.security.server.ServerAllowedDomainsCorsProcessor;
 import reactor.core.publisher.Mono;
 
@@ -51,6 +60,7 @@ public class ServiceReactiveSecurityAutoConfigTests {
 	private static final AutoConfigurations AUTO_CONFIGURATIONS =
 		AutoConfigurations.of(
 			PropertiesAutoConfiguration.class,
+			AllowedDomainsCorsAutoConfig.class,
 			ServiceReactiveSecurityAutoConfig.class,
 			WebFluxAutoConfiguration.class,
 			ReactiveSecurityAutoConfiguration.class,
@@ -152,6 +162,66 @@ public class ServiceReactiveSecurityAutoConfigTests {
 			});
 	}
 
+	@Test
+	public void userDetailsAreCached() {
+		new ReactiveWebApplicationContextRunner()
+			.withConfiguration(AUTO_CONFIGURATIONS)
+			.withPropertyValues(SECURITY_ENABLED_STRING)
+			.run(context -> {
+				assertThat(context)
+					.getBean(ReactiveUserDetailsService.class)
+					.isExactlyInstanceOf(CachingReactiveUserDetailsService.class);
+			});
+	}
+
+	@Test
+	public void userDetailsCacheDisabled() {
+		new ReactiveWebApplicationContextRunner()
+			.withConfiguration(AUTO_CONFIGURATIONS)
+			.withPropertyValues(
+				SECURITY_ENABLED_STRING,
+				String.format("%s.security.user-details-cache.enabled=false", MyFrameworkConfig.PREFIX)
+			)
+			.run(context -> {
+				assertThat(context)
+					.getBean(ReactiveUserDetailsService.class)
+					.isExactlyInstanceOf(HeaderReactiveUserDetailsService.class);
+			});
+	}
+
+	@Test
+	public void jwtTokenParsing() throws IOException {
+		new ReactiveWebApplicationContextRunner()
+			.withConfiguration(AUTO_CONFIGURATIONS)
+			.withPropertyValues(SECURITY_ENABLED_STRING, String.format("%s.security.jwt.jwk-set-location=%s", MyFrameworkConfig.PREFIX, new JwtTestTokens().writeJwkSet().toUri()))
+			.run(context -> {
+				assertThat(context)
+					.hasSingleBean(JwtTokenWebSecurityConfiguration.class)
+					.hasSingleBean(SecurityWebFilterChain.class)
+					.doesNotHaveBean(NoJwtTokenWebSecurityConfiguration.class)
+					.getBean(ReactiveJwtDecoder.class)
+					.isExactlyInstanceOf(CachingReactiveJwtDecoder.class);
+			});
+	}
+
+	@Test
+	public void jwtTokenCachesDisabled() throws IOException {
+		new ReactiveWebApplicationContextRunner()
+			.withConfiguration(AUTO_CONFIGURATIONS)
+			.withPropertyValues(
+				SECURITY_ENABLED_STRING,
+				String.format("%s.security.jwt.jwk-set-location=%s", MyFrameworkConfig.PREFIX, new JwtTestTokens().writeJwkSet().toUri()),
+				String.format("%s.security.jwt.verified-token-cache.enabled=false", MyFrameworkConfig.PREFIX),
+				String.format("%s.security.jwt.authentication-cache.enabled=false", MyFrameworkConfig.PREFIX)
+			)
+			.run(context -> {
+				assertThat(context)
+					.hasSingleBean(JwtTokenWebSecurityConfiguration.class)
+					.getBean(ReactiveJwtDecoder.class)
+					.isNotInstanceOf(CachingReactiveJwtDecoder.class);
+			});
+	}
+
 	private <C extends ConfigurableApplicationContext, A extends ApplicationContextAssertProvider<C>> void assertNoConfigPresent(A context) {
 		assertConfigClasses(
 			context,
@@ -2,10 +2,13 @@ package com.mycompany.myframework.autoconfigure.service.security.servlet;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import javax.servlet.Filter;
 
@@ -31,10 +34,14 @@ import org.springframework.boot.test.context.runner.WebApplicationContextRunner;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.env.SystemEnvironmentPropertySource;
 import org.springframework.security.access.PermissionEvaluator;
 import org.springframework.security.access.expression.DenyAllPermissionEvaluator;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.server.resource.web.BearerTokenAuthenticationFilter;
 import org.springframework.security.web.DefaultSecurityFilterChain;
 import org.springframework.security.web.FilterChainProxy;
 import org.springframework.security.web.SecurityFilterChain;
@@ -44,11 +51,22 @@ import org.springframework.security.web.util.matcher.AnyRequestMatcher;
 import org.springframework.web.filter.CorsFilter;
 
 import com.mycompany.myframework.autoconfigure.properties.PropertiesAutoConfiguration;
+import com.mycompany.myframework.autoconfigure.service.security.AllowedDomainsCorsAutoConfig;
+import com.mycompany.myframework.autoconfigure.service.security.servlet.ServiceServletSecurityAutoConfig.JwtTokenWebSecurityConfiguration;
 import com.mycompany.myframework.autoconfigure.service.security.servlet.ServiceServletSecurityAutoConfig.MethodSecurityAutoConfig;
+import com.mycompany.myframework.autoconfigure.service.security.servlet.ServiceServletSecurityAutoConfig.NoJwtTokenWebSecurityConfiguration;
 import com.mycompany.myframework.autoconfigure.service.security.servlet.ServiceServletSecurityAutoConfig.SwaggerAutoConfiguration;
 import com.mycompany.myframework.autoconfigure.service.swagger.servlet.SwaggerServletSecurityResponseModifier;
 import com.mycompany.myframework.properties.config.MyFrameworkConfig;
+import com.mycompany.myframework.service.security.AllowedDomainsMatcherHolder;
+import com.mycompany.myframework.service.security.CorsDecisionMetrics;
+import com.mycompany.myframework.service.security.CorsRoutingTable;
+import com.mycompany.myframework.service.security.JwtTestTokens;
+import com.mycompany.myframework.service.security.PermissionCache;
 import com.mycompany.myframework.service.security.servlet.AllowedDomainsCorsConfigurationSource;
+import com.mycompany.myframework.service.security.servlet.AllowedDomainsCorsProcessor;
+import com.mycompany.myframework.service.security.servlet.CachingCorsConfigurationSource;
+import com.mycompany.myframework.service.security.servlet.CachingJwtDecoder;
 import com.mycompany.myframework.service.security.servlet.HeaderUserFilter;
 import springfox.documentation.swagger2.annotations.EnableSwagger2;
 
@@ -59,6 +77,7 @@ public class ServiceServletSecurityAutoConfigTests {
 	private static final AutoConfigurations AUTO_CONFIGURATIONS =
 		AutoConfigurations.of(
 			PropertiesAutoConfiguration.class,
+			AllowedDomainsCorsAutoConfig.class,
 			ServiceServletSecurityAutoConfig.class,
 			DispatcherServletAutoConfiguration.class,
 			ServletWebServerFactoryAutoConfiguration.class,
@@ -113,6 +132,62 @@ public class ServiceServletSecurityAutoConfigTests {
 			});
 	}
 
+	@Test
+	public void allowedDomainsFromLocation() {
+		new WebApplicationContextRunner()
+			.withConfiguration(AUTO_CONFIGURATIONS)
+			.withPropertyValues(SECURITY_ENABLED_STRING, String.format("%s.security.cors.allowed-domains-location=classpath:cors/allowed-domains.txt", MyFrameworkConfig.PREFIX))
+			.run(context -> {
+				assertThat(context)
+					.hasSingleBean(AllowedDomainsCorsConfigurationSource.class)
+					.hasSingleBean(AllowedDomainsCorsProcessor.class);
+			});
+	}
+
+	@Test
+	public void routesOnly() {
+		new WebApplicationContextRunner()
+			.withConfiguration(AUTO_CONFIGURATIONS)
+			.withPropertyValues(
+				SECURITY_ENABLED_STRING,
+				String.format("%s.security.cors.routes[0].path-pattern=/admin/**", MyFrameworkConfig.PREFIX),
+				String.format("%s.security.cors.routes[0].allowed-domains=internal.redhat.com", MyFrameworkConfig.PREFIX)
+			)
+			.run(context -> {
+				assertThat(context)
+					.hasSingleBean(AllowedDomainsCorsConfigurationSource.class)
+					.hasSingleBean(CorsRoutingTable.class);
+
+				assertThat(context.getBean(CorsRoutingTable.class))
+					.extracting(
+						CorsRoutingTable::hasRoutes,
+						routingTable -> routingTable.getMatcher("/admin/users").matches("https://internal.redhat.com"),
+						routingTable -> routingTable.getMatcher("/people").isEmpty()
+					)
+					.containsExactly(true, true, true);
+			});
+	}
+
+	@Test
+	public void routesOnlyFromEnvironmentVariables() {
+		Map<String, Object> environmentVariables = new HashMap<>();
+		environmentVariables.put("MYCOMPANY_MYFRAMEWORK_CONFIG_SECURITY_CORS_ROUTES_0_PATHPATTERN", "/admin/**");
+		environmentVariables.put("MYCOMPANY_MYFRAMEWORK_CONFIG_SECURITY_CORS_ROUTES_0_ALLOWEDDOMAINS", "internal.redhat.com");
+
+		new WebApplicationContextRunner()
+			.withConfiguration(AUTO_CONFIGURATIONS)
+			.withPropertyValues(SECURITY_ENABLED_STRING)
+			.withInitializer(context -> context.getEnvironment().getPropertySources().addFirst(new SystemEnvironmentPropertySource(StandardEnvironment.SYSTEM_ENVIRONMENT_PROPERTY_SOURCE_NAME, environmentVariables)))
+			.run(context -> {
+				assertThat(context)
+					.hasSingleBean(AllowedDomainsCorsConfigurationSource.class)
+					.hasSingleBean(CorsRoutingTable.class);
+
+				assertThat(context.getBean(CorsRoutingTable.class).getMatcher("/admin/users").matches("https://internal.redhat.com"))
+					.isTrue();
+			});
+	}
+
 	@Test
 	public void everythingPresent() {
 		new WebApplicationContextRunner()
@@ -129,9 +204,15 @@ public class ServiceServletSecurityAutoConfigTests {
 						CsrfTokenRepository.class,
 						MethodSecurityAutoConfig.class,
 						PermissionEvaluator.class,
+						PermissionCache.class,
 						SwaggerAutoConfiguration.class,
 						SwaggerServletSecurityResponseModifier.class,
-						AllowedDomainsCorsConfigurationSource.class
+						AllowedDomainsCorsConfigurationSource.class,
+						AllowedDomainsCorsProcessor.class,
+						CachingCorsConfigurationSource.class,
+						AllowedDomainsMatcherHolder.class,
+						CorsDecisionMetrics.class,
+						CorsRoutingTable.class
 					),
 					Collections.EMPTY_LIST
 				);
@@ -167,6 +248,39 @@ public class ServiceServletSecurityAutoConfigTests {
 			});
 	}
 
+	@Test
+	public void jwtTokenParsing() throws IOException {
+		new WebApplicationContextRunner()
+			.withConfiguration(AUTO_CONFIGURATIONS)
+			.withPropertyValues(SECURITY_ENABLED_STRING, String.format("%s.security.jwt.jwk-set-location=%s", MyFrameworkConfig.PREFIX, new JwtTestTokens().writeJwkSet().toUri()))
+			.run(context -> {
+				assertThat(context)
+					.hasSingleBean(JwtTokenWebSecurityConfiguration.class)
+					.doesNotHaveBean(NoJwtTokenWebSecurityConfiguration.class)
+					.getBean(JwtDecoder.class)
+					.isExactlyInstanceOf(CachingJwtDecoder.class);
+
+				List<Filter> filters = context.getBean("springSecurityFilterChain", FilterChainProxy.class).getFilterChains().get(0).getFilters();
+
+				assertThat(filters)
+					.hasAtLeastOneElementOfType(BearerTokenAuthenticationFilter.class)
+					.doesNotHaveAnyElementsOfTypes(HeaderUserFilter.class);
+			});
+	}
+
+	@Test
+	public void noJwtTokenParsingWithoutJwkSetLocation() {
+		new WebApplicationContextRunner()
+			.withConfiguration(AUTO_CONFIGURATIONS)
+			.withPropertyValues(SECURITY_ENABLED_STRING)
+			.run(context -> {
+				assertThat(context)
+					.hasSingleBean(NoJwtTokenWebSecurityConfiguration.class)
+					.doesNotHaveBean(JwtTokenWebSecurityConfiguration.class)
+					.doesNotHaveBean(JwtDecoder.class);
+			});
+	}
+
 	private <C extends ConfigurableApplicationContext, A extends ApplicationContextAssertProvider<C>> void assertNoConfigPresent(A context) {
 		assertConfigClasses(
 			context,
@@ -181,8 +295,14 @@ public class ServiceServletSecurityAutoConfigTests {
 				AllowFromStrategy.class,
 				SwaggerAutoConfiguration.class,
 				PermissionEvaluator.class,
+				PermissionCache.class,
 				SwaggerServletSecurityResponseModifier.class,
-				AllowedDomainsCorsConfigurationSource.class
+				AllowedDomainsCorsConfigurationSource.class,
+				AllowedDomainsCorsProcessor.class,
+				CachingCorsConfigurationSource.class,
+				AllowedDomainsMatcherHolder.class,
+				CorsDecisionMetrics.class,
+				CorsRoutingTable.class
 			));
 	}
 
@@ -0,0 +1,75 @@
+package com.mycompany.myframework.service.fault;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.slf4j.MDC;
+
+import org.springframework.http.HttpStatus;
+
+import com.mycompany.myframework.service.model.FaultException;
+
+public class FaultIdGeneratorTests {
+	@AfterEach
+	public void restoreGenerator() {
+		FaultIds.resetGenerator();
+		MDC.clear();
+	}
+
+	@Test
+	public void timeOrderedIdsAreVersion7Uuids() {
+		long before = System.currentTimeMillis();
+		UUID faultId = UUID.fromString(new TimeOrderedFaultIdGenerator().generateFaultId());
+		long after = System.currentTimeMillis();
+
+		assertThat(faultId.version()).isEqualTo(7);
+		assertThat(faultId.variant()).isEqualTo(2);
+		assertThat(faultId.getMostSignificantBits() >>> 16).isBetween(before, after);
+	}
+
+	@Test
+	public void traceIdsAreUsedWhenPresent() {
+		TraceIdFaultIdGenerator generator = new TraceIdFaultIdGenerator(() -> "fallback");
+
+		assertThat(generator.generateFaultId()).isEqualTo("fallback");
+
+		MDC.put("traceId", "5af7183fb1d4cf5f");
+
+		assertThat(generator.generateFaultId())
+			.matches("5af7183fb1d4cf5f-[0-9a-f]{8}")
+			.isNotEqualTo(generator.generateFaultId());
+	}
+
+	@Test
+	public void resetGeneratorGeneratesRandomUuids() {
+		FaultIds.setGenerator(new TimeOrderedFaultIdGenerator());
+		FaultIds.resetGenerator();
+
+		assertThat(FaultIds.getGenerator())
+			.isExactlyInstanceOf(RandomUuidFaultIdGenerator.class);
+
+		assertThat(UUID.fromString(FaultIds.generate()).version())
+			.isEqualTo(4);
+	}
+
+	@Test
+	public void faultIdsAreGeneratedOnFirstAccess() {
+		AtomicInteger generatedFaultIds = new AtomicInteger();
+		FaultIds.setGenerator(() -> "fault-" + generatedFaultIds.incrementAndGet());
+
+		FaultException unread = new FaultException(HttpStatus.INTERNAL_SERVER_ERROR, "unread");
+		FaultException assigned = new FaultException(HttpStatus.INTERNAL_SERVER_ERROR, "assigned").faultId("assigned-id");
+		FaultException read = new FaultException(HttpStatus.INTERNAL_SERVER_ERROR, "read");
+
+		assertThat(generatedFaultIds.get()).isZero();
+		assertThat(assigned.getFaultId()).isEqualTo("assigned-id");
+		assertThat(read.getFaultId()).isEqualTo("fault-1").isEqualTo(read.getFaultId());
+		assertThat(generatedFaultIds.get()).isEqualTo(1);
+		assertThat(unread.faultId(null).getFaultId()).isNull();
+	}
+}
@@ -0,0 +1,110 @@
+package com.mycompany.myframework.service.fault;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import org.slf4j.LoggerFactory;
+
+import org.springframework.http.HttpStatus;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.mycompany.myframework.properties.config.MyFrameworkConfig.FaultConfig.LogDeduplicationConfig;
+import com.mycompany.myframework.service.model.FaultException;
+
+public class FaultLoggerTests {
+	@Test
+	public void repeatsOfAFaultAreSuppressedUntilTheWindowEnds() {
+		FaultLogger faultLogger = new FaultLogger(new LogDeduplicationConfig());
+
+		for (int i = 0; i < 10; i++) {
+			faultLogger.log(downstreamFault());
+		}
+
+		assertThat(faultLogger.getLoggedFaultCount()).isEqualTo(1);
+		assertThat(faultLogger.getSuppressedFaultCount()).isEqualTo(9);
+
+		faultLogger.summarize();
+		faultLogger.log(downstreamFault());
+
+		assertThat(faultLogger.getLoggedFaultCount()).isEqualTo(2);
+		assertThat(faultLogger.getSuppressedFaultCount()).isEqualTo(9);
+	}
+
+	@Test
+	public void faultsWithDifferentRootCausesOrStatusesAreLoggedSeparately() {
+		FaultLogger faultLogger = new FaultLogger(new LogDeduplicationConfig());
+
+		faultLogger.log(downstreamFault());
+		faultLogger.log(new FaultException(HttpStatus.SERVICE_UNAVAILABLE, "Downstream service unavailable", new IllegalArgumentException("Bad request")));
+		faultLogger.log(new FaultException(HttpStatus.BAD_GATEWAY, "Downstream service unavailable", new IllegalStateException("Connection refused")));
+
+		assertThat(faultLogger.getLoggedFaultCount()).isEqualTo(3);
+		assertThat(faultLogger.getSuppressedFaultCount()).isZero();
+	}
+
+	@Test
+	public void faultsBeyondTheMaximumFingerprintsAreLoggedInFull() {
+		LogDeduplicationConfig config = new LogDeduplicationConfig();
+		config.setMaximumFingerprints(1);
+		FaultLogger faultLogger = new FaultLogger(config);
+
+		faultLogger.log(downstreamFault());
+		faultLogger.log(new FaultException(HttpStatus.BAD_GATEWAY, "Bad gateway"));
+		faultLogger.log(new FaultException(HttpStatus.BAD_GATEWAY, "Bad gateway"));
+
+		assertThat(faultLogger.getLoggedFaultCount()).isEqualTo(3);
+	}
+
+	@Test
+	public void everyFaultIsLoggedInFullWhenDisabled() {
+		LogDeduplicationConfig config = new LogDeduplicationConfig();
+		config.setEnabled(false);
+		FaultLogger faultLogger = new FaultLogger(config);
+
+		for (int i = 0; i < 10; i++) {
+			faultLogger.log(downstreamFault());
+		}
+
+		assertThat(faultLogger.getLoggedFaultCount()).isEqualTo(10);
+		assertThat(faultLogger.getSuppressedFaultCount()).isZero();
+	}
+
+	@Test
+	public void faultsAreLoggedThroughTheBarriersLogger() {
+		FaultLogger faultLogger = new FaultLogger(new LogDeduplicationConfig());
+		Logger barrierLogger = (Logger) LoggerFactory.getLogger("com.mycompany.myframework.service.fault.TestFaultBarrier");
+		ListAppender<ILoggingEvent> appender = new ListAppender<>();
+		appender.start();
+		barrierLogger.addAppender(appender);
+
+		try {
+			for (int i = 0; i < 3; i++) {
+				faultLogger.log(downstreamFault(), barrierLogger);
+			}
+
+			faultLogger.summarize();
+		}
+		finally {
+			barrierLogger.detachAppender(appender);
+		}
+
+		List<String> errors = appender.list.stream()
+			.filter(event -> event.getLevel() == Level.ERROR)
+			.map(ILoggingEvent::getFormattedMessage)
+			.collect(Collectors.toList());
+
+		assertThat(errors).hasSize(2);
+		assertThat(errors.get(1)).contains("repeated 2 more times");
+	}
+
+	private static FaultException downstreamFault() {
+		return new FaultException(HttpStatus.SERVICE_UNAVAILABLE, "Downstream service unavailable", new IllegalStateException("Connection refused"));
+	}
+}
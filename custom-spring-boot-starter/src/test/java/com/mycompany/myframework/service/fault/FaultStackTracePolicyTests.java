@@ -0,0 +1,68 @@
+package com.mycompany.myframework.service.fault;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.http.HttpStatus;
+
+import com.mycompany.myframework.service.model.FaultException;
+
+public class FaultStackTracePolicyTests {
+	@AfterEach
+	public void restorePolicy() {
+		FaultStackTraces.resetPolicy();
+	}
+
+	@Test
+	public void faultsCaptureTheirFullStackTraceByDefault() {
+		FaultException fault = new ExpectedFault();
+
+		assertThat(fault.getStackTrace()).isNotEmpty();
+		assertThat(fault.getStackTrace()[0].getMethodName()).isEqualTo("faultsCaptureTheirFullStackTraceByDefault");
+	}
+
+	@Test
+	public void designatedFaultsAreStackless() {
+		FaultStackTraces.setPolicy(FaultStackTracePolicy.stackless(Collections.singleton(ExpectedFault.class)));
+
+		assertThat(new ExpectedFault().getStackTrace()).isEmpty();
+		assertThat(new ExpectedSubFault().getStackTrace()).isEmpty();
+		assertThat(new FaultException(HttpStatus.INTERNAL_SERVER_ERROR, "Unexpected").getStackTrace()).isNotEmpty();
+	}
+
+	@Test
+	public void designatedFaultsKeepTheTopOfTheirStackTrace() {
+		FaultStackTraces.setPolicy(FaultStackTracePolicy.limited(Collections.singleton(ExpectedFault.class), 2));
+
+		StackTraceElement[] stackTrace = new ExpectedFault().getStackTrace();
+
+		assertThat(stackTrace).hasSize(2);
+		assertThat(stackTrace[0].getMethodName()).isEqualTo("designatedFaultsKeepTheTopOfTheirStackTrace");
+		assertThat(new FaultException(HttpStatus.INTERNAL_SERVER_ERROR, "Unexpected").getStackTrace().length).isGreaterThan(2);
+	}
+
+	@Test
+	public void stacklessFaultsStillCarryTheirCause() {
+		FaultStackTraces.setPolicy(FaultStackTracePolicy.stackless(Collections.singleton(FaultException.class)));
+		IllegalStateException cause = new IllegalStateException("Cause");
+
+		FaultException fault = new FaultException(HttpStatus.INTERNAL_SERVER_ERROR, "Unexpected", cause);
+
+		assertThat(fault.getStackTrace()).isEmpty();
+		assertThat(fault.getCause()).isSameAs(cause);
+		assertThat(cause.getStackTrace()).isNotEmpty();
+	}
+
+	private static class ExpectedFault extends FaultException {
+		private ExpectedFault() {
+			super(HttpStatus.NOT_FOUND, "Not Found");
+		}
+	}
+
+	private static class ExpectedSubFault extends ExpectedFault {
+	}
+}
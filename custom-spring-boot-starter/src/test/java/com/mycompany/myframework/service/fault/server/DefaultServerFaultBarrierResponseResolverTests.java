@@ -0,0 +1,89 @@
+package com.mycompany.myframework.service.fault.server;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebInputException;
+
+import com.mycompany.myframework.properties.config.MyFrameworkConfig.FaultConfig.LogDeduplicationConfig;
+import com.mycompany.myframework.service.fault.FaultLogger;
+import com.mycompany.myframework.service.model.FaultException;
+
+public class DefaultServerFaultBarrierResponseResolverTests {
+	private final FaultLogger faultLogger = new FaultLogger(new LogDeduplicationConfig());
+
+	@Test
+	public void exceptionsAreHandledByTheNearestClassInTheirHierarchy() {
+		DefaultServerFaultBarrierResponseResolver responseResolver = new DefaultServerFaultBarrierResponseResolver(this.faultLogger);
+
+		assertThat(statusOf(responseResolver, new FaultException(HttpStatus.SERVICE_UNAVAILABLE, "Unavailable"))).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+		assertThat(statusOf(responseResolver, new UnavailableFault())).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+		assertThat(statusOf(responseResolver, new ServerWebInputException("Bad input"))).isEqualTo(HttpStatus.BAD_REQUEST);
+		assertThat(statusOf(responseResolver, new IllegalStateException("Unexpected"))).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+		assertThatThrownBy(() -> responseResolver.handleFault(new ResponseStatusException(HttpStatus.CONFLICT))).isInstanceOf(ResponseStatusException.class);
+	}
+
+	@Test
+	public void responseStatusExceptionsAreHandedBackToTheFramework() {
+		DefaultServerFaultBarrierResponseResolver responseResolver = new DefaultServerFaultBarrierResponseResolver(this.faultLogger);
+
+		assertThatThrownBy(() -> responseResolver.handleFault(new NotFoundException())).isInstanceOf(NotFoundException.class);
+		assertThatThrownBy(() -> responseResolver.handleFault(new PersonNotFoundException())).isInstanceOf(PersonNotFoundException.class);
+	}
+
+	@Test
+	public void errorsAreNotHandled() {
+		DefaultServerFaultBarrierResponseResolver responseResolver = new DefaultServerFaultBarrierResponseResolver(this.faultLogger);
+
+		assertThat(responseResolver.handleFault(new AssertionError("Not an exception")).block()).isNull();
+	}
+
+	@Test
+	public void applicationHandlersTakePrecedence() {
+		DefaultServerFaultBarrierResponseResolver responseResolver = new DefaultServerFaultBarrierResponseResolver(this.faultLogger, Arrays.asList(
+			ServerFaultHandler.of(IllegalStateException.class, ex -> ServerResponse.status(HttpStatus.CONFLICT).build()),
+			ServerFaultHandler.of(IllegalStateException.class, ex -> ServerResponse.status(HttpStatus.GONE).build()),
+			ServerFaultHandler.of(FaultException.class, ex -> ServerResponse.status(HttpStatus.BAD_GATEWAY).build())
+		));
+
+		assertThat(statusOf(responseResolver, new IllegalStateException("Conflict"))).isEqualTo(HttpStatus.CONFLICT);
+		assertThat(statusOf(responseResolver, new UnavailableFault())).isEqualTo(HttpStatus.BAD_GATEWAY);
+		assertThat(statusOf(responseResolver, new IllegalArgumentException("Unexpected"))).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+	}
+
+	@Test
+	public void moreSpecificHandlersWinRegardlessOfOrder() {
+		DefaultServerFaultBarrierResponseResolver responseResolver = new DefaultServerFaultBarrierResponseResolver(this.faultLogger, Collections.singletonList(
+			ServerFaultHandler.of(UnavailableFault.class, ex -> ServerResponse.status(HttpStatus.GATEWAY_TIMEOUT).build())
+		));
+
+		assertThat(statusOf(responseResolver, new UnavailableFault())).isEqualTo(HttpStatus.GATEWAY_TIMEOUT);
+		assertThat(statusOf(responseResolver, new FaultException(HttpStatus.SERVICE_UNAVAILABLE, "Unavailable"))).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+	}
+
+	private static HttpStatus statusOf(DefaultServerFaultBarrierResponseResolver responseResolver, Throwable fault) {
+		return responseResolver.handleFault(fault).block().statusCode();
+	}
+
+	private static class UnavailableFault extends FaultException {
+		private UnavailableFault() {
+			super(HttpStatus.SERVICE_UNAVAILABLE, "Unavailable");
+		}
+	}
+
+	@ResponseStatus(HttpStatus.NOT_FOUND)
+	private static class NotFoundException extends RuntimeException {
+	}
+
+	private static class PersonNotFoundException extends NotFoundException {
+	}
+}
@@ -0,0 +1,109 @@
+package com.mycompany.myframework.service.routing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class PathPrefixTrieTests {
+	private static final PathPrefixTrie<String> TRIE = PathPrefixTrie.<String>builder()
+		.add("/**", "root")
+		.add("/people/**", "people")
+		.add("/admin/**", "admin")
+		.add("/admin/users/**", "admin-users")
+		.add("/admin/users", "admin-users-exact")
+		.add("/health", "health")
+		.add("/status/", "status")
+		.build();
+
+	@ParameterizedTest(name = "find [{index}] {arguments}")
+	@CsvSource({
+		"/, root",
+		"'', root",
+		"/other, root",
+		"/people, people",
+		"/people/1, people",
+		"/peoples, root",
+		"/admin, admin",
+		"/admin/, admin",
+		"/admin/settings, admin",
+		"/admin/users, admin-users-exact",
+		"/admin/users/, admin-users",
+		"//admin//users, admin-users-exact",
+		"/admin/users/1, admin-users",
+		"/health, health",
+		"/health/, root",
+		"/health/liveness, root",
+		"/status/, status",
+		"//status//, status",
+		"/status, root",
+		"/Admin, root"
+	})
+	public void find(String path, String value) {
+		assertThat(TRIE.find(path))
+			.isEqualTo(value);
+	}
+
+	@Test
+	public void noMatch() {
+		PathPrefixTrie<String> trie = PathPrefixTrie.<String>builder()
+			.add("/admin/**", "admin")
+			.build();
+
+		assertThat(trie)
+			.extracting(
+				t -> t.find("/people"),
+				t -> t.find(null),
+				PathPrefixTrie::size,
+				PathPrefixTrie::isEmpty
+			)
+			.containsExactly(null, null, 1, false);
+	}
+
+	@Test
+	public void empty() {
+		PathPrefixTrie<String> trie = PathPrefixTrie.<String>builder().build();
+
+		assertThat(trie)
+			.extracting(
+				t -> t.find("/admin"),
+				PathPrefixTrie::isEmpty
+			)
+			.containsExactly(null, true);
+	}
+
+	@ParameterizedTest(name = "unsupportedPattern [{index}] {arguments}")
+	@ValueSource(strings = { "admin/**", "/admin/*", "/admin/**/users", "/admin/{id}", "/admin?", "/*.html" })
+	public void unsupportedPattern(String pathPattern) {
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> PathPrefixTrie.builder().add(pathPattern, "value"));
+	}
+
+	@Test
+	public void duplicatePattern() {
+		PathPrefixTrie.Builder<String> builder = PathPrefixTrie.<String>builder()
+			.add("/admin/**", "admin");
+
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> builder.add("//admin/**", "other"));
+	}
+
+	@Test
+	public void trailingSeparatorIsSignificantForExactPaths() {
+		PathPrefixTrie<String> trie = PathPrefixTrie.<String>builder()
+			.add("/swagger-ui.html", "exact")
+			.add("/swagger-ui.html/", "exact-trailing-separator")
+			.build();
+
+		assertThat(trie)
+			.extracting(
+				t -> t.find("/swagger-ui.html"),
+				t -> t.find("/swagger-ui.html/"),
+				PathPrefixTrie::size
+			)
+			.containsExactly("exact", "exact-trailing-separator", 2);
+	}
+}
@@ -0,0 +1,154 @@
+package com.mycompany.myframework.service.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.mock.env.MockEnvironment;
+
+import com.mycompany.myframework.properties.config.MyFrameworkConfig;
+import com.mycompany.myframework.service.security.AllowedDomainsMatcherHolder.Snapshot;
+import com.mycompany.myframework.service.security.CorsEndpoint.AllowedDomainsDescriptor;
+
+public class AllowedDomainsMatcherHolderTests {
+	@Test
+	public void reloadSwapsMatcherAndNotifiesListeners() {
+		AllowedDomainsMatcherHolder holder = new AllowedDomainsMatcherHolder("redhat.com", null);
+		AllowedDomainsMatcher originalMatcher = holder.getMatcher();
+		List<Snapshot> reloads = new ArrayList<>();
+		holder.addReloadListener(reloads::add);
+
+		Snapshot snapshot = holder.reload("redhat.net", null);
+
+		assertThat(snapshot)
+			.isSameAs(holder.getSnapshot())
+			.extracting(
+				Snapshot::getGeneration,
+				Snapshot::getAllowedDomains,
+				s -> s.getMatcher().matches("https://www.redhat.net"),
+				s -> s.getMatcher().matches("https://www.redhat.com"),
+				s -> s.getMatcher() == originalMatcher
+			)
+			.containsExactly(2L, "redhat.net", true, false, false);
+
+		assertThat(reloads)
+			.containsExactly(snapshot);
+	}
+
+	@Test
+	public void failedReloadKeepsCurrentMatcher() throws IOException {
+		AllowedDomainsMatcherHolder holder = new AllowedDomainsMatcherHolder("redhat.com", null);
+		Snapshot snapshot = holder.getSnapshot();
+
+		assertThatExceptionOfType(UncheckedIOException.class)
+			.isThrownBy(() -> holder.reload(null, new FileSystemResource(createTempFile().resolveSibling("missing-allowed-domains.txt"))));
+
+		assertThat(holder.getSnapshot())
+			.isSameAs(snapshot);
+	}
+
+	@Test
+	public void endpointReloadFailureKeepsCurrentMatcher() throws IOException {
+		Path domainsFile = writeDomains(createTempFile(), "redhat.com", Instant.now());
+		AllowedDomainsMatcherHolder holder = new AllowedDomainsMatcherHolder(null, new FileSystemResource(domainsFile));
+		CorsEndpoint endpoint = new CorsEndpoint(holder);
+		Snapshot snapshot = holder.getSnapshot();
+
+		Files.delete(domainsFile);
+
+		assertThat(endpoint.reload())
+			.extracting(AllowedDomainsDescriptor::getGeneration, AllowedDomainsDescriptor::getSize, d -> d.getReloadError() != null)
+			.containsExactly(1L, 1, true);
+
+		assertThat(holder.getSnapshot())
+			.isSameAs(snapshot);
+
+		writeDomains(domainsFile, "redhat.net", Instant.now());
+
+		assertThat(endpoint.reload())
+			.extracting(AllowedDomainsDescriptor::getGeneration, AllowedDomainsDescriptor::getReloadError)
+			.containsExactly(2L, null);
+	}
+
+	@Test
+	public void watcherReloadsChangedLocation() throws IOException {
+		Path domainsFile = writeDomains(createTempFile(), "redhat.com", Instant.now().minusSeconds(60));
+		AllowedDomainsMatcherHolder holder = new AllowedDomainsMatcherHolder(null, new FileSystemResource(domainsFile));
+		AllowedDomainsLocationWatcher watcher = new AllowedDomainsLocationWatcher(holder, Duration.ofHours(1));
+
+		try {
+			watcher.afterPropertiesSet();
+
+			assertThat(watcher.checkForChanges())
+				.isFalse();
+
+			writeDomains(domainsFile, "redhat.net", Instant.now());
+
+			assertThat(watcher.checkForChanges())
+				.isTrue();
+
+			assertThat(holder.getSnapshot())
+				.extracting(
+					Snapshot::getGeneration,
+					s -> s.getMatcher().matches("https://www.redhat.net"),
+					s -> s.getMatcher().matches("https://www.redhat.com")
+				)
+				.containsExactly(2L, true, false);
+		}
+		finally {
+			watcher.destroy();
+		}
+	}
+
+	@Test
+	public void environmentChangeReloadsChangedProperties() {
+		MockEnvironment environment = new MockEnvironment().withProperty(MyFrameworkConfig.PREFIX + ".security.cors.allowed-domains", "redhat.com");
+		AllowedDomainsMatcherHolder holder = new AllowedDomainsMatcherHolder("redhat.com", null);
+		AllowedDomainsEnvironmentChangeListener listener = new AllowedDomainsEnvironmentChangeListener(holder, environment, new DefaultResourceLoader());
+
+		listener.onApplicationEvent(new EnvironmentChangeEvent(Collections.singleton("some.other.property")));
+
+		assertThat(holder.getSnapshot().getGeneration())
+			.isOne();
+
+		environment.setProperty(MyFrameworkConfig.PREFIX + ".security.cors.allowed-domains", "redhat.com,redhat.net");
+		listener.onApplicationEvent(new EnvironmentChangeEvent(Collections.singleton(MyFrameworkConfig.PREFIX + ".security.cors.allowed-domains")));
+
+		assertThat(holder.getSnapshot())
+			.extracting(
+				Snapshot::getGeneration,
+				s -> s.getMatcher().matches("https://www.redhat.net")
+			)
+			.containsExactly(2L, true);
+	}
+
+	private static Path createTempFile() throws IOException {
+		Path tempFile = Files.createTempFile("allowed-domains", ".txt");
+		tempFile.toFile().deleteOnExit();
+
+		return tempFile;
+	}
+
+	private static Path writeDomains(Path domainsFile, String domains, Instant lastModified) throws IOException {
+		Files.write(domainsFile, domains.getBytes(StandardCharsets.UTF_8));
+		Files.setLastModifiedTime(domainsFile, FileTime.from(lastModified));
+
+		return domainsFile;
+	}
+}
@@ -0,0 +1,124 @@
+package com.mycompany.myframework.service.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import org.springframework.core.io.ByteArrayResource;
+
+public class AllowedDomainsMatcherTests extends AllowedDomainsCorsConfigurationSourceTestsBase {
+	private AllowedDomainsMatcher matcher;
+
+	@Override
+	@BeforeEach
+	public void initialize() {
+		super.initialize();
+
+		this.matcher = AllowedDomainsMatcher.fromCommaDelimitedList(this.corsConfig.getAllowedDomains());
+	}
+
+	@ParameterizedTest(name = "allowed [{index}] {arguments}")
+	@MethodSource("allowedOrigins")
+	public void allowed(String origin) {
+		assertThat(this.matcher.matches(origin)).isTrue();
+	}
+
+	@ParameterizedTest(name = "disallowed [{index}] {arguments}")
+	@MethodSource("disallowedOrigins")
+	public void disallowed(String origin) {
+		assertThat(this.matcher.matches(origin)).isFalse();
+	}
+
+	@ParameterizedTest(name = "label boundaries [{index}] {arguments}")
+	@ValueSource(strings = { "http://notredhat.com", "https://redhat.com.example.com", "http://subdomain12.redhat.net", "http://com", "http://user@www.redhat.com", "http://www.redhat.com.evil.com", "null" })
+	public void onlyMatchesWholeLabels(String origin) {
+		assertThat(this.matcher.matches(origin)).isFalse();
+	}
+
+	@ParameterizedTest(name = "case insensitive [{index}] {arguments}")
+	@ValueSource(strings = { "HTTP://WWW.REDHAT.COM", "https://Subdomain1.RedHat.net", "redhat.com" })
+	public void matchingIsCaseInsensitive(String origin) {
+		assertThat(this.matcher.matches(origin)).isTrue();
+	}
+
+	@ParameterizedTest(name = "host only [{index}] {arguments}")
+	@ValueSource(strings = { "https://www.redhat.com:8443", "https://www.redhat.com.", " http://www.redhat.com " })
+	public void onlyTheHostIsMatched(String origin) {
+		assertThat(this.matcher.matches(origin)).isTrue();
+	}
+
+	@Test
+	public void duplicateAndBlankDomainsAreIgnored() {
+		assertThat(AllowedDomainsMatcher.of(Arrays.asList("redhat.com", " REDHAT.com ", "", "  ", "example.com")))
+			.extracting(AllowedDomainsMatcher::size, AllowedDomainsMatcher::isEmpty)
+			.containsExactly(2, false);
+	}
+
+	@Test
+	public void domainsWithSchemeOrPortAreIgnored() {
+		assertThat(AllowedDomainsMatcher.of(Arrays.asList("example.com:8443", "https://example.org", "redhat.com")))
+			.extracting(
+				AllowedDomainsMatcher::size,
+				m -> m.matches("https://www.example.com:8443"),
+				m -> m.matches("https://www.example.org"),
+				m -> m.matches("https://www.redhat.com:8443")
+			)
+			.containsExactly(1, false, false, true);
+	}
+
+	@Test
+	public void emptyMatcherDoesntMatch() {
+		assertThat(AllowedDomainsMatcher.fromCommaDelimitedList(" "))
+			.isSameAs(AllowedDomainsMatcher.empty())
+			.extracting(AllowedDomainsMatcher::isEmpty, m -> m.matches("http://www.redhat.com"), m -> m.matches(null))
+			.containsExactly(true, false, false);
+	}
+
+	@Test
+	public void domainsLoadedFromResource() {
+		String contents = String.join("\n",
+			"# Partner domains",
+			"redhat.com",
+			"",
+			"  subdomain1.redhat.net, subdomain2.redhat.net  ",
+			"#example.com"
+		);
+
+		assertThat(AllowedDomainsMatcher.from("example.org", new ByteArrayResource(contents.getBytes(StandardCharsets.UTF_8))))
+			.extracting(
+				AllowedDomainsMatcher::size,
+				m -> m.matches("https://www.redhat.com"),
+				m -> m.matches("https://subdomain2.redhat.net"),
+				m -> m.matches("https://www.example.org"),
+				m -> m.matches("https://www.example.com")
+			)
+			.containsExactly(4, true, true, true, false);
+	}
+
+	@Test
+	public void largeDomainLists() {
+		List<String> domains = IntStream.range(0, 100_000)
+			.mapToObj(i -> String.format("tenant%d.partners.redhat.com", i))
+			.collect(Collectors.toList());
+
+		assertThat(AllowedDomainsMatcher.of(domains))
+			.extracting(
+				AllowedDomainsMatcher::size,
+				m -> m.matches("https://tenant0.partners.redhat.com"),
+				m -> m.matches("https://api.tenant99999.partners.redhat.com"),
+				m -> m.matches("https://tenant100000.partners.redhat.com"),
+				m -> m.matches("https://partners.redhat.com")
+			)
+			.containsExactly(100_000, true, true, false, false);
+	}
+}
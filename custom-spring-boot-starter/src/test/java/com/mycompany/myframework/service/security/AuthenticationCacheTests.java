@@ -0,0 +1,69 @@
+package com.mycompany.myframework.service.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.web.authentication.preauth.PreAuthenticatedAuthenticationToken;
+
+import com.mycompany.myframework.properties.config.MyFrameworkConfig.CacheConfig;
+
+public class AuthenticationCacheTests {
+	private final AuthenticationCache authenticationCache = new AuthenticationCache(new CacheConfig(true, 100, Duration.ofSeconds(30)));
+
+	@Test
+	public void authenticationsAreCachedPerPrincipalAndCredentials() {
+		this.authenticationCache.put(createRequest("user1", "N/A", "127.0.0.1"), createAuthentication(User.withUsername("user1").password("N/A").authorities("ROLE_USER").build()));
+
+		Authentication authentication = this.authenticationCache.get(createRequest("user1", "N/A", "10.0.0.1"));
+
+		assertThat(authentication)
+			.isExactlyInstanceOf(PreAuthenticatedAuthenticationToken.class)
+			.extracting(Authentication::getName, Authentication::isAuthenticated, Authentication::getDetails)
+			.containsExactly("user1", true, "10.0.0.1");
+
+		assertThat(this.authenticationCache.get(createRequest("user1", "other", "10.0.0.1")))
+			.isNull();
+
+		assertThat(this.authenticationCache.get(createRequest("user2", "N/A", "10.0.0.1")))
+			.isNull();
+	}
+
+	@Test
+	public void invalidateAllDropsCachedAuthentications() {
+		this.authenticationCache.put(createRequest("user1", "N/A", "127.0.0.1"), createAuthentication(User.withUsername("user1").password("N/A").authorities("ROLE_USER").build()));
+		this.authenticationCache.invalidateAll();
+
+		assertThat(this.authenticationCache.get(createRequest("user1", "N/A", "127.0.0.1")))
+			.isNull();
+	}
+
+	@Test
+	public void unauthenticatedAndUncopyableAuthenticationsArentCached() {
+		this.authenticationCache.put(createRequest("user1", "N/A", "127.0.0.1"), new UsernamePasswordAuthenticationToken("user1", "N/A"));
+		this.authenticationCache.put(createRequest("user2", "N/A", "127.0.0.1"), new PreAuthenticatedAuthenticationToken("user2", "N/A", User.withUsername("user2").password("N/A").authorities("ROLE_USER").build().getAuthorities()) { });
+
+		assertThat(this.authenticationCache.get(createRequest("user1", "N/A", "127.0.0.1")))
+			.isNull();
+
+		assertThat(this.authenticationCache.get(createRequest("user2", "N/A", "127.0.0.1")))
+			.isNull();
+	}
+
+	private static Authentication createRequest(String principal, String credentials, String details) {
+		PreAuthenticatedAuthenticationToken request = new PreAuthenticatedAuthenticationToken(principal, credentials);
+		request.setDetails(details);
+
+		return request;
+	}
+
+	private static Authentication createAuthentication(UserDetails userDetails) {
+		return new PreAuthenticatedAuthenticationToken(userDetails, userDetails.getPassword(), userDetails.getAuthorities());
+	}
+}
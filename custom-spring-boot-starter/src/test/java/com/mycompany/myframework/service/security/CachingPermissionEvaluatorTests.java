@@ -0,0 +1,85 @@
+package com.mycompany.myframework.service.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.security.access.PermissionEvaluator;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import com.mycompany.myframework.properties.config.MyFrameworkConfig.CacheConfig;
+
+public class CachingPermissionEvaluatorTests {
+	private final AtomicInteger evaluations = new AtomicInteger();
+	private final PermissionCache permissionCache = new PermissionCache(new CacheConfig(true, 100, Duration.ofSeconds(30)));
+	private final PermissionEvaluator permissionEvaluator = new CachingPermissionEvaluator(new CountingPermissionEvaluator(), this.permissionCache);
+	private final Authentication user1 = new TestingAuthenticationToken("user1", "N/A", "ROLE_USER");
+	private final Authentication user2 = new TestingAuthenticationToken("user2", "N/A", "ROLE_USER");
+
+	@Test
+	public void decisionsAreCachedPerPrincipalTargetAndPermission() {
+		assertThat(this.permissionEvaluator.hasPermission(this.user1, 1L, "Person", "read")).isTrue();
+		assertThat(this.permissionEvaluator.hasPermission(this.user1, 1L, "Person", "read")).isTrue();
+		assertThat(this.evaluations.get()).isEqualTo(1);
+
+		assertThat(this.permissionEvaluator.hasPermission(this.user1, 1L, "Person", "write")).isFalse();
+		assertThat(this.permissionEvaluator.hasPermission(this.user1, 1L, "Person", "write")).isFalse();
+		assertThat(this.permissionEvaluator.hasPermission(this.user1, 2L, "Person", "read")).isTrue();
+		assertThat(this.permissionEvaluator.hasPermission(this.user1, 1L, "Address", "read")).isTrue();
+		assertThat(this.permissionEvaluator.hasPermission(this.user2, 1L, "Person", "read")).isTrue();
+		assertThat(this.evaluations.get()).isEqualTo(5);
+	}
+
+	@Test
+	public void domainObjectsArentCached() {
+		Object person = new Object();
+
+		assertThat(this.permissionEvaluator.hasPermission(this.user1, person, "read")).isTrue();
+		assertThat(this.permissionEvaluator.hasPermission(this.user1, person, "read")).isTrue();
+		assertThat(this.evaluations.get()).isEqualTo(2);
+
+		assertThat(this.permissionEvaluator.hasPermission(this.user1, "person-1", "read")).isTrue();
+		assertThat(this.permissionEvaluator.hasPermission(this.user1, "person-1", "read")).isTrue();
+		assertThat(this.evaluations.get()).isEqualTo(3);
+	}
+
+	@Test
+	public void decisionsCanBeInvalidated() {
+		this.permissionEvaluator.hasPermission(this.user1, 1L, "Person", "read");
+		this.permissionEvaluator.hasPermission(this.user2, 1L, "Person", "read");
+		this.permissionEvaluator.hasPermission(this.user2, 2L, "Person", "read");
+
+		this.permissionCache.invalidatePrincipal("user1");
+
+		assertThat(this.permissionCache.get(this.user1, 1L, "Person", "read")).isNull();
+		assertThat(this.permissionCache.get(this.user2, 1L, "Person", "read")).isTrue();
+
+		this.permissionCache.invalidateTarget(1L, "Person");
+
+		assertThat(this.permissionCache.get(this.user2, 1L, "Person", "read")).isNull();
+		assertThat(this.permissionCache.get(this.user2, 2L, "Person", "read")).isTrue();
+
+		this.permissionCache.invalidateAll();
+
+		assertThat(this.permissionCache.get(this.user2, 2L, "Person", "read")).isNull();
+	}
+
+	private final class CountingPermissionEvaluator implements PermissionEvaluator {
+		@Override
+		public boolean hasPermission(Authentication authentication, Object targetDomainObject, Object permission) {
+			CachingPermissionEvaluatorTests.this.evaluations.incrementAndGet();
+			return "read".equals(permission);
+		}
+
+		@Override
+		public boolean hasPermission(Authentication authentication, Serializable targetId, String targetType, Object permission) {
+			CachingPermissionEvaluatorTests.this.evaluations.incrementAndGet();
+			return "read".equals(permission);
+		}
+	}
+}
@@ -0,0 +1,95 @@
+package com.mycompany.myframework.service.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import com.mycompany.myframework.service.security.CorsDecisionMetrics.Decision;
+import com.mycompany.myframework.service.security.CorsDecisionMetrics.OriginBucket;
+import com.mycompany.myframework.service.security.CorsDecisionMetrics.RejectedOrigin;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class CorsDecisionMetricsTests {
+	@ParameterizedTest(name = "originBucket [{index}] {arguments}")
+	@CsvSource({
+		"https://www.redhat.com, HTTPS",
+		"HTTPS://www.redhat.com:8443, HTTPS",
+		"http://www.redhat.com, HTTP",
+		"chrome-extension://abcdef, OTHER",
+		"www.redhat.com, OTHER",
+		"null, INVALID",
+		"http://www.redhat.com/path, INVALID"
+	})
+	public void originBucket(String origin, OriginBucket originBucket) {
+		assertThat(OriginBucket.of(origin, OriginParser.parse(origin)))
+			.isEqualTo(originBucket);
+	}
+
+	@Test
+	public void decisionsAreExportedToMicrometer() {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		CorsDecisionMetrics decisionMetrics = new CorsDecisionMetrics(10, 1);
+		decisionMetrics.bindTo(registry);
+
+		record(decisionMetrics, "https://www.redhat.com", true, true, false);
+		record(decisionMetrics, "https://www.redhat.com", true, true, true);
+		record(decisionMetrics, "http://example.com", false, false, false);
+
+		assertThat(registry.get(CorsDecisionMetrics.DECISIONS_METRIC).tag(CorsDecisionMetrics.DECISION_TAG, "allowed").tag(CorsDecisionMetrics.ORIGIN_BUCKET_TAG, "https").functionCounter().count())
+			.isEqualTo(2.0);
+
+		assertThat(registry.get(CorsDecisionMetrics.DECISIONS_METRIC).tag(CorsDecisionMetrics.DECISION_TAG, "rejected").tag(CorsDecisionMetrics.ORIGIN_BUCKET_TAG, "http").functionCounter().count())
+			.isEqualTo(1.0);
+
+		assertThat(registry.get(CorsDecisionMetrics.DECISIONS_METRIC).tag(CorsDecisionMetrics.DECISION_TAG, "wildcard-stripped").functionCounters())
+			.hasSize(OriginBucket.values().length);
+
+		assertThat(registry.get(CorsDecisionMetrics.DECISION_DURATION_METRIC).timer())
+			.extracting(
+				timer -> timer.count(),
+				timer -> timer.totalTime(TimeUnit.NANOSECONDS)
+			)
+			.containsExactly(3L, 300.0);
+
+		assertThat(decisionMetrics)
+			.extracting(
+				metrics -> metrics.getCount(Decision.WILDCARD_STRIPPED, OriginBucket.HTTPS),
+				metrics -> metrics.getCount(Decision.CACHE_HIT)
+			)
+			.containsExactly(2L, 1L);
+	}
+
+	@Test
+	public void rejectedOriginsAreBounded() {
+		CorsDecisionMetrics decisionMetrics = new CorsDecisionMetrics(3, 1);
+
+		IntStream.range(0, 10)
+			.forEach(i -> record(decisionMetrics, "https://example" + i + ".com", false, false, false));
+
+		assertThat(decisionMetrics.getRecentRejectedOrigins())
+			.hasSize(3)
+			.extracting(RejectedOrigin::getOrigin)
+			.containsOnly("https://example7.com", "https://example8.com", "https://example9.com");
+
+		assertThat(decisionMetrics.getCount(Decision.REJECTED))
+			.isEqualTo(10L);
+	}
+
+	@Test
+	public void allowedOriginsAreNotSampled() {
+		CorsDecisionMetrics decisionMetrics = new CorsDecisionMetrics(3, 1);
+		record(decisionMetrics, "https://www.redhat.com", true, false, false);
+
+		assertThat(decisionMetrics.getRecentRejectedOrigins())
+			.isEmpty();
+	}
+
+	private static void record(CorsDecisionMetrics decisionMetrics, String origin, boolean allowed, boolean wildcardStripped, boolean cacheHit) {
+		decisionMetrics.record(origin, OriginParser.parse(origin), allowed, wildcardStripped, cacheHit, 100L);
+	}
+}
@@ -0,0 +1,53 @@
+package com.mycompany.myframework.service.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+public class CsrfTokenGeneratorTests {
+	@Test
+	public void tokensAreRandomUuids() {
+		String token = new CsrfTokenGenerator().generateToken();
+		UUID uuid = UUID.fromString(token);
+
+		assertThat(uuid.toString()).isEqualTo(token);
+		assertThat(uuid.version()).isEqualTo(4);
+		assertThat(uuid.variant()).isEqualTo(2);
+	}
+
+	@Test
+	public void stripeCountIsRoundedUpToPowerOfTwo() {
+		assertThat(new CsrfTokenGenerator(1).getStripeCount()).isEqualTo(1);
+		assertThat(new CsrfTokenGenerator(5).getStripeCount()).isEqualTo(8);
+		assertThat(new CsrfTokenGenerator(16).getStripeCount()).isEqualTo(16);
+	}
+
+	@Test
+	public void concurrentTokensAreUnique() throws InterruptedException {
+		CsrfTokenGenerator generator = new CsrfTokenGenerator(4);
+		Set<String> tokens = ConcurrentHashMap.newKeySet();
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+
+		try {
+			IntStream.range(0, 8).forEach(i -> executor.execute(() -> {
+				for (int j = 0; j < 1_000; j++) {
+					tokens.add(generator.generateToken());
+				}
+			}));
+		}
+		finally {
+			executor.shutdown();
+		}
+
+		assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(tokens).hasSize(8_000);
+	}
+}
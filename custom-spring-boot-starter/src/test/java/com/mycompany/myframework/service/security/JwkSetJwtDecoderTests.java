@@ -0,0 +1,80 @@
+package com.mycompany.myframework.service.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.core.io.PathResource;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.JwtValidationException;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.PlainJWT;
+
+public class JwkSetJwtDecoderTests {
+	private final JwtTestTokens tokens = new JwtTestTokens();
+
+	@Test
+	public void rsaAndEcSignedTokensAreDecoded() throws Exception {
+		JwkSetJwtDecoder jwtDecoder = JwkSetJwtDecoder.fromLocation(new PathResource(this.tokens.writeJwkSet()), JwtTestTokens.ISSUER);
+
+		assertThat(jwtDecoder.decode(this.tokens.rsaSigned("user1")))
+			.extracting(Jwt::getSubject, jwt -> jwt.getClaimAsString("scope"))
+			.containsExactly("user1", "read write");
+
+		assertThat(jwtDecoder.decode(this.tokens.ecSigned("user2")))
+			.extracting(Jwt::getSubject, Jwt::getIssuer)
+			.containsExactly("user2", JwtTestTokens.ISSUER);
+	}
+
+	@Test
+	public void tokensSignedByUnknownKeysAreRejected() {
+		JwkSetJwtDecoder jwtDecoder = new JwkSetJwtDecoder(new JwtTestTokens().getJwkSet(), null);
+
+		assertThatExceptionOfType(JwtException.class)
+			.isThrownBy(() -> jwtDecoder.decode(this.tokens.rsaSigned("user1")));
+
+		assertThatExceptionOfType(JwtException.class)
+			.isThrownBy(() -> jwtDecoder.decode(this.tokens.ecSigned("user1")));
+	}
+
+	@Test
+	public void unsignedAndHmacSignedTokensAreRejected() throws Exception {
+		JwkSetJwtDecoder jwtDecoder = new JwkSetJwtDecoder(this.tokens.getJwkSet(), null);
+		JWTClaimsSet claims = JwtTestTokens.claims("user1", Instant.now().plus(Duration.ofMinutes(5)));
+		String unsigned = new PlainJWT(claims).serialize();
+		String hmacSigned = JwtTestTokens.sign(JWSAlgorithm.HS256, "rsa", new MACSigner(new byte[32]), claims);
+
+		assertThatExceptionOfType(JwtException.class)
+			.isThrownBy(() -> jwtDecoder.decode(unsigned));
+
+		assertThatExceptionOfType(JwtException.class)
+			.isThrownBy(() -> jwtDecoder.decode(hmacSigned));
+
+		assertThatExceptionOfType(JwtException.class)
+			.isThrownBy(() -> jwtDecoder.decode("not-a-token"));
+	}
+
+	@Test
+	public void expiredTokensAreRejected() {
+		JwkSetJwtDecoder jwtDecoder = new JwkSetJwtDecoder(this.tokens.getJwkSet(), null);
+
+		assertThatExceptionOfType(JwtValidationException.class)
+			.isThrownBy(() -> jwtDecoder.decode(this.tokens.rsaSigned("user1", Instant.now().minus(Duration.ofMinutes(5)))));
+	}
+
+	@Test
+	public void tokensFromAnotherIssuerAreRejected() {
+		JwkSetJwtDecoder jwtDecoder = new JwkSetJwtDecoder(this.tokens.getJwkSet(), "https://someone.else.com");
+
+		assertThatExceptionOfType(JwtValidationException.class)
+			.isThrownBy(() -> jwtDecoder.decode(this.tokens.rsaSigned("user1")));
+	}
+}
@@ -0,0 +1,81 @@
+package com.mycompany.myframework.service.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.BearerTokenAuthenticationToken;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationProvider;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import com.mycompany.myframework.properties.config.MyFrameworkConfig.CacheConfig;
+
+public class JwtAuthenticationCacheTests {
+	private final JwtTestTokens tokens = new JwtTestTokens();
+	private final JwtAuthenticationProvider authenticationProvider = new JwtAuthenticationProvider(new JwkSetJwtDecoder(this.tokens.getJwkSet(), null));
+
+	@Test
+	public void authenticationsAreCached() {
+		JwtAuthenticationCache authenticationCache = new JwtAuthenticationCache(new CacheConfig(true, 10, Duration.ofMinutes(5)));
+		String token = this.tokens.rsaSigned("user1");
+		BearerTokenAuthenticationToken authenticationRequest = bearer(token, "10.0.0.1");
+		Authentication authentication = this.authenticationProvider.authenticate(authenticationRequest);
+
+		assertThat(authenticationCache.get(authenticationRequest))
+			.isNull();
+
+		authenticationCache.put(authenticationRequest, authentication);
+
+		Authentication cachedAuthentication = authenticationCache.get(bearer(token, "10.0.0.2"));
+
+		assertThat(cachedAuthentication)
+			.isExactlyInstanceOf(JwtAuthenticationToken.class)
+			.isNotSameAs(authentication)
+			.extracting(Authentication::isAuthenticated, Authentication::getDetails, auth -> ((Jwt) auth.getPrincipal()).getSubject())
+			.containsExactly(true, "10.0.0.2", "user1");
+
+		assertThat(cachedAuthentication.getAuthorities())
+			.extracting(GrantedAuthority::getAuthority)
+			.containsExactlyInAnyOrder("SCOPE_read", "SCOPE_write");
+
+		assertThat(authenticationCache.get(bearer(this.tokens.rsaSigned("user2"), null)))
+			.isNull();
+	}
+
+	@Test
+	public void expiredTokensArentCached() {
+		JwtAuthenticationCache authenticationCache = new JwtAuthenticationCache(new CacheConfig(true, 10, Duration.ofMinutes(5)));
+
+		// Expired as far as the cache is concerned, but still within the validators' clock skew
+		BearerTokenAuthenticationToken authenticationRequest = bearer(this.tokens.rsaSigned("user1", Instant.now().minusSeconds(1)), null);
+		authenticationCache.put(authenticationRequest, this.authenticationProvider.authenticate(authenticationRequest));
+
+		assertThat(authenticationCache.get(authenticationRequest))
+			.isNull();
+	}
+
+	@Test
+	public void otherAuthenticationsArentCached() {
+		JwtAuthenticationCache authenticationCache = new JwtAuthenticationCache(new CacheConfig(true, 10, Duration.ofMinutes(5)));
+		UsernamePasswordAuthenticationToken authenticationRequest = new UsernamePasswordAuthenticationToken("user1", "password");
+
+		authenticationCache.put(authenticationRequest, new UsernamePasswordAuthenticationToken("user1", "password", null));
+
+		assertThat(authenticationCache.get(authenticationRequest))
+			.isNull();
+	}
+
+	private static BearerTokenAuthenticationToken bearer(String token, Object details) {
+		BearerTokenAuthenticationToken authenticationRequest = new BearerTokenAuthenticationToken(token);
+		authenticationRequest.setDetails(details);
+
+		return authenticationRequest;
+	}
+}
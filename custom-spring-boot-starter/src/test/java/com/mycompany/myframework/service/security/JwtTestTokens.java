@@ -0,0 +1,111 @@
+package com.mycompany.myframework.service.security;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Date;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.crypto.ECDSASigner;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+
+/**
+ * Signs tokens with freshly generated RSA &amp; EC keys, and writes the JSON Web Key Set of their public keys
+ */
+public final class JwtTestTokens {
+	public static final String ISSUER = "https://issuer.mycompany.com";
+
+	private final KeyPair rsaKeyPair;
+	private final KeyPair ecKeyPair;
+
+	public JwtTestTokens() {
+		try {
+			KeyPairGenerator rsaKeyPairGenerator = KeyPairGenerator.getInstance("RSA");
+			rsaKeyPairGenerator.initialize(2048);
+			this.rsaKeyPair = rsaKeyPairGenerator.generateKeyPair();
+
+			KeyPairGenerator ecKeyPairGenerator = KeyPairGenerator.getInstance("EC");
+			ecKeyPairGenerator.initialize(new ECGenParameterSpec("secp256r1"));
+			this.ecKeyPair = ecKeyPairGenerator.generateKeyPair();
+		}
+		catch (GeneralSecurityException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	public JWKSet getJwkSet() {
+		return new JWKSet(Arrays.asList(
+			new RSAKey.Builder((RSAPublicKey) this.rsaKeyPair.getPublic()).keyID("rsa").build(),
+			new ECKey.Builder(Curve.P_256, (ECPublicKey) this.ecKeyPair.getPublic()).keyID("ec").build()
+		));
+	}
+
+	public Path writeJwkSet() throws IOException {
+		Path tempFile = Files.createTempFile("jwks", ".json");
+		tempFile.toFile().deleteOnExit();
+		Files.write(tempFile, getJwkSet().toString().getBytes(StandardCharsets.UTF_8));
+
+		return tempFile;
+	}
+
+	public String rsaSigned(String subject) {
+		return rsaSigned(subject, Instant.now().plus(Duration.ofMinutes(5)));
+	}
+
+	public String rsaSigned(String subject, Instant expiresAt) {
+		return sign(JWSAlgorithm.RS256, "rsa", new RSASSASigner((RSAPrivateKey) this.rsaKeyPair.getPrivate()), claims(subject, expiresAt));
+	}
+
+	public String ecSigned(String subject) {
+		try {
+			return sign(JWSAlgorithm.ES256, "ec", new ECDSASigner((ECPrivateKey) this.ecKeyPair.getPrivate()), claims(subject, Instant.now().plus(Duration.ofMinutes(5))));
+		}
+		catch (JOSEException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	public static JWTClaimsSet claims(String subject, Instant expiresAt) {
+		return new JWTClaimsSet.Builder()
+			.subject(subject)
+			.issuer(ISSUER)
+			.issueTime(Date.from(expiresAt.minus(Duration.ofMinutes(10))))
+			.expirationTime(Date.from(expiresAt))
+			.claim("scope", "read write")
+			.build();
+	}
+
+	public static String sign(JWSAlgorithm algorithm, String keyId, JWSSigner signer, JWTClaimsSet claims) {
+		SignedJWT signedJwt = new SignedJWT(new JWSHeader.Builder(algorithm).keyID(keyId).build(), claims);
+
+		try {
+			signedJwt.sign(signer);
+		}
+		catch (JOSEException ex) {
+			throw new IllegalStateException(ex);
+		}
+
+		return signedJwt.serialize();
+	}
+}
@@ -0,0 +1,226 @@
+package com.mycompany.myframework.service.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import com.mycompany.myframework.service.security.MappedUserDirectory.Snapshot;
+
+public class MappedUserDirectoryTests {
+	@Test
+	public void findsUsers() throws IOException {
+		Map<String, List<String>> users = new HashMap<>();
+		users.put("user1", Arrays.asList("ROLE_USER"));
+		users.put("user2", Arrays.asList("ROLE_USER", "ROLE_ADMIN"));
+		users.put("user3", Arrays.asList("ROLE_ADMIN", "ROLE_USER"));
+		users.put("Zoë", Collections.emptyList());
+		users.put("user10", Arrays.asList("ROLE_USER"));
+
+		MappedUserDirectory userDirectory = new MappedUserDirectory(writeSnapshot(users));
+
+		assertThat(userDirectory.findAuthorities("user1"))
+			.isEqualTo(AuthorityUtils.createAuthorityList("ROLE_USER"))
+			.isSameAs(userDirectory.findAuthorities("user10"));
+
+		assertThat(userDirectory.findAuthorities("user2"))
+			.isEqualTo(AuthorityUtils.createAuthorityList("ROLE_ADMIN", "ROLE_USER"))
+			.isSameAs(userDirectory.findAuthorities("user3"));
+
+		assertThat(userDirectory.findAuthorities("Zoë"))
+			.isEmpty();
+
+		assertThat(userDirectory.findAuthorities("user"))
+			.isNull();
+
+		assertThat(userDirectory.findAuthorities("USER1"))
+			.isNull();
+
+		assertThat(userDirectory.findAuthorities(null))
+			.isNull();
+
+		assertThat(userDirectory.getSnapshot())
+			.extracting(Snapshot::getGeneration, Snapshot::getUserCount, Snapshot::getAuthoritySetCount)
+			.containsExactly(1L, 5, 3);
+	}
+
+	@Test
+	public void findsUsersInLargeDirectory() throws IOException {
+		Map<String, List<String>> users = new HashMap<>();
+
+		for (int i = 0; i < 10_000; i++) {
+			users.put(String.format("user%d", i), Collections.singletonList(String.format("ROLE_GROUP%d", i % 10)));
+		}
+
+		MappedUserDirectory userDirectory = new MappedUserDirectory(writeSnapshot(users));
+
+		for (int i = 0; i < 10_000; i++) {
+			List<GrantedAuthority> authorities = userDirectory.findAuthorities(String.format("user%d", i));
+
+			assertThat(authorities)
+				.isNotNull()
+				.extracting(GrantedAuthority::getAuthority)
+				.containsExactly(String.format("ROLE_GROUP%d", i % 10));
+		}
+
+		assertThat(userDirectory.getSnapshot().getAuthoritySetCount())
+			.isEqualTo(10);
+	}
+
+	@Test
+	public void reloadSwapsSnapshot() throws IOException {
+		Path snapshotFile = writeSnapshot(Collections.singletonMap("user1", Collections.singletonList("ROLE_USER")));
+		MappedUserDirectory userDirectory = new MappedUserDirectory(snapshotFile);
+		List<Snapshot> reloadedSnapshots = new CopyOnWriteArrayList<>();
+		userDirectory.addReloadListener(reloadedSnapshots::add);
+
+		MappedUserDirectory.writeSnapshot(snapshotFile, Collections.singletonMap("user2", Collections.singletonList("ROLE_USER")));
+
+		assertThat(userDirectory.findAuthorities("user1"))
+			.isNotNull();
+
+		assertThat(userDirectory.reload())
+			.extracting(Snapshot::getGeneration, Snapshot::getUserCount)
+			.containsExactly(2L, 1);
+
+		assertThat(userDirectory.findAuthorities("user1"))
+			.isNull();
+
+		assertThat(userDirectory.findAuthorities("user2"))
+			.isNotNull();
+
+		assertThat(reloadedSnapshots)
+			.containsExactly(userDirectory.getSnapshot());
+	}
+
+	@Test
+	public void watcherReloadsChangedSnapshot() throws IOException {
+		Path snapshotFile = writeSnapshot(Collections.singletonMap("user1", Collections.singletonList("ROLE_USER")));
+		MappedUserDirectory userDirectory = new MappedUserDirectory(snapshotFile);
+		MappedUserDirectoryWatcher watcher = new MappedUserDirectoryWatcher(userDirectory, Duration.ofHours(1));
+
+		try {
+			watcher.afterPropertiesSet();
+
+			assertThat(watcher.checkForChanges())
+				.isFalse();
+
+			Map<String, List<String>> users = new HashMap<>();
+			users.put("user1", Collections.singletonList("ROLE_USER"));
+			users.put("user2", Arrays.asList("ROLE_USER", "ROLE_ADMIN"));
+			MappedUserDirectory.writeSnapshot(snapshotFile, users);
+
+			assertThat(watcher.checkForChanges())
+				.isTrue();
+
+			assertThat(userDirectory.getSnapshot())
+				.extracting(Snapshot::getGeneration, Snapshot::getUserCount)
+				.containsExactly(2L, 2);
+
+			Files.write(snapshotFile, "user1=ROLE_USER".getBytes(StandardCharsets.UTF_8));
+
+			assertThat(watcher.checkForChanges())
+				.isFalse();
+
+			assertThat(userDirectory.getSnapshot().getGeneration())
+				.isEqualTo(2L);
+		}
+		finally {
+			watcher.destroy();
+		}
+	}
+
+	@Test
+	public void invalidSnapshotIsRejected() throws IOException {
+		Path snapshotFile = writeSnapshot(Collections.singletonMap("user1", Collections.singletonList("ROLE_USER")));
+		MappedUserDirectory userDirectory = new MappedUserDirectory(snapshotFile);
+		List<Snapshot> reloadedSnapshots = new CopyOnWriteArrayList<>();
+		userDirectory.addReloadListener(reloadedSnapshots::add);
+		Path invalidFile = createTempFile();
+		Files.write(invalidFile, "user1=ROLE_USER".getBytes(StandardCharsets.UTF_8));
+
+		assertThatExceptionOfType(UncheckedIOException.class)
+			.isThrownBy(() -> new MappedUserDirectory(invalidFile));
+
+		assertThatExceptionOfType(UncheckedIOException.class)
+			.isThrownBy(() -> userDirectory.reload(invalidFile));
+
+		assertThat(userDirectory.getSnapshot())
+			.extracting(Snapshot::getGeneration, Snapshot::getLocation)
+			.containsExactly(1L, snapshotFile);
+
+		assertThat(reloadedSnapshots)
+			.isEmpty();
+	}
+
+	@Test
+	public void corruptSnapshotIsRejected() throws IOException {
+		Path snapshotFile = writeSnapshot(Collections.singletonMap("user1", Collections.singletonList("ROLE_USER")));
+		MappedUserDirectory userDirectory = new MappedUserDirectory(snapshotFile);
+
+		// A negative authority set count
+		assertCorruptSnapshotIsRejected(userDirectory, snapshot -> snapshot.putInt(12, -1));
+
+		// An entry pointing past the last authority set
+		assertCorruptSnapshotIsRejected(userDirectory, snapshot -> snapshot.putInt(snapshot.getInt(20) + 8, snapshot.getInt(12)));
+
+		// An entry whose name runs past the end of the file
+		assertCorruptSnapshotIsRejected(userDirectory, snapshot -> snapshot.putInt(snapshot.getInt(20) + 4, snapshot.capacity()));
+
+		// An entry whose name starts before the names section
+		assertCorruptSnapshotIsRejected(userDirectory, snapshot -> snapshot.putInt(snapshot.getInt(20), 0));
+
+		// An authority running past the authority sets section
+		assertCorruptSnapshotIsRejected(userDirectory, snapshot -> snapshot.putInt(snapshot.getInt(16) + 4, Integer.MAX_VALUE));
+
+		assertThat(userDirectory.getSnapshot())
+			.extracting(Snapshot::getGeneration, Snapshot::getLocation)
+			.containsExactly(1L, snapshotFile);
+
+		assertThat(userDirectory.findAuthorities("user1"))
+			.isEqualTo(AuthorityUtils.createAuthorityList("ROLE_USER"));
+	}
+
+	private static void assertCorruptSnapshotIsRejected(MappedUserDirectory userDirectory, Consumer<ByteBuffer> corruption) throws IOException {
+		Path corruptFile = createTempFile();
+		ByteBuffer snapshot = ByteBuffer.wrap(Files.readAllBytes(userDirectory.getSnapshot().getLocation()));
+		corruption.accept(snapshot);
+		Files.write(corruptFile, snapshot.array());
+
+		assertThatExceptionOfType(UncheckedIOException.class)
+			.isThrownBy(() -> userDirectory.reload(corruptFile))
+			.withMessageContaining(corruptFile.toString());
+	}
+
+	private static Path writeSnapshot(Map<String, ? extends List<String>> users) throws IOException {
+		Path snapshotFile = createTempFile();
+		MappedUserDirectory.writeSnapshot(snapshotFile, users);
+
+		return snapshotFile;
+	}
+
+	private static Path createTempFile() throws IOException {
+		Path tempFile = Files.createTempFile("user-directory", ".snapshot");
+		tempFile.toFile().deleteOnExit();
+
+		return tempFile;
+	}
+}
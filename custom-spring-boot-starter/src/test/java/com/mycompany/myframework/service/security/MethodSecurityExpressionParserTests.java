@@ -0,0 +1,57 @@
+package com.mycompany.myframework.service.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class MethodSecurityExpressionParserTests {
+	@Test
+	public void evaluationsAreTimedPerExpression() {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		MethodSecurityExpressionParser parser = new MethodSecurityExpressionParser(getClass().getClassLoader(), meterRegistry);
+		Expression expression = parser.parseExpression("#name == 'user1'");
+		StandardEvaluationContext context = new StandardEvaluationContext();
+		context.setVariable("name", "user1");
+
+		for (int i = 0; i < 200; i++) {
+			// Evaluated often enough to be compiled
+			assertThat(expression.getValue(context, Boolean.class)).isTrue();
+		}
+
+		assertThat(expression.getExpressionString()).isEqualTo("#name == 'user1'");
+		assertThat(meterRegistry.get(MethodSecurityExpressionParser.EVALUATION_METRIC).tag(MethodSecurityExpressionParser.EXPRESSION_TAG, "#name == 'user1'").timer())
+			.extracting(Timer::count)
+			.isEqualTo(200L);
+	}
+
+	@Test
+	public void evaluationsArentTimedWithoutMeterRegistry() {
+		Expression expression = new MethodSecurityExpressionParser(null, (MeterRegistry) null).parseExpression("1 + 1");
+
+		assertThat(expression.getValue(Integer.class)).isEqualTo(2);
+	}
+
+	@Test
+	public void meterRegistryIsOnlyResolvedWhenFirstEvaluated() {
+		StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+		MethodSecurityExpressionParser parser = new MethodSecurityExpressionParser(getClass().getClassLoader(), beanFactory.getBeanProvider(MeterRegistry.class));
+		Expression expression = parser.parseExpression("1 + 1");
+
+		// Registered after the expression was parsed, as it would be when method security is set up before the registry
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		beanFactory.addBean("meterRegistry", meterRegistry);
+
+		assertThat(expression.getValue(Integer.class)).isEqualTo(2);
+		assertThat(meterRegistry.get(MethodSecurityExpressionParser.EVALUATION_METRIC).tag(MethodSecurityExpressionParser.EXPRESSION_TAG, "1 + 1").timer())
+			.extracting(Timer::count)
+			.isEqualTo(1L);
+	}
+}
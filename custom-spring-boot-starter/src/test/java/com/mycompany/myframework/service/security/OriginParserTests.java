@@ -0,0 +1,49 @@
+package com.mycompany.myframework.service.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.stream.Stream;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class OriginParserTests {
+	@ParameterizedTest(name = "valid [{index}] {arguments}")
+	@MethodSource("validOrigins")
+	public void valid(String origin, String host, int port) {
+		long parsed = OriginParser.parse(origin);
+
+		assertThat(parsed)
+			.isNotEqualTo(OriginParser.INVALID);
+
+		assertThat(origin.substring(OriginParser.hostStart(parsed), OriginParser.hostEnd(parsed)))
+			.isEqualTo(host);
+
+		assertThat(OriginParser.port(origin, parsed))
+			.isEqualTo(port);
+	}
+
+	@ParameterizedTest(name = "invalid [{index}] {arguments}")
+	@ValueSource(strings = { "", "   ", "null", "NULL", "http://", "http://.", "http://user@redhat.com", "http://redhat.com/path", "http://redhat.com:", "http://redhat.com:80a", "http://redhat.com:123456", "http://[::1", "http:/redhat.com" })
+	public void invalid(String origin) {
+		assertThat(OriginParser.parse(origin))
+			.isEqualTo(OriginParser.INVALID);
+	}
+
+	static Stream<Arguments> validOrigins() {
+		return Stream.of(
+			Arguments.of("http://www.redhat.com", "www.redhat.com", 80),
+			Arguments.of("HTTPS://WWW.RedHat.com", "WWW.RedHat.com", 443),
+			Arguments.of("https://www.redhat.com:8443", "www.redhat.com", 8443),
+			Arguments.of("  http://www.redhat.com  ", "www.redhat.com", 80),
+			Arguments.of("https://www.redhat.com.", "www.redhat.com", 443),
+			Arguments.of("https://www.redhat.com.:8443", "www.redhat.com", 8443),
+			Arguments.of("http://[::1]:8080", "[::1]", 8080),
+			Arguments.of("chrome-extension://abcdef", "abcdef", -1),
+			Arguments.of("redhat.com", "redhat.com", -1),
+			Arguments.of("localhost:8080", "localhost", 8080)
+		);
+	}
+}
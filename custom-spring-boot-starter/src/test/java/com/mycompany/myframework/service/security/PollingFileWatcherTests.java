@@ -0,0 +1,137 @@
+package com.mycompany.myframework.service.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.lang.Nullable;
+
+public class PollingFileWatcherTests {
+	@Test
+	public void reloadsOnlyWhenVersionChanges() {
+		CountingWatcher watcher = new CountingWatcher(Duration.ofHours(1), "v1");
+
+		try {
+			watcher.afterPropertiesSet();
+
+			assertThat(watcher.checkForChanges())
+				.isFalse();
+
+			watcher.version.set("v2");
+
+			assertThat(watcher.checkForChanges())
+				.isTrue();
+
+			assertThat(watcher.checkForChanges())
+				.isFalse();
+
+			assertThat(watcher.reloads.get())
+				.isEqualTo(1);
+		}
+		finally {
+			watcher.destroy();
+		}
+	}
+
+	@Test
+	public void missingVersionIsNotReloaded() {
+		CountingWatcher watcher = new CountingWatcher(Duration.ofHours(1), "v1");
+
+		try {
+			watcher.afterPropertiesSet();
+			watcher.version.set(null);
+
+			assertThat(watcher.checkForChanges())
+				.isFalse();
+
+			assertThat(watcher.reloads.get())
+				.isZero();
+		}
+		finally {
+			watcher.destroy();
+		}
+	}
+
+	@Test
+	public void failedReloadIsRetried() {
+		CountingWatcher watcher = new CountingWatcher(Duration.ofHours(1), "v1");
+
+		try {
+			watcher.afterPropertiesSet();
+			watcher.version.set("v2");
+			watcher.failures.set(1);
+
+			assertThat(watcher.checkForChanges())
+				.isFalse();
+
+			assertThat(watcher.checkForChanges())
+				.isTrue();
+
+			assertThat(watcher.reloads.get())
+				.isEqualTo(1);
+		}
+		finally {
+			watcher.destroy();
+		}
+	}
+
+	@Test
+	public void checksOnBackgroundThread() throws InterruptedException {
+		CountingWatcher watcher = new CountingWatcher(Duration.ofMillis(10), "v1");
+
+		try {
+			watcher.afterPropertiesSet();
+			watcher.version.set("v2");
+
+			assertThat(watcher.reloaded.await(10, TimeUnit.SECONDS))
+				.isTrue();
+
+			assertThat(watcher.reloadThread.get())
+				.isNotNull()
+				.matches(Thread::isDaemon)
+				.matches(thread -> thread.getName().startsWith("counting-watcher-"))
+				.isNotSameAs(Thread.currentThread());
+		}
+		finally {
+			watcher.destroy();
+		}
+	}
+
+	private static final class CountingWatcher extends PollingFileWatcher {
+		private final AtomicReference<Object> version;
+		private final AtomicInteger failures = new AtomicInteger();
+		private final AtomicInteger reloads = new AtomicInteger();
+		private final AtomicReference<Thread> reloadThread = new AtomicReference<>();
+		private final CountDownLatch reloaded = new CountDownLatch(1);
+
+		private CountingWatcher(Duration checkInterval, Object version) {
+			super("counting", checkInterval);
+			this.version = new AtomicReference<>(version);
+		}
+
+		@Override
+		@Nullable
+		protected Object readVersion() {
+			return this.version.get();
+		}
+
+		@Override
+		protected void reload() {
+			if (this.failures.getAndUpdate(failures -> Math.max(0, failures - 1)) > 0) {
+				throw new UncheckedIOException(new IOException("Unable to read the file"));
+			}
+
+			this.reloads.incrementAndGet();
+			this.reloadThread.set(Thread.currentThread());
+			this.reloaded.countDown();
+		}
+	}
+}
@@ -0,0 +1,117 @@
+package com.mycompany.myframework.service.security.server;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import com.mycompany.myframework.properties.config.MyFrameworkConfig.RefreshingCacheConfig;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+public class CachingReactiveUserDetailsServiceTests {
+	private final AtomicInteger lookups = new AtomicInteger();
+	private ReactiveUserDetailsService delegate;
+
+	@BeforeEach
+	public void initialize() {
+		HeaderReactiveUserDetailsService headerUserDetailsService = new HeaderReactiveUserDetailsService();
+
+		this.lookups.set(0);
+		this.delegate = username -> Mono.defer(() -> {
+			this.lookups.incrementAndGet();
+			return headerUserDetailsService.findByUsername(username);
+		});
+	}
+
+	@Test
+	public void usersAreCached() {
+		CachingReactiveUserDetailsService userDetailsService = new CachingReactiveUserDetailsService(this.delegate, createCacheConfig());
+
+		StepVerifier.create(userDetailsService.findByUsername("user1").map(UserDetails::getUsername))
+			.expectNext("user1")
+			.verifyComplete();
+
+		StepVerifier.create(userDetailsService.findByUsername("user1").map(UserDetails::getUsername))
+			.expectNext("user1")
+			.verifyComplete();
+
+		assertThat(this.lookups.get())
+			.isOne();
+
+		assertThat(userDetailsService.stats())
+			.extracting(
+				stats -> stats.hitCount(),
+				stats -> stats.missCount()
+			)
+			.containsExactly(1L, 1L);
+	}
+
+	@Test
+	public void lookupIsDeferredUntilSubscribed() {
+		CachingReactiveUserDetailsService userDetailsService = new CachingReactiveUserDetailsService(this.delegate, createCacheConfig());
+		Mono<UserDetails> userDetails = userDetailsService.findByUsername("user1");
+
+		assertThat(this.lookups.get())
+			.isZero();
+
+		StepVerifier.create(userDetails.map(UserDetails::getUsername))
+			.expectNext("user1")
+			.verifyComplete();
+	}
+
+	@Test
+	public void usersNotFoundArentCached() {
+		CachingReactiveUserDetailsService userDetailsService = new CachingReactiveUserDetailsService(this.delegate, createCacheConfig());
+
+		StepVerifier.create(userDetailsService.findByUsername("user2"))
+			.verifyError(UsernameNotFoundException.class);
+
+		StepVerifier.create(userDetailsService.findByUsername("user2"))
+			.verifyError(UsernameNotFoundException.class);
+
+		assertThat(this.lookups.get())
+			.isEqualTo(2);
+	}
+
+	@Test
+	public void emptyUsersArentCached() {
+		CachingReactiveUserDetailsService userDetailsService = new CachingReactiveUserDetailsService(username -> Mono.fromRunnable(this.lookups::incrementAndGet), createCacheConfig());
+
+		StepVerifier.create(userDetailsService.findByUsername("user1"))
+			.verifyComplete();
+
+		StepVerifier.create(userDetailsService.findByUsername("user1"))
+			.verifyComplete();
+
+		assertThat(this.lookups.get())
+			.isEqualTo(2);
+	}
+
+	@Test
+	public void erasingCredentialsDoesntEraseTheCachedUser() {
+		CachingReactiveUserDetailsService userDetailsService = new CachingReactiveUserDetailsService(this.delegate, createCacheConfig());
+		UserDetails userDetails = userDetailsService.findByUsername("user1").block();
+
+		assertThat(userDetails)
+			.isInstanceOf(CredentialsContainer.class);
+
+		((CredentialsContainer) userDetails).eraseCredentials();
+
+		StepVerifier.create(userDetailsService.findByUsername("user1").map(UserDetails::getPassword))
+			.expectNext("N/A")
+			.verifyComplete();
+	}
+
+	private static RefreshingCacheConfig createCacheConfig() {
+		return new RefreshingCacheConfig(true, 100, Duration.ofMinutes(5), Duration.ofMinutes(1));
+	}
+}
@@ -0,0 +1,119 @@
+package com.mycompany.myframework.service.security.server;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+import reactor.test.StepVerifier;
+
+public class CoalescingReactiveUserDetailsServiceTests {
+	private final AtomicInteger lookups = new AtomicInteger();
+
+	@Test
+	public void concurrentLookupsAreCoalesced() {
+		MonoProcessor<UserDetails> lookup = MonoProcessor.create();
+		CoalescingReactiveUserDetailsService userDetailsService = new CoalescingReactiveUserDetailsService(username -> Mono.defer(() -> {
+			this.lookups.incrementAndGet();
+			return lookup;
+		}));
+
+		StepVerifier first = StepVerifier.create(userDetailsService.findByUsername("user1").map(UserDetails::getUsername))
+			.expectNext("user1")
+			.expectComplete()
+			.verifyLater();
+
+		StepVerifier second = StepVerifier.create(userDetailsService.findByUsername("user1").map(UserDetails::getUsername))
+			.expectNext("user1")
+			.expectComplete()
+			.verifyLater();
+
+		lookup.onNext(User.withUsername("user1").password("n/a").authorities("ROLE_USER").build());
+		first.verify();
+		second.verify();
+
+		assertThat(this.lookups.get())
+			.isOne();
+
+		assertThat(userDetailsService)
+			.extracting(
+				CoalescingReactiveUserDetailsService::getLookupCount,
+				CoalescingReactiveUserDetailsService::getCoalescedLookupCount,
+				CoalescingReactiveUserDetailsService::getCoalescingRatio
+			)
+			.containsExactly(2L, 1L, 0.5);
+	}
+
+	@Test
+	public void completedLookupsArentShared() {
+		CoalescingReactiveUserDetailsService userDetailsService = new CoalescingReactiveUserDetailsService(username -> Mono.fromSupplier(() -> {
+			this.lookups.incrementAndGet();
+			return User.withUsername(username).password("n/a").authorities("ROLE_USER").build();
+		}));
+
+		StepVerifier.create(userDetailsService.findByUsername("user1").map(UserDetails::getUsername))
+			.expectNext("user1")
+			.verifyComplete();
+
+		StepVerifier.create(userDetailsService.findByUsername("user1").map(UserDetails::getUsername))
+			.expectNext("user1")
+			.verifyComplete();
+
+		assertThat(this.lookups.get())
+			.isEqualTo(2);
+
+		assertThat(userDetailsService.getCoalescingRatio())
+			.isZero();
+	}
+
+	@Test
+	public void errorsAreSharedThenForgotten() {
+		MonoProcessor<UserDetails> lookup = MonoProcessor.create();
+		CoalescingReactiveUserDetailsService userDetailsService = new CoalescingReactiveUserDetailsService(username -> Mono.defer(() -> {
+			this.lookups.incrementAndGet();
+			return lookup;
+		}));
+
+		StepVerifier first = StepVerifier.create(userDetailsService.findByUsername("user2"))
+			.expectError(UsernameNotFoundException.class)
+			.verifyLater();
+
+		StepVerifier second = StepVerifier.create(userDetailsService.findByUsername("user2"))
+			.expectError(UsernameNotFoundException.class)
+			.verifyLater();
+
+		lookup.onError(new UsernameNotFoundException("user2"));
+		first.verify();
+		second.verify();
+
+		StepVerifier.create(userDetailsService.findByUsername("user2"))
+			.expectError(UsernameNotFoundException.class)
+			.verify();
+
+		assertThat(this.lookups.get())
+			.isEqualTo(2);
+	}
+
+	@Test
+	public void metricsAreBound() {
+		CoalescingReactiveUserDetailsService userDetailsService = new CoalescingReactiveUserDetailsService(new HeaderReactiveUserDetailsService());
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		userDetailsService.bindTo(registry);
+
+		userDetailsService.findByUsername("user1").block();
+
+		assertThat(registry.get(CoalescingReactiveUserDetailsService.LOOKUPS_METRIC).tag(CoalescingReactiveUserDetailsService.COALESCED_TAG, "false").functionCounter().count())
+			.isEqualTo(1.0);
+
+		assertThat(registry.get(CoalescingReactiveUserDetailsService.COALESCING_RATIO_METRIC).gauge().value())
+			.isZero();
+	}
+}
@@ -0,0 +1,51 @@
+package com.mycompany.myframework.service.security.server;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+public class CsrfTokenRequestMatcherTests {
+	private final CsrfTokenRequestMatcher matcher = new CsrfTokenRequestMatcher(true, true, Arrays.asList("/login", "/app/**"));
+
+	@ParameterizedTest(name = "matchesBrowserRequests [{index}] {arguments}")
+	@CsvSource({
+		"/people, application/json, , false",
+		"/people, , , false",
+		"/people, 'text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8', , true",
+		"/people, TEXT/HTML, , true",
+		"/people, application/json, https://app.mycompany.com, true",
+		"/login, application/json, , true",
+		"/app/people, application/json, , true",
+		"/application, application/json, , false"
+	})
+	public void matchesBrowserRequests(String path, String accept, String origin, boolean matches) {
+		MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get(path);
+
+		if (accept != null) {
+			request.header(HttpHeaders.ACCEPT, accept);
+		}
+
+		if (origin != null) {
+			request.header(HttpHeaders.ORIGIN, origin);
+		}
+
+		assertThat(this.matcher.test(MockServerWebExchange.from(request))).isEqualTo(matches);
+	}
+
+	@Test
+	public void checksCanBeSwitchedOff() {
+		CsrfTokenRequestMatcher pathOnlyMatcher = new CsrfTokenRequestMatcher(false, false, Collections.emptyList());
+
+		assertThat(pathOnlyMatcher.test(MockServerWebExchange.from(MockServerHttpRequest.get("/people").header(HttpHeaders.ACCEPT, "text/html")))).isFalse();
+		assertThat(pathOnlyMatcher.test(MockServerWebExchange.from(MockServerHttpRequest.get("/people").header(HttpHeaders.ORIGIN, "https://app.mycompany.com")))).isFalse();
+	}
+}
@@ -17,11 +17,14 @@ import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
 import org.springframework.mock.web.server.MockServerWebExchange;
 import org.springframework.util.Assert;
+import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.reactive.CorsUtils;
 import org.springframework.web.server.ServerWebExchange;
 
 import com.mycompany.myframework.properties.config.MyFrameworkConfig.SecurityConfig.CorsConfig;
+import com.mycompany.myframework.properties.config.MyFrameworkConfig.SecurityConfig.CorsConfig.CorsRouteConfig;
 import com.mycompany.myframework.service.security.AllowedDomainsCorsConfigurationSourceTestsBase;
+import com.mycompany.myframework.service.security.PreflightResponseCache;
 
 public class ServerAllowedDomainsCorsProcessorTests extends AllowedDomainsCorsConfigurationSourceTestsBase {
 	@Override
@@ -119,6 +122,85 @@ public class ServerAllowedDomainsCorsProcessorTests extends AllowedDomainsCorsCo
 			);
 	}
 
+	@ParameterizedTest(name = "preflightResponsesAreCached [{index}] {arguments}")
+	@MethodSource("allOrigins")
+	public void preflightResponsesAreCached(String origin) {
+		PreflightResponseCache preflightResponseCache = new PreflightResponseCache(this.corsConfig.getPreflightCache());
+		ServerAllowedDomainsCorsProcessor processor = new ServerAllowedDomainsCorsProcessor(null, new ServerAllowedDomainsCorsConfigurationSource(this.corsConfig), preflightResponseCache);
+		CorsConfiguration corsConfiguration = getCorsConfiguration();
+
+		ServerWebExchange firstExchange = createExchange(origin);
+		ServerWebExchange secondExchange = createExchange(origin);
+		boolean firstAccepted = processor.process(corsConfiguration, firstExchange);
+
+		assertThat(processor.process(corsConfiguration, secondExchange))
+			.isEqualTo(firstAccepted);
+
+		assertThat(secondExchange.getResponse())
+			.extracting(
+				ServerHttpResponse::getStatusCode,
+				ServerHttpResponse::getHeaders
+			)
+			.containsExactly(
+				firstExchange.getResponse().getStatusCode(),
+				firstExchange.getResponse().getHeaders()
+			);
+
+		assertThat(preflightResponseCache.stats())
+			.extracting(
+				stats -> stats.hitCount(),
+				stats -> stats.missCount()
+			)
+			.containsExactly(1L, 1L);
+	}
+
+	@Test
+	public void preflightResponsesAreCachedWithDecisionCacheDisabled() {
+		String origin = "http://www.redhat.com";
+		this.corsConfig.getDecisionCache().setEnabled(false);
+		PreflightResponseCache preflightResponseCache = new PreflightResponseCache(this.corsConfig.getPreflightCache());
+		ServerAllowedDomainsCorsProcessor processor = new ServerAllowedDomainsCorsProcessor(null, new ServerAllowedDomainsCorsConfigurationSource(this.corsConfig), preflightResponseCache);
+
+		// Every request gets a configuration of its own, so the pre-flight responses can only be shared by the configuration's values
+		assertThat(processor.process(getCorsConfiguration(), createExchange(origin)))
+			.isTrue();
+
+		assertThat(processor.process(getCorsConfiguration(), createExchange(origin)))
+			.isTrue();
+
+		assertThat(preflightResponseCache.stats())
+			.extracting(
+				stats -> stats.hitCount(),
+				stats -> stats.missCount()
+			)
+			.containsExactly(1L, 1L);
+	}
+
+	@Test
+	public void preflightResponsesAreCachedPerRoute() {
+		String origin = "https://www.redhat.com";
+		this.corsConfig.getRoutes().add(new CorsRouteConfig("/admin/**", "internal.example.com"));
+		PreflightResponseCache preflightResponseCache = new PreflightResponseCache(this.corsConfig.getPreflightCache());
+		ServerAllowedDomainsCorsProcessor processor = new ServerAllowedDomainsCorsProcessor(null, new ServerAllowedDomainsCorsConfigurationSource(this.corsConfig), preflightResponseCache);
+		CorsConfiguration corsConfiguration = getCorsConfiguration();
+
+		assertThat(processor.process(corsConfiguration, createExchange("/uri", origin)))
+			.isTrue();
+
+		assertThat(processor.process(corsConfiguration, createExchange("/admin/users", origin)))
+			.isFalse();
+
+		assertThat(processor.process(corsConfiguration, createExchange("/admin/settings", origin)))
+			.isFalse();
+
+		assertThat(preflightResponseCache.stats())
+			.extracting(
+				stats -> stats.hitCount(),
+				stats -> stats.missCount()
+			)
+			.containsExactly(1L, 2L);
+	}
+
 	private ServerAllowedDomainsCorsProcessor createProcessor(CorsConfig corsConfig) {
 		return new ServerAllowedDomainsCorsProcessor(new ServerAllowedDomainsCorsConfigurationSource(corsConfig));
 	}
@@ -133,8 +215,12 @@ public class ServerAllowedDomainsCorsProcessorTests extends AllowedDomainsCorsCo
 	}
 
 	private static ServerWebExchange createExchange(String origin) {
+		return createExchange("/uri", origin);
+	}
+
+	private static ServerWebExchange createExchange(String path, String origin) {
 		return MockServerWebExchange.from(
-			MockServerHttpRequest.options("http://localhost/uri")
+			MockServerHttpRequest.options("http://localhost" + path)
 				.header(HttpHeaders.ORIGIN, origin)
 				.header(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD, HttpMethod.GET.name(), HttpMethod.POST.name(), HttpMethod.PUT.name())
 				.header(HttpHeaders.ACCESS_CONTROL_REQUEST_HEADERS, HttpHeaders.ACCEPT, HttpHeaders.CONTENT_TYPE)
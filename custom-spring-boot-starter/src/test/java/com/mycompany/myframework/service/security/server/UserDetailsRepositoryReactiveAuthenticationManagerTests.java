@@ -0,0 +1,54 @@
+package com.mycompany.myframework.service.security.server;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+public class UserDetailsRepositoryReactiveAuthenticationManagerTests {
+	@Test
+	@SuppressWarnings("deprecation")
+	public void noOpPasswordEncoderDoesntHopThreads() {
+		UserDetailsRepositoryReactiveAuthenticationManager authenticationManager = new UserDetailsRepositoryReactiveAuthenticationManager(new HeaderReactiveUserDetailsService());
+		authenticationManager.setPasswordEncoder(NoOpPasswordEncoder.getInstance());
+		Thread callingThread = Thread.currentThread();
+
+		assertThat(authenticationManager.getScheduler())
+			.isSameAs(Schedulers.immediate());
+
+		StepVerifier.create(authenticationManager.authenticate(new UsernamePasswordAuthenticationToken("user1", "N/A")).map(authentication -> Thread.currentThread()))
+			.expectNext(callingThread)
+			.verifyComplete();
+	}
+
+	@Test
+	public void cpuIntensivePasswordEncoderHopsThreads() {
+		UserDetailsRepositoryReactiveAuthenticationManager authenticationManager = new UserDetailsRepositoryReactiveAuthenticationManager(new HeaderReactiveUserDetailsService());
+		authenticationManager.setPasswordEncoder(PasswordEncoderFactories.createDelegatingPasswordEncoder());
+
+		assertThat(authenticationManager.getScheduler())
+			.isSameAs(Schedulers.parallel());
+	}
+
+	@Test
+	@SuppressWarnings("deprecation")
+	public void schedulerThatWasSetIsKept() {
+		UserDetailsRepositoryReactiveAuthenticationManager authenticationManager = new UserDetailsRepositoryReactiveAuthenticationManager(new HeaderReactiveUserDetailsService());
+		authenticationManager.setScheduler(Schedulers.elastic());
+		authenticationManager.setPasswordEncoder(NoOpPasswordEncoder.getInstance());
+
+		assertThat(authenticationManager.getScheduler())
+			.isSameAs(Schedulers.elastic());
+
+		StepVerifier.create(authenticationManager.authenticate(new UsernamePasswordAuthenticationToken("user1", "N/A")).map(Authentication::getName))
+			.expectNext("user1")
+			.verifyComplete();
+	}
+}
@@ -1,6 +1,7 @@
 package com.mycompany.myframework.service.security.servlet;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
 import java.io.IOException;
 import java.util.Arrays;
@@ -12,6 +13,7 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
@@ -31,7 +33,14 @@ import org.springframework.web.cors.DefaultCorsProcessor;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import com.mycompany.myframework.properties.config.MyFrameworkConfig.SecurityConfig.CorsConfig;
+import com.mycompany.myframework.properties.config.MyFrameworkConfig.SecurityConfig.CorsConfig.CorsRouteConfig;
 import com.mycompany.myframework.service.security.AllowedDomainsCorsConfigurationSourceTestsBase;
+import com.mycompany.myframework.service.security.AllowedDomainsMatcherHolder;
+import com.mycompany.myframework.service.security.CorsDecisionMetrics;
+import com.mycompany.myframework.service.security.CorsDecisionMetrics.Decision;
+import com.mycompany.myframework.service.security.CorsDecisionMetrics.OriginBucket;
+import com.mycompany.myframework.service.security.CorsDecisionMetrics.RejectedOrigin;
+import com.mycompany.myframework.service.security.PreflightResponseCache;
 
 public class AllowedDomainsCorsConfigurationSourceTests extends AllowedDomainsCorsConfigurationSourceTestsBase {
 	private static final CorsProcessor PROCESSOR = new DefaultCorsProcessor();
@@ -171,8 +180,138 @@ public class AllowedDomainsCorsConfigurationSourceTests extends AllowedDomainsCo
 			);
 	}
 
+	@Test
+	public void decisionsAreCached() {
+		String origin = "http://www.redhat.com";
+		AllowedDomainsCorsConfigurationSource configurationSource = new AllowedDomainsCorsConfigurationSource(DELEGATE, this.corsConfig);
+		CorsConfiguration corsConfiguration = configurationSource.getCorsConfiguration(createRequest(origin));
+
+		assertThat(configurationSource.getCorsConfiguration(createRequest(origin)))
+			.isNotNull()
+			.isSameAs(corsConfiguration);
+
+		assertThat(configurationSource.getDecisionCacheStats())
+			.extracting(
+				stats -> stats.hitCount(),
+				stats -> stats.missCount()
+			)
+			.containsExactly(1L, 1L);
+
+		assertThatExceptionOfType(UnsupportedOperationException.class)
+			.isThrownBy(() -> corsConfiguration.addAllowedOrigin("http://example.com"));
+	}
+
+	@Test
+	public void decisionCacheDisabled() {
+		String origin = "http://www.redhat.com";
+		this.corsConfig.getDecisionCache().setEnabled(false);
+		AllowedDomainsCorsConfigurationSource configurationSource = new AllowedDomainsCorsConfigurationSource(DELEGATE, this.corsConfig);
+
+		assertThat(configurationSource.getCorsConfiguration(createRequest(origin)))
+			.isNotNull()
+			.isNotSameAs(configurationSource.getCorsConfiguration(createRequest(origin)));
+
+		assertThat(configurationSource.getDecisionCacheStats().requestCount())
+			.isZero();
+	}
+
+	@Test
+	public void preflightResponsesAreCachedWithDecisionCacheDisabled() throws IOException {
+		String origin = "http://www.redhat.com";
+		this.corsConfig.getDecisionCache().setEnabled(false);
+		AllowedDomainsCorsConfigurationSource configurationSource = new AllowedDomainsCorsConfigurationSource(DELEGATE, this.corsConfig);
+		PreflightResponseCache preflightResponseCache = new PreflightResponseCache(this.corsConfig.getPreflightCache());
+		AllowedDomainsCorsProcessor processor = new AllowedDomainsCorsProcessor(preflightResponseCache);
+
+		HttpServletRequest firstRequest = createRequest(origin);
+		HttpServletRequest secondRequest = createRequest(origin);
+		MockHttpServletResponse firstResponse = new MockHttpServletResponse();
+		MockHttpServletResponse secondResponse = new MockHttpServletResponse();
+
+		// Every request gets a configuration of its own, so the pre-flight responses can only be shared by the configuration's values
+		assertThat(processor.processRequest(configurationSource.getCorsConfiguration(firstRequest), firstRequest, firstResponse))
+			.isTrue();
+
+		assertThat(processor.processRequest(configurationSource.getCorsConfiguration(secondRequest), secondRequest, secondResponse))
+			.isTrue();
+
+		assertThat(secondResponse.getHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN))
+			.isEqualTo(firstResponse.getHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN))
+			.isEqualTo(origin);
+
+		assertThat(preflightResponseCache.stats())
+			.extracting(
+				stats -> stats.hitCount(),
+				stats -> stats.missCount()
+			)
+			.containsExactly(1L, 1L);
+	}
+
+	@Test
+	public void decisionsFollowReloadedAllowedDomains() {
+		String origin = "http://www.example.com";
+		AllowedDomainsMatcherHolder allowedDomainsMatcherHolder = new AllowedDomainsMatcherHolder(this.corsConfig);
+		AllowedDomainsCorsConfigurationSource configurationSource = new AllowedDomainsCorsConfigurationSource(DELEGATE, this.corsConfig, allowedDomainsMatcherHolder);
+
+		assertThat(configurationSource.getCorsConfiguration(createRequest(origin)).getAllowedOrigins())
+			.doesNotContain(origin);
+
+		allowedDomainsMatcherHolder.reload("example.com", null);
+
+		assertThat(configurationSource.getCorsConfiguration(createRequest(origin)).getAllowedOrigins())
+			.contains(origin);
+	}
+
+	@Test
+	public void routesChooseAllowedDomains() {
+		String origin = "https://internal.example.com";
+		this.corsConfig.getRoutes().add(new CorsRouteConfig("/admin/**", "internal.example.com"));
+		AllowedDomainsCorsConfigurationSource configurationSource = new AllowedDomainsCorsConfigurationSource(DELEGATE, this.corsConfig);
+
+		assertThat(configurationSource.getCorsConfiguration(createRequest("/admin/users", origin)).getAllowedOrigins())
+			.contains(origin);
+
+		assertThat(configurationSource.getCorsConfiguration(createRequest("/admin/users", "https://www.redhat.com")).getAllowedOrigins())
+			.doesNotContain("https://www.redhat.com");
+
+		assertThat(configurationSource.getCorsConfiguration(createRequest("/uri", origin)).getAllowedOrigins())
+			.doesNotContain(origin);
+
+		assertThat(configurationSource.getCorsConfiguration(createRequest("/uri", "https://www.redhat.com")).getAllowedOrigins())
+			.contains("https://www.redhat.com");
+	}
+
+	@Test
+	public void decisionsAreRecorded() {
+		CorsDecisionMetrics decisionMetrics = new CorsDecisionMetrics(10, 1);
+		AllowedDomainsCorsConfigurationSource configurationSource = new AllowedDomainsCorsConfigurationSource(DELEGATE, this.corsConfig);
+		configurationSource.setDecisionMetrics(decisionMetrics);
+
+		configurationSource.getCorsConfiguration(createRequest("https://www.redhat.com"));
+		configurationSource.getCorsConfiguration(createRequest("https://www.redhat.com"));
+		configurationSource.getCorsConfiguration(createRequest("http://example.com"));
+		configurationSource.getCorsConfiguration(MockMvcRequestBuilders.get("/uri").buildRequest(new MockServletContext()));
+
+		assertThat(decisionMetrics)
+			.extracting(
+				metrics -> metrics.getCount(Decision.ALLOWED, OriginBucket.HTTPS),
+				metrics -> metrics.getCount(Decision.REJECTED, OriginBucket.HTTP),
+				metrics -> metrics.getCount(Decision.WILDCARD_STRIPPED),
+				metrics -> metrics.getCount(Decision.CACHE_HIT)
+			)
+			.containsExactly(2L, 1L, 3L, 1L);
+
+		assertThat(decisionMetrics.getRecentRejectedOrigins())
+			.extracting(RejectedOrigin::getOrigin)
+			.containsExactly("http://example.com");
+	}
+
 	private static HttpServletRequest createRequest(String origin) {
-		return MockMvcRequestBuilders.options("/uri")
+		return createRequest("/uri", origin);
+	}
+
+	private static HttpServletRequest createRequest(String path, String origin) {
+		return MockMvcRequestBuilders.options(path)
 			.header(HttpHeaders.ORIGIN, origin)
 			.header(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD, HttpMethod.GET.name(), HttpMethod.POST.name(), HttpMethod.PUT.name())
 			.header(HttpHeaders.ACCESS_CONTROL_REQUEST_HEADERS, HttpHeaders.ACCEPT, HttpHeaders.CONTENT_TYPE)
@@ -0,0 +1,117 @@
+package com.mycompany.myframework.service.security.servlet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.support.StaticApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.CorsConfigurationSource;
+import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+
+import com.mycompany.myframework.properties.config.MyFrameworkConfig.CacheConfig;
+
+public class CachingCorsConfigurationSourceTests {
+	private static final String ORIGIN = "http://www.redhat.com";
+
+	private final AtomicInteger lookups = new AtomicInteger();
+	private CorsConfigurationSource delegate;
+
+	@BeforeEach
+	public void initialize() {
+		UrlBasedCorsConfigurationSource urlBasedCorsConfigurationSource = new UrlBasedCorsConfigurationSource();
+		urlBasedCorsConfigurationSource.registerCorsConfiguration("/people/**", new CorsConfiguration().applyPermitDefaultValues());
+
+		this.lookups.set(0);
+		this.delegate = request -> {
+			this.lookups.incrementAndGet();
+			return urlBasedCorsConfigurationSource.getCorsConfiguration(request);
+		};
+	}
+
+	@Test
+	public void lookupsAreCachedPerUriAndMethod() {
+		CachingCorsConfigurationSource configurationSource = new CachingCorsConfigurationSource(this.delegate, new CacheConfig());
+		CorsConfiguration corsConfiguration = configurationSource.getCorsConfiguration(createRequest("/people", HttpMethod.GET));
+
+		assertThat(corsConfiguration)
+			.isNotNull()
+			.isSameAs(configurationSource.getCorsConfiguration(createRequest("/people", HttpMethod.GET)))
+			.isSameAs(configurationSource.getCorsConfiguration(createPreflightRequest("/people", HttpMethod.GET)));
+
+		configurationSource.getCorsConfiguration(createRequest("/people", HttpMethod.POST));
+		configurationSource.getCorsConfiguration(createRequest("/people/1", HttpMethod.GET));
+
+		assertThat(this.lookups.get())
+			.isEqualTo(4);
+
+		assertThat(configurationSource.stats())
+			.extracting(
+				stats -> stats.hitCount(),
+				stats -> stats.missCount()
+			)
+			.containsExactly(1L, 4L);
+	}
+
+	@Test
+	public void missingConfigurationsAreCached() {
+		CachingCorsConfigurationSource configurationSource = new CachingCorsConfigurationSource(this.delegate, new CacheConfig());
+
+		assertThat(configurationSource.getCorsConfiguration(createRequest("/other", HttpMethod.GET)))
+			.isNull();
+
+		assertThat(configurationSource.getCorsConfiguration(createRequest("/other", HttpMethod.GET)))
+			.isNull();
+
+		assertThat(this.lookups.get())
+			.isOne();
+	}
+
+	@Test
+	public void cacheClearedWhenContextRefreshed() {
+		CachingCorsConfigurationSource configurationSource = new CachingCorsConfigurationSource(this.delegate, new CacheConfig());
+		configurationSource.getCorsConfiguration(createRequest("/people", HttpMethod.GET));
+		configurationSource.onApplicationEvent(new ContextRefreshedEvent(new StaticApplicationContext()));
+		configurationSource.getCorsConfiguration(createRequest("/people", HttpMethod.GET));
+
+		assertThat(this.lookups.get())
+			.isEqualTo(2);
+	}
+
+	@Test
+	public void cacheDisabled() {
+		CachingCorsConfigurationSource configurationSource = new CachingCorsConfigurationSource(this.delegate, new CacheConfig(false, 10, Duration.ofMinutes(1)));
+		configurationSource.getCorsConfiguration(createRequest("/people", HttpMethod.GET));
+		configurationSource.getCorsConfiguration(createRequest("/people", HttpMethod.GET));
+
+		assertThat(this.lookups.get())
+			.isEqualTo(2);
+
+		assertThat(configurationSource.stats().requestCount())
+			.isZero();
+	}
+
+	private static HttpServletRequest createRequest(String uri, HttpMethod method) {
+		return MockMvcRequestBuilders.request(method, uri)
+			.header(HttpHeaders.ORIGIN, ORIGIN)
+			.buildRequest(new MockServletContext());
+	}
+
+	private static HttpServletRequest createPreflightRequest(String uri, HttpMethod requestMethod) {
+		return MockMvcRequestBuilders.options(uri)
+			.header(HttpHeaders.ORIGIN, ORIGIN)
+			.header(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD, requestMethod.name())
+			.buildRequest(new MockServletContext());
+	}
+}
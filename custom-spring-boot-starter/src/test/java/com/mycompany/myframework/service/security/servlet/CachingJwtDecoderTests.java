@@ -0,0 +1,77 @@
+package com.mycompany.myframework.service.security.servlet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import com.mycompany.myframework.properties.config.MyFrameworkConfig.CacheConfig;
+import com.mycompany.myframework.service.security.JwkSetJwtDecoder;
+import com.mycompany.myframework.service.security.JwtTestTokens;
+import com.mycompany.myframework.service.security.VerifiedJwtCache;
+
+public class CachingJwtDecoderTests {
+	private final JwtTestTokens tokens = new JwtTestTokens();
+	private final AtomicInteger verifications = new AtomicInteger();
+	private JwtDecoder delegate;
+
+	@BeforeEach
+	public void initialize() {
+		JwkSetJwtDecoder jwkSetJwtDecoder = new JwkSetJwtDecoder(this.tokens.getJwkSet(), null);
+
+		this.verifications.set(0);
+		this.delegate = token -> {
+			this.verifications.incrementAndGet();
+			return jwkSetJwtDecoder.decode(token);
+		};
+	}
+
+	@Test
+	public void verifiedTokensAreCached() {
+		VerifiedJwtCache verifiedJwtCache = new VerifiedJwtCache(new CacheConfig(true, 10, Duration.ofMinutes(5)));
+		CachingJwtDecoder jwtDecoder = new CachingJwtDecoder(this.delegate, verifiedJwtCache);
+		String token = this.tokens.rsaSigned("user1");
+
+		Jwt jwt = jwtDecoder.decode(token);
+
+		assertThat(jwtDecoder.decode(token))
+			.isSameAs(jwt);
+
+		assertThat(jwtDecoder.decode(this.tokens.ecSigned("user2")))
+			.extracting(Jwt::getSubject)
+			.isEqualTo("user2");
+
+		assertThat(this.verifications.get())
+			.isEqualTo(2);
+
+		assertThat(verifiedJwtCache.stats())
+			.extracting(
+				stats -> stats.hitCount(),
+				stats -> stats.missCount()
+			)
+			.containsExactly(1L, 2L);
+	}
+
+	@Test
+	public void rejectedTokensArentCached() {
+		CachingJwtDecoder jwtDecoder = new CachingJwtDecoder(this.delegate, new VerifiedJwtCache(new CacheConfig(true, 10, Duration.ofMinutes(5))));
+		String token = new JwtTestTokens().rsaSigned("user1");
+
+		assertThatExceptionOfType(JwtException.class)
+			.isThrownBy(() -> jwtDecoder.decode(token));
+
+		assertThatExceptionOfType(JwtException.class)
+			.isThrownBy(() -> jwtDecoder.decode(token));
+
+		assertThat(this.verifications.get())
+			.isEqualTo(2);
+	}
+}
@@ -0,0 +1,106 @@
+package com.mycompany.myframework.service.security.servlet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import com.mycompany.myframework.properties.config.MyFrameworkConfig.RefreshingCacheConfig;
+
+public class CachingUserDetailsServiceTests {
+	private final AtomicInteger lookups = new AtomicInteger();
+	private UserDetailsService delegate;
+
+	@BeforeEach
+	public void initialize() {
+		HeaderUserDetailsService headerUserDetailsService = new HeaderUserDetailsService();
+
+		this.lookups.set(0);
+		this.delegate = username -> {
+			this.lookups.incrementAndGet();
+			return headerUserDetailsService.loadUserByUsername(username);
+		};
+	}
+
+	@Test
+	public void usersAreCached() {
+		CachingUserDetailsService userDetailsService = new CachingUserDetailsService(this.delegate, createCacheConfig());
+
+		assertThat(userDetailsService.loadUserByUsername("user1"))
+			.extracting(UserDetails::getUsername)
+			.isEqualTo("user1");
+
+		assertThat(userDetailsService.loadUserByUsername("user1"))
+			.extracting(UserDetails::getUsername)
+			.isEqualTo("user1");
+
+		assertThat(this.lookups.get())
+			.isOne();
+
+		assertThat(userDetailsService.stats())
+			.extracting(
+				stats -> stats.hitCount(),
+				stats -> stats.missCount()
+			)
+			.containsExactly(1L, 1L);
+	}
+
+	@Test
+	public void usersNotFoundArentCached() {
+		CachingUserDetailsService userDetailsService = new CachingUserDetailsService(this.delegate, createCacheConfig());
+
+		assertThatExceptionOfType(UsernameNotFoundException.class)
+			.isThrownBy(() -> userDetailsService.loadUserByUsername("user2"));
+
+		assertThatExceptionOfType(UsernameNotFoundException.class)
+			.isThrownBy(() -> userDetailsService.loadUserByUsername("user2"));
+
+		assertThatExceptionOfType(UsernameNotFoundException.class)
+			.isThrownBy(() -> userDetailsService.loadUserByUsername(null));
+
+		assertThat(this.lookups.get())
+			.isEqualTo(3);
+	}
+
+	@Test
+	public void erasingCredentialsDoesntEraseTheCachedUser() {
+		CachingUserDetailsService userDetailsService = new CachingUserDetailsService(this.delegate, createCacheConfig());
+		UserDetails userDetails = userDetailsService.loadUserByUsername("user1");
+
+		assertThat(userDetails)
+			.isInstanceOf(CredentialsContainer.class);
+
+		((CredentialsContainer) userDetails).eraseCredentials();
+
+		assertThat(userDetailsService.loadUserByUsername("user1"))
+			.isNotSameAs(userDetails)
+			.extracting(UserDetails::getPassword)
+			.isEqualTo("n/a");
+	}
+
+	@Test
+	public void decoratedOnlyIfEnabled() {
+		RefreshingCacheConfig cacheConfig = createCacheConfig();
+
+		assertThat(CachingUserDetailsService.decorateIfEnabled(this.delegate, cacheConfig))
+			.isExactlyInstanceOf(CachingUserDetailsService.class);
+
+		cacheConfig.setEnabled(false);
+
+		assertThat(CachingUserDetailsService.decorateIfEnabled(this.delegate, cacheConfig))
+			.isSameAs(this.delegate);
+	}
+
+	private static RefreshingCacheConfig createCacheConfig() {
+		return new RefreshingCacheConfig(true, 100, Duration.ofMinutes(5), Duration.ofMinutes(1));
+	}
+}
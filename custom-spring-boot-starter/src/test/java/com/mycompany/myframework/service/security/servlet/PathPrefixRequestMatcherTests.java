@@ -0,0 +1,50 @@
+package com.mycompany.myframework.service.security.servlet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+public class PathPrefixRequestMatcherTests {
+	private static final String[] PATH_PATTERNS = { "/actuator", "/v2/api-docs/**", "/swagger-ui.html", "/swagger-resources/**", "/webjars/springfox-swagger-ui/**" };
+
+	private final RequestMatcher matcher = new PathPrefixRequestMatcher(Arrays.asList(PATH_PATTERNS));
+	private final RequestMatcher antMatcher = new OrRequestMatcher(Arrays.stream(PATH_PATTERNS).map(AntPathRequestMatcher::new).toArray(RequestMatcher[]::new));
+
+	@ParameterizedTest(name = "matchesLikeAntPathRequestMatcher [{index}] {arguments}")
+	@CsvSource({
+		"/actuator, , true",
+		"/actuator/health, , false",
+		"/actuator/, , false",
+		"/v2/api-docs, , true",
+		"/v2/api-docs/, , true",
+		"/v2/api-docs/group, , true",
+		"/v2, /api-docs, true",
+		"/swagger-ui.html, , true",
+		"/swagger-ui.html/, , false",
+		"/swagger-ui.htm, , false",
+		"/Swagger-ui.html, , false",
+		"/swagger-resources/configuration/ui, , true",
+		"/webjars/springfox-swagger-ui/springfox.js, , true",
+		"/webjars/other.js, , false",
+		"/people, , false",
+		"/people/1, , false",
+		"'', /, false"
+	})
+	public void matchesLikeAntPathRequestMatcher(String servletPath, String pathInfo, boolean matches) {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", servletPath + ((pathInfo != null) ? pathInfo : ""));
+		request.setServletPath(servletPath);
+		request.setPathInfo(pathInfo);
+
+		assertThat(this.matcher.matches(request))
+			.isEqualTo(matches)
+			.isEqualTo(this.antMatcher.matches(request));
+	}
+}